@@ -0,0 +1,87 @@
+package com.home.project.dragonrockets.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.home.project.dragonrockets.internal.model.MissionStatus;
+import com.home.project.dragonrockets.internal.model.RocketStatus;
+
+// Throughput with several threads sharing one fleet. Every thread works on its
+// own rockets and missions, so the numbers show lock and index contention
+// rather than conflicts between operations.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms8g", "-Xmx8g" })
+public class ConcurrentSpaceXManagerBenchmark {
+
+	@Benchmark
+	@Threads(4)
+	public void assignAndUnassignRocket(FleetState fleet, ThreadCursor cursor) {
+		String missionName = FleetState.missionName(cursor.nextIndex(fleet.missionCount));
+		fleet.spaceXManager.assignRocketToMission(cursor.spareRocket, missionName);
+		fleet.spaceXManager.unassignRocketFromMission(cursor.spareRocket);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public void changeRocketStatus(FleetState fleet, ThreadCursor cursor) {
+		String rocketName = fleet.rocketNames[cursor.nextIndex(fleet.fleetSize)];
+		fleet.spaceXManager.changeRocketStatus(rocketName, RocketStatus.IN_SPACE);
+		fleet.spaceXManager.changeRocketStatus(rocketName, RocketStatus.ON_GROUND);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public void changeMissionStatus(FleetState fleet, ThreadCursor cursor) {
+		String missionName = FleetState.missionName(cursor.nextIndex(fleet.missionCount));
+		fleet.spaceXManager.changeMissionStatus(missionName, MissionStatus.IN_PROGRESS);
+	}
+
+	// Readers and writers on the same fleet: three threads query rockets while one
+	// keeps reassigning its spare rocket
+	@Benchmark
+	@Group("readWrite")
+	@GroupThreads(3)
+	public String readRocketInfo(FleetState fleet, ThreadCursor cursor) {
+		return fleet.spaceXManager.getRocketInfo(fleet.rocketNames[cursor.nextIndex(fleet.fleetSize)]);
+	}
+
+	@Benchmark
+	@Group("readWrite")
+	@GroupThreads(1)
+	public void reassignRocket(FleetState fleet, ThreadCursor cursor) {
+		String missionName = FleetState.missionName(cursor.nextIndex(fleet.missionCount));
+		fleet.spaceXManager.assignRocketToMission(cursor.spareRocket, missionName);
+		fleet.spaceXManager.unassignRocketFromMission(cursor.spareRocket);
+	}
+
+	// Summaries taken while the fleet is being modified
+	@Benchmark
+	@Group("summaryUnderLoad")
+	@GroupThreads(1)
+	public List<String> readMissionSummary(FleetState fleet) {
+		return fleet.spaceXManager.getMissionSummary();
+	}
+
+	@Benchmark
+	@Group("summaryUnderLoad")
+	@GroupThreads(3)
+	public void reassignRocketDuringSummary(FleetState fleet, ThreadCursor cursor) {
+		String missionName = FleetState.missionName(cursor.nextIndex(fleet.missionCount));
+		fleet.spaceXManager.assignRocketToMission(cursor.spareRocket, missionName);
+		fleet.spaceXManager.unassignRocketFromMission(cursor.spareRocket);
+	}
+}
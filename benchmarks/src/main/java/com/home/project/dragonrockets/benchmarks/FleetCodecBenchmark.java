@@ -0,0 +1,95 @@
+package com.home.project.dragonrockets.benchmarks;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.home.project.dragonrockets.internal.codec.BinaryReader;
+import com.home.project.dragonrockets.internal.codec.FleetCodec;
+import com.home.project.dragonrockets.internal.codec.FleetVisitor;
+import com.home.project.dragonrockets.internal.model.Mission;
+import com.home.project.dragonrockets.internal.model.MissionStatus;
+import com.home.project.dragonrockets.internal.model.Rocket;
+import com.home.project.dragonrockets.internal.model.RocketStatus;
+
+// Whole-fleet encoding with FleetCodec against the same content written as
+// JSON text, the format the HTTP server uses
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms8g", "-Xmx8g" })
+@Threads(1)
+public class FleetCodecBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class Encoded {
+
+		public List<Mission> missions;
+		public List<Rocket> rockets;
+		public ByteBuffer binary;
+
+		@Setup(Level.Trial)
+		public void encode(FleetState fleet) {
+			missions = fleet.spaceXManager.findMissionsByStatus(MissionStatus.SCHEDULED);
+			rockets = fleet.spaceXManager.findRocketsByStatus(RocketStatus.ON_GROUND);
+			binary = fleet.spaceXManager.exportState();
+		}
+	}
+
+	@Benchmark
+	public ByteBuffer encodeBinary(Encoded encoded) {
+		return FleetCodec.encode(encoded.missions, encoded.rockets);
+	}
+
+	@Benchmark
+	public byte[] encodeJson(Encoded encoded) {
+		StringBuilder json = new StringBuilder(encoded.rockets.size() * 64);
+		json.append("{\"missions\":[");
+		for (Mission mission : encoded.missions) {
+			json.append("{\"name\":\"").append(mission.getName()).append("\",\"status\":\"")
+					.append(mission.getStatus().getDisplayName()).append("\",\"rockets\":[");
+			boolean first = true;
+			for (Rocket rocket : mission.getAssignedRockets()) {
+				json.append(first ? "" : ",").append("{\"name\":\"").append(rocket.getName())
+						.append("\",\"status\":\"").append(rocket.getStatus().getDisplayName()).append("\"}");
+				first = false;
+			}
+			json.append("]},");
+		}
+		json.setLength(json.length() - 1);
+		return json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	// Decoding alone, without building a fleet from the result
+	@Benchmark
+	public int decodeBinary(Encoded encoded) {
+		int[] count = new int[1];
+		FleetCodec.read(new BinaryReader(encoded.binary.duplicate()), new FleetVisitor() {
+			@Override
+			public void mission(String missionName, MissionStatus status) {
+				count[0] += missionName.length();
+			}
+
+			@Override
+			public void rocket(String rocketName, RocketStatus status, String missionName) {
+				count[0] += rocketName.length();
+			}
+		});
+		return count[0];
+	}
+}
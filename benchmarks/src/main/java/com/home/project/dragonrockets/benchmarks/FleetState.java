@@ -0,0 +1,80 @@
+package com.home.project.dragonrockets.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.home.project.dragonrockets.SpaceXManager;
+import com.home.project.dragonrockets.internal.model.Mission;
+import com.home.project.dragonrockets.internal.model.Rocket;
+
+// A fleet shared by all benchmark threads: fleetSize rockets, all assigned,
+// rocketsPerMission to each mission. Built with the bulk operations.
+@State(Scope.Benchmark)
+public class FleetState {
+
+	private static final int CHUNK = 100_000;
+
+	@Param({ "1000", "100000", "1000000", "10000000" })
+	public int fleetSize;
+
+	@Param({ "1", "10", "100" })
+	public int rocketsPerMission;
+
+	public SpaceXManager spaceXManager;
+	public int missionCount;
+	// The names the rockets were created with, so that lookups in the benchmarks
+	// neither build nor hash new strings
+	public String[] rocketNames;
+
+	@Setup(Level.Trial)
+	public void createFleet() {
+		spaceXManager = new SpaceXManager();
+		missionCount = Math.max(1, fleetSize / rocketsPerMission);
+
+		List<Mission> missions = new ArrayList<>(CHUNK);
+		for (int i = 0; i < missionCount; i++) {
+			missions.add(new Mission(missionName(i)));
+			if (missions.size() == CHUNK) {
+				spaceXManager.addMissions(missions);
+				missions.clear();
+			}
+		}
+		spaceXManager.addMissions(missions);
+
+		rocketNames = new String[fleetSize];
+		List<Rocket> rockets = new ArrayList<>(CHUNK);
+		for (int i = 0; i < fleetSize; i++) {
+			rocketNames[i] = rocketName(i);
+			rockets.add(new Rocket(rocketNames[i]));
+			if (rockets.size() == CHUNK) {
+				spaceXManager.addRockets(rockets);
+				rockets.clear();
+			}
+		}
+		spaceXManager.addRockets(rockets);
+
+		List<String> rocketNames = new ArrayList<>(rocketsPerMission);
+		for (int mission = 0; mission < missionCount; mission++) {
+			rocketNames.clear();
+			int first = mission * rocketsPerMission;
+			for (int i = first; i < Math.min(first + rocketsPerMission, fleetSize); i++) {
+				rocketNames.add(rocketName(i));
+			}
+			spaceXManager.assignRocketsToMission(missionName(mission), rocketNames);
+		}
+	}
+
+	public static String rocketName(int index) {
+		return "Dragon " + index;
+	}
+
+	public static String missionName(int index) {
+		return "Mission " + index;
+	}
+}
@@ -0,0 +1,89 @@
+package com.home.project.dragonrockets.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.home.project.dragonrockets.internal.model.AssignmentOutcome;
+import com.home.project.dragonrockets.internal.model.Mission;
+import com.home.project.dragonrockets.internal.model.MissionStatus;
+import com.home.project.dragonrockets.internal.model.Rocket;
+import com.home.project.dragonrockets.internal.model.RocketStatus;
+
+// Single-threaded cost of every SpaceXManager operation. Mutations are measured
+// in pairs that restore the fleet (add + remove, assign + unassign), so the
+// fleet keeps its size for the whole run.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms8g", "-Xmx8g" })
+@Threads(1)
+public class SpaceXManagerBenchmark {
+
+	@Benchmark
+	public void addAndRemoveRocket(FleetState fleet, ThreadCursor cursor) {
+		fleet.spaceXManager.addRocket(new Rocket(cursor.transientRocket));
+		fleet.spaceXManager.removeRocket(cursor.transientRocket);
+	}
+
+	@Benchmark
+	public void assignAndUnassignRocket(FleetState fleet, ThreadCursor cursor) {
+		String missionName = FleetState.missionName(cursor.nextIndex(fleet.missionCount));
+		fleet.spaceXManager.assignRocketToMission(cursor.spareRocket, missionName);
+		fleet.spaceXManager.unassignRocketFromMission(cursor.spareRocket);
+	}
+
+	// Fleet rockets are all assigned already, so every call is rejected
+	@Benchmark
+	public AssignmentOutcome rejectAssignment(FleetState fleet, ThreadCursor cursor) {
+		return fleet.spaceXManager.tryAssignRocketToMission(fleet.rocketNames[cursor.nextIndex(fleet.fleetSize)],
+				cursor.spareMission);
+	}
+
+	@Benchmark
+	public void changeRocketStatus(FleetState fleet, ThreadCursor cursor) {
+		String rocketName = fleet.rocketNames[cursor.nextIndex(fleet.fleetSize)];
+		fleet.spaceXManager.changeRocketStatus(rocketName, RocketStatus.IN_SPACE);
+		fleet.spaceXManager.changeRocketStatus(rocketName, RocketStatus.ON_GROUND);
+	}
+
+	@Benchmark
+	public void changeMissionStatus(FleetState fleet, ThreadCursor cursor) {
+		String missionName = FleetState.missionName(cursor.nextIndex(fleet.missionCount));
+		fleet.spaceXManager.changeMissionStatus(missionName, MissionStatus.IN_PROGRESS);
+	}
+
+	@Benchmark
+	public String getRocketInfo(FleetState fleet, ThreadCursor cursor) {
+		return fleet.spaceXManager.getRocketInfo(fleet.rocketNames[cursor.nextIndex(fleet.fleetSize)]);
+	}
+
+	// Expected to allocate nothing: gc.alloc.rate.norm should report 0 B/op
+	@Benchmark
+	public StringBuilder appendRocketInfo(FleetState fleet, ThreadCursor cursor) {
+		StringBuilder out = cursor.infoBuffer;
+		out.setLength(0);
+		fleet.spaceXManager.appendRocketInfo(fleet.rocketNames[cursor.nextIndex(fleet.fleetSize)], out);
+		return out;
+	}
+
+	@Benchmark
+	public List<String> getMissionSummary(FleetState fleet) {
+		return fleet.spaceXManager.getMissionSummary();
+	}
+
+	@Benchmark
+	public void addAndRemoveMission(FleetState fleet, ThreadCursor cursor) {
+		fleet.spaceXManager.addMission(new Mission(cursor.transientMission));
+		fleet.spaceXManager.removeMission(cursor.transientMission);
+	}
+}
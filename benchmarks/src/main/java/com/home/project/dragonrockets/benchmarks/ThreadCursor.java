@@ -0,0 +1,50 @@
+package com.home.project.dragonrockets.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import com.home.project.dragonrockets.internal.model.Mission;
+import com.home.project.dragonrockets.internal.model.Rocket;
+
+// Per-thread names, so that threads mutate disjoint parts of the fleet: a spare
+// rocket and an empty mission owned by the thread, and a walk over the fleet.
+@State(Scope.Thread)
+public class ThreadCursor {
+
+	public String spareRocket;
+	public String spareMission;
+	public String transientRocket;
+	public String transientMission;
+	public final StringBuilder infoBuffer = new StringBuilder(128);
+
+	private int threadIndex;
+	private int threadCount;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void createSpares(FleetState fleet, ThreadParams threadParams) {
+		threadIndex = threadParams.getThreadIndex();
+		threadCount = threadParams.getThreadCount();
+		next = threadIndex;
+
+		spareRocket = "Spare rocket " + threadIndex;
+		spareMission = "Spare mission " + threadIndex;
+		transientRocket = "Transient rocket " + threadIndex;
+		transientMission = "Transient mission " + threadIndex;
+		fleet.spaceXManager.addRocket(new Rocket(spareRocket));
+		fleet.spaceXManager.addMission(new Mission(spareMission));
+	}
+
+	// Fleet rockets and missions visited by this thread only, round robin
+	public int nextIndex(int bound) {
+		int index = next;
+		next += threadCount;
+		if (next >= bound) {
+			next = threadIndex;
+		}
+		return index % bound;
+	}
+}
@@ -0,0 +1,147 @@
+package com.home.project.dragonrockets.server;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+// A selector thread serving the connections handed to it. It only parses
+// requests and writes responses: requests are handled on the worker executor,
+// since SpaceXManager operations may wait for the locks of the entities they
+// touch, and their responses come back to the loop through execute.
+final class EventLoop implements Runnable, Executor {
+
+	private final Selector selector;
+	private final Function<HttpRequest, HttpResponse> handler;
+	private final Executor workers;
+	private final Queue<SocketChannel> newConnections = new ConcurrentLinkedQueue<>();
+	private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+	private final Thread thread;
+	private volatile boolean running = true;
+
+	EventLoop(String name, Function<HttpRequest, HttpResponse> handler, Executor workers) {
+		this.handler = handler;
+		this.workers = workers;
+		try {
+			this.selector = Selector.open();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot open selector.", e);
+		}
+		this.thread = new Thread(this, name);
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	// Called from the acceptor thread
+	void register(SocketChannel channel) {
+		newConnections.add(channel);
+		selector.wakeup();
+	}
+
+	// Runs the task on the loop's thread; tasks left when the loop stops are dropped
+	@Override
+	public void execute(Runnable task) {
+		tasks.add(task);
+		selector.wakeup();
+	}
+
+	void stop() {
+		running = false;
+		selector.wakeup();
+		try {
+			thread.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public void run() {
+		try {
+			while (running) {
+				selector.select();
+				registerNewConnections();
+				runTasks();
+				for (SelectionKey key : selector.selectedKeys()) {
+					handle(key);
+				}
+				selector.selectedKeys().clear();
+			}
+		} catch (IOException | ClosedSelectorException e) {
+			// The loop stops
+		} finally {
+			closeAll();
+		}
+	}
+
+	private void registerNewConnections() {
+		SocketChannel channel;
+		while ((channel = newConnections.poll()) != null) {
+			try {
+				channel.configureBlocking(false);
+				channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+				SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+				key.attach(new HttpConnection(channel, key, handler, workers, this));
+			} catch (IOException e) {
+				closeQuietly(channel);
+			}
+		}
+	}
+
+	private void runTasks() {
+		Runnable task;
+		while ((task = tasks.poll()) != null) {
+			try {
+				task.run();
+			} catch (RuntimeException e) {
+				// A failing task must not stop the loop and its other connections
+			}
+		}
+	}
+
+	private void handle(SelectionKey key) {
+		HttpConnection connection = (HttpConnection) key.attachment();
+		try {
+			if (key.isValid() && key.isReadable()) {
+				connection.onReadable();
+			}
+			if (key.isValid() && key.isWritable()) {
+				connection.onWritable();
+			}
+		} catch (IOException | RuntimeException e) {
+			connection.close();
+		}
+	}
+
+	private void closeAll() {
+		for (SelectionKey key : selector.keys()) {
+			if (key.attachment() instanceof HttpConnection connection) {
+				connection.close();
+			}
+		}
+		SocketChannel channel;
+		while ((channel = newConnections.poll()) != null) {
+			closeQuietly(channel);
+		}
+		try {
+			selector.close();
+		} catch (IOException e) {
+			// Closing anyway
+		}
+	}
+
+	private static void closeQuietly(SocketChannel channel) {
+		try {
+			channel.close();
+		} catch (IOException e) {
+			// Closing anyway
+		}
+	}
+}
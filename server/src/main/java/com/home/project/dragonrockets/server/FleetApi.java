@@ -0,0 +1,372 @@
+package com.home.project.dragonrockets.server;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.home.project.dragonrockets.SpaceXManager;
+import com.home.project.dragonrockets.internal.exception.FleetException;
+import com.home.project.dragonrockets.internal.exception.MissionNotFoundException;
+import com.home.project.dragonrockets.internal.exception.RocketNotFoundException;
+import com.home.project.dragonrockets.internal.model.BatchResult;
+import com.home.project.dragonrockets.internal.model.Mission;
+import com.home.project.dragonrockets.internal.model.MissionStatus;
+import com.home.project.dragonrockets.internal.model.Rocket;
+import com.home.project.dragonrockets.internal.model.RocketStatus;
+
+// Maps requests to SpaceXManager operations. Statuses are written as enum
+// constants (e.g. "IN_REPAIR"), names are path segments or JSON strings.
+//
+//   POST   /rockets                      {"name": ..., "status": ...} or an array of them
+//   GET    /rockets?status=&unassigned=&limit=
+//   GET    /rockets/{name}
+//   DELETE /rockets/{name}
+//   PUT    /rockets/{name}/status        {"status": ...}
+//   PUT    /rockets/{name}/mission       {"mission": ...}
+//   DELETE /rockets/{name}/mission
+//   POST   /rockets/statuses             {"<rocket>": "<status>", ...}
+//   POST   /missions                     {"name": ..., "status": ...} or an array of them
+//   GET    /missions?status=
+//   DELETE /missions/{name}
+//   PUT    /missions/{name}/status       {"status": ...}
+//   POST   /missions/{name}/rockets      {"rockets": [...]}
+//   POST   /missions/{name}/allocation   {"count": ..., "status": ...}
+//   GET    /summary?offset=&limit=       text lines, sent in chunks
+final class FleetApi {
+
+	private final SpaceXManager manager;
+
+	FleetApi(SpaceXManager manager) {
+		this.manager = manager;
+	}
+
+	HttpResponse handle(HttpRequest request) {
+		try {
+			return route(request);
+		} catch (RocketNotFoundException | MissionNotFoundException e) {
+			return HttpResponse.error(404, e.getMessage());
+		} catch (FleetException e) {
+			return HttpResponse.error(409, e.getMessage());
+		} catch (IllegalArgumentException | ClassCastException e) {
+			return HttpResponse.error(400, e.getMessage());
+		} catch (RuntimeException e) {
+			return HttpResponse.error(500, e.getMessage());
+		}
+	}
+
+	private HttpResponse route(HttpRequest request) {
+		List<String> path = request.path();
+		String method = request.method();
+		if (path.isEmpty()) {
+			return HttpResponse.error(404, null);
+		}
+		switch (path.get(0)) {
+			case "rockets":
+				return routeRockets(request, path, method);
+			case "missions":
+				return routeMissions(request, path, method);
+			case "summary":
+				if (path.size() != 1) {
+					return HttpResponse.error(404, null);
+				}
+				return method.equals("GET") ? summary(request) : notAllowed();
+			default:
+				return HttpResponse.error(404, null);
+		}
+	}
+
+	private HttpResponse routeRockets(HttpRequest request, List<String> path, String method) {
+		if (path.size() == 1) {
+			switch (method) {
+				case "GET":
+					return listRockets(request);
+				case "POST":
+					return addRockets(request);
+				default:
+					return notAllowed();
+			}
+		}
+		String name = path.get(1);
+		if (path.size() == 2) {
+			if (name.equals("statuses") && method.equals("POST")) {
+				Map<String, RocketStatus> newStatuses = new LinkedHashMap<>();
+				object(request).forEach((rocket, status) -> newStatuses.put(rocket, rocketStatus((String) status)));
+				return batch(manager.changeRocketStatuses(newStatuses));
+			}
+			switch (method) {
+				case "GET":
+					return manager.findRocket(name)
+							.map(rocket -> HttpResponse.json(200, rocketJson(rocket)))
+							.orElseGet(() -> HttpResponse.error(404, "Rocket '" + name + "' not found."));
+				case "DELETE":
+					manager.removeRocket(name);
+					return HttpResponse.empty(204);
+				default:
+					return notAllowed();
+			}
+		}
+		if (path.size() == 3 && path.get(2).equals("status")) {
+			if (!method.equals("PUT")) {
+				return notAllowed();
+			}
+			manager.changeRocketStatus(name, rocketStatus(string(object(request), "status")));
+			return HttpResponse.empty(204);
+		}
+		if (path.size() == 3 && path.get(2).equals("mission")) {
+			switch (method) {
+				case "PUT":
+					manager.assignRocketToMission(name, string(object(request), "mission"));
+					return HttpResponse.empty(204);
+				case "DELETE":
+					manager.unassignRocketFromMission(name);
+					return HttpResponse.empty(204);
+				default:
+					return notAllowed();
+			}
+		}
+		return HttpResponse.error(404, null);
+	}
+
+	private HttpResponse routeMissions(HttpRequest request, List<String> path, String method) {
+		if (path.size() == 1) {
+			switch (method) {
+				case "GET":
+					return listMissions(request);
+				case "POST":
+					return addMissions(request);
+				default:
+					return notAllowed();
+			}
+		}
+		String name = path.get(1);
+		if (path.size() == 2) {
+			if (!method.equals("DELETE")) {
+				return notAllowed();
+			}
+			manager.removeMission(name);
+			return HttpResponse.empty(204);
+		}
+		if (path.size() == 3 && method.equals("PUT") && path.get(2).equals("status")) {
+			manager.changeMissionStatus(name, missionStatus(string(object(request), "status")));
+			return HttpResponse.empty(204);
+		}
+		if (path.size() == 3 && method.equals("POST") && path.get(2).equals("rockets")) {
+			List<String> rocketNames = new ArrayList<>();
+			for (Object rocketName : (List<?>) object(request).get("rockets")) {
+				rocketNames.add((String) rocketName);
+			}
+			return batch(manager.assignRocketsToMission(name, rocketNames));
+		}
+		if (path.size() == 3 && method.equals("POST") && path.get(2).equals("allocation")) {
+			Map<String, Object> body = object(request);
+			Object count = body.get("count");
+			if (!(count instanceof Long)) {
+				throw new IllegalArgumentException("Member 'count' must be an integer.");
+			}
+			String status = (String) body.get("status");
+			List<String> allocated = manager.allocateRockets(name, Math.toIntExact((Long) count),
+					status == null ? null : rocketStatus(status));
+			return HttpResponse.json(200, "{\"rockets\":" + stringArray(allocated) + "}");
+		}
+		return HttpResponse.error(404, null);
+	}
+
+	private HttpResponse listRockets(HttpRequest request) {
+		String status = request.queryParameter("status");
+		RocketStatus filter = status == null ? null : rocketStatus(status);
+		List<Rocket> rockets;
+		if (request.queryParameter("unassigned") != null) {
+			rockets = manager.findUnassignedRockets(filter, intParameter(request, "limit", Integer.MAX_VALUE));
+		} else if (filter != null) {
+			rockets = manager.findRocketsByStatus(filter);
+		} else {
+			throw new IllegalArgumentException("Parameter 'status' or 'unassigned' is required.");
+		}
+		StringBuilder json = new StringBuilder("[");
+		for (Rocket rocket : rockets) {
+			if (json.length() > 1) {
+				json.append(',');
+			}
+			json.append(rocketJson(rocket));
+		}
+		return HttpResponse.json(200, json.append(']').toString());
+	}
+
+	private HttpResponse listMissions(HttpRequest request) {
+		String status = request.queryParameter("status");
+		if (status == null) {
+			throw new IllegalArgumentException("Parameter 'status' is required.");
+		}
+		StringBuilder json = new StringBuilder("[");
+		for (Mission mission : manager.findMissionsByStatus(missionStatus(status))) {
+			if (json.length() > 1) {
+				json.append(',');
+			}
+			json.append("{\"name\":");
+			Json.appendQuoted(json, mission.getName())
+					.append(",\"status\":\"").append(mission.getStatus().name())
+					.append("\",\"rocketCount\":").append(mission.getAssignedRockets().size()).append('}');
+		}
+		return HttpResponse.json(200, json.append(']').toString());
+	}
+
+	private HttpResponse addRockets(HttpRequest request) {
+		Object body = Json.parse(request.body());
+		if (body instanceof List<?> items) {
+			List<Rocket> rockets = new ArrayList<>(items.size());
+			for (Object item : items) {
+				rockets.add(rocket(asObject(item)));
+			}
+			return batch(manager.addRockets(rockets));
+		}
+		Rocket rocket = rocket(asObject(body));
+		try {
+			manager.addRocket(rocket);
+		} catch (IllegalArgumentException e) {
+			return HttpResponse.error(409, e.getMessage());
+		}
+		return HttpResponse.json(201, rocketJson(rocket));
+	}
+
+	private HttpResponse addMissions(HttpRequest request) {
+		Object body = Json.parse(request.body());
+		if (body instanceof List<?> items) {
+			List<Mission> missions = new ArrayList<>(items.size());
+			for (Object item : items) {
+				missions.add(mission(asObject(item)));
+			}
+			return batch(manager.addMissions(missions));
+		}
+		Mission mission = mission(asObject(body));
+		try {
+			manager.addMission(mission);
+		} catch (IllegalArgumentException e) {
+			return HttpResponse.error(409, e.getMessage());
+		}
+		StringBuilder json = new StringBuilder("{\"name\":");
+		Json.appendQuoted(json, mission.getName()).append(",\"status\":\"").append(mission.getStatus().name())
+				.append("\"}");
+		return HttpResponse.json(201, json.toString());
+	}
+
+	// Streams the summary: missions are rendered lazily, one chunk at a time
+	private HttpResponse summary(HttpRequest request) {
+		if (request.queryParameter("offset") == null && request.queryParameter("limit") == null) {
+			return HttpResponse.lines(manager.streamMissionSummary().iterator());
+		}
+		int offset = intParameter(request, "offset", 0);
+		int limit = intParameter(request, "limit", Integer.MAX_VALUE);
+		return HttpResponse.lines(manager.getMissionSummary(offset, limit).iterator());
+	}
+
+	private static Rocket rocket(Map<String, Object> item) {
+		Rocket rocket = new Rocket(string(item, "name"));
+		Object status = item.get("status");
+		if (status != null) {
+			rocket.setStatus(rocketStatus((String) status));
+		}
+		return rocket;
+	}
+
+	private static Mission mission(Map<String, Object> item) {
+		Mission mission = new Mission(string(item, "name"));
+		Object status = item.get("status");
+		if (status != null) {
+			mission.setStatus(missionStatus((String) status));
+		}
+		return mission;
+	}
+
+	private static String rocketJson(Rocket rocket) {
+		StringBuilder json = new StringBuilder(96).append("{\"name\":");
+		Json.appendQuoted(json, rocket.getName()).append(",\"status\":\"").append(rocket.getStatus().name())
+				.append("\",\"mission\":");
+		String missionName = rocket.getAssignedMissionName();
+		if (missionName == null) {
+			json.append("null");
+		} else {
+			Json.appendQuoted(json, missionName);
+		}
+		return json.append('}').toString();
+	}
+
+	private static HttpResponse batch(BatchResult result) {
+		StringBuilder json = new StringBuilder("{\"applied\":").append(stringArray(result.getApplied()))
+				.append(",\"failures\":{");
+		boolean first = true;
+		for (String name : result.getFailureReasons().keySet()) {
+			if (!first) {
+				json.append(',');
+			}
+			first = false;
+			Json.appendQuoted(json, name).append(':');
+			Json.appendQuoted(json, result.getFailureMessage(name));
+		}
+		return HttpResponse.json(200, json.append("}}").toString());
+	}
+
+	private static String stringArray(Collection<String> values) {
+		StringBuilder json = new StringBuilder("[");
+		for (String value : values) {
+			if (json.length() > 1) {
+				json.append(',');
+			}
+			Json.appendQuoted(json, value);
+		}
+		return json.append(']').toString();
+	}
+
+	private static Map<String, Object> object(HttpRequest request) {
+		return asObject(Json.parse(request.body()));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> asObject(Object value) {
+		if (!(value instanceof Map)) {
+			throw new IllegalArgumentException("Expected a JSON object.");
+		}
+		return (Map<String, Object>) value;
+	}
+
+	private static String string(Map<String, Object> object, String name) {
+		if (!(object.get(name) instanceof String value)) {
+			throw new IllegalArgumentException("Member '" + name + "' must be a string.");
+		}
+		return value;
+	}
+
+	private static int intParameter(HttpRequest request, String name, int defaultValue) {
+		String value = request.queryParameter(name);
+		if (value == null) {
+			return defaultValue;
+		}
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Parameter '" + name + "' must be an integer.");
+		}
+	}
+
+	private static RocketStatus rocketStatus(String value) {
+		try {
+			return RocketStatus.valueOf(value.toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Unknown rocket status '" + value + "'.");
+		}
+	}
+
+	private static MissionStatus missionStatus(String value) {
+		try {
+			return MissionStatus.valueOf(value.toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Unknown mission status '" + value + "'.");
+		}
+	}
+
+	private static HttpResponse notAllowed() {
+		return HttpResponse.error(405, null);
+	}
+}
@@ -0,0 +1,418 @@
+package com.home.project.dragonrockets.server;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+// One client connection, driven by its event loop. Requests are parsed as
+// they arrive, so several pipelined requests in one read are all handled.
+// Each request gets a slot in the response queue right away and is handled
+// on a worker thread, one request of the connection at a time so that they
+// take effect in order; the worker fills the slot back on the event loop, and
+// responses are sent in request order as their slots fill up. The chunks of a
+// streamed response are rendered on workers too. Reading pauses while too
+// many responses are pending or waiting for a slow client.
+final class HttpConnection {
+
+	private static final int MAX_HEADER_SIZE = 16 * 1024;
+	private static final int MAX_BODY_SIZE = 1024 * 1024;
+	private static final int MAX_QUEUED_RESPONSES = 64;
+	private static final byte[] HEADER_END = { '\r', '\n', '\r', '\n' };
+
+	private final SocketChannel channel;
+	private final SelectionKey key;
+	private final Function<HttpRequest, HttpResponse> handler;
+	private final Executor workers;
+	private final Executor loop;
+	private final Queue<Slot> responses = new ArrayDeque<>();
+	private final Queue<Slot> unhandled = new ArrayDeque<>();
+	private boolean handling;
+	private final ByteBuffer out = ByteBuffer.allocate(16 * 1024);
+	private ByteBuffer in = ByteBuffer.allocate(4096);
+	private boolean closeAfterResponses;
+
+	HttpConnection(SocketChannel channel, SelectionKey key, Function<HttpRequest, HttpResponse> handler,
+			Executor workers, Executor loop) {
+		this.channel = channel;
+		this.key = key;
+		this.handler = handler;
+		this.workers = workers;
+		this.loop = loop;
+	}
+
+	void onReadable() throws IOException {
+		if (!in.hasRemaining()) {
+			in = resize(in, in.capacity() * 2);
+		}
+		if (channel.read(in) < 0) {
+			close();
+			return;
+		}
+		process();
+	}
+
+	void onWritable() throws IOException {
+		process();
+	}
+
+	void close() {
+		key.cancel();
+		try {
+			channel.close();
+		} catch (IOException e) {
+			// Closing anyway
+		}
+	}
+
+	// Handles buffered requests and sends the responses that are ready until
+	// the socket is full or no complete request is left
+	private void process() throws IOException {
+		while (true) {
+			boolean parsed = parseRequests();
+			if (!flush()) {
+				interest(SelectionKey.OP_WRITE);
+				return;
+			}
+			if (closeAfterResponses && responses.isEmpty()) {
+				close();
+				return;
+			}
+			if (!parsed) {
+				// A completed response calls process again
+				boolean paused = closeAfterResponses || responses.size() >= MAX_QUEUED_RESPONSES;
+				interest(paused ? 0 : SelectionKey.OP_READ);
+				return;
+			}
+		}
+	}
+
+	// Runs on the event loop
+	private void complete(Slot slot, HttpResponse response) {
+		slot.response = response;
+		handling = false;
+		handleNext();
+		resume();
+	}
+
+	// Runs on the event loop. A chunk that failed to render cannot be
+	// reported any more: the response has already started.
+	private void rendered(Slot slot, boolean succeeded) {
+		slot.rendering = false;
+		if (!succeeded) {
+			close();
+			return;
+		}
+		resume();
+	}
+
+	private void resume() {
+		if (!key.isValid()) {
+			return;
+		}
+		try {
+			process();
+		} catch (IOException | RuntimeException e) {
+			close();
+		}
+	}
+
+	// Returns false when the socket did not take everything
+	private boolean flush() throws IOException {
+		while (true) {
+			while (!responses.isEmpty() && out.hasRemaining()) {
+				Slot head = responses.peek();
+				if (head.response == null || head.rendering) {
+					break;
+				}
+				if (!head.response.writeTo(out)) {
+					if (head.response.needsRendering()) {
+						render(head);
+					}
+					break;
+				}
+				responses.poll();
+			}
+			if (out.position() == 0) {
+				return true;
+			}
+			out.flip();
+			channel.write(out);
+			out.compact();
+			if (out.position() > 0) {
+				return false;
+			}
+		}
+	}
+
+	private boolean parseRequests() {
+		boolean parsed = false;
+		while (!closeAfterResponses && responses.size() < MAX_QUEUED_RESPONSES) {
+			int headerEnd = indexOf(in, HEADER_END);
+			if (headerEnd < 0) {
+				if (in.position() >= MAX_HEADER_SIZE) {
+					reject(431, "Request headers are too large.");
+					return true;
+				}
+				return parsed;
+			}
+			String head = new String(in.array(), 0, headerEnd, StandardCharsets.ISO_8859_1);
+			HttpRequest request;
+			int consumed;
+			try {
+				ParsedHead requestHead = parseHead(head);
+				int bodyLength = requestHead.contentLength;
+				if (bodyLength > MAX_BODY_SIZE) {
+					reject(413, "Request body is too large.");
+					return true;
+				}
+				consumed = headerEnd + HEADER_END.length + bodyLength;
+				if (in.position() < consumed) {
+					if (in.capacity() < consumed) {
+						in = resize(in, consumed);
+					}
+					return parsed;
+				}
+				String body = new String(in.array(), headerEnd + HEADER_END.length, bodyLength, StandardCharsets.UTF_8);
+				request = new HttpRequest(requestHead.method, requestHead.path, requestHead.query, body,
+						requestHead.keepAlive);
+			} catch (BadRequest e) {
+				reject(e.status, e.getMessage());
+				return true;
+			}
+			consume(consumed);
+			dispatch(request);
+			parsed = true;
+		}
+		return parsed;
+	}
+
+	private void dispatch(HttpRequest request) {
+		Slot slot = new Slot();
+		slot.request = request;
+		responses.add(slot);
+		unhandled.add(slot);
+		if (!request.keepAlive()) {
+			closeAfterResponses = true;
+		}
+		if (!handling) {
+			handleNext();
+		}
+	}
+
+	private void handleNext() {
+		Slot slot = unhandled.poll();
+		if (slot == null) {
+			return;
+		}
+		HttpRequest request = slot.request;
+		slot.request = null;
+		handling = true;
+		try {
+			workers.execute(() -> {
+				// Even an Error fills the slot, or the connection would wait for it forever
+				HttpResponse response = HttpResponse.error(500, null);
+				try {
+					response = handler.apply(request);
+				} catch (RuntimeException e) {
+					response = HttpResponse.error(500, e.getMessage());
+				} finally {
+					if (!request.keepAlive()) {
+						response.closing();
+					}
+					HttpResponse completed = response;
+					loop.execute(() -> complete(slot, completed));
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			handling = false;
+			slot.response = HttpResponse.error(503, "The server is shutting down.").closing();
+			for (Slot waiting : unhandled) {
+				waiting.response = HttpResponse.error(503, "The server is shutting down.").closing();
+			}
+			unhandled.clear();
+			closeAfterResponses = true;
+		}
+	}
+
+	private void render(Slot slot) throws IOException {
+		slot.rendering = true;
+		HttpResponse response = slot.response;
+		try {
+			workers.execute(() -> {
+				boolean succeeded = false;
+				try {
+					response.render();
+					succeeded = true;
+				} finally {
+					boolean result = succeeded;
+					loop.execute(() -> rendered(slot, result));
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			throw new IOException("The server is shutting down.", e);
+		}
+	}
+
+	private void reject(int status, String message) {
+		Slot slot = new Slot();
+		slot.response = HttpResponse.error(status, message).closing();
+		responses.add(slot);
+		closeAfterResponses = true;
+	}
+
+	private ParsedHead parseHead(String head) {
+		String[] lines = head.split("\r\n");
+		String[] requestLine = lines[0].split(" ");
+		if (requestLine.length != 3 || !requestLine[2].startsWith("HTTP/1.")) {
+			throw new BadRequest(400, "Malformed request line.");
+		}
+		ParsedHead parsed = new ParsedHead();
+		parsed.method = requestLine[0];
+		boolean http10 = requestLine[2].equals("HTTP/1.0");
+		parsed.keepAlive = !http10;
+
+		for (int i = 1; i < lines.length; i++) {
+			int colon = lines[i].indexOf(':');
+			if (colon <= 0) {
+				throw new BadRequest(400, "Malformed header line.");
+			}
+			String name = lines[i].substring(0, colon).trim().toLowerCase(Locale.ROOT);
+			String value = lines[i].substring(colon + 1).trim();
+			switch (name) {
+				case "content-length":
+					try {
+						parsed.contentLength = Integer.parseInt(value);
+					} catch (NumberFormatException e) {
+						throw new BadRequest(400, "Malformed Content-Length.");
+					}
+					if (parsed.contentLength < 0) {
+						throw new BadRequest(400, "Malformed Content-Length.");
+					}
+					break;
+				case "transfer-encoding":
+					throw new BadRequest(411, "Chunked request bodies are not supported.");
+				case "connection":
+					if (value.equalsIgnoreCase("close")) {
+						parsed.keepAlive = false;
+					} else if (value.equalsIgnoreCase("keep-alive")) {
+						parsed.keepAlive = true;
+					}
+					break;
+				default:
+					break;
+			}
+		}
+
+		String target = requestLine[1];
+		int question = target.indexOf('?');
+		String path = question < 0 ? target : target.substring(0, question);
+		parsed.path = new ArrayList<>();
+		for (String segment : path.split("/")) {
+			if (!segment.isEmpty()) {
+				parsed.path.add(decode(segment));
+			}
+		}
+		parsed.query = question < 0 ? Collections.emptyMap() : parseQuery(target.substring(question + 1));
+		return parsed;
+	}
+
+	private static Map<String, String> parseQuery(String query) {
+		Map<String, String> parameters = new HashMap<>();
+		for (String pair : query.split("&")) {
+			if (pair.isEmpty()) {
+				continue;
+			}
+			int equals = pair.indexOf('=');
+			if (equals < 0) {
+				parameters.put(decode(pair), "");
+			} else {
+				parameters.put(decode(pair.substring(0, equals)), decode(pair.substring(equals + 1)));
+			}
+		}
+		return parameters;
+	}
+
+	private static String decode(String value) {
+		try {
+			return URLDecoder.decode(value, StandardCharsets.UTF_8);
+		} catch (IllegalArgumentException e) {
+			throw new BadRequest(400, "Malformed URL encoding.");
+		}
+	}
+
+	private void consume(int length) {
+		in.flip();
+		in.position(length);
+		in.compact();
+	}
+
+	private void interest(int ops) {
+		if (key.isValid()) {
+			key.interestOps(ops);
+		}
+	}
+
+	private static int indexOf(ByteBuffer buffer, byte[] pattern) {
+		byte[] data = buffer.array();
+		int limit = buffer.position() - pattern.length;
+		outer:
+		for (int i = 0; i <= limit; i++) {
+			for (int j = 0; j < pattern.length; j++) {
+				if (data[i + j] != pattern[j]) {
+					continue outer;
+				}
+			}
+			return i;
+		}
+		return -1;
+	}
+
+	private static ByteBuffer resize(ByteBuffer buffer, int capacity) {
+		ByteBuffer resized = ByteBuffer.allocate(capacity);
+		buffer.flip();
+		resized.put(buffer);
+		return resized;
+	}
+
+	// A response in request order; null until its worker has finished.
+	// While a worker renders the response's next chunk the loop leaves it alone.
+	private static final class Slot {
+		HttpRequest request;
+		HttpResponse response;
+		boolean rendering;
+	}
+
+	private static final class ParsedHead {
+		String method;
+		List<String> path;
+		Map<String, String> query;
+		int contentLength;
+		boolean keepAlive;
+	}
+
+	private static final class BadRequest extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int status;
+
+		BadRequest(int status, String message) {
+			super(message, null, false, false);
+			this.status = status;
+		}
+	}
+}
@@ -0,0 +1,12 @@
+package com.home.project.dragonrockets.server;
+
+import java.util.List;
+import java.util.Map;
+
+// A parsed request. path holds the decoded segments of the request path.
+record HttpRequest(String method, List<String> path, Map<String, String> query, String body, boolean keepAlive) {
+
+	String queryParameter(String name) {
+		return query.get(name);
+	}
+}
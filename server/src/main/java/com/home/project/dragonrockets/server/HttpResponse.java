@@ -0,0 +1,199 @@
+package com.home.project.dragonrockets.server;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+// A response queued on a connection. It is encoded lazily, piece by piece, as
+// the socket accepts more bytes: a chunked response renders its next lines
+// only when the previous chunk has been handed to the socket. Rendering may
+// wait for entity locks, so the connection runs render on a worker whenever
+// needsRendering says so, and the event loop only copies finished bytes.
+abstract class HttpResponse {
+
+	private static final int CHUNK_SIZE = 8192;
+
+	private byte[] pending;
+	private int offset;
+	private boolean keepAlive = true;
+
+	static HttpResponse json(int status, String body) {
+		return new Fixed(status, "application/json", body.getBytes(StandardCharsets.UTF_8));
+	}
+
+	static HttpResponse empty(int status) {
+		return new Fixed(status, null, new byte[0]);
+	}
+
+	static HttpResponse error(int status, String message) {
+		return json(status, "{\"error\":" + Json.quote(message == null ? reason(status) : message) + "}");
+	}
+
+	// Lines of text sent in chunks of about 8 KB with chunked transfer encoding
+	static HttpResponse lines(Iterator<String> lines) {
+		return new Chunked(lines);
+	}
+
+	HttpResponse closing() {
+		keepAlive = false;
+		return this;
+	}
+
+	boolean keepAlive() {
+		return keepAlive;
+	}
+
+	// Copies as many bytes as fit into out. Returns true once the whole
+	// response has been copied.
+	// Also returns false when the next piece has to be rendered first.
+	boolean writeTo(ByteBuffer out) {
+		while (true) {
+			if (pending == null || offset == pending.length) {
+				if (needsRendering()) {
+					return false;
+				}
+				pending = next();
+				offset = 0;
+				if (pending == null) {
+					return true;
+				}
+			}
+			int length = Math.min(out.remaining(), pending.length - offset);
+			out.put(pending, offset, length);
+			offset += length;
+			if (offset < pending.length) {
+				return false;
+			}
+		}
+	}
+
+	boolean needsRendering() {
+		return false;
+	}
+
+	void render() {
+	}
+
+	// The next piece of the encoded response, or null after the last one
+	protected abstract byte[] next();
+
+	protected byte[] head(int status, String contentType, String framing) {
+		StringBuilder head = new StringBuilder(128)
+				.append("HTTP/1.1 ").append(status).append(' ').append(reason(status)).append("\r\n");
+		if (contentType != null) {
+			head.append("Content-Type: ").append(contentType).append("\r\n");
+		}
+		head.append(framing).append("\r\n");
+		if (!keepAlive) {
+			head.append("Connection: close\r\n");
+		}
+		return head.append("\r\n").toString().getBytes(StandardCharsets.US_ASCII);
+	}
+
+	static String reason(int status) {
+		switch (status) {
+			case 200:
+				return "OK";
+			case 201:
+				return "Created";
+			case 204:
+				return "No Content";
+			case 400:
+				return "Bad Request";
+			case 404:
+				return "Not Found";
+			case 405:
+				return "Method Not Allowed";
+			case 409:
+				return "Conflict";
+			case 411:
+				return "Length Required";
+			case 413:
+				return "Payload Too Large";
+			case 431:
+				return "Request Header Fields Too Large";
+			case 501:
+				return "Not Implemented";
+			case 503:
+				return "Service Unavailable";
+			default:
+				return "Internal Server Error";
+		}
+	}
+
+	private static final class Fixed extends HttpResponse {
+
+		private final int status;
+		private final String contentType;
+		private final byte[] body;
+		private int piece;
+
+		Fixed(int status, String contentType, byte[] body) {
+			this.status = status;
+			this.contentType = contentType;
+			this.body = body;
+		}
+
+		@Override
+		protected byte[] next() {
+			switch (piece++) {
+				case 0:
+					return head(status, contentType, "Content-Length: " + body.length);
+				case 1:
+					return body;
+				default:
+					return null;
+			}
+		}
+	}
+
+	private static final class Chunked extends HttpResponse {
+
+		private final Iterator<String> lines;
+		private final StringBuilder chunk = new StringBuilder(CHUNK_SIZE + 256);
+		private byte[] rendered;
+		private boolean started;
+		private boolean finished;
+
+		Chunked(Iterator<String> lines) {
+			this.lines = lines;
+		}
+
+		@Override
+		boolean needsRendering() {
+			return started && !finished && rendered == null;
+		}
+
+		@Override
+		protected byte[] next() {
+			if (!started) {
+				started = true;
+				return head(200, "text/plain; charset=utf-8", "Transfer-Encoding: chunked");
+			}
+			byte[] next = rendered;
+			rendered = null;
+			return next;
+		}
+
+		@Override
+		void render() {
+			chunk.setLength(0);
+			while (chunk.length() < CHUNK_SIZE && lines.hasNext()) {
+				chunk.append(lines.next()).append('\n');
+			}
+			if (chunk.length() == 0) {
+				finished = true;
+				rendered = "0\r\n\r\n".getBytes(StandardCharsets.US_ASCII);
+				return;
+			}
+			byte[] data = chunk.toString().getBytes(StandardCharsets.UTF_8);
+			byte[] size = (Integer.toHexString(data.length) + "\r\n").getBytes(StandardCharsets.US_ASCII);
+			byte[] framed = new byte[size.length + data.length + 2];
+			System.arraycopy(size, 0, framed, 0, size.length);
+			System.arraycopy(data, 0, framed, size.length, data.length);
+			framed[framed.length - 2] = '\r';
+			framed[framed.length - 1] = '\n';
+			rendered = framed;
+		}
+	}
+}
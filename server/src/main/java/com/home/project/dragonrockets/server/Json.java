@@ -0,0 +1,250 @@
+package com.home.project.dragonrockets.server;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Just enough JSON for the API: objects, arrays, strings, integers, booleans
+// and null. Parsed objects are Maps, arrays Lists and numbers Longs.
+final class Json {
+
+	// Deeper documents are rejected instead of overflowing the parser's stack
+	private static final int MAX_DEPTH = 64;
+
+	private final String text;
+	private int position;
+	private int depth;
+
+	private Json(String text) {
+		this.text = text;
+	}
+
+	static Object parse(String text) {
+		Json parser = new Json(text);
+		Object value = parser.readValue();
+		parser.skipWhitespace();
+		if (parser.position != text.length()) {
+			throw parser.error("Unexpected content");
+		}
+		return value;
+	}
+
+	static String quote(String value) {
+		StringBuilder out = new StringBuilder(value.length() + 2);
+		appendQuoted(out, value);
+		return out.toString();
+	}
+
+	static StringBuilder appendQuoted(StringBuilder out, String value) {
+		out.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '"':
+					out.append("\\\"");
+					break;
+				case '\\':
+					out.append("\\\\");
+					break;
+				case '\n':
+					out.append("\\n");
+					break;
+				case '\r':
+					out.append("\\r");
+					break;
+				case '\t':
+					out.append("\\t");
+					break;
+				default:
+					if (c < 0x20) {
+						out.append(String.format("\\u%04x", (int) c));
+					} else {
+						out.append(c);
+					}
+			}
+		}
+		return out.append('"');
+	}
+
+	private Object readValue() {
+		skipWhitespace();
+		if (position >= text.length()) {
+			throw error("Unexpected end");
+		}
+		char c = text.charAt(position);
+		switch (c) {
+			case '{':
+				return readObject();
+			case '[':
+				return readArray();
+			case '"':
+				return readString();
+			case 't':
+				return readLiteral("true", Boolean.TRUE);
+			case 'f':
+				return readLiteral("false", Boolean.FALSE);
+			case 'n':
+				return readLiteral("null", null);
+			default:
+				if (c == '-' || (c >= '0' && c <= '9')) {
+					return readNumber();
+				}
+				throw error("Unexpected character '" + c + "'");
+		}
+	}
+
+	private Map<String, Object> readObject() {
+		Map<String, Object> object = new LinkedHashMap<>();
+		enter();
+		skipWhitespace();
+		if (peek() == '}') {
+			position++;
+			depth--;
+			return object;
+		}
+		while (true) {
+			skipWhitespace();
+			if (peek() != '"') {
+				throw error("Expected a member name");
+			}
+			String name = readString();
+			skipWhitespace();
+			expect(':');
+			object.put(name, readValue());
+			skipWhitespace();
+			if (peek() == ',') {
+				position++;
+			} else {
+				expect('}');
+				depth--;
+				return object;
+			}
+		}
+	}
+
+	private List<Object> readArray() {
+		List<Object> array = new ArrayList<>();
+		enter();
+		skipWhitespace();
+		if (peek() == ']') {
+			position++;
+			depth--;
+			return array;
+		}
+		while (true) {
+			array.add(readValue());
+			skipWhitespace();
+			if (peek() == ',') {
+				position++;
+			} else {
+				expect(']');
+				depth--;
+				return array;
+			}
+		}
+	}
+
+	private void enter() {
+		if (++depth > MAX_DEPTH) {
+			throw error("Nested too deeply");
+		}
+		position++;
+	}
+
+	private String readString() {
+		position++;
+		StringBuilder value = new StringBuilder();
+		while (true) {
+			if (position >= text.length()) {
+				throw error("Unterminated string");
+			}
+			char c = text.charAt(position++);
+			if (c == '"') {
+				return value.toString();
+			}
+			if (c != '\\') {
+				value.append(c);
+				continue;
+			}
+			if (position >= text.length()) {
+				throw error("Unterminated string");
+			}
+			char escaped = text.charAt(position++);
+			switch (escaped) {
+				case 'b':
+					value.append('\b');
+					break;
+				case 'f':
+					value.append('\f');
+					break;
+				case 'n':
+					value.append('\n');
+					break;
+				case 'r':
+					value.append('\r');
+					break;
+				case 't':
+					value.append('\t');
+					break;
+				case 'u':
+					if (position + 4 > text.length()) {
+						throw error("Bad unicode escape");
+					}
+					try {
+						value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+					} catch (NumberFormatException e) {
+						throw error("Bad unicode escape");
+					}
+					position += 4;
+					break;
+				default:
+					value.append(escaped);
+			}
+		}
+	}
+
+	private Long readNumber() {
+		int start = position;
+		if (peek() == '-') {
+			position++;
+		}
+		while (position < text.length() && Character.isDigit(text.charAt(position))) {
+			position++;
+		}
+		try {
+			return Long.parseLong(text.substring(start, position));
+		} catch (NumberFormatException e) {
+			throw error("Expected an integer");
+		}
+	}
+
+	private Object readLiteral(String literal, Object value) {
+		if (!text.startsWith(literal, position)) {
+			throw error("Unexpected literal");
+		}
+		position += literal.length();
+		return value;
+	}
+
+	private void expect(char c) {
+		if (peek() != c) {
+			throw error("Expected '" + c + "'");
+		}
+		position++;
+	}
+
+	private char peek() {
+		return position < text.length() ? text.charAt(position) : '\0';
+	}
+
+	private void skipWhitespace() {
+		while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+			position++;
+		}
+	}
+
+	private IllegalArgumentException error(String message) {
+		return new IllegalArgumentException(message + " at position " + position + " of the JSON body.");
+	}
+}
@@ -0,0 +1,252 @@
+package com.home.project.dragonrockets.server;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import com.home.project.dragonrockets.SpaceXManager;
+import com.home.project.dragonrockets.internal.model.Mission;
+import com.home.project.dragonrockets.internal.model.Rocket;
+
+// Load test on localhost: starts a server over a generated fleet and drives it
+// from keep-alive client connections, each sending `pipeline` requests at a
+// time. Nine of ten requests read a rocket, the tenth changes its status.
+// Prints requests per second and latency percentiles.
+//
+//   mvn -f server/pom.xml compile exec:java -Dexec.mainClass=com.home.project.dragonrockets.server.LoadTest \
+//       -Dexec.args="--connections 32 --pipeline 4 --seconds 10"
+public final class LoadTest {
+
+	private static final String[] STATUSES = { "ON_GROUND", "IN_SPACE" };
+
+	private final int connections;
+	private final int pipeline;
+	private final int seconds;
+	private final int rockets;
+	private final int eventLoops;
+
+	private LoadTest(int connections, int pipeline, int seconds, int rockets, int eventLoops) {
+		this.connections = connections;
+		this.pipeline = pipeline;
+		this.seconds = seconds;
+		this.rockets = rockets;
+		this.eventLoops = eventLoops;
+	}
+
+	public static void main(String[] args) throws InterruptedException {
+		int connections = 32;
+		int pipeline = 1;
+		int seconds = 10;
+		int rockets = 100_000;
+		int eventLoops = Runtime.getRuntime().availableProcessors();
+		for (int i = 0; i + 1 < args.length; i += 2) {
+			int value = Integer.parseInt(args[i + 1]);
+			switch (args[i]) {
+				case "--connections":
+					connections = value;
+					break;
+				case "--pipeline":
+					pipeline = value;
+					break;
+				case "--seconds":
+					seconds = value;
+					break;
+				case "--rockets":
+					rockets = value;
+					break;
+				case "--event-loops":
+					eventLoops = value;
+					break;
+				default:
+					throw new IllegalArgumentException("Unknown option '" + args[i] + "'.");
+			}
+		}
+		new LoadTest(connections, pipeline, seconds, rockets, eventLoops).run();
+	}
+
+	private void run() throws InterruptedException {
+		try (SpaceXManager manager = new SpaceXManager();
+				SpaceXHttpServer server = new SpaceXHttpServer(manager,
+						new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), eventLoops)) {
+			populate(manager);
+			System.out.printf("%d rockets, %d connections, pipeline %d, %d event loops%n", rockets, connections,
+					pipeline, eventLoops);
+
+			// Warm-up, then the measured run
+			drive(server.port(), Math.max(1, seconds / 5));
+			Result result = drive(server.port(), seconds);
+			result.print(seconds);
+		}
+	}
+
+	private void populate(SpaceXManager manager) {
+		List<Mission> missions = new ArrayList<>();
+		for (int i = 0; i < Math.max(1, rockets / 10); i++) {
+			missions.add(new Mission("Mission " + i));
+		}
+		manager.addMissions(missions);
+		List<Rocket> fleet = new ArrayList<>(rockets);
+		for (int i = 0; i < rockets; i++) {
+			fleet.add(new Rocket("Dragon " + i));
+		}
+		manager.addRockets(fleet);
+		for (int i = 0; i < rockets; i += 2) {
+			manager.assignRocketToMission("Dragon " + i, "Mission " + (i / 10));
+		}
+	}
+
+	private Result drive(int port, int durationSeconds) throws InterruptedException {
+		long deadline = System.nanoTime() + durationSeconds * 1_000_000_000L;
+		Client[] clients = new Client[connections];
+		CountDownLatch done = new CountDownLatch(connections);
+		for (int i = 0; i < connections; i++) {
+			clients[i] = new Client(port, i, deadline, done);
+			Thread thread = new Thread(clients[i], "load-" + i);
+			thread.setDaemon(true);
+			thread.start();
+		}
+		done.await();
+
+		Result result = new Result();
+		for (Client client : clients) {
+			if (client.failure != null) {
+				throw new UncheckedIOException("Client failed.", client.failure);
+			}
+			result.add(client.latencies, client.count, client.errors);
+		}
+		return result;
+	}
+
+	private final class Client implements Runnable {
+
+		private final int port;
+		private final int seed;
+		private final long deadline;
+		private final CountDownLatch done;
+		private long[] latencies = new long[1 << 16];
+		private int count;
+		private int errors;
+		private IOException failure;
+
+		Client(int port, int seed, long deadline, CountDownLatch done) {
+			this.port = port;
+			this.seed = seed;
+			this.deadline = deadline;
+			this.done = done;
+		}
+
+		@Override
+		public void run() {
+			try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+				socket.setTcpNoDelay(true);
+				OutputStream out = socket.getOutputStream();
+				InputStream in = new BufferedInputStream(socket.getInputStream(), 64 * 1024);
+				StringBuilder batch = new StringBuilder(pipeline * 128);
+				long request = seed;
+				while (System.nanoTime() < deadline) {
+					batch.setLength(0);
+					for (int i = 0; i < pipeline; i++, request += 7919) {
+						appendRequest(batch, request);
+					}
+					long sent = System.nanoTime();
+					out.write(batch.toString().getBytes(StandardCharsets.US_ASCII));
+					out.flush();
+					for (int i = 0; i < pipeline; i++) {
+						if (readResponse(in) >= 400) {
+							errors++;
+						}
+						record(System.nanoTime() - sent);
+					}
+				}
+			} catch (IOException e) {
+				failure = e;
+			} finally {
+				done.countDown();
+			}
+		}
+
+		private void appendRequest(StringBuilder batch, long request) {
+			String rocket = "Dragon%20" + Math.floorMod(request, rockets);
+			if (request % 10 == 9) {
+				String body = "{\"status\":\"" + STATUSES[(int) ((request / 10) & 1)] + "\"}";
+				batch.append("PUT /rockets/").append(rocket).append("/status HTTP/1.1\r\nHost: localhost\r\n")
+						.append("Content-Length: ").append(body.length()).append("\r\n\r\n").append(body);
+			} else {
+				batch.append("GET /rockets/").append(rocket).append(" HTTP/1.1\r\nHost: localhost\r\n\r\n");
+			}
+		}
+
+		private void record(long latency) {
+			if (count == latencies.length) {
+				latencies = Arrays.copyOf(latencies, count * 2);
+			}
+			latencies[count++] = latency;
+		}
+	}
+
+	// Reads one response with a Content-Length body and returns its status
+	private static int readResponse(InputStream in) throws IOException {
+		String statusLine = readLine(in);
+		int contentLength = 0;
+		for (String line = readLine(in); !line.isEmpty(); line = readLine(in)) {
+			if (line.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+				contentLength = Integer.parseInt(line.substring(15).trim());
+			}
+		}
+		in.skipNBytes(contentLength);
+		return Integer.parseInt(statusLine.substring(9, 12));
+	}
+
+	private static String readLine(InputStream in) throws IOException {
+		StringBuilder line = new StringBuilder(64);
+		for (int c = in.read(); c != '\n'; c = in.read()) {
+			if (c < 0) {
+				throw new IOException("Connection closed by the server.");
+			}
+			if (c != '\r') {
+				line.append((char) c);
+			}
+		}
+		return line.toString();
+	}
+
+	private static final class Result {
+
+		private long[] latencies = new long[0];
+		private long errors;
+
+		void add(long[] clientLatencies, int count, int clientErrors) {
+			int offset = latencies.length;
+			latencies = Arrays.copyOf(latencies, offset + count);
+			System.arraycopy(clientLatencies, 0, latencies, offset, count);
+			errors += clientErrors;
+		}
+
+		void print(int seconds) {
+			Arrays.sort(latencies);
+			System.out.printf("requests: %d, errors: %d%n", latencies.length, errors);
+			System.out.printf("throughput: %.0f requests/s%n", latencies.length / (double) seconds);
+			System.out.printf("latency: p50 %.1f us, p99 %.1f us, p99.9 %.1f us, max %.1f us%n",
+					percentile(0.50), percentile(0.99), percentile(0.999),
+					latencies.length == 0 ? 0.0 : latencies[latencies.length - 1] / 1000.0);
+		}
+
+		private double percentile(double quantile) {
+			if (latencies.length == 0) {
+				return 0;
+			}
+			int index = (int) Math.min(latencies.length - 1, Math.ceil(quantile * latencies.length) - 1);
+			return latencies[Math.max(0, index)] / 1000.0;
+		}
+	}
+}
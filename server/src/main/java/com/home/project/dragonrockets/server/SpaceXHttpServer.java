@@ -0,0 +1,99 @@
+package com.home.project.dragonrockets.server;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.home.project.dragonrockets.SpaceXManager;
+
+// HTTP/1.1 server exposing a SpaceXManager as a JSON API (see FleetApi). An
+// acceptor thread hands new connections round-robin to a few non-blocking
+// event loops, which leave the requests themselves to a pool of workers.
+// Connections are kept alive and may pipeline requests.
+public class SpaceXHttpServer implements AutoCloseable {
+
+	private static final System.Logger LOG = System.getLogger(SpaceXHttpServer.class.getName());
+	private static final long ACCEPT_BACKOFF_MILLIS = 100;
+
+	private final ServerSocketChannel serverChannel;
+	private final ExecutorService workers;
+	private final EventLoop[] loops;
+	private final Thread acceptor;
+
+	public SpaceXHttpServer(SpaceXManager manager, int port) {
+		this(manager, new InetSocketAddress(port), Runtime.getRuntime().availableProcessors());
+	}
+
+	// Port 0 picks a free port, see port()
+	public SpaceXHttpServer(SpaceXManager manager, InetSocketAddress address, int eventLoops) {
+		if (eventLoops < 1) {
+			throw new IllegalArgumentException("At least one event loop is required.");
+		}
+		FleetApi api = new FleetApi(manager);
+		try {
+			this.serverChannel = ServerSocketChannel.open();
+			serverChannel.bind(address, 1024);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot listen on " + address + ".", e);
+		}
+		// Handlers may wait for entity locks, so there are more workers than cores
+		AtomicInteger workerCount = new AtomicInteger();
+		this.workers = Executors.newFixedThreadPool(Math.max(2, 2 * Runtime.getRuntime().availableProcessors()),
+				task -> {
+					Thread worker = new Thread(task, "spacex-http-worker-" + workerCount.getAndIncrement());
+					worker.setDaemon(true);
+					return worker;
+				});
+		this.loops = new EventLoop[eventLoops];
+		for (int i = 0; i < eventLoops; i++) {
+			loops[i] = new EventLoop("spacex-http-" + i, api::handle, workers);
+		}
+		this.acceptor = new Thread(this::acceptConnections, "spacex-http-acceptor");
+		acceptor.setDaemon(true);
+		acceptor.start();
+	}
+
+	public int port() {
+		return serverChannel.socket().getLocalPort();
+	}
+
+	@Override
+	public void close() {
+		try {
+			serverChannel.close();
+		} catch (IOException e) {
+			// Closing anyway
+		}
+		for (EventLoop loop : loops) {
+			loop.stop();
+		}
+		workers.shutdown();
+	}
+
+	private void acceptConnections() {
+		int next = 0;
+		while (serverChannel.isOpen()) {
+			try {
+				SocketChannel channel = serverChannel.accept();
+				loops[next].register(channel);
+				next = (next + 1) % loops.length;
+			} catch (ClosedChannelException e) {
+				return;
+			} catch (IOException e) {
+				// For example too many open files: retrying at once would spin
+				LOG.log(System.Logger.Level.WARNING, "Cannot accept a connection, retrying.", e);
+				try {
+					Thread.sleep(ACCEPT_BACKOFF_MILLIS);
+				} catch (InterruptedException interrupted) {
+					return;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,208 @@
+package com.home.project.dragonrockets.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.home.project.dragonrockets.SpaceXManager;
+import com.home.project.dragonrockets.internal.model.Mission;
+import com.home.project.dragonrockets.internal.model.Rocket;
+
+class SpaceXHttpServerTest {
+
+	private SpaceXManager manager;
+	private SpaceXHttpServer server;
+	private Socket socket;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		manager = new SpaceXManager();
+		server = new SpaceXHttpServer(manager, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 2);
+		socket = new Socket(InetAddress.getLoopbackAddress(), server.port());
+		socket.setSoTimeout(5000);
+	}
+
+	@AfterEach
+	void tearDown() throws IOException {
+		socket.close();
+		server.close();
+		manager.close();
+	}
+
+	@Test
+	void shouldServePipelinedRequestsInOrderOnOneConnection() throws IOException {
+		// Given: several requests written at once
+		send(request("POST", "/missions", "{\"name\":\"Mars\"}")
+				+ request("POST", "/rockets", "{\"name\":\"Dragon 1\"}")
+				+ request("PUT", "/rockets/Dragon%201/mission", "{\"mission\":\"Mars\"}")
+				+ request("PUT", "/rockets/Dragon%201/status", "{\"status\":\"IN_REPAIR\"}")
+				+ request("GET", "/rockets/Dragon%201", null));
+
+		// When
+		List<Response> responses = read(5);
+
+		// Then
+		assertEquals(List.of(201, 201, 204, 204, 200), statuses(responses));
+		assertEquals("{\"name\":\"Dragon 1\",\"status\":\"IN_REPAIR\",\"mission\":\"Mars\"}", responses.get(4).body);
+		assertEquals("Mars - Pending - Dragons: 1", manager.getMissionSummary().get(0));
+	}
+
+	@Test
+	void shouldStreamSummaryInChunks() throws IOException {
+		// Given: a summary larger than one chunk
+		for (int i = 0; i < 500; i++) {
+			manager.addMission(new Mission("Mission " + i));
+			manager.addRocket(new Rocket("Dragon " + i));
+			manager.assignRocketToMission("Dragon " + i, "Mission " + i);
+		}
+
+		// When
+		send(request("GET", "/summary", null) + request("GET", "/summary?offset=1&limit=1", null));
+		List<Response> responses = read(2);
+
+		// Then
+		assertTrue(responses.get(0).chunks > 1);
+		assertEquals(String.join("\n", manager.getMissionSummary()) + "\n", responses.get(0).body);
+		assertEquals(String.join("\n", manager.getMissionSummary(1, 1)) + "\n", responses.get(1).body);
+	}
+
+	@Test
+	void shouldMapFailuresToStatusCodes() throws IOException {
+		// Given
+		manager.addRocket(new Rocket("Dragon 1"));
+
+		// When
+		send(request("GET", "/rockets/Dragon%202", null)
+				+ request("POST", "/rockets", "{\"name\":\"Dragon 1\"}")
+				+ request("DELETE", "/rockets/Dragon%201/mission", null)
+				+ request("PUT", "/rockets/Dragon%201/status", "{\"status\":\"FLYING\"}")
+				+ request("PATCH", "/rockets", null)
+				+ request("POST", "/rockets/statuses", "{\"Dragon 1\":\"IN_SPACE\",\"Dragon 2\":\"IN_SPACE\"}"));
+		List<Response> responses = read(6);
+
+		// Then
+		assertEquals(List.of(404, 409, 409, 400, 405, 200), statuses(responses));
+		assertEquals("{\"error\":\"Rocket 'Dragon 2' not found.\"}", responses.get(0).body);
+		assertEquals("{\"applied\":[\"Dragon 1\"],\"failures\":{\"Dragon 2\":\"Rocket 'Dragon 2' not found.\"}}",
+				responses.get(5).body);
+	}
+
+	@Test
+	void shouldRejectDeeplyNestedBodyAndKeepServing() throws IOException {
+		// Given: a body nested far deeper than any request needs
+		String nested = "[".repeat(100_000) + "]".repeat(100_000);
+
+		// When
+		send(request("POST", "/rockets", nested) + request("GET", "/rockets?unassigned=true", null));
+		List<Response> responses = read(2);
+
+		// Then
+		assertEquals(List.of(400, 200), statuses(responses));
+	}
+
+	@Test
+	void shouldCloseConnectionWhenAsked() throws IOException {
+		// When
+		send("GET /rockets?unassigned=true HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n");
+		List<Response> responses = read(1);
+
+		// Then
+		assertEquals("[]", responses.get(0).body);
+		assertEquals("close", responses.get(0).headers.get(0));
+		assertEquals(-1, socket.getInputStream().read());
+	}
+
+	private static String request(String method, String target, String body) {
+		StringBuilder request = new StringBuilder(method).append(' ').append(target).append(" HTTP/1.1\r\n")
+				.append("Host: localhost\r\n");
+		if (body != null) {
+			request.append("Content-Type: application/json\r\n")
+					.append("Content-Length: ").append(body.getBytes(StandardCharsets.UTF_8).length).append("\r\n");
+		}
+		return request.append("\r\n").append(body == null ? "" : body).toString();
+	}
+
+	private void send(String requests) throws IOException {
+		OutputStream out = socket.getOutputStream();
+		out.write(requests.getBytes(StandardCharsets.UTF_8));
+		out.flush();
+	}
+
+	private List<Response> read(int count) throws IOException {
+		InputStream in = socket.getInputStream();
+		List<Response> responses = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			Response response = new Response();
+			String statusLine = readLine(in);
+			response.status = Integer.parseInt(statusLine.split(" ")[1]);
+			int contentLength = 0;
+			boolean chunked = false;
+			for (String line = readLine(in); !line.isEmpty(); line = readLine(in)) {
+				String lower = line.toLowerCase(Locale.ROOT);
+				if (lower.startsWith("content-length:")) {
+					contentLength = Integer.parseInt(line.substring(15).trim());
+				} else if (lower.startsWith("transfer-encoding: chunked")) {
+					chunked = true;
+				} else if (lower.startsWith("connection:")) {
+					response.headers.add(line.substring(11).trim());
+				}
+			}
+			ByteArrayOutputStream body = new ByteArrayOutputStream();
+			if (chunked) {
+				for (int size = Integer.parseInt(readLine(in), 16); size > 0; size = Integer.parseInt(readLine(in), 16)) {
+					body.write(in.readNBytes(size));
+					readLine(in);
+					response.chunks++;
+				}
+				readLine(in);
+			} else {
+				body.write(in.readNBytes(contentLength));
+			}
+			response.body = body.toString(StandardCharsets.UTF_8);
+			responses.add(response);
+		}
+		return responses;
+	}
+
+	private static String readLine(InputStream in) throws IOException {
+		StringBuilder line = new StringBuilder();
+		for (int c = in.read(); c != '\n'; c = in.read()) {
+			if (c < 0) {
+				throw new IOException("Connection closed");
+			}
+			if (c != '\r') {
+				line.append((char) c);
+			}
+		}
+		return line.toString();
+	}
+
+	private static List<Integer> statuses(List<Response> responses) {
+		List<Integer> statuses = new ArrayList<>();
+		for (Response response : responses) {
+			statuses.add(response.status);
+		}
+		return statuses;
+	}
+
+	private static final class Response {
+		int status;
+		String body;
+		int chunks;
+		List<String> headers = new ArrayList<>();
+	}
+}
@@ -0,0 +1,257 @@
+package com.home.project.dragonrockets;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.home.project.dragonrockets.internal.concurrent.SerialExecutor;
+import com.home.project.dragonrockets.internal.model.BatchResult;
+import com.home.project.dragonrockets.internal.model.Mission;
+import com.home.project.dragonrockets.internal.model.MissionStatus;
+import com.home.project.dragonrockets.internal.model.Rocket;
+import com.home.project.dragonrockets.internal.model.RocketStatus;
+import com.home.project.dragonrockets.internal.transaction.Transaction;
+
+// Non-blocking facade over a SpaceXManager. Every operation returns at once
+// with a CompletableFuture and waits in the mailboxes of the rockets and
+// missions it touches: operations sharing a rocket or a mission run one after
+// another in submission order. An operation on an assigned rocket, or on one
+// whose assignment is waiting here, also counts as touching the rocket's
+// mission. Everything else runs in parallel. Callers can keep any number of
+// operations in flight, as waiting operations hold no thread.
+public class AsyncSpaceXManager implements AutoCloseable {
+
+	private final SpaceXManager manager;
+	private final Executor executor;
+	private final ExecutorService ownedExecutor;
+	private final SerialExecutor mailboxes;
+	// Missions of the assignments submitted here that have not run yet. Once an
+	// assignment ran, successfully or not, the manager knows the rocket's
+	// mission, as it does for rockets assigned by allocateRockets, transactions
+	// or other callers.
+	private final Map<String, PendingAssignment> pendingAssignments = new ConcurrentHashMap<>();
+
+	// Runs operations on virtual threads where the JVM has them (Java 21+), and
+	// on one platform thread per processor otherwise
+	public AsyncSpaceXManager(SpaceXManager manager) {
+		this(manager, newDefaultExecutor(), true);
+	}
+
+	public AsyncSpaceXManager(SpaceXManager manager, Executor executor) {
+		this(manager, executor, false);
+	}
+
+	private AsyncSpaceXManager(SpaceXManager manager, Executor executor, boolean ownsExecutor) {
+		this.manager = manager;
+		this.executor = executor;
+		this.ownedExecutor = ownsExecutor ? (ExecutorService) executor : null;
+		this.mailboxes = new SerialExecutor(executor);
+	}
+
+	public CompletableFuture<Void> addRocket(Rocket rocket) {
+		return on(List.of(new RocketKey(rocket.getName())), asSupplier(() -> manager.addRocket(rocket)));
+	}
+
+	public CompletableFuture<Void> addMission(Mission mission) {
+		return onMission(mission.getName(), () -> manager.addMission(mission));
+	}
+
+	public CompletableFuture<BatchResult> addRockets(Collection<Rocket> rockets) {
+		return supply(() -> manager.addRockets(rockets));
+	}
+
+	public CompletableFuture<BatchResult> addMissions(Collection<Mission> missions) {
+		return supply(() -> manager.addMissions(missions));
+	}
+
+	public CompletableFuture<Void> assignRocketToMission(String rocketName, String missionName) {
+		PendingAssignment pending = new PendingAssignment(missionName);
+		pendingAssignments.put(rocketName, pending);
+		// Cleared however the assignment ends, even if it never runs
+		return on(List.of(new RocketKey(rocketName), new MissionKey(missionName)),
+				asSupplier(() -> manager.assignRocketToMission(rocketName, missionName)))
+				.whenComplete((result, failure) -> pendingAssignments.remove(rocketName, pending));
+	}
+
+	public CompletableFuture<BatchResult> assignRocketsToMission(String missionName, Collection<String> rocketNames) {
+		PendingAssignment pending = new PendingAssignment(missionName);
+		List<Object> keys = new ArrayList<>(rocketNames.size() + 1);
+		keys.add(new MissionKey(missionName));
+		for (String rocketName : rocketNames) {
+			pendingAssignments.put(rocketName, pending);
+			keys.add(new RocketKey(rocketName));
+		}
+		return on(keys, () -> manager.assignRocketsToMission(missionName, rocketNames))
+				.whenComplete((result, failure) -> {
+					for (String rocketName : rocketNames) {
+						pendingAssignments.remove(rocketName, pending);
+					}
+				});
+	}
+
+	public CompletableFuture<List<String>> allocateRockets(String missionName, int count, RocketStatus statusFilter) {
+		return supplyOnMission(missionName, () -> manager.allocateRockets(missionName, count, statusFilter));
+	}
+
+	public CompletableFuture<Void> unassignRocketFromMission(String rocketName) {
+		List<Object> keys = rocketKeys(rocketName);
+		pendingAssignments.remove(rocketName);
+		return on(keys, asSupplier(() -> manager.unassignRocketFromMission(rocketName)));
+	}
+
+	public CompletableFuture<Void> changeRocketStatus(String rocketName, RocketStatus newStatus) {
+		return on(rocketKeys(rocketName), asSupplier(() -> manager.changeRocketStatus(rocketName, newStatus)));
+	}
+
+	public CompletableFuture<BatchResult> changeRocketStatuses(Map<String, RocketStatus> newStatuses) {
+		return supply(() -> manager.changeRocketStatuses(newStatuses));
+	}
+
+	public CompletableFuture<Void> changeMissionStatus(String missionName, MissionStatus newStatus) {
+		return onMission(missionName, () -> manager.changeMissionStatus(missionName, newStatus));
+	}
+
+	public CompletableFuture<Void> removeRocket(String rocketName) {
+		List<Object> keys = rocketKeys(rocketName);
+		pendingAssignments.remove(rocketName);
+		return on(keys, asSupplier(() -> manager.removeRocket(rocketName)));
+	}
+
+	public CompletableFuture<Void> removeMission(String missionName) {
+		return onMission(missionName, () -> manager.removeMission(missionName));
+	}
+
+	public CompletableFuture<Void> transaction(Consumer<Transaction> body) {
+		return supply(asSupplier(() -> manager.transaction(body)));
+	}
+
+	public CompletableFuture<List<String>> getMissionSummary() {
+		return supply(manager::getMissionSummary);
+	}
+
+	public CompletableFuture<List<String>> getMissionSummary(int offset, int limit) {
+		return supply(() -> manager.getMissionSummary(offset, limit));
+	}
+
+	public CompletableFuture<String> getRocketInfo(String rocketName) {
+		return supply(() -> manager.getRocketInfo(rocketName));
+	}
+
+	public CompletableFuture<List<Rocket>> findRocketsByStatus(RocketStatus status) {
+		return supply(() -> manager.findRocketsByStatus(status));
+	}
+
+	public CompletableFuture<List<Mission>> findMissionsByStatus(MissionStatus status) {
+		return supply(() -> manager.findMissionsByStatus(status));
+	}
+
+	public CompletableFuture<List<Rocket>> findUnassignedRockets(RocketStatus statusFilter, int limit) {
+		return supply(() -> manager.findUnassignedRockets(statusFilter, limit));
+	}
+
+	// Stops the executor created by this facade once the submitted operations
+	// are done. The SpaceXManager itself stays open.
+	@Override
+	public void close() {
+		if (ownedExecutor != null) {
+			ownedExecutor.shutdown();
+		}
+	}
+
+	private CompletableFuture<Void> onMission(String missionName, Runnable operation) {
+		return supplyOnMission(missionName, asSupplier(operation));
+	}
+
+	private <T> CompletableFuture<T> supplyOnMission(String missionName, Supplier<T> operation) {
+		return on(List.of(new MissionKey(missionName)), operation);
+	}
+
+	// The rocket and, if it is known to be assigned, its mission
+	private List<Object> rocketKeys(String rocketName) {
+		PendingAssignment pending = pendingAssignments.get(rocketName);
+		String missionName = pending != null ? pending.missionName
+				: manager.findRocket(rocketName).map(Rocket::getAssignedMissionName).orElse(null);
+		return missionName == null ? List.of(new RocketKey(rocketName))
+				: List.of(new RocketKey(rocketName), new MissionKey(missionName));
+	}
+
+	private <T> CompletableFuture<T> on(List<Object> keys, Supplier<T> operation) {
+		CompletableFuture<T> result = new CompletableFuture<>();
+		submit(result, () -> mailboxes.execute(keys, task(result, operation), result::completeExceptionally));
+		return result;
+	}
+
+	private <T> CompletableFuture<T> supply(Supplier<T> operation) {
+		CompletableFuture<T> result = new CompletableFuture<>();
+		submit(result, () -> executor.execute(task(result, operation)));
+		return result;
+	}
+
+	private static void submit(CompletableFuture<?> result, Runnable submission) {
+		try {
+			submission.run();
+		} catch (RejectedExecutionException e) {
+			result.completeExceptionally(e);
+		}
+	}
+
+	private static <T> Runnable task(CompletableFuture<T> result, Supplier<T> operation) {
+		return () -> {
+			try {
+				result.complete(operation.get());
+			} catch (Throwable e) {
+				result.completeExceptionally(e);
+			}
+		};
+	}
+
+	private static Supplier<Void> asSupplier(Runnable operation) {
+		return () -> {
+			operation.run();
+			return null;
+		};
+	}
+
+	// Compared by identity, so that an assignment only clears its own entry
+	private static final class PendingAssignment {
+
+		final String missionName;
+
+		PendingAssignment(String missionName) {
+			this.missionName = missionName;
+		}
+	}
+
+	private record RocketKey(String name) {
+	}
+
+	private record MissionKey(String name) {
+	}
+
+	// Executors.newVirtualThreadPerTaskExecutor() exists from Java 21 on; the
+	// library itself is built for Java 17 and looks it up at runtime
+	private static ExecutorService newDefaultExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException e) {
+			AtomicInteger threadNumber = new AtomicInteger();
+			ThreadFactory threadFactory = runnable -> {
+				Thread thread = new Thread(runnable, "spacex-async-" + threadNumber.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			};
+			return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), threadFactory);
+		}
+	}
+}
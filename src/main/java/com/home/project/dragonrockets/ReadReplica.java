@@ -0,0 +1,203 @@
+package com.home.project.dragonrockets;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.home.project.dragonrockets.internal.event.Change;
+import com.home.project.dragonrockets.internal.event.ChangeSet;
+import com.home.project.dragonrockets.internal.event.DomainEvent;
+import com.home.project.dragonrockets.internal.exception.StaleReplicaException;
+import com.home.project.dragonrockets.internal.model.Mission;
+import com.home.project.dragonrockets.internal.model.MissionStatus;
+import com.home.project.dragonrockets.internal.model.Rocket;
+import com.home.project.dragonrockets.internal.model.RocketStatus;
+import com.home.project.dragonrockets.internal.replication.ReplicationImage;
+import com.home.project.dragonrockets.internal.replication.ReplicationSource;
+
+// Read-only follower of a primary SpaceXManager. A background thread pulls the
+// primary's changes in order and applies them to a local manager, which
+// serves the reads.
+//
+// Staleness is bounded by time: when the replica has not been in sync with the
+// primary for longer than maxStaleness, a read first catches up, and throws
+// StaleReplicaException if the primary cannot be reached. A read given a
+// token (the primary's latestSequence() taken after a write) sees that write.
+public class ReadReplica implements AutoCloseable {
+
+	private static final int BATCH_SIZE = 4096;
+	private static final Duration DEFAULT_POLL_INTERVAL = Duration.ofMillis(10);
+	private static final Duration DEFAULT_MAX_STALENESS = Duration.ofSeconds(1);
+
+	private final ReplicationSource source;
+	private final long maxStalenessNanos;
+	private final ScheduledExecutorService poller;
+	private final Object syncLock = new Object();
+	// Replaced as a whole when the replica has to start over from an image
+	private volatile SpaceXManager fleet = new SpaceXManager();
+	private volatile long appliedSequence = -1;
+	private volatile long lastSyncNanos;
+
+	public ReadReplica(ReplicationSource source) {
+		this(source, DEFAULT_POLL_INTERVAL, DEFAULT_MAX_STALENESS);
+	}
+
+	public ReadReplica(ReplicationSource source, Duration pollInterval, Duration maxStaleness) {
+		this.source = source;
+		this.maxStalenessNanos = maxStaleness.toNanos();
+		catchUp();
+		this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "spacex-replica");
+			thread.setDaemon(true);
+			return thread;
+		});
+		long intervalNanos = pollInterval.toNanos();
+		poller.scheduleWithFixedDelay(this::pollQuietly, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+	}
+
+	// Sequence of the primary's latest change applied here
+	public long appliedSequence() {
+		return appliedSequence;
+	}
+
+	// Applies all changes the primary has made so far
+	public void catchUp() {
+		synchronized (syncLock) {
+			long started = System.nanoTime();
+			if (appliedSequence < 0) {
+				applyImage(source.image());
+			}
+			while (true) {
+				ChangeSet changeSet = source.changesSince(appliedSequence, BATCH_SIZE);
+				if (changeSet.truncated()) {
+					applyImage(source.image());
+					continue;
+				}
+				try {
+					for (Change change : changeSet.changes()) {
+						apply(fleet, change.event());
+						appliedSequence = change.sequence();
+					}
+				} catch (RuntimeException e) {
+					// The replica no longer matches the primary; start over from an image
+					appliedSequence = -1;
+					throw e;
+				}
+				if (appliedSequence >= changeSet.latestSequence()) {
+					lastSyncNanos = started;
+					return;
+				}
+			}
+		}
+	}
+
+	public String getRocketInfo(String rocketName) {
+		return fresh().getRocketInfo(rocketName);
+	}
+
+	public String getRocketInfo(String rocketName, long token) {
+		return atLeast(token).getRocketInfo(rocketName);
+	}
+
+	public List<String> getMissionSummary() {
+		return fresh().getMissionSummary();
+	}
+
+	public List<String> getMissionSummary(long token) {
+		return atLeast(token).getMissionSummary();
+	}
+
+	public List<String> getMissionSummary(int offset, int limit) {
+		return fresh().getMissionSummary(offset, limit);
+	}
+
+	public List<Rocket> findRocketsByStatus(RocketStatus status) {
+		return fresh().findRocketsByStatus(status);
+	}
+
+	public List<Mission> findMissionsByStatus(MissionStatus status) {
+		return fresh().findMissionsByStatus(status);
+	}
+
+	// Stops pulling changes; the replication source is closed as well
+	@Override
+	public void close() {
+		poller.shutdownNow();
+		source.close();
+		fleet.close();
+	}
+
+	private SpaceXManager fresh() {
+		if (System.nanoTime() - lastSyncNanos > maxStalenessNanos) {
+			syncOrThrow();
+		}
+		return fleet;
+	}
+
+	private SpaceXManager atLeast(long token) {
+		if (appliedSequence < token) {
+			syncOrThrow();
+			if (appliedSequence < token) {
+				throw new StaleReplicaException(() -> "Token " + token + " is ahead of the primary's latest change "
+						+ appliedSequence + ".");
+			}
+		}
+		return fresh();
+	}
+
+	private void syncOrThrow() {
+		try {
+			catchUp();
+		} catch (RuntimeException e) {
+			throw new StaleReplicaException("Replica is stale and the primary cannot be reached.", e);
+		}
+	}
+
+	private void pollQuietly() {
+		try {
+			catchUp();
+		} catch (RuntimeException e) {
+			// Retried on the next poll; reads report it once the replica is too stale
+		}
+	}
+
+	private void applyImage(ReplicationImage image) {
+		SpaceXManager rebuilt = new SpaceXManager();
+		rebuilt.importState(image.fleet());
+		SpaceXManager previous = fleet;
+		fleet = rebuilt;
+		appliedSequence = image.sequence();
+		previous.close();
+	}
+
+	// Replays a primary's change through the public API. The automatic switch
+	// to 'Pending' is made again by the replica's own rules, so its event is
+	// skipped.
+	private static void apply(SpaceXManager fleet, DomainEvent event) {
+		if (event instanceof DomainEvent.RocketAdded added) {
+			Rocket rocket = new Rocket(added.rocketName());
+			rocket.setStatus(added.status());
+			fleet.addRocket(rocket);
+		} else if (event instanceof DomainEvent.MissionAdded added) {
+			Mission mission = new Mission(added.missionName());
+			mission.setStatus(added.status());
+			fleet.addMission(mission);
+		} else if (event instanceof DomainEvent.RocketAssigned assigned) {
+			fleet.assignRocketToMission(assigned.rocketName(), assigned.missionName());
+		} else if (event instanceof DomainEvent.RocketUnassigned unassigned) {
+			fleet.unassignRocketFromMission(unassigned.rocketName());
+		} else if (event instanceof DomainEvent.RocketStatusChanged changed) {
+			fleet.changeRocketStatus(changed.rocketName(), changed.newStatus());
+		} else if (event instanceof DomainEvent.MissionStatusChanged changed) {
+			if (!changed.automatic()) {
+				fleet.changeMissionStatus(changed.missionName(), changed.newStatus());
+			}
+		} else if (event instanceof DomainEvent.RocketRemoved removed) {
+			fleet.removeRocket(removed.rocketName());
+		} else if (event instanceof DomainEvent.MissionRemoved removed) {
+			fleet.removeMission(removed.missionName());
+		}
+	}
+}
@@ -0,0 +1,513 @@
+package com.home.project.dragonrockets;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import com.home.project.dragonrockets.internal.concurrent.StripedLocks;
+import com.home.project.dragonrockets.internal.exception.InsufficientRocketsException;
+import com.home.project.dragonrockets.internal.exception.RocketAlreadyAssignedException;
+import com.home.project.dragonrockets.internal.exception.RocketNotFoundException;
+import com.home.project.dragonrockets.internal.model.BatchFailure;
+import com.home.project.dragonrockets.internal.model.BatchResult;
+import com.home.project.dragonrockets.internal.model.Mission;
+import com.home.project.dragonrockets.internal.model.MissionStatus;
+import com.home.project.dragonrockets.internal.model.MissionSummary;
+import com.home.project.dragonrockets.internal.model.Rocket;
+import com.home.project.dragonrockets.internal.model.RocketStatus;
+import com.home.project.dragonrockets.internal.shard.LoopbackTransport;
+import com.home.project.dragonrockets.internal.shard.ShardCodec;
+import com.home.project.dragonrockets.internal.shard.ShardRequest;
+import com.home.project.dragonrockets.internal.shard.ShardTransport;
+import com.home.project.dragonrockets.internal.shard.SummaryMerge;
+
+// Router over a fleet partitioned across several SpaceXManager shards. A
+// mission lives on the shard its name hashes to, and so do its assigned
+// rockets: a rocket starts on the shard of its own name (its home shard),
+// moves to the mission's shard when it is assigned there and moves back home
+// when it is unassigned. Every operation therefore runs on a single shard,
+// except summaries and queries, which are gathered from all of them.
+//
+// Rocket operations are serialized per rocket name by the router, so all
+// changes to a sharded fleet have to go through the same router. Shards are
+// reached only through encoded ShardRequests, so the transport may as well
+// cross process boundaries.
+public class ShardedSpaceXManager implements AutoCloseable {
+
+	private final ShardTransport transport;
+	private final StripedLocks locks = new StripedLocks();
+	// Shard of every rocket living outside its home shard
+	private final Map<String, Integer> awayRockets = new ConcurrentHashMap<>();
+	// Rockets between two shards, and the number of moves finished so far: a
+	// read that misses a rocket is repeated if it may have raced with a move
+	private final Set<String> movingRockets = ConcurrentHashMap.newKeySet();
+	private final AtomicLong finishedMoves = new AtomicLong();
+
+	// Runs the given number of in-memory shards in this process
+	public ShardedSpaceXManager(int shardCount) {
+		this(new LoopbackTransport(shardCount));
+	}
+
+	public ShardedSpaceXManager(ShardTransport transport) {
+		this.transport = transport;
+	}
+
+	public int shardCount() {
+		return transport.shardCount();
+	}
+
+	public int shardOf(String name) {
+		return Math.floorMod(name.hashCode(), transport.shardCount());
+	}
+
+	public void addRocket(Rocket rocket) {
+		try (StripedLocks.Guard guard = locks.lock(locks.rocketStripe(rocket.getName()))) {
+			if (awayRockets.containsKey(rocket.getName())) {
+				throw new IllegalArgumentException("Rocket with name '" + rocket.getName() + "' already exists.");
+			}
+			call(shardOf(rocket.getName()), new ShardRequest.AddRocket(rocket));
+		}
+	}
+
+	public void addMission(Mission mission) {
+		call(shardOf(mission.getName()), new ShardRequest.AddMission(mission));
+	}
+
+	public BatchResult addRockets(Collection<Rocket> rockets) {
+		BatchResult result = new BatchResult();
+		BitSet stripes = new BitSet(locks.stripeCount());
+		for (Rocket rocket : rockets) {
+			stripes.set(locks.rocketStripe(rocket.getName()));
+		}
+
+		try (StripedLocks.Guard guard = locks.lock(stripes)) {
+			Map<Integer, List<Rocket>> byShard = new LinkedHashMap<>();
+			for (Rocket rocket : rockets) {
+				if (awayRockets.containsKey(rocket.getName())) {
+					result.failed(rocket.getName(), BatchFailure.ALREADY_EXISTS,
+							() -> "Rocket with name '" + rocket.getName() + "' already exists.");
+				} else {
+					byShard.computeIfAbsent(shardOf(rocket.getName()), shard -> new ArrayList<>()).add(rocket);
+				}
+			}
+			scatter(byShard, ShardRequest.AddRockets::new, result);
+		}
+		return result;
+	}
+
+	public BatchResult addMissions(Collection<Mission> missions) {
+		Map<Integer, List<Mission>> byShard = new LinkedHashMap<>();
+		for (Mission mission : missions) {
+			byShard.computeIfAbsent(shardOf(mission.getName()), shard -> new ArrayList<>()).add(mission);
+		}
+		BatchResult result = new BatchResult();
+		scatter(byShard, ShardRequest.AddMissions::new, result);
+		return result;
+	}
+
+	// A rocket on another shard is moved to the mission's shard first, and back
+	// again if the assignment is rejected
+	public void assignRocketToMission(String rocketName, String missionName) {
+		int missionShard = shardOf(missionName);
+		try (StripedLocks.Guard guard = locks.lock(locks.rocketStripe(rocketName))) {
+			boolean moved = bringToShard(rocketName, missionShard);
+			try {
+				call(missionShard, new ShardRequest.AssignRocket(rocketName, missionName));
+			} catch (RuntimeException e) {
+				if (moved) {
+					moveRocket(rocketName, missionShard, homeShard(rocketName));
+				}
+				throw e;
+			}
+		}
+	}
+
+	public BatchResult assignRocketsToMission(String missionName, Collection<String> rocketNames) {
+		int missionShard = shardOf(missionName);
+		BatchResult result = new BatchResult();
+		BitSet stripes = new BitSet(locks.stripeCount());
+		for (String rocketName : rocketNames) {
+			stripes.set(locks.rocketStripe(rocketName));
+		}
+
+		try (StripedLocks.Guard guard = locks.lock(stripes)) {
+			Set<String> moved = new LinkedHashSet<>();
+			List<String> forwarded = new ArrayList<>(rocketNames.size());
+			for (String rocketName : rocketNames) {
+				try {
+					if (!moved.contains(rocketName) && bringToShard(rocketName, missionShard)) {
+						moved.add(rocketName);
+					}
+					forwarded.add(rocketName);
+				} catch (RocketAlreadyAssignedException e) {
+					result.failed(rocketName, e);
+				}
+			}
+			merge(assignOnMissionShard(missionShard, missionName, forwarded, moved), result);
+		}
+		return result;
+	}
+
+	// Picks free rockets, preferring those already on the mission's shard,
+	// locks them and checks them again before moving and assigning them, the
+	// same way SpaceXManager allocates; picks that changed meanwhile are retried
+	public List<String> allocateRockets(String missionName, int count, RocketStatus statusFilter) {
+		if (count < 0) {
+			throw new IllegalArgumentException("Number of rockets must not be negative.");
+		}
+		int missionShard = shardOf(missionName);
+		call(missionShard, new ShardRequest.MissionId(missionName));
+
+		while (true) {
+			List<Rocket> candidates = findFreeRockets(missionShard, statusFilter, count);
+			if (candidates.size() < count) {
+				throw new InsufficientRocketsException("Only " + candidates.size() + " of " + count
+						+ " requested rockets are available for mission '" + missionName + "'.");
+			}
+
+			BitSet stripes = new BitSet(locks.stripeCount());
+			for (Rocket rocket : candidates) {
+				stripes.set(locks.rocketStripe(rocket.getName()));
+			}
+
+			try (StripedLocks.Guard guard = locks.lock(stripes)) {
+				if (!isStillFree(candidates, statusFilter)) {
+					continue;
+				}
+				Set<String> moved = new LinkedHashSet<>();
+				List<String> rocketNames = new ArrayList<>(candidates.size());
+				try {
+					for (Rocket rocket : candidates) {
+						if (bringToShard(rocket.getName(), missionShard)) {
+							moved.add(rocket.getName());
+						}
+						rocketNames.add(rocket.getName());
+					}
+				} catch (RuntimeException e) {
+					for (String rocketName : moved) {
+						moveRocket(rocketName, missionShard, homeShard(rocketName));
+					}
+					throw e;
+				}
+				// The candidates are locked and only this router changes the shards,
+				// so the mission's shard accepts all of them
+				return new ArrayList<>(assignOnMissionShard(missionShard, missionName, rocketNames, moved).getApplied());
+			}
+		}
+	}
+
+	public void unassignRocketFromMission(String rocketName) {
+		try (StripedLocks.Guard guard = locks.lock(locks.rocketStripe(rocketName))) {
+			call(locationOf(rocketName), new ShardRequest.UnassignRocket(rocketName));
+			returnHome(rocketName);
+		}
+	}
+
+	public void changeRocketStatus(String rocketName, RocketStatus newStatus) {
+		try (StripedLocks.Guard guard = locks.lock(locks.rocketStripe(rocketName))) {
+			call(locationOf(rocketName), new ShardRequest.ChangeRocketStatus(rocketName, newStatus));
+		}
+	}
+
+	public BatchResult changeRocketStatuses(Map<String, RocketStatus> newStatuses) {
+		BitSet stripes = new BitSet(locks.stripeCount());
+		for (String rocketName : newStatuses.keySet()) {
+			stripes.set(locks.rocketStripe(rocketName));
+		}
+
+		BatchResult result = new BatchResult();
+		try (StripedLocks.Guard guard = locks.lock(stripes)) {
+			Map<Integer, Map<String, RocketStatus>> byShard = new LinkedHashMap<>();
+			for (Map.Entry<String, RocketStatus> entry : newStatuses.entrySet()) {
+				byShard.computeIfAbsent(locationOf(entry.getKey()), shard -> new LinkedHashMap<>())
+						.put(entry.getKey(), entry.getValue());
+			}
+			scatter(byShard, ShardRequest.ChangeRocketStatuses::new, result);
+		}
+		return result;
+	}
+
+	public void changeMissionStatus(String missionName, MissionStatus newStatus) {
+		call(shardOf(missionName), new ShardRequest.ChangeMissionStatus(missionName, newStatus));
+	}
+
+	public void removeRocket(String rocketName) {
+		try (StripedLocks.Guard guard = locks.lock(locks.rocketStripe(rocketName))) {
+			call(locationOf(rocketName), new ShardRequest.RemoveRocket(rocketName));
+			awayRockets.remove(rocketName);
+		}
+	}
+
+	public void removeMission(String missionName) {
+		call(shardOf(missionName), new ShardRequest.RemoveMission(missionName));
+	}
+
+	// Reads take no router lock. A read that misses a rocket while it moves
+	// between shards is repeated.
+	public String getRocketInfo(String rocketName) {
+		while (true) {
+			long moves = finishedMoves.get();
+			try {
+				return call(locationOf(rocketName), new ShardRequest.GetRocketInfo(rocketName));
+			} catch (RocketNotFoundException e) {
+				if (!mayHaveMoved(rocketName, moves)) {
+					throw e;
+				}
+			}
+		}
+	}
+
+	public Optional<Rocket> findRocket(String rocketName) {
+		while (true) {
+			long moves = finishedMoves.get();
+			Optional<Rocket> rocket = call(locationOf(rocketName), new ShardRequest.FindRocket(rocketName));
+			if (rocket.isPresent() || !mayHaveMoved(rocketName, moves)) {
+				return rocket;
+			}
+		}
+	}
+
+	public List<String> getMissionSummary() {
+		return getMissionSummary(0, Integer.MAX_VALUE);
+	}
+
+	// Scatter-gather: every shard returns its first offset + limit missions in
+	// summary order, and their blocks are merged
+	public List<String> getMissionSummary(int offset, int limit) {
+		if (offset < 0 || limit < 0) {
+			throw new IllegalArgumentException("Offset and limit must not be negative.");
+		}
+		int perShard = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+		List<String> lines = new ArrayList<>();
+		for (MissionSummary mission : SummaryMerge.merge(gather(new ShardRequest.GetMissionSummaries(0, perShard)),
+				offset, limit)) {
+			mission.render(lines);
+		}
+		return lines;
+	}
+
+	public List<String> getTopMissions(int count) {
+		return getMissionSummary(0, count);
+	}
+
+	public List<Rocket> findRocketsByStatus(RocketStatus status) {
+		List<Rocket> rockets = new ArrayList<>();
+		gather(new ShardRequest.FindRocketsByStatus(status)).forEach(rockets::addAll);
+		return rockets;
+	}
+
+	public List<Mission> findMissionsByStatus(MissionStatus status) {
+		List<Mission> missions = new ArrayList<>();
+		gather(new ShardRequest.FindMissionsByStatus(status)).forEach(missions::addAll);
+		return missions;
+	}
+
+	public List<Rocket> findUnassignedRockets(RocketStatus statusFilter, int limit) {
+		if (limit < 0) {
+			throw new IllegalArgumentException("Limit must not be negative.");
+		}
+		List<Rocket> rockets = new ArrayList<>();
+		for (List<Rocket> shardRockets : gather(new ShardRequest.FindUnassignedRockets(statusFilter, limit))) {
+			for (Rocket rocket : shardRockets) {
+				if (rockets.size() == limit) {
+					return rockets;
+				}
+				rockets.add(rocket);
+			}
+		}
+		return rockets;
+	}
+
+	@Override
+	public void close() {
+		transport.close();
+	}
+
+	private int homeShard(String rocketName) {
+		return shardOf(rocketName);
+	}
+
+	private int locationOf(String rocketName) {
+		Integer away = awayRockets.get(rocketName);
+		return away != null ? away : homeShard(rocketName);
+	}
+
+	// Moves an unassigned rocket to the given shard. Returns false if the rocket
+	// is there already or does not exist, leaving the error to the shard.
+	private boolean bringToShard(String rocketName, int target) {
+		int location = locationOf(rocketName);
+		if (location == target) {
+			return false;
+		}
+		Optional<Rocket> rocket = call(location, new ShardRequest.FindRocket(rocketName));
+		if (rocket.isEmpty()) {
+			return false;
+		}
+		String missionName = rocket.get().getAssignedMissionName();
+		if (missionName != null) {
+			throw new RocketAlreadyAssignedException(
+					() -> "Rocket '" + rocketName + "' is already assigned to mission '" + missionName + "'.");
+		}
+		moveRocket(rocketName, location, target);
+		return true;
+	}
+
+	// Up to count free rockets, first from the mission's shard, then from the others
+	private List<Rocket> findFreeRockets(int missionShard, RocketStatus statusFilter, int count) {
+		List<Rocket> rockets = new ArrayList<>(call(missionShard,
+				new ShardRequest.FindUnassignedRockets(statusFilter, count)));
+		for (int shard = 0; shard < transport.shardCount() && rockets.size() < count; shard++) {
+			if (shard != missionShard) {
+				rockets.addAll(call(shard, new ShardRequest.FindUnassignedRockets(statusFilter, count - rockets.size())));
+			}
+		}
+		return rockets;
+	}
+
+	// Called under the rockets' stripe locks
+	private boolean isStillFree(List<Rocket> rockets, RocketStatus statusFilter) {
+		for (Rocket candidate : rockets) {
+			Optional<Rocket> rocket = call(locationOf(candidate.getName()),
+					new ShardRequest.FindRocket(candidate.getName()));
+			if (rocket.isEmpty() || rocket.get().getAssignedMissionName() != null
+					|| (statusFilter != null && rocket.get().getStatus() != statusFilter)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// Called under the rockets' stripe locks, after the moved rockets have been
+	// brought to the mission's shard. Those the shard does not assign go home.
+	private BatchResult assignOnMissionShard(int missionShard, String missionName, List<String> rocketNames,
+			Set<String> moved) {
+		BatchResult shardResult;
+		try {
+			shardResult = call(missionShard, new ShardRequest.AssignRockets(missionName, rocketNames));
+		} catch (RuntimeException e) {
+			for (String rocketName : moved) {
+				moveRocket(rocketName, missionShard, homeShard(rocketName));
+			}
+			throw e;
+		}
+		Set<String> applied = new HashSet<>(shardResult.getApplied());
+		for (String rocketName : moved) {
+			if (!applied.contains(rocketName)) {
+				moveRocket(rocketName, missionShard, homeShard(rocketName));
+			}
+		}
+		return shardResult;
+	}
+
+	// Sends an unassigned rocket living away back to its home shard
+	private void returnHome(String rocketName) {
+		try (StripedLocks.Guard guard = locks.lock(locks.rocketStripe(rocketName))) {
+			Integer away = awayRockets.get(rocketName);
+			if (away == null) {
+				return;
+			}
+			Optional<Rocket> rocket = call(away, new ShardRequest.FindRocket(rocketName));
+			if (rocket.isPresent() && rocket.get().getAssignedMissionName() == null) {
+				moveRocket(rocketName, away, homeShard(rocketName));
+			}
+		}
+	}
+
+	// Called under the rocket's stripe lock. The original is removed before the
+	// copy is added, so the rocket is never on two shards at once, and put back
+	// if the copy cannot be added.
+	private void moveRocket(String rocketName, int source, int target) {
+		RocketStatus status = call(source, new ShardRequest.FindRocket(rocketName))
+				.orElseThrow(() -> new RocketNotFoundException(() -> "Rocket '" + rocketName + "' not found."))
+				.getStatus();
+		Rocket copy = new Rocket(rocketName);
+		copy.setStatus(status);
+		movingRockets.add(rocketName);
+		try {
+			call(source, new ShardRequest.RemoveRocket(rocketName));
+			try {
+				call(target, new ShardRequest.AddRocket(copy));
+			} catch (RuntimeException e) {
+				call(source, new ShardRequest.AddRocket(copy));
+				throw e;
+			}
+			if (target == homeShard(rocketName)) {
+				awayRockets.remove(rocketName);
+			} else {
+				awayRockets.put(rocketName, target);
+			}
+		} finally {
+			finishedMoves.incrementAndGet();
+			movingRockets.remove(rocketName);
+		}
+	}
+
+	// A move that removed the rocket before the read is either still running or
+	// has finished since the read started
+	private boolean mayHaveMoved(String rocketName, long movesBeforeRead) {
+		return movingRockets.contains(rocketName) || finishedMoves.get() != movesBeforeRead;
+	}
+
+	private <B> void scatter(Map<Integer, B> batches, Function<B, ShardRequest<BatchResult>> request,
+			BatchResult result) {
+		Map<Integer, CompletableFuture<BatchResult>> replies = new LinkedHashMap<>();
+		batches.forEach((shard, batch) -> replies.put(shard, send(shard, request.apply(batch))));
+		for (CompletableFuture<BatchResult> reply : replies.values()) {
+			merge(await(reply), result);
+		}
+	}
+
+	private <T> List<T> gather(ShardRequest<T> request) {
+		List<CompletableFuture<T>> replies = new ArrayList<>(transport.shardCount());
+		for (int shard = 0; shard < transport.shardCount(); shard++) {
+			replies.add(send(shard, request));
+		}
+		List<T> results = new ArrayList<>(replies.size());
+		for (CompletableFuture<T> reply : replies) {
+			results.add(await(reply));
+		}
+		return results;
+	}
+
+	private static void merge(BatchResult from, BatchResult into) {
+		into.addAll(from);
+	}
+
+	private <T> T call(int shard, ShardRequest<T> request) {
+		return await(send(shard, request));
+	}
+
+	// The response of a request is what its apply returned on the shard
+	@SuppressWarnings("unchecked")
+	private <T> CompletableFuture<T> send(int shard, ShardRequest<T> request) {
+		return transport.send(shard, ShardCodec.encodeRequest(request))
+				.thenApply(response -> (T) ShardCodec.decodeResponse(response));
+	}
+
+	// Rethrows a shard's exception as it was thrown there
+	private static <T> T await(CompletableFuture<T> reply) {
+		try {
+			return reply.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			if (e.getCause() instanceof Error cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+}
@@ -1,65 +1,437 @@
 package com.home.project.dragonrockets;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import com.home.project.dragonrockets.internal.codec.BinaryReader;
+import com.home.project.dragonrockets.internal.codec.FleetCodec;
+import com.home.project.dragonrockets.internal.codec.FleetVisitor;
+import com.home.project.dragonrockets.internal.concurrent.StripedLocks;
+import com.home.project.dragonrockets.internal.event.ChangeJournal;
+import com.home.project.dragonrockets.internal.event.ChangeSet;
+import com.home.project.dragonrockets.internal.event.DomainEvent;
+import com.home.project.dragonrockets.internal.event.EventPublisher;
+import com.home.project.dragonrockets.internal.event.EventSubscription;
+import com.home.project.dragonrockets.internal.event.OverflowPolicy;
+import com.home.project.dragonrockets.internal.exception.MissionNotFoundException;
+import com.home.project.dragonrockets.internal.exception.RocketNotFoundException;
+import com.home.project.dragonrockets.internal.model.AssignmentOutcome;
+import com.home.project.dragonrockets.internal.model.BatchResult;
 import com.home.project.dragonrockets.internal.model.Mission;
 import com.home.project.dragonrockets.internal.model.MissionStatus;
+import com.home.project.dragonrockets.internal.model.MissionSummary;
 import com.home.project.dragonrockets.internal.model.Rocket;
 import com.home.project.dragonrockets.internal.model.RocketStatus;
+import com.home.project.dragonrockets.internal.offheap.MappedFleetStore;
+import com.home.project.dragonrockets.internal.offheap.MappedMissionRepository;
+import com.home.project.dragonrockets.internal.offheap.MappedRocketRepository;
+import com.home.project.dragonrockets.internal.persistence.FsyncPolicy;
+import com.home.project.dragonrockets.internal.persistence.ServiceRecordHandler;
+import com.home.project.dragonrockets.internal.persistence.WriteAheadLog;
+import com.home.project.dragonrockets.internal.replication.ReplicationImage;
 import com.home.project.dragonrockets.internal.repository.MissionRepository;
+import com.home.project.dragonrockets.internal.repository.NameDictionary;
 import com.home.project.dragonrockets.internal.repository.RocketRepository;
+import com.home.project.dragonrockets.internal.repository.RocketStore;
 import com.home.project.dragonrockets.internal.service.MissionService;
+import com.home.project.dragonrockets.internal.service.MutationDispatcher;
 import com.home.project.dragonrockets.internal.service.RocketService;
+import com.home.project.dragonrockets.internal.snapshot.FleetSnapshot;
+import com.home.project.dragonrockets.internal.snapshot.SnapshotPublisher;
+import com.home.project.dragonrockets.internal.transaction.Transaction;
+import com.home.project.dragonrockets.internal.transaction.TransactionManager;
 
-public class SpaceXManager {
+public class SpaceXManager implements AutoCloseable {
+
+	private static final int DEFAULT_EVENT_BUFFER = 8192;
+	private static final int CHANGE_JOURNAL_CAPACITY = 65536;
 
 	private final RocketService rocketService;
 	private final MissionService missionService;
-	private final RocketRepository rocketRepository = new RocketRepository();
-	private final MissionRepository missionRepository = new MissionRepository();
+	private final RocketStore rocketRepository;
+	private final MissionRepository missionRepository;
+	private final StripedLocks locks = new StripedLocks();
+	private final MutationDispatcher dispatcher = new MutationDispatcher();
+	private final EventPublisher eventPublisher = new EventPublisher();
+	private final ChangeJournal changeJournal = new ChangeJournal(CHANGE_JOURNAL_CAPACITY);
+	private final WriteAheadLog writeAheadLog;
+	private volatile SnapshotPublisher snapshotPublisher;
+	private volatile TransactionManager transactionManager;
 
 	public SpaceXManager() {
-		this.rocketService = new RocketService(rocketRepository, missionRepository);
-		this.missionService = new MissionService(missionRepository, rocketRepository);
+		this(new RocketRepository(), new MissionRepository(), null);
+	}
+
+	// Durable mode: every mutation is appended to a write-ahead log in the given
+	// directory, and the state recorded there is restored on construction
+	public SpaceXManager(Path logDirectory, FsyncPolicy fsyncPolicy) {
+		this(new RocketRepository(), new MissionRepository(), new WriteAheadLog(logDirectory, fsyncPolicy));
+	}
+
+	// Off-heap mode: fleet state is kept in memory-mapped files instead of on the
+	// heap. The store is working storage only and starts empty.
+	public SpaceXManager(MappedFleetStore fleetStore) {
+		this(new MappedRocketRepository(fleetStore), new MappedMissionRepository(fleetStore), null);
+	}
+
+	// Durable off-heap mode: the store is rebuilt from the write-ahead log in the
+	// given directory on construction, and every mutation is appended to it
+	public SpaceXManager(MappedFleetStore fleetStore, Path logDirectory, FsyncPolicy fsyncPolicy) {
+		this(new MappedRocketRepository(fleetStore), new MappedMissionRepository(fleetStore),
+				new WriteAheadLog(logDirectory, fsyncPolicy));
+	}
+
+	private SpaceXManager(RocketStore rocketRepository, MissionRepository missionRepository,
+			WriteAheadLog writeAheadLog) {
+		this.rocketRepository = rocketRepository;
+		this.missionRepository = missionRepository;
+		this.rocketService = new RocketService(rocketRepository, missionRepository, locks);
+		this.missionService = new MissionService(missionRepository, rocketRepository, locks);
+		rocketService.setMutationListener(dispatcher);
+		missionService.setMutationListener(dispatcher);
+		locks.setGuardHooks(dispatcher::operationStarted, dispatcher::operationFinished);
+
+		this.writeAheadLog = writeAheadLog;
+		if (writeAheadLog != null) {
+			writeAheadLog.replay(new ServiceRecordHandler(rocketService, missionService));
+			dispatcher.addListener(writeAheadLog);
+		}
+		dispatcher.addListener(changeJournal);
+		dispatcher.addListener(eventPublisher);
 	}
 
 	public void addRocket(Rocket rocket) {
 		rocketService.addRocket(rocket);
+		commit();
 	}
 
 	public void addMission(Mission mission) {
 		missionService.addMission(mission);
+		commit();
+	}
+
+	// Bulk variants: each batch is validated up front, applied under one set of
+	// locks and committed to the write-ahead log once
+	public BatchResult addRockets(Collection<Rocket> rockets) {
+		BatchResult result = rocketService.addRockets(rockets);
+		commit();
+		return result;
+	}
+
+	public BatchResult addMissions(Collection<Mission> missions) {
+		BatchResult result = missionService.addMissions(missions);
+		commit();
+		return result;
+	}
+
+	public BatchResult assignRocketsToMission(String missionName, Collection<String> rocketNames) {
+		BatchResult result = missionService.assignRocketsToMission(missionName, rocketNames);
+		commit();
+		return result;
+	}
+
+	public BatchResult changeRocketStatuses(Map<String, RocketStatus> newStatuses) {
+		BatchResult result = rocketService.changeRocketStatuses(newStatuses);
+		commit();
+		return result;
 	}
 
 	public void assignRocketToMission(String rocketName, String missionName) {
 		missionService.assignRocketToMission(rocketName, missionName);
+		commit();
+	}
+
+	// Non-throwing variant for callers that expect many rejections
+	public AssignmentOutcome tryAssignRocketToMission(String rocketName, String missionName) {
+		AssignmentOutcome outcome = missionService.tryAssignRocketToMission(rocketName, missionName);
+		if (outcome == AssignmentOutcome.ASSIGNED) {
+			commit();
+		}
+		return outcome;
+	}
+
+	// Assigns count free rockets to the mission in one step, or throws
+	// InsufficientRocketsException without assigning any
+	public List<String> allocateRockets(String missionName, int count, RocketStatus statusFilter) {
+		List<String> allocated = missionService.allocateRockets(missionName, count, statusFilter);
+		commit();
+		return allocated;
 	}
 
 	public void unassignRocketFromMission(String rocketName) {
 		missionService.unassignRocketFromMission(rocketName);
+		commit();
 	}
 
 	public void changeRocketStatus(String rocketName, RocketStatus newStatus) {
 		rocketService.changeRocketStatus(rocketName, newStatus);
+		commit();
 	}
 
 	public void changeMissionStatus(String missionName, MissionStatus newStatus) {
 		missionService.changeMissionStatus(missionName, newStatus);
+		commit();
 	}
 
 	public List<String> getMissionSummary() {
 		return missionService.getMissionSummary();
 	}
 
+	public List<String> getMissionSummary(int offset, int limit) {
+		return missionService.getMissionSummary(offset, limit);
+	}
+
+	public List<String> getTopMissions(int count) {
+		return missionService.getTopMissions(count);
+	}
+
+	// The missions of getMissionSummary(offset, limit) as data, for callers
+	// that merge or re-render summaries, e.g. a sharded router
+	public List<MissionSummary> getMissionSummaries(int offset, int limit) {
+		return missionService.getMissionSummaries(offset, limit);
+	}
+
+	public Stream<String> streamMissionSummary() {
+		return missionService.streamMissionSummary();
+	}
+
+	public void writeMissionSummary(Appendable out) throws IOException {
+		missionService.writeMissionSummary(out);
+	}
+
 	public String getRocketInfo(String rocketName) {
 		return rocketService.getRocketInfo(rocketName);
 	}
 
+	// Allocation-free variants for hot read paths: the info line is appended to
+	// the caller's buffer
+	public void appendRocketInfo(String rocketName, StringBuilder out) {
+		rocketService.appendRocketInfo(rocketName, out);
+	}
+
+	public void appendRocketInfo(String rocketName, Appendable out) throws IOException {
+		rocketService.appendRocketInfo(rocketName, out);
+	}
+
+	// Ids are handles for hot callers: an operation by id reaches the rocket or
+	// mission without hashing its name. An id stays valid until the entity is
+	// removed.
+	public int rocketId(String rocketName) {
+		int id = rocketRepository.findId(rocketName);
+		if (id == NameDictionary.NO_ID) {
+			throw new RocketNotFoundException(() -> "Rocket '" + rocketName + "' not found.");
+		}
+		return id;
+	}
+
+	public int missionId(String missionName) {
+		int id = missionRepository.findId(missionName);
+		if (id == NameDictionary.NO_ID) {
+			throw new MissionNotFoundException(() -> "Mission '" + missionName + "' not found.");
+		}
+		return id;
+	}
+
+	public String getRocketInfo(int rocketId) {
+		return rocketService.getRocketInfo(rocketId);
+	}
+
+	public void appendRocketInfo(int rocketId, StringBuilder out) {
+		rocketService.appendRocketInfo(rocketId, out);
+	}
+
+	public void changeRocketStatus(int rocketId, RocketStatus newStatus) {
+		rocketService.changeRocketStatus(rocketId, newStatus);
+		commit();
+	}
+
+	public void assignRocketToMission(int rocketId, int missionId) {
+		missionService.assignRocketToMission(rocketId, missionId);
+		commit();
+	}
+
+	public void unassignRocketFromMission(int rocketId) {
+		missionService.unassignRocketFromMission(rocketId);
+		commit();
+	}
+
+	public void changeMissionStatus(int missionId, MissionStatus newStatus) {
+		missionService.changeMissionStatus(missionId, newStatus);
+		commit();
+	}
+
+	public Optional<Rocket> findRocket(String rocketName) {
+		return rocketService.findRocketByName(rocketName);
+	}
+
+	public List<Rocket> findRocketsByStatus(RocketStatus status) {
+		return rocketService.findRocketsByStatus(status);
+	}
+
+	public List<Mission> findMissionsByStatus(MissionStatus status) {
+		return missionService.findMissionsByStatus(status);
+	}
+
+	public List<Rocket> findUnassignedRockets(RocketStatus statusFilter, int limit) {
+		return rocketService.findUnassignedRockets(statusFilter, limit);
+	}
+
 	public void removeRocket(String rocketName) {
 		rocketService.removeRocket(rocketName);
+		commit();
 	}
 
 	public void removeMission(String missionName) {
 		missionService.removeMission(missionName);
+		commit();
+	}
+
+	// Durable mode only: snapshots the state in the background and drops the log
+	// segments the snapshot replaces, so that restarts stay fast
+	public CompletableFuture<Void> checkpoint() {
+		if (writeAheadLog == null) {
+			throw new IllegalStateException("Checkpoints are only available in durable mode.");
+		}
+		return writeAheadLog.checkpoint();
+	}
+
+	// Delivers an event for every successful mutation to the subscriber, on a
+	// thread of its own. Events wait in a ring buffer of the given capacity; when
+	// it is full, the overflow policy either drops new events or makes mutating
+	// threads wait. A BLOCK subscriber must not mutate this manager itself.
+	public EventSubscription subscribe(Consumer<DomainEvent> subscriber, int capacity, OverflowPolicy overflowPolicy) {
+		return eventPublisher.subscribe(subscriber, capacity, overflowPolicy);
+	}
+
+	public EventSubscription subscribe(Consumer<DomainEvent> subscriber) {
+		return subscribe(subscriber, DEFAULT_EVENT_BUFFER, OverflowPolicy.DROP);
+	}
+
+	// Pull-based sync: up to max changes made after the given sequence number
+	// (0 for the first call). The journal keeps the latest changes only; a
+	// truncated result means the caller has to read the whole fleet again.
+	public ChangeSet changesSince(long sequence, int max) {
+		return changeJournal.changesSince(sequence, max);
+	}
+
+	// Sequence of the latest change. Taken right after a write, it serves as a
+	// read-your-writes token for replicas of this manager.
+	public long latestSequence() {
+		return changeJournal.latestSequence();
+	}
+
+	// The whole fleet in the compact binary format of FleetCodec, e.g. to move
+	// it to another process. Mission names, statuses and assignments in their
+	// original order all survive the trip through importState.
+	public ByteBuffer exportState() {
+		try (StripedLocks.Guard guard = locks.lockAll()) {
+			return FleetCodec.encode(missionRepository.findAll(), rocketRepository.findAll());
+		}
+	}
+
+	// Adds a fleet written by exportState, going through the usual rules and
+	// listeners. The buffer's position is left untouched.
+	public void importState(ByteBuffer state) {
+		FleetCodec.read(new BinaryReader(state.duplicate()), new FleetVisitor() {
+			@Override
+			public void mission(String missionName, MissionStatus status) {
+				Mission mission = new Mission(missionName);
+				mission.setStatus(status);
+				missionService.addMission(mission);
+			}
+
+			@Override
+			public void rocket(String rocketName, RocketStatus status, String missionName) {
+				Rocket rocket = new Rocket(rocketName);
+				rocket.setStatus(status);
+				rocketService.addRocket(rocket);
+				if (missionName != null) {
+					missionService.assignRocketToMission(rocketName, missionName);
+				}
+			}
+		});
+		commit();
+	}
+
+	// The encoded fleet, consistent with the change journal: importing the image
+	// and then applying changesSince(image.sequence()) reproduces this fleet
+	public ReplicationImage replicationImage() {
+		try (StripedLocks.Guard guard = locks.lockAll()) {
+			ByteBuffer fleet = FleetCodec.encode(missionRepository.findAll(), rocketRepository.findAll());
+			return new ReplicationImage(changeJournal.latestSequence(), fleet);
+		}
+	}
+
+	// Applies all operations of the body or, if any of them breaks a rule, none.
+	// The body runs against private copies and may run again when another
+	// thread changes one of its rockets or missions before it commits, so it
+	// must not have side effects of its own.
+	public void transaction(Consumer<Transaction> body) {
+		TransactionManager manager = transactionManager;
+		if (manager == null) {
+			manager = startTransactions();
+		}
+		manager.execute(body);
+		commit();
+	}
+
+	// Snapshot isolation: a consistent, immutable view of the whole fleet that
+	// is read without any locks. The first call switches snapshots on; from then
+	// on every mutation also publishes new versions of the entities it touched.
+	public FleetSnapshot snapshot() {
+		SnapshotPublisher publisher = snapshotPublisher;
+		if (publisher == null) {
+			publisher = startSnapshots();
+		}
+		return publisher.current();
+	}
+
+	@Override
+	public void close() {
+		eventPublisher.closeAll();
+		if (writeAheadLog != null) {
+			writeAheadLog.close();
+		}
+	}
+
+	private synchronized SnapshotPublisher startSnapshots() {
+		if (snapshotPublisher == null) {
+			// No mutation runs while the first snapshot is built and the publisher registered
+			try (StripedLocks.Guard guard = locks.lockAll()) {
+				SnapshotPublisher publisher = new SnapshotPublisher(rocketRepository.findAll(), missionRepository.findAll());
+				dispatcher.addListener(publisher);
+				snapshotPublisher = publisher;
+			}
+		}
+		return snapshotPublisher;
+	}
+
+	private synchronized TransactionManager startTransactions() {
+		if (transactionManager == null) {
+			// Versions are only tracked from here on, so no mutation may run in between
+			try (StripedLocks.Guard guard = locks.lockAll()) {
+				Runnable storageCheck = writeAheadLog == null ? () -> {
+				} : writeAheadLog::checkWritable;
+				TransactionManager manager = new TransactionManager(rocketService, missionService, rocketRepository,
+						missionRepository, locks, storageCheck);
+				dispatcher.addListener(manager.versionTracker());
+				transactionManager = manager;
+			}
+		}
+		return transactionManager;
+	}
+
+	private void commit() {
+		if (writeAheadLog != null) {
+			writeAheadLog.commit();
+		}
 	}
 }
@@ -0,0 +1,69 @@
+package com.home.project.dragonrockets.internal.codec;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Reads the codec's primitives straight from a ByteBuffer, advancing its
+// position. Strings in heap buffers are decoded in place; other buffers
+// (e.g. a mapped file) go through one reused scratch array.
+public final class BinaryReader {
+
+	private final ByteBuffer buffer;
+	private byte[] scratch = new byte[64];
+
+	public BinaryReader(ByteBuffer buffer) {
+		this.buffer = buffer;
+	}
+
+	public boolean hasRemaining() {
+		return buffer.hasRemaining();
+	}
+
+	public int readByte() {
+		return buffer.get();
+	}
+
+	public int readInt() {
+		return buffer.getInt();
+	}
+
+	public long readVarint() {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			byte b = buffer.get();
+			value |= (long) (b & 0x7F) << shift;
+			if (b >= 0) {
+				return value;
+			}
+		}
+		throw new IllegalArgumentException("Malformed varint.");
+	}
+
+	// A varint that has to fit in a non-negative int, e.g. a length or count
+	public int readCount() {
+		long value = readVarint();
+		if (value > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Count " + value + " is out of range.");
+		}
+		return (int) value;
+	}
+
+	public String readString() {
+		int length = readCount();
+		if (length > buffer.remaining()) {
+			throw new BufferUnderflowException();
+		}
+		if (buffer.hasArray()) {
+			String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+					StandardCharsets.UTF_8);
+			buffer.position(buffer.position() + length);
+			return value;
+		}
+		if (scratch.length < length) {
+			scratch = new byte[Math.max(length, scratch.length * 2)];
+		}
+		buffer.get(scratch, 0, length);
+		return new String(scratch, 0, length, StandardCharsets.UTF_8);
+	}
+}
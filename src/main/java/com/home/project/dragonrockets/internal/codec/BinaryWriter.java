@@ -0,0 +1,116 @@
+package com.home.project.dragonrockets.internal.codec;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+// Writes the codec's primitives into a ByteBuffer. In memory the buffer grows
+// as needed; with a channel it is drained into the channel whenever it fills
+// up, so arbitrarily large fleets are written with a fixed buffer.
+public final class BinaryWriter {
+
+	private final WritableByteChannel channel;
+	private ByteBuffer buffer;
+
+	public BinaryWriter(int initialCapacity) {
+		this.channel = null;
+		this.buffer = ByteBuffer.allocate(Math.max(16, initialCapacity));
+	}
+
+	public BinaryWriter(WritableByteChannel channel, int bufferSize) {
+		this.channel = channel;
+		this.buffer = ByteBuffer.allocate(Math.max(16, bufferSize));
+	}
+
+	public void writeByte(int value) {
+		ensure(1);
+		buffer.put((byte) value);
+	}
+
+	public void writeInt(int value) {
+		ensure(4);
+		buffer.putInt(value);
+	}
+
+	// Unsigned LEB128: 7 bits per byte, high bit set on all but the last byte
+	public void writeVarint(long value) {
+		ensure(10);
+		while ((value & ~0x7FL) != 0) {
+			buffer.put((byte) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		buffer.put((byte) value);
+	}
+
+	// Varint byte length followed by UTF-8. ASCII, the common case for names,
+	// is copied char by char without an intermediate array.
+	public void writeString(String value) {
+		int length = value.length();
+		boolean ascii = true;
+		for (int i = 0; i < length && ascii; i++) {
+			ascii = value.charAt(i) < 0x80;
+		}
+		if (!ascii) {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			writeVarint(bytes.length);
+			ensure(bytes.length);
+			buffer.put(bytes);
+			return;
+		}
+		writeVarint(length);
+		ensure(length);
+		if (buffer.hasArray()) {
+			byte[] array = buffer.array();
+			int position = buffer.arrayOffset() + buffer.position();
+			for (int i = 0; i < length; i++) {
+				array[position + i] = (byte) value.charAt(i);
+			}
+			buffer.position(buffer.position() + length);
+		} else {
+			for (int i = 0; i < length; i++) {
+				buffer.put((byte) value.charAt(i));
+			}
+		}
+	}
+
+	// The bytes written so far, ready to be read. Only for in-memory writers.
+	public ByteBuffer toByteBuffer() {
+		if (channel != null) {
+			throw new IllegalStateException("Writer drains into a channel.");
+		}
+		return buffer.duplicate().flip();
+	}
+
+	// Hands everything buffered to the channel
+	public void flush() {
+		if (channel == null) {
+			return;
+		}
+		buffer.flip();
+		try {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot write encoded data.", e);
+		}
+		buffer.clear();
+	}
+
+	private void ensure(int bytes) {
+		if (buffer.remaining() >= bytes) {
+			return;
+		}
+		if (channel != null) {
+			flush();
+			if (buffer.remaining() >= bytes) {
+				return;
+			}
+		}
+		ByteBuffer grown = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+		grown.put(buffer.flip());
+		buffer = grown;
+	}
+}
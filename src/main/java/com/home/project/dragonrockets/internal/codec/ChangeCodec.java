@@ -0,0 +1,163 @@
+package com.home.project.dragonrockets.internal.codec;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.home.project.dragonrockets.internal.event.Change;
+import com.home.project.dragonrockets.internal.event.ChangeSet;
+import com.home.project.dragonrockets.internal.event.DomainEvent;
+
+// Binary encoding of a change journal query result:
+// [version][latest sequence][truncated][count][sequence delta, event]...
+// Sequences are written as the difference to the previous one. Names go
+// through a dictionary local to the message: the first occurrence is written
+// in full, every later one as a varint reference, so a mission named by
+// hundreds of events costs one or two bytes per event.
+public final class ChangeCodec {
+
+	public static final byte VERSION = 1;
+
+	private static final byte ROCKET_ADDED = 1;
+	private static final byte MISSION_ADDED = 2;
+	private static final byte ROCKET_ASSIGNED = 3;
+	private static final byte ROCKET_UNASSIGNED = 4;
+	private static final byte ROCKET_STATUS_CHANGED = 5;
+	private static final byte MISSION_STATUS_CHANGED = 6;
+	private static final byte ROCKET_REMOVED = 7;
+	private static final byte MISSION_REMOVED = 8;
+
+	private ChangeCodec() {
+	}
+
+	public static ByteBuffer encode(ChangeSet changeSet) {
+		BinaryWriter out = new BinaryWriter(32 + changeSet.changes().size() * 12);
+		write(out, changeSet);
+		return out.toByteBuffer();
+	}
+
+	public static void write(BinaryWriter out, ChangeSet changeSet) {
+		out.writeByte(VERSION);
+		out.writeVarint(changeSet.latestSequence());
+		out.writeByte(changeSet.truncated() ? 1 : 0);
+		out.writeVarint(changeSet.changes().size());
+		Map<String, Integer> dictionary = new HashMap<>();
+		long previous = 0;
+		for (Change change : changeSet.changes()) {
+			out.writeVarint(change.sequence() - previous);
+			previous = change.sequence();
+			writeEvent(out, change.event(), dictionary);
+		}
+	}
+
+	public static ChangeSet read(BinaryReader in) {
+		int version = in.readByte();
+		if (version != VERSION) {
+			throw new IllegalArgumentException("Unsupported change format version " + version + ".");
+		}
+		long latestSequence = in.readVarint();
+		boolean truncated = in.readByte() != 0;
+		int count = in.readCount();
+		List<String> dictionary = new ArrayList<>();
+		List<Change> changes = new ArrayList<>(count);
+		long sequence = 0;
+		for (int i = 0; i < count; i++) {
+			sequence += in.readVarint();
+			changes.add(new Change(sequence, readEvent(in, dictionary)));
+		}
+		return new ChangeSet(changes, latestSequence, truncated);
+	}
+
+	private static void writeEvent(BinaryWriter out, DomainEvent event, Map<String, Integer> dictionary) {
+		if (event instanceof DomainEvent.RocketAdded added) {
+			out.writeByte(ROCKET_ADDED);
+			writeName(out, added.rocketName(), dictionary);
+			out.writeByte(added.status().getCode());
+		} else if (event instanceof DomainEvent.MissionAdded added) {
+			out.writeByte(MISSION_ADDED);
+			writeName(out, added.missionName(), dictionary);
+			out.writeByte(added.status().getCode());
+		} else if (event instanceof DomainEvent.RocketAssigned assigned) {
+			out.writeByte(ROCKET_ASSIGNED);
+			writeName(out, assigned.rocketName(), dictionary);
+			writeName(out, assigned.missionName(), dictionary);
+		} else if (event instanceof DomainEvent.RocketUnassigned unassigned) {
+			out.writeByte(ROCKET_UNASSIGNED);
+			writeName(out, unassigned.rocketName(), dictionary);
+			writeName(out, unassigned.missionName(), dictionary);
+		} else if (event instanceof DomainEvent.RocketStatusChanged changed) {
+			out.writeByte(ROCKET_STATUS_CHANGED);
+			writeName(out, changed.rocketName(), dictionary);
+			out.writeByte(changed.previousStatus().getCode());
+			out.writeByte(changed.newStatus().getCode());
+		} else if (event instanceof DomainEvent.MissionStatusChanged changed) {
+			out.writeByte(MISSION_STATUS_CHANGED);
+			writeName(out, changed.missionName(), dictionary);
+			out.writeByte(changed.previousStatus().getCode());
+			out.writeByte(changed.newStatus().getCode());
+			out.writeByte(changed.automatic() ? 1 : 0);
+		} else if (event instanceof DomainEvent.RocketRemoved removed) {
+			out.writeByte(ROCKET_REMOVED);
+			writeName(out, removed.rocketName(), dictionary);
+		} else if (event instanceof DomainEvent.MissionRemoved removed) {
+			out.writeByte(MISSION_REMOVED);
+			writeName(out, removed.missionName(), dictionary);
+		} else {
+			throw new IllegalArgumentException("Unknown event " + event + ".");
+		}
+	}
+
+	private static DomainEvent readEvent(BinaryReader in, List<String> dictionary) {
+		int type = in.readByte();
+		switch (type) {
+			case ROCKET_ADDED:
+				return new DomainEvent.RocketAdded(readName(in, dictionary), FleetCodec.rocketStatus(in.readByte()));
+			case MISSION_ADDED:
+				return new DomainEvent.MissionAdded(readName(in, dictionary), FleetCodec.missionStatus(in.readByte()));
+			case ROCKET_ASSIGNED:
+				return new DomainEvent.RocketAssigned(readName(in, dictionary), readName(in, dictionary));
+			case ROCKET_UNASSIGNED:
+				return new DomainEvent.RocketUnassigned(readName(in, dictionary), readName(in, dictionary));
+			case ROCKET_STATUS_CHANGED:
+				return new DomainEvent.RocketStatusChanged(readName(in, dictionary),
+						FleetCodec.rocketStatus(in.readByte()), FleetCodec.rocketStatus(in.readByte()));
+			case MISSION_STATUS_CHANGED:
+				return new DomainEvent.MissionStatusChanged(readName(in, dictionary),
+						FleetCodec.missionStatus(in.readByte()), FleetCodec.missionStatus(in.readByte()),
+						in.readByte() != 0);
+			case ROCKET_REMOVED:
+				return new DomainEvent.RocketRemoved(readName(in, dictionary));
+			case MISSION_REMOVED:
+				return new DomainEvent.MissionRemoved(readName(in, dictionary));
+			default:
+				throw new IllegalArgumentException("Unknown event type " + type + ".");
+		}
+	}
+
+	// 0 introduces a new name, n refers to the n-th name introduced before
+	private static void writeName(BinaryWriter out, String name, Map<String, Integer> dictionary) {
+		Integer reference = dictionary.get(name);
+		if (reference != null) {
+			out.writeVarint(reference);
+			return;
+		}
+		dictionary.put(name, dictionary.size() + 1);
+		out.writeVarint(0);
+		out.writeString(name);
+	}
+
+	private static String readName(BinaryReader in, List<String> dictionary) {
+		int reference = in.readCount();
+		if (reference == 0) {
+			String name = in.readString();
+			dictionary.add(name);
+			return name;
+		}
+		if (reference > dictionary.size()) {
+			throw new IllegalArgumentException("Unknown name reference " + reference + ".");
+		}
+		return dictionary.get(reference - 1);
+	}
+}
@@ -0,0 +1,92 @@
+package com.home.project.dragonrockets.internal.codec;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+
+import com.home.project.dragonrockets.internal.model.Mission;
+import com.home.project.dragonrockets.internal.model.MissionStatus;
+import com.home.project.dragonrockets.internal.model.Rocket;
+import com.home.project.dragonrockets.internal.model.RocketStatus;
+
+// Binary encoding of a whole fleet:
+// [magic][version][missions: name, status, rockets: name, status][unassigned rockets: name, status]
+// Counts and lengths are varints and statuses single bytes. An assigned rocket
+// is written inside its mission's block, so every name appears exactly once
+// and assignment edges (in assignment order) take no extra bytes.
+public final class FleetCodec {
+
+	public static final int MAGIC = 0x44524643;
+	public static final byte VERSION = 1;
+
+
+	private FleetCodec() {
+	}
+
+	public static ByteBuffer encode(Collection<Mission> missions, Collection<Rocket> rockets) {
+		BinaryWriter out = new BinaryWriter(64 + rockets.size() * 16 + missions.size() * 24);
+		write(out, missions, rockets);
+		return out.toByteBuffer();
+	}
+
+	// The caller keeps the fleet from changing while it is written
+	public static void write(BinaryWriter out, Collection<Mission> missions, Collection<Rocket> rockets) {
+		out.writeInt(MAGIC);
+		out.writeByte(VERSION);
+		out.writeVarint(missions.size());
+		for (Mission mission : missions) {
+			out.writeString(mission.getName());
+			out.writeByte(mission.getStatus().getCode());
+			Collection<Rocket> assignedRockets = mission.getAssignedRockets();
+			out.writeVarint(assignedRockets.size());
+			for (Rocket rocket : assignedRockets) {
+				out.writeString(rocket.getName());
+				out.writeByte(rocket.getStatus().getCode());
+			}
+		}
+
+		int unassigned = 0;
+		for (Rocket rocket : rockets) {
+			if (rocket.getAssignedMissionName() == null) {
+				unassigned++;
+			}
+		}
+		out.writeVarint(unassigned);
+		for (Rocket rocket : rockets) {
+			if (rocket.getAssignedMissionName() == null) {
+				out.writeString(rocket.getName());
+				out.writeByte(rocket.getStatus().getCode());
+			}
+		}
+	}
+
+	public static void read(BinaryReader in, FleetVisitor visitor) {
+		if (in.readInt() != MAGIC) {
+			throw new IllegalArgumentException("Not an encoded fleet.");
+		}
+		int version = in.readByte();
+		if (version != VERSION) {
+			throw new IllegalArgumentException("Unsupported fleet format version " + version + ".");
+		}
+		int missionCount = in.readCount();
+		for (int i = 0; i < missionCount; i++) {
+			String missionName = in.readString();
+			visitor.mission(missionName, missionStatus(in.readByte()));
+			int rocketCount = in.readCount();
+			for (int j = 0; j < rocketCount; j++) {
+				visitor.rocket(in.readString(), rocketStatus(in.readByte()), missionName);
+			}
+		}
+		int unassigned = in.readCount();
+		for (int i = 0; i < unassigned; i++) {
+			visitor.rocket(in.readString(), rocketStatus(in.readByte()), null);
+		}
+	}
+
+	public static RocketStatus rocketStatus(int code) {
+		return RocketStatus.fromCode(code);
+	}
+
+	public static MissionStatus missionStatus(int code) {
+		return MissionStatus.fromCode(code);
+	}
+}
@@ -0,0 +1,14 @@
+package com.home.project.dragonrockets.internal.codec;
+
+import com.home.project.dragonrockets.internal.model.MissionStatus;
+import com.home.project.dragonrockets.internal.model.RocketStatus;
+
+// Receives a decoded fleet. A mission is reported before its rockets, and
+// the rockets of a mission in the order they were assigned to it.
+public interface FleetVisitor {
+
+	void mission(String missionName, MissionStatus status);
+
+	// missionName is null for an unassigned rocket
+	void rocket(String rocketName, RocketStatus status, String missionName);
+}
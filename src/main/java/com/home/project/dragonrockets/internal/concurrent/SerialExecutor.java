@@ -0,0 +1,233 @@
+package com.home.project.dragonrockets.internal.concurrent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+// Runs tasks with the same key one after another, in submission order, and
+// tasks with different keys in parallel on the underlying executor. Each key
+// has a mailbox only while it has tasks waiting, so idle keys cost nothing.
+//
+// A task may have several keys: it then runs once it has reached the head of
+// all their mailboxes, which wait for it meanwhile. Tasks with several keys
+// are enqueued one at a time, so any two of them sit in the same order in
+// every mailbox they share and can never wait for each other.
+//
+// If the executor rejects a mailbox, the mailbox is dropped and every task
+// waiting in it is handed to its rejection handler instead of being run. The
+// rejection is also thrown to the caller whose task could not be scheduled.
+public class SerialExecutor {
+
+	private static final Consumer<RejectedExecutionException> IGNORE_REJECTION = e -> {
+	};
+
+	private final Executor executor;
+	private final Map<Object, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+	public SerialExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
+	public void execute(Object key, Runnable task) {
+		execute(key, task, IGNORE_REJECTION);
+	}
+
+	public void execute(Object key, Runnable task, Consumer<RejectedExecutionException> onRejected) {
+		Mailbox created = enqueue(key, new Entry(task, onRejected, 1));
+		if (created != null) {
+			schedule(created, true);
+		}
+	}
+
+	public void execute(Collection<?> keys, Runnable task, Consumer<RejectedExecutionException> onRejected) {
+		Set<Object> distinct = new LinkedHashSet<>(keys);
+		if (distinct.size() == 1) {
+			execute(distinct.iterator().next(), task, onRejected);
+			return;
+		}
+		Entry entry = new Entry(task, onRejected, distinct.size());
+		List<Mailbox> created = new ArrayList<>();
+		synchronized (this) {
+			for (Object key : distinct) {
+				Mailbox mailbox = enqueue(key, entry);
+				if (mailbox != null) {
+					created.add(mailbox);
+				}
+			}
+		}
+		RejectedExecutionException rejection = null;
+		for (Mailbox mailbox : created) {
+			try {
+				schedule(mailbox, true);
+			} catch (RejectedExecutionException e) {
+				rejection = e;
+			}
+		}
+		if (rejection != null) {
+			throw rejection;
+		}
+	}
+
+	public int activeKeys() {
+		return mailboxes.size();
+	}
+
+	// Returns the mailbox if it was created for this entry and still has to be scheduled
+	private Mailbox enqueue(Object key, Entry entry) {
+		Mailbox[] created = new Mailbox[1];
+		mailboxes.compute(key, (k, mailbox) -> {
+			if (mailbox == null) {
+				mailbox = new Mailbox(k);
+				created[0] = mailbox;
+			}
+			mailbox.entries.add(entry);
+			return mailbox;
+		});
+		return created[0];
+	}
+
+	private void schedule(Mailbox mailbox, boolean rethrow) {
+		try {
+			executor.execute(mailbox);
+		} catch (RejectedExecutionException e) {
+			mailbox.reject(e);
+			if (rethrow) {
+				throw e;
+			}
+		}
+	}
+
+	private enum Arrival {
+		RUN, WAIT, SKIP
+	}
+
+	// One task in the mailboxes of all its keys
+	private final class Entry {
+
+		private final Runnable task;
+		private final Consumer<RejectedExecutionException> onRejected;
+		private int missingMailboxes;
+		private boolean rejected;
+		private List<Mailbox> waiting;
+
+		Entry(Runnable task, Consumer<RejectedExecutionException> onRejected, int mailboxCount) {
+			this.task = task;
+			this.onRejected = onRejected;
+			this.missingMailboxes = mailboxCount;
+		}
+
+		synchronized Arrival arrive(Mailbox mailbox) {
+			if (rejected) {
+				return Arrival.SKIP;
+			}
+			if (--missingMailboxes > 0) {
+				if (waiting == null) {
+					waiting = new ArrayList<>();
+				}
+				waiting.add(mailbox);
+				return Arrival.WAIT;
+			}
+			return Arrival.RUN;
+		}
+
+		void resumeWaiting() {
+			List<Mailbox> resumed;
+			synchronized (this) {
+				resumed = waiting;
+				waiting = null;
+			}
+			if (resumed == null) {
+				return;
+			}
+			for (Mailbox mailbox : resumed) {
+				schedule(mailbox, false);
+			}
+		}
+
+		void reject(RejectedExecutionException e) {
+			synchronized (this) {
+				if (rejected) {
+					return;
+				}
+				rejected = true;
+			}
+			try {
+				onRejected.accept(e);
+			} finally {
+				// Mailboxes already waiting for this entry go on without it
+				resumeWaiting();
+			}
+		}
+	}
+
+	private final class Mailbox implements Runnable {
+
+		private final Object key;
+		private final Queue<Entry> entries = new ConcurrentLinkedQueue<>();
+
+		Mailbox(Object key) {
+			this.key = key;
+		}
+
+		@Override
+		public void run() {
+			while (true) {
+				Entry entry = entries.poll();
+				if (entry != null) {
+					Arrival arrival = entry.arrive(this);
+					if (arrival == Arrival.WAIT) {
+						// Scheduled again by the last mailbox to reach the entry
+						return;
+					}
+					if (arrival == Arrival.RUN) {
+						runSafely(entry.task);
+						entry.resumeWaiting();
+					}
+					continue;
+				}
+				// Tasks are only added under the map's lock for this key, so the
+				// mailbox is either removed empty here or still has a task to run
+				if (mailboxes.computeIfPresent(key, (k, mailbox) -> mailbox.entries.isEmpty() ? null : mailbox) == null) {
+					return;
+				}
+			}
+		}
+
+		// Drops the mailbox; later tasks for its key start a new one
+		void reject(RejectedExecutionException e) {
+			List<Entry> dropped = new ArrayList<>();
+			mailboxes.computeIfPresent(key, (k, mailbox) -> {
+				if (mailbox != this) {
+					return mailbox;
+				}
+				Entry entry;
+				while ((entry = entries.poll()) != null) {
+					dropped.add(entry);
+				}
+				return null;
+			});
+			for (Entry entry : dropped) {
+				entry.reject(e);
+			}
+		}
+
+		// A failing task must not stop the tasks queued behind it
+		private void runSafely(Runnable task) {
+			try {
+				task.run();
+			} catch (RuntimeException e) {
+				Thread thread = Thread.currentThread();
+				thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+			}
+		}
+	}
+}
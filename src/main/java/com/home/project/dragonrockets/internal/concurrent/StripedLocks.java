@@ -0,0 +1,122 @@
+package com.home.project.dragonrockets.internal.concurrent;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class StripedLocks {
+
+	private static final int DEFAULT_STRIPES = 256;
+	private static final int MISSION_SALT = 0x9E3779B9;
+
+	private final ReentrantLock[] locks;
+	private final int mask;
+	private volatile Runnable onLocked = () -> {
+	};
+	private volatile Runnable onUnlocking = () -> {
+	};
+
+	public StripedLocks() {
+		this(DEFAULT_STRIPES);
+	}
+
+	public StripedLocks(int stripes) {
+		if (stripes <= 0) {
+			throw new IllegalArgumentException("Number of stripes must be positive.");
+		}
+		int size = 1;
+		while (size < stripes) {
+			size <<= 1;
+		}
+		this.locks = new ReentrantLock[size];
+		for (int i = 0; i < size; i++) {
+			locks[i] = new ReentrantLock();
+		}
+		this.mask = size - 1;
+	}
+
+	// Run by every guard right after acquiring its stripes and right before
+	// releasing them
+	public void setGuardHooks(Runnable onLocked, Runnable onUnlocking) {
+		this.onLocked = onLocked;
+		this.onUnlocking = onUnlocking;
+	}
+
+	public int stripeCount() {
+		return locks.length;
+	}
+
+	public int rocketStripe(String rocketName) {
+		return spread(rocketName.hashCode());
+	}
+
+	public int missionStripe(String missionName) {
+		return spread(missionName.hashCode() ^ MISSION_SALT);
+	}
+
+	// Stripes are always acquired in ascending order, so two callers locking
+	// overlapping sets of entities can never deadlock each other.
+	public Guard lock(int... stripes) {
+		int[] ordered = stripes.clone();
+		Arrays.sort(ordered);
+		int distinct = 0;
+		for (int i = 0; i < ordered.length; i++) {
+			if (i == 0 || ordered[i] != ordered[i - 1]) {
+				ordered[distinct++] = ordered[i];
+			}
+		}
+		int[] acquired = Arrays.copyOf(ordered, distinct);
+		for (int i = 0; i < acquired.length; i++) {
+			locks[acquired[i]].lock();
+		}
+		return new Guard(acquired);
+	}
+
+	// Batch variant: the stripes are collected in a bit set, which keeps them in
+	// ascending order without sorting one entry per entity
+	public Guard lock(BitSet stripes) {
+		int[] acquired = stripes.stream().toArray();
+		for (int i = 0; i < acquired.length; i++) {
+			locks[acquired[i]].lock();
+		}
+		return new Guard(acquired);
+	}
+
+	public Guard lockAll() {
+		int[] all = new int[locks.length];
+		for (int i = 0; i < all.length; i++) {
+			all[i] = i;
+			locks[i].lock();
+		}
+		return new Guard(all);
+	}
+
+	private int spread(int hash) {
+		return (hash ^ (hash >>> 16)) & mask;
+	}
+
+	public final class Guard implements AutoCloseable {
+
+		private final int[] stripes;
+
+		private final Runnable onUnlocking;
+
+		private Guard(int[] stripes) {
+			this.stripes = stripes;
+			// Paired with the hooks the guard started with, even if they are replaced meanwhile
+			this.onUnlocking = StripedLocks.this.onUnlocking;
+			onLocked.run();
+		}
+
+		@Override
+		public void close() {
+			try {
+				onUnlocking.run();
+			} finally {
+				for (int i = stripes.length - 1; i >= 0; i--) {
+					locks[stripes[i]].unlock();
+				}
+			}
+		}
+	}
+}
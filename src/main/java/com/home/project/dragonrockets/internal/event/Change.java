@@ -0,0 +1,5 @@
+package com.home.project.dragonrockets.internal.event;
+
+// A domain event with its position in the change journal
+public record Change(long sequence, DomainEvent event) {
+}
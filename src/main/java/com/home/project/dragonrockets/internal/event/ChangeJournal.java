@@ -0,0 +1,132 @@
+package com.home.project.dragonrockets.internal.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Bounded in-memory journal of the latest changes. Every mutation gets the
+// next sequence number, starting at 1; once the journal is full, the oldest
+// changes are overwritten.
+//
+// Appends are lock-free. The changes of one service operation, e.g. a batch or
+// a committed transaction, are appended together: the writer claims a block of
+// consecutive sequence numbers, stores the changes with the block's first one
+// last, and then moves the published watermark over its own and every
+// following complete block. Readers only see changes up to the watermark, so
+// a block is visible either entirely or not at all, and not before all
+// earlier blocks.
+public class ChangeJournal extends DomainEventListener {
+
+	private final AtomicReferenceArray<Entry> entries;
+	private final int mask;
+	private final AtomicLong claimedSequence = new AtomicLong();
+	private final AtomicLong publishedSequence = new AtomicLong();
+	private final ThreadLocal<Operation> operation = ThreadLocal.withInitial(Operation::new);
+
+	public ChangeJournal(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Capacity must be positive.");
+		}
+		int size = 1;
+		while (size < capacity) {
+			size <<= 1;
+		}
+		this.entries = new AtomicReferenceArray<>(size);
+		this.mask = size - 1;
+	}
+
+	public long latestSequence() {
+		return publishedSequence.get();
+	}
+
+	// Up to max changes with a sequence number greater than sequence, oldest first
+	public ChangeSet changesSince(long sequence, int max) {
+		if (sequence < 0 || max < 0) {
+			throw new IllegalArgumentException("Sequence and max must not be negative.");
+		}
+		long latestSequence = publishedSequence.get();
+		long oldestRetained = Math.max(1, latestSequence - mask);
+		long first = Math.max(sequence + 1, oldestRetained);
+		long last = Math.min(latestSequence, first + max - 1);
+		List<Change> result = new ArrayList<>((int) Math.max(0, last - first + 1));
+		// A sequence beyond the latest one was issued by another journal, e.g.
+		// before a restart, so the caller cannot tell what it has missed
+		boolean truncated = sequence + 1 < oldestRetained || sequence > latestSequence;
+		for (long s = first; s <= last; s++) {
+			Change change = entries.get(slot(s)).change();
+			if (change.sequence() != s) {
+				// Overwritten by newer writers while reading: everything read so
+				// far is older still, so the page restarts after the lost change
+				result.clear();
+				truncated = true;
+				continue;
+			}
+			result.add(change);
+		}
+		return new ChangeSet(result, latestSequence, truncated);
+	}
+
+	@Override
+	public void operationStarted() {
+		operation.get().depth++;
+	}
+
+	@Override
+	public void operationFinished() {
+		Operation running = operation.get();
+		// An operation that started before this journal was registered ends at depth 0
+		if (running.depth > 0 && --running.depth > 0) {
+			return;
+		}
+		if (!running.events.isEmpty()) {
+			append(running.events);
+			running.events.clear();
+		}
+	}
+
+	@Override
+	protected void publish(DomainEvent event) {
+		Operation running = operation.get();
+		if (running.depth == 0) {
+			append(List.of(event));
+		} else {
+			running.events.add(event);
+		}
+	}
+
+	// Called under the locks of the mutated entities, so sequence numbers follow
+	// the order in which conflicting mutations were applied
+	private void append(List<DomainEvent> events) {
+		long first = claimedSequence.getAndAdd(events.size()) + 1;
+		long last = first + events.size() - 1;
+		for (int i = events.size() - 1; i >= 0; i--) {
+			entries.set(slot(first + i), new Entry(new Change(first + i, events.get(i)), last));
+		}
+		// The CAS fails while an earlier block is still being stored, or once
+		// another writer has moved past this one; that writer carries on
+		long published = first - 1;
+		while (true) {
+			Entry next = entries.get(slot(published + 1));
+			if (next == null || next.change().sequence() != published + 1
+					|| !publishedSequence.compareAndSet(published, next.lastOfBlock())) {
+				return;
+			}
+			published = next.lastOfBlock();
+		}
+	}
+
+	private int slot(long sequence) {
+		return (int) sequence & mask;
+	}
+
+	// lastOfBlock is only read from the first entry of a block
+	private record Entry(Change change, long lastOfBlock) {
+	}
+
+	private static final class Operation {
+
+		int depth;
+		final List<DomainEvent> events = new ArrayList<>();
+	}
+}
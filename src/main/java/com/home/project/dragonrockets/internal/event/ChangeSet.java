@@ -0,0 +1,14 @@
+package com.home.project.dragonrockets.internal.event;
+
+import java.util.List;
+
+// Result of a change journal query. truncated is true when changes after the
+// requested sequence are no longer known, so the caller has to read the whole
+// fleet again before applying the returned changes.
+public record ChangeSet(List<Change> changes, long latestSequence, boolean truncated) {
+
+	// Sequence to pass to the next query
+	public long nextSequence() {
+		return changes.isEmpty() ? latestSequence : changes.get(changes.size() - 1).sequence();
+	}
+}
@@ -0,0 +1,38 @@
+package com.home.project.dragonrockets.internal.event;
+
+import com.home.project.dragonrockets.internal.model.MissionStatus;
+import com.home.project.dragonrockets.internal.model.RocketStatus;
+
+// Immutable description of a successful mutation, delivered to subscribers of
+// SpaceXManager. Events carry names and statuses only, never live entities.
+public sealed interface DomainEvent {
+
+	record RocketAdded(String rocketName, RocketStatus status) implements DomainEvent {
+	}
+
+	record MissionAdded(String missionName, MissionStatus status) implements DomainEvent {
+	}
+
+	record RocketAssigned(String rocketName, String missionName) implements DomainEvent {
+	}
+
+	// Unassigning also puts the rocket back 'On Ground'
+	record RocketUnassigned(String rocketName, String missionName) implements DomainEvent {
+	}
+
+	record RocketStatusChanged(String rocketName, RocketStatus previousStatus, RocketStatus newStatus)
+			implements DomainEvent {
+	}
+
+	// automatic is true for the switch to 'Pending' made when an assigned rocket
+	// goes into repair
+	record MissionStatusChanged(String missionName, MissionStatus previousStatus, MissionStatus newStatus,
+			boolean automatic) implements DomainEvent {
+	}
+
+	record RocketRemoved(String rocketName) implements DomainEvent {
+	}
+
+	record MissionRemoved(String missionName) implements DomainEvent {
+	}
+}
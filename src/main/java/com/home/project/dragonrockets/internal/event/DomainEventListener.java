@@ -0,0 +1,75 @@
+package com.home.project.dragonrockets.internal.event;
+
+import com.home.project.dragonrockets.internal.model.Mission;
+import com.home.project.dragonrockets.internal.model.MissionStatus;
+import com.home.project.dragonrockets.internal.model.Rocket;
+import com.home.project.dragonrockets.internal.model.RocketStatus;
+import com.home.project.dragonrockets.internal.service.MutationListener;
+
+// Turns mutation callbacks into domain events. Events are only built while
+// isListening() returns true.
+public abstract class DomainEventListener implements MutationListener {
+
+	protected boolean isListening() {
+		return true;
+	}
+
+	protected abstract void publish(DomainEvent event);
+
+	@Override
+	public void rocketAdded(Rocket rocket) {
+		if (isListening()) {
+			publish(new DomainEvent.RocketAdded(rocket.getName(), rocket.getStatus()));
+		}
+	}
+
+	@Override
+	public void missionAdded(Mission mission) {
+		if (isListening()) {
+			publish(new DomainEvent.MissionAdded(mission.getName(), mission.getStatus()));
+		}
+	}
+
+	@Override
+	public void rocketAssigned(Rocket rocket, Mission mission) {
+		if (isListening()) {
+			publish(new DomainEvent.RocketAssigned(rocket.getName(), mission.getName()));
+		}
+	}
+
+	@Override
+	public void rocketUnassigned(Rocket rocket, Mission mission) {
+		if (isListening()) {
+			publish(new DomainEvent.RocketUnassigned(rocket.getName(), mission.getName()));
+		}
+	}
+
+	@Override
+	public void rocketStatusChanged(Rocket rocket, RocketStatus previousStatus) {
+		if (isListening()) {
+			publish(new DomainEvent.RocketStatusChanged(rocket.getName(), previousStatus, rocket.getStatus()));
+		}
+	}
+
+	@Override
+	public void missionStatusChanged(Mission mission, MissionStatus previousStatus, boolean automatic) {
+		if (isListening()) {
+			publish(new DomainEvent.MissionStatusChanged(mission.getName(), previousStatus, mission.getStatus(),
+					automatic));
+		}
+	}
+
+	@Override
+	public void rocketRemoved(Rocket rocket) {
+		if (isListening()) {
+			publish(new DomainEvent.RocketRemoved(rocket.getName()));
+		}
+	}
+
+	@Override
+	public void missionRemoved(Mission mission) {
+		if (isListening()) {
+			publish(new DomainEvent.MissionRemoved(mission.getName()));
+		}
+	}
+}
@@ -0,0 +1,41 @@
+package com.home.project.dragonrockets.internal.event;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Hands every domain event to all subscriptions. Nothing is allocated while
+// there are no subscribers.
+public class EventPublisher extends DomainEventListener {
+
+	private final List<EventSubscription> subscriptions = new CopyOnWriteArrayList<>();
+
+	public EventSubscription subscribe(Consumer<DomainEvent> subscriber, int capacity, OverflowPolicy overflowPolicy) {
+		EventSubscription subscription = new EventSubscription(this, subscriber, capacity, overflowPolicy);
+		subscription.start();
+		subscriptions.add(subscription);
+		return subscription;
+	}
+
+	public void closeAll() {
+		for (EventSubscription subscription : subscriptions) {
+			subscription.close();
+		}
+	}
+
+	void unsubscribe(EventSubscription subscription) {
+		subscriptions.remove(subscription);
+	}
+
+	@Override
+	protected boolean isListening() {
+		return !subscriptions.isEmpty();
+	}
+
+	@Override
+	protected void publish(DomainEvent event) {
+		for (EventSubscription subscription : subscriptions) {
+			subscription.publish(event);
+		}
+	}
+}
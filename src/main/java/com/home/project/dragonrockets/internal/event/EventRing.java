@@ -0,0 +1,77 @@
+package com.home.project.dragonrockets.internal.event;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Bounded lock-free ring buffer for many producers and a single consumer.
+// Every slot carries a sequence number: a producer claims a position with a
+// CAS on the tail and publishes its event by advancing the slot's sequence,
+// and the consumer frees the slot by moving the sequence one lap ahead.
+final class EventRing {
+
+	private final AtomicReferenceArray<DomainEvent> events;
+	private final AtomicLongArray sequences;
+	private final int mask;
+	private final AtomicLong tail = new AtomicLong();
+	// Only read and written by the consumer thread
+	private long head;
+
+	EventRing(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Capacity must be positive.");
+		}
+		int size = 1;
+		while (size < capacity) {
+			size <<= 1;
+		}
+		this.events = new AtomicReferenceArray<>(size);
+		this.sequences = new AtomicLongArray(size);
+		for (int i = 0; i < size; i++) {
+			sequences.set(i, i);
+		}
+		this.mask = size - 1;
+	}
+
+	int capacity() {
+		return mask + 1;
+	}
+
+	// Returns false without waiting if the buffer is full
+	boolean offer(DomainEvent event) {
+		long position = tail.get();
+		while (true) {
+			int index = (int) position & mask;
+			long difference = sequences.get(index) - position;
+			if (difference == 0) {
+				if (tail.compareAndSet(position, position + 1)) {
+					events.lazySet(index, event);
+					sequences.set(index, position + 1);
+					return true;
+				}
+				position = tail.get();
+			} else if (difference < 0) {
+				return false;
+			} else {
+				position = tail.get();
+			}
+		}
+	}
+
+	// Returns null if no event has been published yet
+	DomainEvent poll() {
+		int index = (int) head & mask;
+		if (sequences.get(index) != head + 1) {
+			return null;
+		}
+		DomainEvent event = events.get(index);
+		events.lazySet(index, null);
+		sequences.set(index, head + mask + 1);
+		head++;
+		return event;
+	}
+
+	boolean isEmpty() {
+		return sequences.get((int) head & mask) != head + 1;
+	}
+}
@@ -0,0 +1,118 @@
+package com.home.project.dragonrockets.internal.event;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+// A subscriber with its own ring buffer and consumer thread. Mutating threads
+// only put events into the buffer; the subscriber runs on the consumer thread.
+public final class EventSubscription implements AutoCloseable {
+
+	private static final long IDLE_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+	private static final long FULL_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+	private final EventRing ring;
+	private final Consumer<DomainEvent> subscriber;
+	private final OverflowPolicy overflowPolicy;
+	private final EventPublisher publisher;
+	private final Thread consumer;
+	private final AtomicLong droppedEvents = new AtomicLong();
+	private final AtomicLong failedDeliveries = new AtomicLong();
+	private volatile boolean waiting;
+	private volatile boolean closed;
+
+	EventSubscription(EventPublisher publisher, Consumer<DomainEvent> subscriber, int capacity,
+			OverflowPolicy overflowPolicy) {
+		this.ring = new EventRing(capacity);
+		this.publisher = publisher;
+		this.subscriber = subscriber;
+		this.overflowPolicy = overflowPolicy;
+		this.consumer = new Thread(this::consume, "event-subscriber");
+		consumer.setDaemon(true);
+	}
+
+	void start() {
+		consumer.start();
+	}
+
+	public int capacity() {
+		return ring.capacity();
+	}
+
+	// Events discarded because the buffer was full (DROP) or the subscription
+	// was closed while a mutation waited for room (BLOCK)
+	public long droppedEvents() {
+		return droppedEvents.get();
+	}
+
+	// Events whose delivery threw an exception; the subscriber keeps receiving
+	// the following events
+	public long failedDeliveries() {
+		return failedDeliveries.get();
+	}
+
+	// Stops accepting events, delivers the ones already buffered and waits for
+	// the consumer thread to finish
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		publisher.unsubscribe(this);
+		LockSupport.unpark(consumer);
+		if (Thread.currentThread() != consumer) {
+			try {
+				consumer.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	void publish(DomainEvent event) {
+		if (closed) {
+			return;
+		}
+		while (!ring.offer(event)) {
+			if (overflowPolicy == OverflowPolicy.DROP || closed) {
+				droppedEvents.incrementAndGet();
+				return;
+			}
+			LockSupport.unpark(consumer);
+			LockSupport.parkNanos(FULL_WAIT_NANOS);
+		}
+		if (waiting) {
+			LockSupport.unpark(consumer);
+		}
+	}
+
+	private void consume() {
+		while (true) {
+			DomainEvent event = ring.poll();
+			if (event != null) {
+				deliver(event);
+				continue;
+			}
+			if (closed) {
+				return;
+			}
+			// A producer that sees waiting set wakes us up; the re-check catches
+			// events published before the flag became visible
+			waiting = true;
+			if (ring.isEmpty() && !closed) {
+				LockSupport.parkNanos(IDLE_WAIT_NANOS);
+			}
+			waiting = false;
+		}
+	}
+
+	private void deliver(DomainEvent event) {
+		try {
+			subscriber.accept(event);
+		} catch (RuntimeException e) {
+			failedDeliveries.incrementAndGet();
+		}
+	}
+}
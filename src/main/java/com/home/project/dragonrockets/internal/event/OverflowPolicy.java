@@ -0,0 +1,12 @@
+package com.home.project.dragonrockets.internal.event;
+
+public enum OverflowPolicy {
+
+	// An event that does not fit into a full buffer is discarded and counted,
+	// so a slow subscriber never delays mutations
+	DROP,
+
+	// The mutating thread waits until the subscriber has made room. Mutations
+	// are slowed down to the subscriber's pace and no event is lost.
+	BLOCK
+}
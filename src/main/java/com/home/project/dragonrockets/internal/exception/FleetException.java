@@ -0,0 +1,65 @@
+package com.home.project.dragonrockets.internal.exception;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.function.Supplier;
+
+// Base of the library's exceptions. For workloads where rejections are common,
+// stack traces can be switched off (also with the system property
+// dragonrockets.exceptions.stackTraces=false), and messages can be given as a
+// supplier that only runs when the message is actually read.
+public abstract class FleetException extends RuntimeException {
+
+	private static final long serialVersionUID = -2871630563580446019L;
+
+	private static volatile boolean stackTraces = Boolean
+			.parseBoolean(System.getProperty("dragonrockets.exceptions.stackTraces", "true"));
+
+	private transient Supplier<String> messageSupplier;
+	private volatile String lazyMessage;
+
+	protected FleetException(String message) {
+		super(message);
+	}
+
+	protected FleetException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+	protected FleetException(Supplier<String> message) {
+		super((String) null);
+		this.messageSupplier = message;
+	}
+
+	public static void setStackTracesEnabled(boolean enabled) {
+		stackTraces = enabled;
+	}
+
+	public static boolean isStackTracesEnabled() {
+		return stackTraces;
+	}
+
+	@Override
+	public String getMessage() {
+		if (messageSupplier == null) {
+			return super.getMessage();
+		}
+		String message = lazyMessage;
+		if (message == null) {
+			message = messageSupplier.get();
+			lazyMessage = message;
+		}
+		return message;
+	}
+
+	@Override
+	public synchronized Throwable fillInStackTrace() {
+		return stackTraces ? super.fillInStackTrace() : this;
+	}
+
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		// The supplier is not serialized, so the message is resolved beforehand
+		getMessage();
+		out.defaultWriteObject();
+	}
+}
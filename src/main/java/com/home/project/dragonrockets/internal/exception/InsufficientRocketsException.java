@@ -0,0 +1,20 @@
+package com.home.project.dragonrockets.internal.exception;
+
+import java.util.function.Supplier;
+
+public class InsufficientRocketsException extends FleetException {
+
+	private static final long serialVersionUID = 5182046237719483605L;
+
+	public InsufficientRocketsException(String message) {
+		super(message);
+	}
+
+	public InsufficientRocketsException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+	public InsufficientRocketsException(Supplier<String> message) {
+		super(message);
+	}
+}
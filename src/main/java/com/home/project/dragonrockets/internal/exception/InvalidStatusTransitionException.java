@@ -1,6 +1,8 @@
 package com.home.project.dragonrockets.internal.exception;
 
-public class InvalidStatusTransitionException extends RuntimeException {
+import java.util.function.Supplier;
+
+public class InvalidStatusTransitionException extends FleetException {
 
 	private static final long serialVersionUID = 333995681059391445L;
 
@@ -11,4 +13,8 @@ public class InvalidStatusTransitionException extends RuntimeException {
 	public InvalidStatusTransitionException(String message, Throwable cause) {
 		super(message, cause);
 	}
+
+	public InvalidStatusTransitionException(Supplier<String> message) {
+		super(message);
+	}
 }
@@ -1,6 +1,8 @@
 package com.home.project.dragonrockets.internal.exception;
 
-public class MissionHasAssignedRocketsException extends RuntimeException {
+import java.util.function.Supplier;
+
+public class MissionHasAssignedRocketsException extends FleetException {
 
 	private static final long serialVersionUID = -7424351131967086272L;
 
@@ -11,4 +13,8 @@ public class MissionHasAssignedRocketsException extends RuntimeException {
 	public MissionHasAssignedRocketsException(String message, Throwable cause) {
 		super(message, cause);
 	}
+
+	public MissionHasAssignedRocketsException(Supplier<String> message) {
+		super(message);
+	}
 }
@@ -1,6 +1,8 @@
 package com.home.project.dragonrockets.internal.exception;
 
-public class MissionNotFoundException extends RuntimeException {
+import java.util.function.Supplier;
+
+public class MissionNotFoundException extends FleetException {
 
 	private static final long serialVersionUID = -4497669512254846169L;
 
@@ -11,4 +13,8 @@ public class MissionNotFoundException extends RuntimeException {
 	public MissionNotFoundException(String message, Throwable cause) {
 		super(message, cause);
 	}
+
+	public MissionNotFoundException(Supplier<String> message) {
+		super(message);
+	}
 }
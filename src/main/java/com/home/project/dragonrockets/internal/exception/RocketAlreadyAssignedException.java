@@ -1,6 +1,8 @@
 package com.home.project.dragonrockets.internal.exception;
 
-public class RocketAlreadyAssignedException extends RuntimeException {
+import java.util.function.Supplier;
+
+public class RocketAlreadyAssignedException extends FleetException {
 
 	private static final long serialVersionUID = -8374817028201000955L;
 
@@ -11,4 +13,8 @@ public class RocketAlreadyAssignedException extends RuntimeException {
 	public RocketAlreadyAssignedException(String message, Throwable cause) {
 		super(message, cause);
 	}
+
+	public RocketAlreadyAssignedException(Supplier<String> message) {
+		super(message);
+	}
 }
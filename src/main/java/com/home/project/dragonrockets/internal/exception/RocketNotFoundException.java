@@ -1,6 +1,8 @@
 package com.home.project.dragonrockets.internal.exception;
 
-public class RocketNotFoundException extends RuntimeException {
+import java.util.function.Supplier;
+
+public class RocketNotFoundException extends FleetException {
 
 	private static final long serialVersionUID = 3399588656132675480L;
 
@@ -11,4 +13,8 @@ public class RocketNotFoundException extends RuntimeException {
 	public RocketNotFoundException(String message, Throwable cause) {
 		super(message, cause);
 	}
+
+	public RocketNotFoundException(Supplier<String> message) {
+		super(message);
+	}
 }
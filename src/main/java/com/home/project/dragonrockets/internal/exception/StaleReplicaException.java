@@ -0,0 +1,20 @@
+package com.home.project.dragonrockets.internal.exception;
+
+import java.util.function.Supplier;
+
+public class StaleReplicaException extends FleetException {
+
+	private static final long serialVersionUID = -3926170548812266439L;
+
+	public StaleReplicaException(String message) {
+		super(message);
+	}
+
+	public StaleReplicaException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+	public StaleReplicaException(Supplier<String> message) {
+		super(message);
+	}
+}
@@ -0,0 +1,20 @@
+package com.home.project.dragonrockets.internal.exception;
+
+import java.util.function.Supplier;
+
+public class TransactionConflictException extends FleetException {
+
+	private static final long serialVersionUID = 7403815526964271038L;
+
+	public TransactionConflictException(String message) {
+		super(message);
+	}
+
+	public TransactionConflictException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+	public TransactionConflictException(Supplier<String> message) {
+		super(message);
+	}
+}
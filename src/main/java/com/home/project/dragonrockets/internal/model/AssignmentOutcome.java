@@ -0,0 +1,12 @@
+package com.home.project.dragonrockets.internal.model;
+
+// Result of tryAssignRocketToMission; every value but ASSIGNED corresponds to
+// the exception assignRocketToMission throws in the same situation
+public enum AssignmentOutcome {
+
+	ASSIGNED,
+	ROCKET_NOT_FOUND,
+	MISSION_NOT_FOUND,
+	ROCKET_ALREADY_ASSIGNED,
+	MISSION_ENDED
+}
@@ -0,0 +1,107 @@
+package com.home.project.dragonrockets.internal.model;
+
+import java.util.function.Supplier;
+
+import com.home.project.dragonrockets.internal.exception.InsufficientRocketsException;
+import com.home.project.dragonrockets.internal.exception.InvalidStatusTransitionException;
+import com.home.project.dragonrockets.internal.exception.MissionHasAssignedRocketsException;
+import com.home.project.dragonrockets.internal.exception.MissionNotFoundException;
+import com.home.project.dragonrockets.internal.exception.RocketAlreadyAssignedException;
+import com.home.project.dragonrockets.internal.exception.RocketNotFoundException;
+
+// Why an item of a bulk operation was rejected; every value but OTHER
+// corresponds to the exception the single-item operation throws.
+// ALREADY_EXISTS is only reported by the bulk adds themselves, as duplicates
+// share IllegalArgumentException with other invalid arguments.
+public enum BatchFailure {
+
+	ALREADY_EXISTS(0),
+	ROCKET_NOT_FOUND(1),
+	ROCKET_ALREADY_ASSIGNED(2),
+	MISSION_NOT_FOUND(4),
+	INVALID_STATUS_TRANSITION(5),
+	MISSION_HAS_ASSIGNED_ROCKETS(6),
+	INSUFFICIENT_ROCKETS(7),
+	ILLEGAL_ARGUMENT(8),
+	OTHER(3);
+
+	private static final BatchFailure[] BY_CODE;
+
+	static {
+		int maxCode = 0;
+		for (BatchFailure failure : values()) {
+			maxCode = Math.max(maxCode, failure.code);
+		}
+		BY_CODE = new BatchFailure[maxCode + 1];
+		for (BatchFailure failure : values()) {
+			BY_CODE[failure.code] = failure;
+		}
+	}
+
+	// Sent between shards instead of the ordinal; never reuse a code
+	private final int code;
+
+	private BatchFailure(int code) {
+		this.code = code;
+	}
+
+	public int getCode() {
+		return code;
+	}
+
+	public static BatchFailure fromCode(int code) {
+		if (code < 0 || code >= BY_CODE.length || BY_CODE[code] == null) {
+			throw new IllegalArgumentException("Unknown batch failure " + code + ".");
+		}
+		return BY_CODE[code];
+	}
+
+	static BatchFailure of(RuntimeException exception) {
+		if (exception instanceof RocketNotFoundException) {
+			return ROCKET_NOT_FOUND;
+		}
+		if (exception instanceof RocketAlreadyAssignedException) {
+			return ROCKET_ALREADY_ASSIGNED;
+		}
+		if (exception instanceof MissionNotFoundException) {
+			return MISSION_NOT_FOUND;
+		}
+		if (exception instanceof InvalidStatusTransitionException) {
+			return INVALID_STATUS_TRANSITION;
+		}
+		if (exception instanceof MissionHasAssignedRocketsException) {
+			return MISSION_HAS_ASSIGNED_ROCKETS;
+		}
+		if (exception instanceof InsufficientRocketsException) {
+			return INSUFFICIENT_ROCKETS;
+		}
+		return exception instanceof IllegalArgumentException ? ILLEGAL_ARGUMENT : OTHER;
+	}
+
+	// The original exception where there is one; otherwise, e.g. for a failure
+	// that arrived from another shard, a new one of the matching type
+	RuntimeException toException(RuntimeException original, Supplier<String> message) {
+		if (original != null) {
+			return original;
+		}
+		switch (this) {
+			case ROCKET_NOT_FOUND:
+				return new RocketNotFoundException(message);
+			case ROCKET_ALREADY_ASSIGNED:
+				return new RocketAlreadyAssignedException(message);
+			case MISSION_NOT_FOUND:
+				return new MissionNotFoundException(message);
+			case INVALID_STATUS_TRANSITION:
+				return new InvalidStatusTransitionException(message);
+			case MISSION_HAS_ASSIGNED_ROCKETS:
+				return new MissionHasAssignedRocketsException(message);
+			case INSUFFICIENT_ROCKETS:
+				return new InsufficientRocketsException(message);
+			case ALREADY_EXISTS:
+			case ILLEGAL_ARGUMENT:
+				return new IllegalArgumentException(message.get());
+			default:
+				return new IllegalStateException(message.get());
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package com.home.project.dragonrockets.internal.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// Outcome of a bulk operation: the names of the items that were applied and,
+// for every rejected item, a BatchFailure with a lazily built message. The
+// exception the single-item operation would throw is only created when
+// getFailures() is read, so rejections cost no stack walks.
+public class BatchResult {
+
+	private final List<String> applied = new ArrayList<>();
+	private final Map<String, Failure> failures = new LinkedHashMap<>();
+
+	public void succeeded(String name) {
+		applied.add(name);
+	}
+
+	public void failed(String name, BatchFailure reason, Supplier<String> message) {
+		failures.put(name, new Failure(reason, message, null));
+	}
+
+	public void failed(String name, RuntimeException exception) {
+		failures.put(name, new Failure(BatchFailure.of(exception), exception::getMessage, exception));
+	}
+
+	// Adds the other result's items without building their exceptions
+	public void addAll(BatchResult other) {
+		applied.addAll(other.applied);
+		failures.putAll(other.failures);
+	}
+
+	public List<String> getApplied() {
+		return Collections.unmodifiableList(applied);
+	}
+
+	public Map<String, BatchFailure> getFailureReasons() {
+		Map<String, BatchFailure> reasons = new LinkedHashMap<>();
+		failures.forEach((name, failure) -> reasons.put(name, failure.reason));
+		return Collections.unmodifiableMap(reasons);
+	}
+
+	// null for an item that was not rejected
+	public String getFailureMessage(String name) {
+		Failure failure = failures.get(name);
+		return failure == null ? null : failure.message.get();
+	}
+
+	public Map<String, RuntimeException> getFailures() {
+		Map<String, RuntimeException> exceptions = new LinkedHashMap<>();
+		failures.forEach((name, failure) -> exceptions.put(name, failure.exception()));
+		return Collections.unmodifiableMap(exceptions);
+	}
+
+	public boolean isFullySuccessful() {
+		return failures.isEmpty();
+	}
+
+	@Override
+	public String toString() {
+		return "BatchResult [applied=" + applied.size() + ", failures=" + failures.keySet() + "]";
+	}
+
+	private static final class Failure {
+
+		private final BatchFailure reason;
+		private final Supplier<String> message;
+		private final RuntimeException original;
+		private RuntimeException exception;
+
+		private Failure(BatchFailure reason, Supplier<String> message, RuntimeException original) {
+			this.reason = reason;
+			this.message = message;
+			this.original = original;
+		}
+
+		private RuntimeException exception() {
+			if (exception == null) {
+				exception = reason.toException(original, message);
+			}
+			return exception;
+		}
+	}
+}
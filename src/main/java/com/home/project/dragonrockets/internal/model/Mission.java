@@ -1,17 +1,24 @@
 package com.home.project.dragonrockets.internal.model;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 public class Mission {
 
 	private final String name;
-	private final List<Rocket> assignedRockets;
-	private MissionStatus status;
+	// Insertion-ordered for the summary, with constant-time removal
+	private final Set<Rocket> assignedRockets;
+	private final Collection<Rocket> assignedRocketsView;
+	// Assigned rockets per status, kept in step with the rockets by the services
+	private final int[] rocketCountsByStatus = new int[RocketStatus.values().length];
+	private volatile MissionStatus status;
 
 	public Mission(String name) {
 		this.name = name;
-		this.assignedRockets = new ArrayList<>();
+		this.assignedRockets = new LinkedHashSet<>();
+		this.assignedRocketsView = Collections.unmodifiableCollection(assignedRockets);
 		status = MissionStatus.SCHEDULED;
 	}
 
@@ -27,8 +34,35 @@ public class Mission {
 		this.status = status;
 	}
 
-	public List<Rocket> getAssignedRockets() {
-		return assignedRockets;
+	public Collection<Rocket> getAssignedRockets() {
+		return assignedRocketsView;
+	}
+
+	public void assignRocket(Rocket rocket) {
+		if (assignedRockets.add(rocket)) {
+			adjustRocketCount(rocket.getStatus(), 1);
+		}
+	}
+
+	public boolean unassignRocket(Rocket rocket) {
+		if (!assignedRockets.remove(rocket)) {
+			return false;
+		}
+		adjustRocketCount(rocket.getStatus(), -1);
+		return true;
+	}
+
+	public void rocketStatusChanged(RocketStatus previousStatus, RocketStatus newStatus) {
+		adjustRocketCount(previousStatus, -1);
+		adjustRocketCount(newStatus, 1);
+	}
+
+	public int countRocketsWithStatus(RocketStatus status) {
+		return rocketCountsByStatus[status.ordinal()];
+	}
+
+	protected void adjustRocketCount(RocketStatus status, int delta) {
+		rocketCountsByStatus[status.ordinal()] += delta;
 	}
 
 	@Override
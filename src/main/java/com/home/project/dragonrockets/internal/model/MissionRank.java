@@ -0,0 +1,11 @@
+package com.home.project.dragonrockets.internal.model;
+
+// Sort key of the mission summary: rocket count descending, then name descending
+public record MissionRank(int rocketCount, String name) implements Comparable<MissionRank> {
+
+	@Override
+	public int compareTo(MissionRank other) {
+		int byCount = Integer.compare(other.rocketCount, rocketCount);
+		return byCount != 0 ? byCount : other.name.compareTo(name);
+	}
+}
@@ -2,18 +2,46 @@ package com.home.project.dragonrockets.internal.model;
 
 public enum MissionStatus {
 
-	SCHEDULED("Scheduled"),
-	PENDING("Pending"),
-	IN_PROGRESS("In Progress"),
-	ENDED("Ended");
+	SCHEDULED("Scheduled", 0),
+	PENDING("Pending", 1),
+	IN_PROGRESS("In Progress", 2),
+	ENDED("Ended", 3);
+
+	private static final MissionStatus[] BY_CODE;
+
+	static {
+		int maxCode = 0;
+		for (MissionStatus status : values()) {
+			maxCode = Math.max(maxCode, status.code);
+		}
+		BY_CODE = new MissionStatus[maxCode + 1];
+		for (MissionStatus status : values()) {
+			BY_CODE[status.code] = status;
+		}
+	}
 
 	private final String displayName;
+	// Written to logs, snapshots and the wire instead of the ordinal, so that it
+	// stays the same when constants are added or reordered. Never reuse a code.
+	private final int code;
 
-	private MissionStatus(String displayName) {
+	private MissionStatus(String displayName, int code) {
 		this.displayName = displayName;
+		this.code = code;
 	}
 
 	public String getDisplayName() {
 		return displayName;
 	}
+
+	public int getCode() {
+		return code;
+	}
+
+	public static MissionStatus fromCode(int code) {
+		if (code < 0 || code >= BY_CODE.length || BY_CODE[code] == null) {
+			throw new IllegalArgumentException("Unknown mission status " + code + ".");
+		}
+		return BY_CODE[code];
+	}
 }
@@ -0,0 +1,27 @@
+package com.home.project.dragonrockets.internal.model;
+
+import java.util.List;
+
+// One mission of the mission summary as data: its status and its rockets in
+// assignment order. render produces the lines getMissionSummary returns.
+public record MissionSummary(String name, MissionStatus status, List<AssignedRocket> rockets) {
+
+	public MissionRank rank() {
+		return new MissionRank(rockets.size(), name);
+	}
+
+	public void render(List<String> lines) {
+		StringBuilder line = new StringBuilder();
+		lines.add(line.append(name)
+				.append(" - ").append(status.getDisplayName())
+				.append(" - Dragons: ").append(rockets.size()).toString());
+		for (AssignedRocket rocket : rockets) {
+			line.setLength(0);
+			lines.add(line.append("\t- ").append(rocket.name())
+					.append(" - ").append(rocket.status().getDisplayName()).toString());
+		}
+	}
+
+	public record AssignedRocket(String name, RocketStatus status) {
+	}
+}
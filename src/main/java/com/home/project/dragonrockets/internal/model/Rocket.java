@@ -1,10 +1,18 @@
 package com.home.project.dragonrockets.internal.model;
 
+import java.util.Objects;
+
 public class Rocket {
 
 	private final String name;
-	private RocketStatus status;
-	private String assignedMissionName;
+	private volatile RocketStatus status;
+	private volatile String assignedMissionName;
+	// Direct link to the assigned mission, set by the services on assignment so
+	// that they reach the mission without a lookup by name
+	private volatile Mission assignedMission;
+	// The info line together with the state it was built from. A change of status
+	// or assignment makes it stale, and it is rebuilt on the next read.
+	private volatile Info info;
 
 	public Rocket(String name) {
 		this.name = name;
@@ -29,6 +37,38 @@ public class Rocket {
 
 	public void setAssignedMissionName(String assignedMissionName) {
 		this.assignedMissionName = assignedMissionName;
+		Mission mission = assignedMission;
+		if (mission != null && !mission.getName().equals(assignedMissionName)) {
+			assignedMission = null;
+		}
+	}
+
+	// May be null even while the rocket is assigned, when only the mission's
+	// name was set; callers then look the mission up by name
+	public Mission getAssignedMission() {
+		Mission mission = assignedMission;
+		return mission != null && mission.getName().equals(getAssignedMissionName()) ? mission : null;
+	}
+
+	public void setAssignedMission(Mission mission) {
+		this.assignedMission = mission;
+		setAssignedMissionName(mission == null ? null : mission.getName());
+	}
+
+	public String getInfo() {
+		RocketStatus currentStatus = getStatus();
+		String missionName = getAssignedMissionName();
+		Info cached = info;
+		if (cached != null && cached.status() == currentStatus && Objects.equals(cached.missionName(), missionName)) {
+			return cached.line();
+		}
+		String line = new StringBuilder(name.length() + 48)
+				.append(name)
+				.append(" - ").append(currentStatus.getDisplayName())
+				.append(" - Mission: ").append(missionName == null ? "NOT ASSIGNED" : missionName)
+				.toString();
+		info = new Info(currentStatus, missionName, line);
+		return line;
 	}
 
 	@Override
@@ -36,4 +76,6 @@ public class Rocket {
 		return "Rocket [name=" + name + ", status=" + status + ", assignedMissionName=" + assignedMissionName + "]";
 	}
 
+	private record Info(RocketStatus status, String missionName, String line) {
+	}
 }
@@ -2,17 +2,45 @@ package com.home.project.dragonrockets.internal.model;
 
 public enum RocketStatus {
 
-	ON_GROUND("On Ground"),
-	IN_SPACE("In Space"),
-	IN_REPAIR("In Repair");
+	ON_GROUND("On Ground", 0),
+	IN_SPACE("In Space", 1),
+	IN_REPAIR("In Repair", 2);
+
+	private static final RocketStatus[] BY_CODE;
+
+	static {
+		int maxCode = 0;
+		for (RocketStatus status : values()) {
+			maxCode = Math.max(maxCode, status.code);
+		}
+		BY_CODE = new RocketStatus[maxCode + 1];
+		for (RocketStatus status : values()) {
+			BY_CODE[status.code] = status;
+		}
+	}
 
 	private final String displayName;
+	// Written to logs, snapshots and the wire instead of the ordinal, so that it
+	// stays the same when constants are added or reordered. Never reuse a code.
+	private final int code;
 
-	private RocketStatus(String displayName) {
+	private RocketStatus(String displayName, int code) {
 		this.displayName = displayName;
+		this.code = code;
 	}
 
 	public String getDisplayName() {
 		return displayName;
 	}
+
+	public int getCode() {
+		return code;
+	}
+
+	public static RocketStatus fromCode(int code) {
+		if (code < 0 || code >= BY_CODE.length || BY_CODE[code] == null) {
+			throw new IllegalArgumentException("Unknown rocket status " + code + ".");
+		}
+		return BY_CODE[code];
+	}
 }
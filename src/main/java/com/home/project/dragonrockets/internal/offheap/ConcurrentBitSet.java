@@ -0,0 +1,101 @@
+package com.home.project.dragonrockets.internal.offheap;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Growable bit set whose bits can be set and cleared concurrently. Each bit
+// is updated with a CAS on its word, so writers of different bits in the same
+// word never lose each other's updates. Words live in fixed-size chunks, so
+// growing never copies them.
+final class ConcurrentBitSet {
+
+	private static final int CHUNK_BITS = 16;
+	private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+	private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+	private static final int CHUNK_WORDS = CHUNK_SIZE / Long.SIZE;
+
+	private volatile AtomicLongArray[] chunks = new AtomicLongArray[16];
+
+	boolean get(int bit) {
+		AtomicLongArray[] directory = chunks;
+		int chunk = bit >>> CHUNK_BITS;
+		if (chunk >= directory.length || directory[chunk] == null) {
+			return false;
+		}
+		return (directory[chunk].get((bit & CHUNK_MASK) >>> 6) & (1L << bit)) != 0;
+	}
+
+	void set(int bit, boolean value) {
+		AtomicLongArray words = chunk(bit >>> CHUNK_BITS);
+		int word = (bit & CHUNK_MASK) >>> 6;
+		long mask = 1L << bit;
+		long current;
+		long updated;
+		do {
+			current = words.get(word);
+			updated = value ? current | mask : current & ~mask;
+		} while (current != updated && !words.compareAndSet(word, current, updated));
+	}
+
+	void set(int bit) {
+		set(bit, true);
+	}
+
+	void clear(int bit) {
+		set(bit, false);
+	}
+
+	// The index of the first set bit at or after from, or -1
+	int nextSetBit(int from) {
+		AtomicLongArray[] directory = chunks;
+		for (int chunk = from >>> CHUNK_BITS; chunk < directory.length; chunk++) {
+			AtomicLongArray words = directory[chunk];
+			if (words == null) {
+				continue;
+			}
+			int start = chunk == from >>> CHUNK_BITS ? (from & CHUNK_MASK) : 0;
+			for (int word = start >>> 6; word < CHUNK_WORDS; word++) {
+				long bits = words.get(word);
+				if (word == start >>> 6) {
+					bits &= -1L << start;
+				}
+				if (bits != 0) {
+					return (chunk << CHUNK_BITS) + (word << 6) + Long.numberOfTrailingZeros(bits);
+				}
+			}
+		}
+		return -1;
+	}
+
+	int[] toArray() {
+		int[] bits = new int[64];
+		int count = 0;
+		for (int bit = nextSetBit(0); bit >= 0; bit = nextSetBit(bit + 1)) {
+			if (count == bits.length) {
+				bits = Arrays.copyOf(bits, count * 2);
+			}
+			bits[count++] = bit;
+		}
+		return Arrays.copyOf(bits, count);
+	}
+
+	private AtomicLongArray chunk(int index) {
+		AtomicLongArray[] directory = chunks;
+		if (index < directory.length && directory[index] != null) {
+			return directory[index];
+		}
+		return createChunk(index);
+	}
+
+	private synchronized AtomicLongArray createChunk(int index) {
+		AtomicLongArray[] directory = chunks;
+		if (index < directory.length && directory[index] != null) {
+			return directory[index];
+		}
+		directory = Arrays.copyOf(directory, Math.max(directory.length, index + 1));
+		AtomicLongArray words = new AtomicLongArray(CHUNK_WORDS);
+		directory[index] = words;
+		chunks = directory;
+		return words;
+	}
+}
@@ -0,0 +1,496 @@
+package com.home.project.dragonrockets.internal.offheap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.home.project.dragonrockets.internal.model.MissionStatus;
+import com.home.project.dragonrockets.internal.model.RocketStatus;
+
+// Off-heap storage for very large fleets. Rockets and missions are fixed-width
+// records in memory-mapped files, addressed by dense int ids. Names are stored
+// once in a shared name table and found through open-addressing hash indexes
+// of ids. The rockets of a mission form a doubly linked list through the rocket
+// records, so the heap holds no per-rocket objects beyond a bounded cache of
+// rocket views.
+//
+// Only adding and removing records, which change the name table and indexes,
+// take the store's lock (lookups by name share it). Status, assignment and
+// list updates write the records directly: the services already hold the
+// striped locks of the rocket and mission involved, and the status indexes are
+// concurrent bit sets.
+//
+// The files are working storage only: they are recreated when the store is
+// opened. A SpaceXManager created with a write-ahead log rebuilds the store
+// from the log; without one the fleet is lost on close.
+public class MappedFleetStore implements AutoCloseable {
+
+	static final int NONE = -1;
+
+	private static final int INITIAL_RECORDS = 64 * 1024;
+	private static final int INITIAL_NAME_BYTES = 1024 * 1024;
+	private static final int INITIAL_SLOTS = 1024;
+	private static final int TOMBSTONE = -1;
+	private static final int VIEW_CACHE_SIZE = 1 << 16;
+
+	// Common record header: name offset, name hash, status, live flag
+	private static final int NAME_OFFSET = 0;
+	private static final int NAME_HASH = 4;
+	private static final int STATUS = 8;
+	private static final int LIVE = 9;
+
+	// Rocket record: header, mission id, previous and next rocket of the mission
+	private static final int ROCKET_RECORD_SIZE = 24;
+	private static final int ROCKET_MISSION = 12;
+	private static final int ROCKET_PREVIOUS = 16;
+	private static final int ROCKET_NEXT = 20;
+
+	// Mission record: header, first and last rocket, rocket count
+	private static final int MISSION_RECORD_SIZE = 24;
+	private static final int MISSION_FIRST = 12;
+	private static final int MISSION_LAST = 16;
+	private static final int MISSION_COUNT = 20;
+
+	private static final RocketStatus[] ROCKET_STATUSES = RocketStatus.values();
+	private static final MissionStatus[] MISSION_STATUSES = MissionStatus.values();
+
+	// Guards the name table and the hash indexes
+	private final ReentrantReadWriteLock structureLock = new ReentrantReadWriteLock();
+	private final MappedRegion names;
+	private final Table rockets;
+	private final Table missions;
+	// Rocket ids by status, one bit per rocket
+	private final ConcurrentBitSet[] rocketsByStatus = new ConcurrentBitSet[ROCKET_STATUSES.length];
+	// Rocket ids without a mission, by status
+	private final ConcurrentBitSet[] unassignedByStatus = new ConcurrentBitSet[ROCKET_STATUSES.length];
+	// Mission names by id; missions are few, and their names are read for every
+	// rocket info line
+	private volatile String[] missionNames = new String[INITIAL_SLOTS];
+	// Recently used rocket views by id, so that a hot rocket keeps its view and
+	// with it the cached info line
+	private final AtomicReferenceArray<MappedRocket> rocketViews = new AtomicReferenceArray<>(VIEW_CACHE_SIZE);
+	private int namesSize;
+
+	public MappedFleetStore(Path directory) {
+		try {
+			Files.createDirectories(directory);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot create store directory '" + directory + "'.", e);
+		}
+		this.names = new MappedRegion(directory.resolve("names.dat"), INITIAL_NAME_BYTES);
+		this.rockets = new Table(new MappedRegion(directory.resolve("rockets.dat"),
+				INITIAL_RECORDS * ROCKET_RECORD_SIZE), ROCKET_RECORD_SIZE);
+		this.missions = new Table(new MappedRegion(directory.resolve("missions.dat"),
+				INITIAL_RECORDS * MISSION_RECORD_SIZE), MISSION_RECORD_SIZE);
+		for (int i = 0; i < rocketsByStatus.length; i++) {
+			rocketsByStatus[i] = new ConcurrentBitSet();
+			unassignedByStatus[i] = new ConcurrentBitSet();
+		}
+	}
+
+	public int rocketCount() {
+		return rockets.live;
+	}
+
+	public int missionCount() {
+		return missions.live;
+	}
+
+	// Returns the id of the new rocket, or NONE if the name is already taken
+	int addRocket(String name, RocketStatus status) {
+		structureLock.writeLock().lock();
+		try {
+			int id = rockets.add(name, status.ordinal());
+			if (id != NONE) {
+				MappedByteBuffer buffer = rockets.region.buffer();
+				int base = id * ROCKET_RECORD_SIZE;
+				buffer.putInt(base + ROCKET_MISSION, NONE);
+				buffer.putInt(base + ROCKET_PREVIOUS, NONE);
+				buffer.putInt(base + ROCKET_NEXT, NONE);
+				rocketsByStatus[status.ordinal()].set(id);
+				unassignedByStatus[status.ordinal()].set(id);
+			}
+			return id;
+		} finally {
+			structureLock.writeLock().unlock();
+		}
+	}
+
+	int addMission(String name, MissionStatus status) {
+		structureLock.writeLock().lock();
+		try {
+			int id = missions.add(name, status.ordinal());
+			if (id != NONE) {
+				MappedByteBuffer buffer = missions.region.buffer();
+				int base = id * MISSION_RECORD_SIZE;
+				buffer.putInt(base + MISSION_FIRST, NONE);
+				buffer.putInt(base + MISSION_LAST, NONE);
+				buffer.putInt(base + MISSION_COUNT, 0);
+				String[] knownNames = missionNames;
+				if (id >= knownNames.length) {
+					knownNames = Arrays.copyOf(knownNames, Math.max(knownNames.length * 2, id + 1));
+				}
+				knownNames[id] = name;
+				missionNames = knownNames;
+			}
+			return id;
+		} finally {
+			structureLock.writeLock().unlock();
+		}
+	}
+
+	int rocketId(String name) {
+		structureLock.readLock().lock();
+		try {
+			return rockets.find(name);
+		} finally {
+			structureLock.readLock().unlock();
+		}
+	}
+
+	int missionId(String name) {
+		structureLock.readLock().lock();
+		try {
+			return missions.find(name);
+		} finally {
+			structureLock.readLock().unlock();
+		}
+	}
+
+	boolean isRocketLive(int id) {
+		return rockets.isLive(id);
+	}
+
+	String rocketName(int id) {
+		return rockets.name(id);
+	}
+
+	String missionName(int id) {
+		return missionNames[id];
+	}
+
+	// A view of a live rocket record, shared by lookups of the same rocket while
+	// it stays in the cache
+	MappedRocket rocketView(int id) {
+		int slot = id & (VIEW_CACHE_SIZE - 1);
+		MappedRocket view = rocketViews.get(slot);
+		if (view == null || view.id() != id) {
+			view = new MappedRocket(this, id, rockets.name(id));
+			rocketViews.set(slot, view);
+		}
+		return view;
+	}
+
+	RocketStatus rocketStatus(int id) {
+		return ROCKET_STATUSES[rockets.status(id)];
+	}
+
+	void setRocketStatus(int id, RocketStatus status) {
+		int previous = rockets.status(id);
+		rocketsByStatus[previous].clear(id);
+		rocketsByStatus[status.ordinal()].set(id);
+		if (unassignedByStatus[previous].get(id)) {
+			unassignedByStatus[previous].clear(id);
+			unassignedByStatus[status.ordinal()].set(id);
+		}
+		rockets.setStatus(id, status.ordinal());
+	}
+
+	MissionStatus missionStatus(int id) {
+		return MISSION_STATUSES[missions.status(id)];
+	}
+
+	void setMissionStatus(int id, MissionStatus status) {
+		missions.setStatus(id, status.ordinal());
+	}
+
+	int rocketMission(int rocketId) {
+		return rockets.region.buffer().getInt(rocketId * ROCKET_RECORD_SIZE + ROCKET_MISSION);
+	}
+
+	void setRocketMission(int rocketId, int missionId) {
+		rockets.region.buffer().putInt(rocketId * ROCKET_RECORD_SIZE + ROCKET_MISSION, missionId);
+		unassignedByStatus[rockets.status(rocketId)].set(rocketId, missionId == NONE);
+	}
+
+	int missionRocketCount(int missionId) {
+		return missions.region.buffer().getInt(missionId * MISSION_RECORD_SIZE + MISSION_COUNT);
+	}
+
+	int firstRocket(int missionId) {
+		return missions.region.buffer().getInt(missionId * MISSION_RECORD_SIZE + MISSION_FIRST);
+	}
+
+	int nextRocket(int rocketId) {
+		return rockets.region.buffer().getInt(rocketId * ROCKET_RECORD_SIZE + ROCKET_NEXT);
+	}
+
+	// Appends the rocket to the end of the mission's list. All rockets of the
+	// list belong to the mission, so the mission's stripe lock covers them.
+	void linkRocket(int missionId, int rocketId) {
+		MappedByteBuffer rocketRecords = rockets.region.buffer();
+		MappedByteBuffer missionRecords = missions.region.buffer();
+		int rocketBase = rocketId * ROCKET_RECORD_SIZE;
+		int missionBase = missionId * MISSION_RECORD_SIZE;
+		int last = missionRecords.getInt(missionBase + MISSION_LAST);
+
+		rocketRecords.putInt(rocketBase + ROCKET_MISSION, missionId);
+		unassignedByStatus[rockets.status(rocketId)].clear(rocketId);
+		rocketRecords.putInt(rocketBase + ROCKET_PREVIOUS, last);
+		rocketRecords.putInt(rocketBase + ROCKET_NEXT, NONE);
+		if (last == NONE) {
+			missionRecords.putInt(missionBase + MISSION_FIRST, rocketId);
+		} else {
+			rocketRecords.putInt(last * ROCKET_RECORD_SIZE + ROCKET_NEXT, rocketId);
+		}
+		missionRecords.putInt(missionBase + MISSION_LAST, rocketId);
+		missionRecords.putInt(missionBase + MISSION_COUNT, missionRecords.getInt(missionBase + MISSION_COUNT) + 1);
+	}
+
+	// Removes the rocket from the mission's list in constant time
+	boolean unlinkRocket(int missionId, int rocketId) {
+		MappedByteBuffer rocketRecords = rockets.region.buffer();
+		MappedByteBuffer missionRecords = missions.region.buffer();
+		int rocketBase = rocketId * ROCKET_RECORD_SIZE;
+		int missionBase = missionId * MISSION_RECORD_SIZE;
+		if (rocketRecords.getInt(rocketBase + ROCKET_MISSION) != missionId) {
+			return false;
+		}
+		int previous = rocketRecords.getInt(rocketBase + ROCKET_PREVIOUS);
+		int next = rocketRecords.getInt(rocketBase + ROCKET_NEXT);
+		if (previous == NONE) {
+			missionRecords.putInt(missionBase + MISSION_FIRST, next);
+		} else {
+			rocketRecords.putInt(previous * ROCKET_RECORD_SIZE + ROCKET_NEXT, next);
+		}
+		if (next == NONE) {
+			missionRecords.putInt(missionBase + MISSION_LAST, previous);
+		} else {
+			rocketRecords.putInt(next * ROCKET_RECORD_SIZE + ROCKET_PREVIOUS, previous);
+		}
+		rocketRecords.putInt(rocketBase + ROCKET_MISSION, NONE);
+		rocketRecords.putInt(rocketBase + ROCKET_PREVIOUS, NONE);
+		rocketRecords.putInt(rocketBase + ROCKET_NEXT, NONE);
+		unassignedByStatus[rockets.status(rocketId)].set(rocketId);
+		missionRecords.putInt(missionBase + MISSION_COUNT, missionRecords.getInt(missionBase + MISSION_COUNT) - 1);
+		return true;
+	}
+
+	boolean removeRocket(String name) {
+		structureLock.writeLock().lock();
+		try {
+			int id = rockets.find(name);
+			if (id == NONE) {
+				return false;
+			}
+			rocketsByStatus[rockets.status(id)].clear(id);
+			unassignedByStatus[rockets.status(id)].clear(id);
+			return rockets.remove(name);
+		} finally {
+			structureLock.writeLock().unlock();
+		}
+	}
+
+	boolean removeMission(String name) {
+		structureLock.writeLock().lock();
+		try {
+			return missions.remove(name);
+		} finally {
+			structureLock.writeLock().unlock();
+		}
+	}
+
+	int[] rocketsWithStatus(RocketStatus status) {
+		return rocketsByStatus[status.ordinal()].toArray();
+	}
+
+	// Up to limit unassigned rocket ids with the given status, or any status when null
+	int[] unassignedRockets(RocketStatus status, int limit) {
+		int[] ids = new int[Math.min(limit, rockets.live)];
+		int found = 0;
+		for (int i = 0; i < unassignedByStatus.length && found < ids.length; i++) {
+			if (status != null && status.ordinal() != i) {
+				continue;
+			}
+			ConcurrentBitSet unassigned = unassignedByStatus[i];
+			for (int id = unassigned.nextSetBit(0); id >= 0 && found < ids.length; id = unassigned.nextSetBit(id + 1)) {
+				ids[found++] = id;
+			}
+		}
+		return found == ids.length ? ids : Arrays.copyOf(ids, found);
+	}
+
+	// Number of rocket ids handed out so far, including removed rockets
+	int rocketIdLimit() {
+		return rockets.size;
+	}
+
+	@Override
+	public void close() {
+		structureLock.writeLock().lock();
+		try {
+			names.close();
+			rockets.region.close();
+			missions.region.close();
+		} finally {
+			structureLock.writeLock().unlock();
+		}
+	}
+
+	private int appendName(byte[] bytes) {
+		int offset = namesSize;
+		names.ensureCapacity((long) offset + 4 + bytes.length);
+		MappedByteBuffer buffer = names.buffer();
+		buffer.putInt(offset, bytes.length);
+		buffer.put(offset + 4, bytes);
+		namesSize = offset + 4 + bytes.length;
+		return offset;
+	}
+
+	private boolean nameEquals(int offset, byte[] bytes) {
+		MappedByteBuffer buffer = names.buffer();
+		if (buffer.getInt(offset) != bytes.length) {
+			return false;
+		}
+		for (int i = 0; i < bytes.length; i++) {
+			if (buffer.get(offset + 4 + i) != bytes[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private String readName(int offset) {
+		MappedByteBuffer buffer = names.buffer();
+		byte[] bytes = new byte[buffer.getInt(offset)];
+		buffer.get(offset + 4, bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static int spread(int hash) {
+		int h = hash * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	// Fixed-width records plus a hash index of name -> id (slots hold id + 1,
+	// 0 marks an empty slot)
+	private final class Table {
+
+		private final MappedRegion region;
+		private final int recordSize;
+		// Written under the structure lock, read without it
+		private volatile int size;
+		private volatile int live;
+		private int[] slots = new int[INITIAL_SLOTS];
+		private int occupied;
+
+		private Table(MappedRegion region, int recordSize) {
+			this.region = region;
+			this.recordSize = recordSize;
+		}
+
+		private int find(String name) {
+			byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+			int hash = name.hashCode();
+			int mask = slots.length - 1;
+			for (int i = spread(hash) & mask; slots[i] != 0; i = (i + 1) & mask) {
+				int id = slots[i] - 1;
+				if (slots[i] != TOMBSTONE && matches(id, hash, bytes)) {
+					return id;
+				}
+			}
+			return NONE;
+		}
+
+		private int add(String name, int status) {
+			if (find(name) != NONE) {
+				return NONE;
+			}
+			byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+			int id = size;
+			region.ensureCapacity((long) (id + 1) * recordSize);
+			MappedByteBuffer buffer = region.buffer();
+			int base = id * recordSize;
+			buffer.putInt(base + NAME_OFFSET, appendName(bytes));
+			buffer.putInt(base + NAME_HASH, name.hashCode());
+			buffer.put(base + STATUS, (byte) status);
+			buffer.put(base + LIVE, (byte) 1);
+			size++;
+			live++;
+			if ((occupied + 1) * 2 > slots.length) {
+				rehash(slots.length * 2);
+			}
+			insert(id, name.hashCode());
+			return id;
+		}
+
+		private boolean remove(String name) {
+			byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+			int hash = name.hashCode();
+			int mask = slots.length - 1;
+			for (int i = spread(hash) & mask; slots[i] != 0; i = (i + 1) & mask) {
+				int id = slots[i] - 1;
+				if (slots[i] != TOMBSTONE && matches(id, hash, bytes)) {
+					slots[i] = TOMBSTONE;
+					region.buffer().put(id * recordSize + LIVE, (byte) 0);
+					live--;
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private boolean isLive(int id) {
+			return id >= 0 && id < size && region.buffer().get(id * recordSize + LIVE) == 1;
+		}
+
+		private String name(int id) {
+			return readName(region.buffer().getInt(id * recordSize + NAME_OFFSET));
+		}
+
+		private int status(int id) {
+			return region.buffer().get(id * recordSize + STATUS);
+		}
+
+		private void setStatus(int id, int status) {
+			region.buffer().put(id * recordSize + STATUS, (byte) status);
+		}
+
+		private boolean matches(int id, int hash, byte[] bytes) {
+			MappedByteBuffer buffer = region.buffer();
+			int base = id * recordSize;
+			return buffer.getInt(base + NAME_HASH) == hash && nameEquals(buffer.getInt(base + NAME_OFFSET), bytes);
+		}
+
+		private void insert(int id, int hash) {
+			int mask = slots.length - 1;
+			int i = spread(hash) & mask;
+			while (slots[i] != 0 && slots[i] != TOMBSTONE) {
+				i = (i + 1) & mask;
+			}
+			if (slots[i] == 0) {
+				occupied++;
+			}
+			slots[i] = id + 1;
+		}
+
+		// Tombstones are dropped when the index grows
+		private void rehash(int capacity) {
+			int[] previous = slots;
+			slots = new int[capacity];
+			occupied = 0;
+			MappedByteBuffer buffer = region.buffer();
+			for (int slot : previous) {
+				if (slot > 0) {
+					insert(slot - 1, buffer.getInt((slot - 1) * recordSize + NAME_HASH));
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package com.home.project.dragonrockets.internal.offheap;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.home.project.dragonrockets.internal.model.Mission;
+import com.home.project.dragonrockets.internal.model.MissionStatus;
+import com.home.project.dragonrockets.internal.model.Rocket;
+
+// A mission whose status and rockets live in a MappedFleetStore. The assigned
+// rockets are a read-only view over the mission's chain of rocket records.
+final class MappedMission extends Mission {
+
+	private final MappedFleetStore store;
+	private final int id;
+	private final Collection<Rocket> assignedRockets = new AssignedRockets();
+
+	MappedMission(MappedFleetStore store, int id, String name) {
+		super(name);
+		this.store = store;
+		this.id = id;
+	}
+
+	@Override
+	public MissionStatus getStatus() {
+		return store.missionStatus(id);
+	}
+
+	@Override
+	public void setStatus(MissionStatus status) {
+		store.setMissionStatus(id, status);
+	}
+
+	@Override
+	public Collection<Rocket> getAssignedRockets() {
+		return assignedRockets;
+	}
+
+	@Override
+	public void assignRocket(Rocket rocket) {
+		if (!(rocket instanceof MappedRocket mappedRocket)) {
+			throw new IllegalArgumentException("Rocket '" + rocket.getName() + "' is not stored in this fleet.");
+		}
+		store.linkRocket(id, mappedRocket.id());
+		adjustRocketCount(rocket.getStatus(), 1);
+	}
+
+	@Override
+	public boolean unassignRocket(Rocket rocket) {
+		if (!(rocket instanceof MappedRocket mappedRocket) || !store.unlinkRocket(id, mappedRocket.id())) {
+			return false;
+		}
+		adjustRocketCount(rocket.getStatus(), -1);
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return "Mission [name=" + getName() + ", status=" + getStatus() + ", assignedRockets=" + assignedRockets + "]";
+	}
+
+	private final class AssignedRockets extends AbstractCollection<Rocket> {
+
+		@Override
+		public int size() {
+			return store.missionRocketCount(id);
+		}
+
+		@Override
+		public boolean contains(Object rocket) {
+			return rocket instanceof MappedRocket mappedRocket && store.rocketMission(mappedRocket.id()) == id;
+		}
+
+		@Override
+		public Iterator<Rocket> iterator() {
+			return new Iterator<>() {
+
+				private int next = store.firstRocket(id);
+
+				@Override
+				public boolean hasNext() {
+					return next != MappedFleetStore.NONE;
+				}
+
+				@Override
+				public Rocket next() {
+					if (next == MappedFleetStore.NONE) {
+						throw new NoSuchElementException();
+					}
+					int current = next;
+					next = store.nextRocket(current);
+					return store.rocketView(current);
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,30 @@
+package com.home.project.dragonrockets.internal.offheap;
+
+import com.home.project.dragonrockets.internal.model.Mission;
+import com.home.project.dragonrockets.internal.repository.MissionRepository;
+
+// Keeps mission state in a MappedFleetStore. Missions are few compared to
+// rockets, so the small mission views stay in the on-heap maps and summary index.
+public class MappedMissionRepository extends MissionRepository {
+
+	private final MappedFleetStore store;
+
+	public MappedMissionRepository(MappedFleetStore store) {
+		this.store = store;
+	}
+
+	@Override
+	public void addMission(Mission mission) {
+		int id = store.addMission(mission.getName(), mission.getStatus());
+		if (id == MappedFleetStore.NONE) {
+			throw new IllegalArgumentException("Mission with name '" + mission.getName() + "' already exists.");
+		}
+		super.addMission(new MappedMission(store, id, mission.getName()));
+	}
+
+	@Override
+	public void remove(String name) {
+		super.remove(name);
+		store.removeMission(name);
+	}
+}
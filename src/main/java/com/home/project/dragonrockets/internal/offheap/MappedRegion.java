@@ -0,0 +1,58 @@
+package com.home.project.dragonrockets.internal.offheap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// A file mapped into memory that is remapped with double the size when full.
+// A single mapping is limited to 2 GB.
+final class MappedRegion implements AutoCloseable {
+
+	private final Path file;
+	private final FileChannel channel;
+	// Replaced by a larger mapping of the same file when full; writes through an
+	// older mapping still reach the file
+	private volatile MappedByteBuffer buffer;
+
+	MappedRegion(Path file, int initialSize) {
+		this.file = file;
+		try {
+			this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+					StandardOpenOption.READ, StandardOpenOption.WRITE);
+			this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, initialSize);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot map '" + file + "'.", e);
+		}
+	}
+
+	MappedByteBuffer buffer() {
+		return buffer;
+	}
+
+	void ensureCapacity(long size) {
+		if (size <= buffer.capacity()) {
+			return;
+		}
+		if (size > Integer.MAX_VALUE) {
+			throw new IllegalStateException("Mapped file '" + file + "' cannot grow beyond 2 GB.");
+		}
+		long newSize = Math.min(Math.max(size, 2L * buffer.capacity()), Integer.MAX_VALUE);
+		try {
+			buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, newSize);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot grow '" + file + "'.", e);
+		}
+	}
+
+	@Override
+	public void close() {
+		try {
+			channel.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot close '" + file + "'.", e);
+		}
+	}
+}
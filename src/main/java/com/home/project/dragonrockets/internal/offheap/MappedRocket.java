@@ -0,0 +1,60 @@
+package com.home.project.dragonrockets.internal.offheap;
+
+import com.home.project.dragonrockets.internal.model.Rocket;
+import com.home.project.dragonrockets.internal.model.RocketStatus;
+
+// A view of a rocket record in a MappedFleetStore. The store hands out cached
+// views; views are equal when they refer to the same record.
+final class MappedRocket extends Rocket {
+
+	private final MappedFleetStore store;
+	private final int id;
+
+	MappedRocket(MappedFleetStore store, int id, String name) {
+		super(name);
+		this.store = store;
+		this.id = id;
+	}
+
+	int id() {
+		return id;
+	}
+
+	@Override
+	public RocketStatus getStatus() {
+		return store.rocketStatus(id);
+	}
+
+	@Override
+	public void setStatus(RocketStatus status) {
+		store.setRocketStatus(id, status);
+	}
+
+	@Override
+	public String getAssignedMissionName() {
+		int missionId = store.rocketMission(id);
+		return missionId == MappedFleetStore.NONE ? null : store.missionName(missionId);
+	}
+
+	@Override
+	public void setAssignedMissionName(String assignedMissionName) {
+		store.setRocketMission(id,
+				assignedMissionName == null ? MappedFleetStore.NONE : store.missionId(assignedMissionName));
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		return other instanceof MappedRocket rocket && rocket.store == store && rocket.id == id;
+	}
+
+	@Override
+	public int hashCode() {
+		return id;
+	}
+
+	@Override
+	public String toString() {
+		return "Rocket [name=" + getName() + ", status=" + getStatus() + ", assignedMissionName="
+				+ getAssignedMissionName() + "]";
+	}
+}
@@ -0,0 +1,96 @@
+package com.home.project.dragonrockets.internal.offheap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.home.project.dragonrockets.internal.model.Rocket;
+import com.home.project.dragonrockets.internal.model.RocketStatus;
+import com.home.project.dragonrockets.internal.repository.NameDictionary;
+import com.home.project.dragonrockets.internal.repository.RocketStore;
+
+// Keeps rockets entirely in a MappedFleetStore. A rocket added here is copied
+// into the store; lookups return views of the stored record.
+public class MappedRocketRepository implements RocketStore {
+
+	private final MappedFleetStore store;
+
+	public MappedRocketRepository(MappedFleetStore store) {
+		this.store = store;
+	}
+
+	@Override
+	public void addRocket(Rocket rocket) {
+		int id = store.addRocket(rocket.getName(), rocket.getStatus());
+		if (id == MappedFleetStore.NONE) {
+			throw new IllegalArgumentException("Rocket with name '" + rocket.getName() + "' already exists.");
+		}
+		if (rocket.getAssignedMissionName() != null) {
+			store.setRocketMission(id, store.missionId(rocket.getAssignedMissionName()));
+		}
+	}
+
+	@Override
+	public Rocket getByName(String name) {
+		int id = store.rocketId(name);
+		return id == MappedFleetStore.NONE ? null : store.rocketView(id);
+	}
+
+	// The store's record ids serve as rocket ids
+	@Override
+	public int findId(String name) {
+		int id = store.rocketId(name);
+		return id == MappedFleetStore.NONE ? NameDictionary.NO_ID : id;
+	}
+
+	@Override
+	public Rocket getById(int id) {
+		return id >= 0 && id < store.rocketIdLimit() && store.isRocketLive(id)
+				? store.rocketView(id)
+				: null;
+	}
+
+	@Override
+	public List<Rocket> findAll() {
+		List<Rocket> rockets = new ArrayList<>(store.rocketCount());
+		int limit = store.rocketIdLimit();
+		for (int id = 0; id < limit; id++) {
+			if (store.isRocketLive(id)) {
+				rockets.add(store.rocketView(id));
+			}
+		}
+		return rockets;
+	}
+
+	@Override
+	public List<Rocket> findByStatus(RocketStatus status) {
+		return views(store.rocketsWithStatus(status));
+	}
+
+	@Override
+	public List<Rocket> findUnassigned(RocketStatus status, int limit) {
+		return views(store.unassignedRockets(status, limit));
+	}
+
+	// The store indexes rockets by status and assignment itself whenever a
+	// record is written
+	@Override
+	public void updateStatus(Rocket rocket, RocketStatus previousStatus) {
+	}
+
+	@Override
+	public void updateAssignment(Rocket rocket) {
+	}
+
+	@Override
+	public void remove(String name) {
+		store.removeRocket(name);
+	}
+
+	private List<Rocket> views(int[] ids) {
+		List<Rocket> rockets = new ArrayList<>(ids.length);
+		for (int id : ids) {
+			rockets.add(store.rocketView(id));
+		}
+		return rockets;
+	}
+}
@@ -0,0 +1,16 @@
+package com.home.project.dragonrockets.internal.persistence;
+
+public enum FsyncPolicy {
+
+	// Every mutation returns only after its record has been forced to disk.
+	// Concurrent writers share a single fsync (group commit).
+	ALWAYS,
+
+	// Records are buffered in memory and forced to disk by a background thread
+	// at a fixed interval. A crash may lose the last interval of mutations.
+	INTERVAL,
+
+	// Records are written to the file on every mutation, but flushing them to
+	// disk is left to the operating system.
+	NEVER
+}
@@ -0,0 +1,74 @@
+package com.home.project.dragonrockets.internal.persistence;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.home.project.dragonrockets.internal.concurrent.StripedLocks;
+import com.home.project.dragonrockets.internal.repository.MissionRepository;
+import com.home.project.dragonrockets.internal.repository.RocketRepository;
+import com.home.project.dragonrockets.internal.service.MissionService;
+import com.home.project.dragonrockets.internal.service.RocketService;
+
+// Folds closed log segments into a new snapshot. The state is rebuilt from the
+// previous snapshot and the segments in a private set of repositories, so the
+// live repositories are never read and writers are never blocked.
+class LogCompactor {
+
+	private final Path directory;
+
+	LogCompactor(Path directory) {
+		this.directory = directory;
+	}
+
+	// Writes snapshot 'firstKeptSegment' and deletes the files it replaces
+	void compact(long firstKeptSegment) {
+		RocketRepository rocketRepository = new RocketRepository();
+		MissionRepository missionRepository = new MissionRepository();
+		StripedLocks locks = new StripedLocks(1);
+		LogRecordHandler handler = new ServiceRecordHandler(
+				new RocketService(rocketRepository, missionRepository, locks),
+				new MissionService(missionRepository, rocketRepository, locks));
+
+		long baseSnapshot = -1;
+		for (long snapshot : LogFiles.snapshots(directory)) {
+			if (snapshot <= firstKeptSegment) {
+				baseSnapshot = snapshot;
+			}
+		}
+		if (baseSnapshot == firstKeptSegment) {
+			return;
+		}
+		if (baseSnapshot >= 0) {
+			SnapshotFile.read(LogFiles.snapshot(directory, baseSnapshot), handler);
+		}
+		for (long segment : LogFiles.segments(directory)) {
+			if (segment >= baseSnapshot && segment < firstKeptSegment) {
+				WriteAheadLog.replaySegment(LogFiles.segment(directory, segment), handler);
+			}
+		}
+
+		SnapshotFile.write(LogFiles.snapshot(directory, firstKeptSegment), rocketRepository.findAll(),
+				missionRepository.findAll());
+
+		for (long segment : LogFiles.segments(directory)) {
+			if (segment < firstKeptSegment) {
+				delete(LogFiles.segment(directory, segment));
+			}
+		}
+		for (long snapshot : LogFiles.snapshots(directory)) {
+			if (snapshot < firstKeptSegment) {
+				delete(LogFiles.snapshot(directory, snapshot));
+			}
+		}
+	}
+
+	private void delete(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot delete '" + file + "'.", e);
+		}
+	}
+}
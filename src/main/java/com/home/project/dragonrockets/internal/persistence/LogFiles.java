@@ -0,0 +1,57 @@
+package com.home.project.dragonrockets.internal.persistence;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Naming of the files in a log directory. Segments are numbered in the order
+// they were written; snapshot N holds the state recorded by all segments < N.
+final class LogFiles {
+
+	private static final String SEGMENT_PREFIX = "wal-";
+	private static final String SEGMENT_SUFFIX = ".log";
+	private static final String SNAPSHOT_PREFIX = "snapshot-";
+	private static final String SNAPSHOT_SUFFIX = ".snap";
+
+	private LogFiles() {
+	}
+
+	static Path segment(Path directory, long number) {
+		return directory.resolve(SEGMENT_PREFIX + String.format("%020d", number) + SEGMENT_SUFFIX);
+	}
+
+	static Path snapshot(Path directory, long number) {
+		return directory.resolve(SNAPSHOT_PREFIX + String.format("%020d", number) + SNAPSHOT_SUFFIX);
+	}
+
+	static List<Long> segments(Path directory) {
+		return numbers(directory, SEGMENT_PREFIX, SEGMENT_SUFFIX);
+	}
+
+	static List<Long> snapshots(Path directory) {
+		return numbers(directory, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+	}
+
+	static long latestSnapshot(Path directory) {
+		List<Long> snapshots = snapshots(directory);
+		return snapshots.isEmpty() ? -1 : snapshots.get(snapshots.size() - 1);
+	}
+
+	private static List<Long> numbers(Path directory, String prefix, String suffix) {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.map(file -> file.getFileName().toString())
+					.filter(name -> name.startsWith(prefix) && name.endsWith(suffix))
+					.map(name -> name.substring(prefix.length(), name.length() - suffix.length()))
+					.filter(number -> !number.isEmpty() && number.chars().allMatch(Character::isDigit))
+					.map(Long::parseLong)
+					.sorted()
+					.collect(Collectors.toList());
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot list log directory '" + directory + "'.", e);
+		}
+	}
+}
@@ -0,0 +1,23 @@
+package com.home.project.dragonrockets.internal.persistence;
+
+import com.home.project.dragonrockets.internal.model.MissionStatus;
+import com.home.project.dragonrockets.internal.model.RocketStatus;
+
+public interface LogRecordHandler {
+
+	void addRocket(String rocketName, RocketStatus status);
+
+	void addMission(String missionName, MissionStatus status);
+
+	void assignRocketToMission(String rocketName, String missionName);
+
+	void unassignRocketFromMission(String rocketName);
+
+	void changeRocketStatus(String rocketName, RocketStatus newStatus);
+
+	void changeMissionStatus(String missionName, MissionStatus newStatus);
+
+	void removeRocket(String rocketName);
+
+	void removeMission(String missionName);
+}
@@ -0,0 +1,65 @@
+package com.home.project.dragonrockets.internal.persistence;
+
+import com.home.project.dragonrockets.internal.model.Mission;
+import com.home.project.dragonrockets.internal.model.MissionStatus;
+import com.home.project.dragonrockets.internal.model.Rocket;
+import com.home.project.dragonrockets.internal.model.RocketStatus;
+import com.home.project.dragonrockets.internal.service.MissionService;
+import com.home.project.dragonrockets.internal.service.RocketService;
+
+// Applies logged mutations through the services, so all rules and automatic
+// status changes are re-evaluated exactly as they were the first time.
+public class ServiceRecordHandler implements LogRecordHandler {
+
+	private final RocketService rocketService;
+	private final MissionService missionService;
+
+	public ServiceRecordHandler(RocketService rocketService, MissionService missionService) {
+		this.rocketService = rocketService;
+		this.missionService = missionService;
+	}
+
+	@Override
+	public void addRocket(String rocketName, RocketStatus status) {
+		Rocket rocket = new Rocket(rocketName);
+		rocket.setStatus(status);
+		rocketService.addRocket(rocket);
+	}
+
+	@Override
+	public void addMission(String missionName, MissionStatus status) {
+		Mission mission = new Mission(missionName);
+		mission.setStatus(status);
+		missionService.addMission(mission);
+	}
+
+	@Override
+	public void assignRocketToMission(String rocketName, String missionName) {
+		missionService.assignRocketToMission(rocketName, missionName);
+	}
+
+	@Override
+	public void unassignRocketFromMission(String rocketName) {
+		missionService.unassignRocketFromMission(rocketName);
+	}
+
+	@Override
+	public void changeRocketStatus(String rocketName, RocketStatus newStatus) {
+		rocketService.changeRocketStatus(rocketName, newStatus);
+	}
+
+	@Override
+	public void changeMissionStatus(String missionName, MissionStatus newStatus) {
+		missionService.changeMissionStatus(missionName, newStatus);
+	}
+
+	@Override
+	public void removeRocket(String rocketName) {
+		rocketService.removeRocket(rocketName);
+	}
+
+	@Override
+	public void removeMission(String missionName) {
+		missionService.removeMission(missionName);
+	}
+}
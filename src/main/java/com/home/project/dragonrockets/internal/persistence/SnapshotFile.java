@@ -0,0 +1,187 @@
+package com.home.project.dragonrockets.internal.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+import com.home.project.dragonrockets.internal.codec.BinaryReader;
+import com.home.project.dragonrockets.internal.codec.BinaryWriter;
+import com.home.project.dragonrockets.internal.codec.FleetCodec;
+import com.home.project.dragonrockets.internal.codec.FleetVisitor;
+import com.home.project.dragonrockets.internal.model.Mission;
+import com.home.project.dragonrockets.internal.model.MissionStatus;
+import com.home.project.dragonrockets.internal.model.Rocket;
+import com.home.project.dragonrockets.internal.model.RocketStatus;
+
+// Point-in-time image of all rockets and missions:
+// [magic][version][fleet encoded by FleetCodec][CRC32C]
+// Version 1 snapshots, with fixed-width lengths and assignments written as
+// rocket names a second time, are still read.
+final class SnapshotFile {
+
+	private static final int MAGIC = 0x44525350;
+	private static final byte LEGACY_VERSION = 1;
+	private static final byte VERSION = 2;
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private SnapshotFile() {
+	}
+
+	// The snapshot is written to a temporary file first and renamed when
+	// complete, so a crash never leaves a half-written snapshot behind
+	static void write(Path target, Collection<Rocket> rockets, Collection<Mission> missions) {
+		Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+			CRC32C crc = new CRC32C();
+			BinaryWriter out = new BinaryWriter(checksummed(channel, crc), BUFFER_SIZE);
+			out.writeInt(MAGIC);
+			out.writeByte(VERSION);
+			FleetCodec.write(out, missions, rockets);
+			out.flush();
+			ByteBuffer trailer = ByteBuffer.allocate(4).putInt((int) crc.getValue()).flip();
+			while (trailer.hasRemaining()) {
+				channel.write(trailer);
+			}
+			channel.force(true);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot write snapshot '" + target + "'.", e);
+		}
+		try {
+			Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot publish snapshot '" + target + "'.", e);
+		}
+	}
+
+	static void read(Path source, LogRecordHandler handler) {
+		try {
+			verifyChecksum(source);
+			try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+				// The fleet is decoded straight from the mapped file
+				MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size() - 4);
+				BinaryReader in = new BinaryReader(mapped);
+				if (in.readInt() != MAGIC) {
+					throw new IOException("Unsupported snapshot format.");
+				}
+				int version = in.readByte();
+				if (version == VERSION) {
+					FleetCodec.read(in, new FleetVisitor() {
+						@Override
+						public void mission(String missionName, MissionStatus status) {
+							handler.addMission(missionName, status);
+						}
+
+						@Override
+						public void rocket(String rocketName, RocketStatus status, String missionName) {
+							handler.addRocket(rocketName, status);
+							if (missionName != null) {
+								handler.assignRocketToMission(rocketName, missionName);
+							}
+						}
+					});
+				} else if (version == LEGACY_VERSION) {
+					readLegacy(source, handler);
+				} else {
+					throw new IOException("Unsupported snapshot format.");
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot read snapshot '" + source + "'.", e);
+		}
+	}
+
+	private static void readLegacy(Path source, LogRecordHandler handler) throws IOException {
+		try (DataInputStream in = new DataInputStream(
+				new BufferedInputStream(Files.newInputStream(source), BUFFER_SIZE))) {
+			in.readInt();
+			in.readByte();
+			int rocketCount = in.readInt();
+			for (int i = 0; i < rocketCount; i++) {
+				handler.addRocket(readString(in), RocketStatus.fromCode(in.readByte()));
+			}
+			int missionCount = in.readInt();
+			List<String> rocketNames = new ArrayList<>();
+			for (int i = 0; i < missionCount; i++) {
+				String missionName = readString(in);
+				handler.addMission(missionName, MissionStatus.fromCode(in.readByte()));
+				int assignedCount = in.readInt();
+				rocketNames.clear();
+				for (int j = 0; j < assignedCount; j++) {
+					rocketNames.add(readString(in));
+				}
+				for (String rocketName : rocketNames) {
+					handler.assignRocketToMission(rocketName, missionName);
+				}
+			}
+		}
+	}
+
+	// Checksums exactly the bytes the channel accepted
+	private static WritableByteChannel checksummed(FileChannel channel, CRC32C crc) {
+		return new WritableByteChannel() {
+			@Override
+			public int write(ByteBuffer source) throws IOException {
+				ByteBuffer written = source.duplicate();
+				int count = channel.write(source);
+				crc.update(written.limit(written.position() + count));
+				return count;
+			}
+
+			@Override
+			public boolean isOpen() {
+				return channel.isOpen();
+			}
+
+			@Override
+			public void close() {
+				// The caller closes the file channel
+			}
+		};
+	}
+
+	private static void verifyChecksum(Path source) throws IOException {
+		long size = Files.size(source);
+		if (size < 4) {
+			throw new IOException("Snapshot is truncated.");
+		}
+		CRC32C crc = new CRC32C();
+		try (InputStream in = new BufferedInputStream(Files.newInputStream(source), BUFFER_SIZE)) {
+			byte[] buffer = new byte[BUFFER_SIZE];
+			long remaining = size - 4;
+			while (remaining > 0) {
+				int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+				if (read < 0) {
+					throw new IOException("Snapshot is truncated.");
+				}
+				crc.update(buffer, 0, read);
+				remaining -= read;
+			}
+			int expected = new DataInputStream(in).readInt();
+			if (expected != (int) crc.getValue()) {
+				throw new IOException("Snapshot checksum does not match.");
+			}
+		}
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,511 @@
+package com.home.project.dragonrockets.internal.persistence;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+import com.home.project.dragonrockets.internal.model.Mission;
+import com.home.project.dragonrockets.internal.model.MissionStatus;
+import com.home.project.dragonrockets.internal.model.Rocket;
+import com.home.project.dragonrockets.internal.model.RocketStatus;
+import com.home.project.dragonrockets.internal.service.MutationListener;
+
+// Append-only binary log of all mutations. Every record is framed as
+// [int length][int CRC32C][payload], the payload starting with a type byte.
+// Records are encoded into a memory buffer while the services still hold the
+// entity locks, so their order in the file matches the order of application.
+// Writing the buffer to the file is done later by commit() or the background
+// flusher, batching the records of all concurrent writers into one write.
+//
+// The log is split into numbered segments. A checkpoint starts a new segment
+// and folds the closed ones into a snapshot in the background, so startup only
+// loads the newest snapshot and replays the segments written after it.
+public class WriteAheadLog implements MutationListener, AutoCloseable {
+
+	public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis(50);
+	public static final long DEFAULT_SEGMENT_SIZE = 64L * 1024 * 1024;
+
+	private static final int HEADER_SIZE = 8;
+	private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+	private static final byte ROCKET_ADDED = 1;
+	private static final byte MISSION_ADDED = 2;
+	private static final byte ROCKET_ASSIGNED = 3;
+	private static final byte ROCKET_UNASSIGNED = 4;
+	private static final byte ROCKET_STATUS_CHANGED = 5;
+	private static final byte MISSION_STATUS_CHANGED = 6;
+	private static final byte ROCKET_REMOVED = 7;
+	private static final byte MISSION_REMOVED = 8;
+
+	private final Path directory;
+	private final FsyncPolicy fsyncPolicy;
+	private final long segmentSize;
+	private final ScheduledExecutorService flusher;
+	private final ExecutorService compactionExecutor;
+	private final LogCompactor compactor;
+	private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+
+	// Guarded by appendLock
+	private final ReentrantLock appendLock = new ReentrantLock();
+	private final CRC32C checksum = new CRC32C();
+	private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+	private long appendedRecords;
+
+	// Guarded by flushLock; the segment fields and spare are only touched by
+	// the thread that is flushing
+	private final ReentrantLock flushLock = new ReentrantLock();
+	private final Condition flushed = flushLock.newCondition();
+	private FileChannel channel;
+	private long activeSegment;
+	private long activeSegmentBytes;
+	private ByteBuffer spare = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+	private boolean flushing;
+	private long flushedRecords;
+	private volatile IOException failure;
+	private volatile boolean closed;
+
+	public WriteAheadLog(Path directory, FsyncPolicy fsyncPolicy) {
+		this(directory, fsyncPolicy, DEFAULT_FLUSH_INTERVAL, DEFAULT_SEGMENT_SIZE);
+	}
+
+	public WriteAheadLog(Path directory, FsyncPolicy fsyncPolicy, Duration flushInterval, long segmentSize) {
+		this.directory = directory;
+		this.fsyncPolicy = fsyncPolicy;
+		this.segmentSize = segmentSize;
+		this.compactor = new LogCompactor(directory);
+		try {
+			Files.createDirectories(directory);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot create log directory '" + directory + "'.", e);
+		}
+		List<Long> segments = LogFiles.segments(directory);
+		this.activeSegment = segments.isEmpty()
+				? Math.max(LogFiles.latestSnapshot(directory), 0)
+				: segments.get(segments.size() - 1);
+		this.channel = openSegment(activeSegment);
+
+		this.compactionExecutor = Executors.newSingleThreadExecutor(daemonThreads("dragonrockets-wal-compactor"));
+		if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+			this.flusher = Executors.newSingleThreadScheduledExecutor(daemonThreads("dragonrockets-wal-flusher"));
+			long intervalNanos = flushInterval.toNanos();
+			flusher.scheduleWithFixedDelay(this::flushQuietly, intervalNanos, intervalNanos, TimeUnit.NANOSECONDS);
+		} else {
+			this.flusher = null;
+		}
+	}
+
+	// Loads the newest snapshot and re-applies every intact record written
+	// after it. A torn or corrupted record at the end of the active segment
+	// (e.g. after a crash during a write) is cut off.
+	// Must be called before the first mutation is appended.
+	public long replay(LogRecordHandler handler) {
+		long snapshot = LogFiles.latestSnapshot(directory);
+		if (snapshot >= 0) {
+			SnapshotFile.read(LogFiles.snapshot(directory, snapshot), handler);
+		}
+		long records = 0;
+		for (long segment : LogFiles.segments(directory)) {
+			if (segment >= snapshot && segment < activeSegment) {
+				records += replaySegment(LogFiles.segment(directory, segment), handler);
+			}
+		}
+		try {
+			ReplayResult result = replay(channel, handler);
+			channel.truncate(result.validLength());
+			channel.position(result.validLength());
+			activeSegmentBytes = result.validLength();
+			return records + result.records();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot replay write-ahead log.", e);
+		}
+	}
+
+	// Starts a new segment and folds everything before it into a snapshot on a
+	// background thread. Writers only wait for the segment switch.
+	public CompletableFuture<Void> checkpoint() {
+		return CompletableFuture.runAsync(() -> compactor.compact(rotate()), compactionExecutor);
+	}
+
+	// Makes the records appended so far durable according to the fsync policy.
+	// Called by the facade after the service has released its locks.
+	public void commit() {
+		if (fsyncPolicy != FsyncPolicy.INTERVAL) {
+			flush(fsyncPolicy == FsyncPolicy.ALWAYS);
+		} else {
+			checkFailure();
+		}
+	}
+
+	@Override
+	public void rocketAdded(Rocket rocket) {
+		append(ROCKET_ADDED, encode(rocket.getName()), null, rocket.getStatus().getCode());
+	}
+
+	@Override
+	public void missionAdded(Mission mission) {
+		append(MISSION_ADDED, encode(mission.getName()), null, mission.getStatus().getCode());
+	}
+
+	@Override
+	public void rocketAssigned(Rocket rocket, Mission mission) {
+		append(ROCKET_ASSIGNED, encode(rocket.getName()), encode(mission.getName()), -1);
+	}
+
+	@Override
+	public void rocketUnassigned(Rocket rocket, Mission mission) {
+		append(ROCKET_UNASSIGNED, encode(rocket.getName()), null, -1);
+	}
+
+	@Override
+	public void rocketStatusChanged(Rocket rocket, RocketStatus previousStatus) {
+		append(ROCKET_STATUS_CHANGED, encode(rocket.getName()), null, rocket.getStatus().getCode());
+	}
+
+	@Override
+	public void missionStatusChanged(Mission mission, MissionStatus previousStatus, boolean automatic) {
+		// Automatic changes are re-derived by the services during replay
+		if (!automatic) {
+			append(MISSION_STATUS_CHANGED, encode(mission.getName()), null, mission.getStatus().getCode());
+		}
+	}
+
+	@Override
+	public void rocketRemoved(Rocket rocket) {
+		append(ROCKET_REMOVED, encode(rocket.getName()), null, -1);
+	}
+
+	@Override
+	public void missionRemoved(Mission mission) {
+		append(MISSION_REMOVED, encode(mission.getName()), null, -1);
+	}
+
+	// Throws if records appended now could never be written, e.g. after an
+	// earlier write failed
+	public void checkWritable() {
+		if (closed) {
+			throw new IllegalStateException("Write-ahead log is closed.");
+		}
+		checkFailure();
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+		if (flusher != null) {
+			flusher.shutdown();
+		}
+		compactionExecutor.shutdown();
+		try {
+			compactionExecutor.awaitTermination(1, TimeUnit.MINUTES);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		try {
+			flush(fsyncPolicy != FsyncPolicy.NEVER);
+		} finally {
+			try {
+				channel.close();
+			} catch (IOException e) {
+				throw new UncheckedIOException("Cannot close write-ahead log.", e);
+			}
+		}
+	}
+
+	private void append(byte type, byte[] first, byte[] second, int status) {
+		int payloadLength = 1 + 4 + first.length + (second == null ? 0 : 4 + second.length) + (status < 0 ? 0 : 1);
+		appendLock.lock();
+		try {
+			ensureCapacity(HEADER_SIZE + payloadLength);
+			int start = pending.position();
+			pending.position(start + HEADER_SIZE);
+			pending.put(type);
+			pending.putInt(first.length).put(first);
+			if (second != null) {
+				pending.putInt(second.length).put(second);
+			}
+			if (status >= 0) {
+				pending.put((byte) status);
+			}
+			checksum.reset();
+			checksum.update(pending.array(), start + HEADER_SIZE, payloadLength);
+			pending.putInt(start, payloadLength);
+			pending.putInt(start + 4, (int) checksum.getValue());
+			appendedRecords++;
+		} finally {
+			appendLock.unlock();
+		}
+	}
+
+	private void ensureCapacity(int recordSize) {
+		if (pending.remaining() < recordSize) {
+			ByteBuffer larger = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + recordSize));
+			pending.flip();
+			larger.put(pending);
+			pending = larger;
+		}
+	}
+
+	// Group commit: the first thread that needs a flush writes the records of
+	// every writer that appended so far, the others wait for it to finish.
+	private void flush(boolean force) {
+		long target;
+		appendLock.lock();
+		try {
+			target = appendedRecords;
+		} finally {
+			appendLock.unlock();
+		}
+
+		flushLock.lock();
+		try {
+			while (flushedRecords < target) {
+				checkFailure();
+				if (flushing) {
+					flushed.awaitUninterruptibly();
+					continue;
+				}
+				flushing = true;
+				flushLock.unlock();
+				long written = -1;
+				try {
+					written = writeBatch(force);
+				} finally {
+					flushLock.lock();
+					flushing = false;
+					if (written > flushedRecords) {
+						flushedRecords = written;
+					}
+					flushed.signalAll();
+				}
+			}
+			checkFailure();
+		} finally {
+			flushLock.unlock();
+		}
+	}
+
+	private long writeBatch(boolean force) {
+		ByteBuffer batch;
+		long records;
+		appendLock.lock();
+		try {
+			batch = pending;
+			pending = spare;
+			records = appendedRecords;
+		} finally {
+			appendLock.unlock();
+		}
+
+		try {
+			batch.flip();
+			activeSegmentBytes += batch.remaining();
+			while (batch.hasRemaining()) {
+				channel.write(batch);
+			}
+			if (force) {
+				channel.force(false);
+			}
+			if (activeSegmentBytes >= segmentSize && compactionScheduled.compareAndSet(false, true)) {
+				compactionExecutor.execute(this::checkpointQuietly);
+			}
+			return records;
+		} catch (IOException e) {
+			failure = e;
+			return -1;
+		} finally {
+			batch.clear();
+			spare = batch;
+		}
+	}
+
+	// Writes all buffered records to the active segment and switches to a new
+	// one. Returns the number of the new segment.
+	private long rotate() {
+		flushLock.lock();
+		try {
+			while (flushing) {
+				flushed.awaitUninterruptibly();
+			}
+			checkFailure();
+			flushing = true;
+		} finally {
+			flushLock.unlock();
+		}
+
+		long written = -1;
+		try {
+			written = writeBatch(true);
+			checkFailure();
+			long nextSegment = activeSegment + 1;
+			FileChannel next = openSegment(nextSegment);
+			try {
+				channel.close();
+			} catch (IOException e) {
+				throw new UncheckedIOException("Cannot close write-ahead log segment.", e);
+			}
+			channel = next;
+			activeSegment = nextSegment;
+			activeSegmentBytes = 0;
+			return nextSegment;
+		} finally {
+			flushLock.lock();
+			flushing = false;
+			if (written > flushedRecords) {
+				flushedRecords = written;
+			}
+			flushed.signalAll();
+			flushLock.unlock();
+		}
+	}
+
+	private void checkpointQuietly() {
+		try {
+			compactor.compact(rotate());
+		} catch (UncheckedIOException e) {
+			// The segments are kept and the next checkpoint will try again
+		} finally {
+			compactionScheduled.set(false);
+		}
+	}
+
+	private FileChannel openSegment(long segment) {
+		Path file = LogFiles.segment(directory, segment);
+		try {
+			FileChannel segmentChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+					StandardOpenOption.WRITE);
+			segmentChannel.position(segmentChannel.size());
+			return segmentChannel;
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot open write-ahead log segment '" + file + "'.", e);
+		}
+	}
+
+	private static ThreadFactory daemonThreads(String name) {
+		return runnable -> {
+			Thread thread = new Thread(runnable, name);
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	private void flushQuietly() {
+		try {
+			flush(true);
+		} catch (UncheckedIOException e) {
+			// Remembered in 'failure' and reported to the next committing writer
+		}
+	}
+
+	private void checkFailure() {
+		IOException e = failure;
+		if (e != null) {
+			throw new UncheckedIOException("Write-ahead log is no longer writable.", e);
+		}
+	}
+
+	static long replaySegment(Path segment, LogRecordHandler handler) {
+		try (FileChannel segmentChannel = FileChannel.open(segment, StandardOpenOption.READ)) {
+			return replay(segmentChannel, handler).records();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot replay write-ahead log segment '" + segment + "'.", e);
+		}
+	}
+
+	private static ReplayResult replay(FileChannel segmentChannel, LogRecordHandler handler) throws IOException {
+		long position = 0;
+		long records = 0;
+		long size = segmentChannel.size();
+		segmentChannel.position(0);
+		DataInputStream in = new DataInputStream(
+				new BufferedInputStream(Channels.newInputStream(segmentChannel), INITIAL_BUFFER_SIZE));
+		CRC32C crc = new CRC32C();
+		byte[] payload = new byte[256];
+		while (position + HEADER_SIZE <= size) {
+			int length = in.readInt();
+			int expectedChecksum = in.readInt();
+			if (length <= 0 || position + HEADER_SIZE + length > size) {
+				break;
+			}
+			if (payload.length < length) {
+				payload = new byte[Math.max(length, payload.length * 2)];
+			}
+			in.readFully(payload, 0, length);
+			crc.reset();
+			crc.update(payload, 0, length);
+			if ((int) crc.getValue() != expectedChecksum) {
+				break;
+			}
+			apply(ByteBuffer.wrap(payload, 0, length), handler);
+			position += HEADER_SIZE + length;
+			records++;
+		}
+		return new ReplayResult(position, records);
+	}
+
+	private static byte[] encode(String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static String decodeString(ByteBuffer payload) {
+		int length = payload.getInt();
+		String value = new String(payload.array(), payload.arrayOffset() + payload.position(), length,
+				StandardCharsets.UTF_8);
+		payload.position(payload.position() + length);
+		return value;
+	}
+
+	private static void apply(ByteBuffer payload, LogRecordHandler handler) throws IOException {
+		byte type = payload.get();
+		switch (type) {
+			case ROCKET_ADDED:
+				handler.addRocket(decodeString(payload), RocketStatus.fromCode(payload.get()));
+				break;
+			case MISSION_ADDED:
+				handler.addMission(decodeString(payload), MissionStatus.fromCode(payload.get()));
+				break;
+			case ROCKET_ASSIGNED:
+				handler.assignRocketToMission(decodeString(payload), decodeString(payload));
+				break;
+			case ROCKET_UNASSIGNED:
+				handler.unassignRocketFromMission(decodeString(payload));
+				break;
+			case ROCKET_STATUS_CHANGED:
+				handler.changeRocketStatus(decodeString(payload), RocketStatus.fromCode(payload.get()));
+				break;
+			case MISSION_STATUS_CHANGED:
+				handler.changeMissionStatus(decodeString(payload), MissionStatus.fromCode(payload.get()));
+				break;
+			case ROCKET_REMOVED:
+				handler.removeRocket(decodeString(payload));
+				break;
+			case MISSION_REMOVED:
+				handler.removeMission(decodeString(payload));
+				break;
+			default:
+				throw new IOException("Unknown write-ahead log record type " + type + ".");
+		}
+	}
+
+	private record ReplayResult(long validLength, long records) {
+	}
+}
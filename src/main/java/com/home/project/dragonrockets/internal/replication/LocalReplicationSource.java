@@ -0,0 +1,29 @@
+package com.home.project.dragonrockets.internal.replication;
+
+import com.home.project.dragonrockets.SpaceXManager;
+import com.home.project.dragonrockets.internal.event.ChangeSet;
+
+// Replication from a primary in the same process
+public class LocalReplicationSource implements ReplicationSource {
+
+	private final SpaceXManager primary;
+
+	public LocalReplicationSource(SpaceXManager primary) {
+		this.primary = primary;
+	}
+
+	@Override
+	public ChangeSet changesSince(long sequence, int max) {
+		return primary.changesSince(sequence, max);
+	}
+
+	@Override
+	public ReplicationImage image() {
+		return primary.replicationImage();
+	}
+
+	// The primary stays open
+	@Override
+	public void close() {
+	}
+}
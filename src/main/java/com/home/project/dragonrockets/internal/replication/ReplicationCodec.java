@@ -0,0 +1,71 @@
+package com.home.project.dragonrockets.internal.replication;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import com.home.project.dragonrockets.internal.codec.BinaryReader;
+import com.home.project.dragonrockets.internal.codec.BinaryWriter;
+import com.home.project.dragonrockets.internal.codec.ChangeCodec;
+import com.home.project.dragonrockets.internal.event.ChangeSet;
+
+// Wire format of the TCP replication protocol. Requests are a type byte and
+// fixed-width arguments; responses carry a status byte and a length-prefixed
+// frame encoded by ChangeCodec or FleetCodec.
+final class ReplicationCodec {
+
+	static final byte CHANGES_REQUEST = 1;
+	static final byte IMAGE_REQUEST = 2;
+	static final byte OK = 0;
+	static final byte ERROR = 1;
+
+	private static final int CHANGES_BUFFER_SIZE = 4096;
+	// Large enough for the image of a fleet with millions of rockets
+	private static final int MAX_FRAME_SIZE = 256 * 1024 * 1024;
+
+	private ReplicationCodec() {
+	}
+
+	static ByteBuffer encodeChangeSet(ChangeSet changeSet) {
+		BinaryWriter frame = new BinaryWriter(CHANGES_BUFFER_SIZE);
+		ChangeCodec.write(frame, changeSet);
+		return frame.toByteBuffer();
+	}
+
+	// Takes the frame from encodeChangeSet
+	static void writeChangeSet(DataOutput out, ByteBuffer frame) throws IOException {
+		writeFrame(out, frame);
+	}
+
+	static ChangeSet readChangeSet(DataInput in) throws IOException {
+		return ChangeCodec.read(new BinaryReader(readFrame(in)));
+	}
+
+	static void writeImage(DataOutput out, ReplicationImage image) throws IOException {
+		out.writeLong(image.sequence());
+		writeFrame(out, image.fleet().duplicate());
+	}
+
+	static ReplicationImage readImage(DataInput in) throws IOException {
+		long sequence = in.readLong();
+		return new ReplicationImage(sequence, readFrame(in));
+	}
+
+	// Frames are encoded into heap buffers, so no copy is made on either side
+	private static void writeFrame(DataOutput out, ByteBuffer frame) throws IOException {
+		out.writeInt(frame.remaining());
+		out.write(frame.array(), frame.arrayOffset() + frame.position(), frame.remaining());
+	}
+
+	private static ByteBuffer readFrame(DataInput in) throws IOException {
+		// The length comes from the peer and is checked before allocating
+		int length = in.readInt();
+		if (length < 0 || length > MAX_FRAME_SIZE) {
+			throw new IOException("Frame length " + length + " is out of range.");
+		}
+		byte[] frame = new byte[length];
+		in.readFully(frame);
+		return ByteBuffer.wrap(frame);
+	}
+}
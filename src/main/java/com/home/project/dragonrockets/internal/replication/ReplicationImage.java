@@ -0,0 +1,8 @@
+package com.home.project.dragonrockets.internal.replication;
+
+import java.nio.ByteBuffer;
+
+// The whole fleet of a primary encoded by FleetCodec, taken at the given
+// change journal sequence
+public record ReplicationImage(long sequence, ByteBuffer fleet) {
+}
@@ -0,0 +1,130 @@
+package com.home.project.dragonrockets.internal.replication;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.home.project.dragonrockets.SpaceXManager;
+
+// Serves a primary's change journal to TcpReplicationSource clients on the
+// loopback interface. Every connection gets its own daemon thread and
+// handles one request at a time.
+public class ReplicationServer implements AutoCloseable {
+
+	private final SpaceXManager primary;
+	private final ServerSocket serverSocket;
+	private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+
+	// Port 0 picks a free port, see port()
+	public ReplicationServer(SpaceXManager primary, int port) {
+		this.primary = primary;
+		try {
+			this.serverSocket = new ServerSocket();
+			serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+		} catch (IOException e) {
+			throw new UncheckedIOException("Cannot open replication port " + port + ".", e);
+		}
+		Thread acceptor = new Thread(this::acceptConnections, "spacex-replication-server");
+		acceptor.setDaemon(true);
+		acceptor.start();
+	}
+
+	public int port() {
+		return serverSocket.getLocalPort();
+	}
+
+	@Override
+	public void close() {
+		try {
+			serverSocket.close();
+		} catch (IOException e) {
+			// Closing anyway
+		}
+		for (Socket connection : connections) {
+			closeQuietly(connection);
+		}
+	}
+
+	private void acceptConnections() {
+		while (!serverSocket.isClosed()) {
+			try {
+				Socket connection = serverSocket.accept();
+				connections.add(connection);
+				Thread handler = new Thread(() -> serve(connection), "spacex-replication-" + connection.getPort());
+				handler.setDaemon(true);
+				handler.start();
+			} catch (IOException e) {
+				// The server socket was closed
+			}
+		}
+	}
+
+	private void serve(Socket connection) {
+		try (connection;
+				DataInputStream in = new DataInputStream(new BufferedInputStream(connection.getInputStream()));
+				DataOutputStream out = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()))) {
+			while (true) {
+				byte request = in.readByte();
+				if (request == ReplicationCodec.CHANGES_REQUEST) {
+					long sequence = in.readLong();
+					int max = in.readInt();
+					ByteBuffer changes;
+					try {
+						changes = ReplicationCodec.encodeChangeSet(primary.changesSince(sequence, max));
+					} catch (RuntimeException e) {
+						writeError(out, e);
+						continue;
+					}
+					out.writeByte(ReplicationCodec.OK);
+					ReplicationCodec.writeChangeSet(out, changes);
+				} else if (request == ReplicationCodec.IMAGE_REQUEST) {
+					ReplicationImage image;
+					try {
+						image = primary.replicationImage();
+					} catch (RuntimeException e) {
+						writeError(out, e);
+						continue;
+					}
+					out.writeByte(ReplicationCodec.OK);
+					ReplicationCodec.writeImage(out, image);
+				} else {
+					throw new IOException("Unknown request type " + request + ".");
+				}
+				out.flush();
+			}
+		} catch (EOFException e) {
+			// The replica disconnected
+		} catch (IOException e) {
+			// The connection broke or the server was closed
+		} finally {
+			connections.remove(connection);
+		}
+	}
+
+	// The response is only started once its payload is ready, so a failure is
+	// always reported as an error and never follows a status of OK
+	private static void writeError(DataOutputStream out, RuntimeException e) throws IOException {
+		out.writeByte(ReplicationCodec.ERROR);
+		out.writeUTF(String.valueOf(e.getMessage()));
+		out.flush();
+	}
+
+	private static void closeQuietly(Socket socket) {
+		try {
+			socket.close();
+		} catch (IOException e) {
+			// Closing anyway
+		}
+	}
+}
@@ -0,0 +1,15 @@
+package com.home.project.dragonrockets.internal.replication;
+
+import com.home.project.dragonrockets.internal.event.ChangeSet;
+
+// A replica's connection to its primary. Transport failures surface as
+// unchecked exceptions, e.g. UncheckedIOException.
+public interface ReplicationSource extends AutoCloseable {
+
+	ChangeSet changesSince(long sequence, int max);
+
+	ReplicationImage image();
+
+	@Override
+	void close();
+}
@@ -0,0 +1,95 @@
+package com.home.project.dragonrockets.internal.replication;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.Socket;
+
+import com.home.project.dragonrockets.internal.event.ChangeSet;
+
+// Replication from a ReplicationServer. The connection is opened on the first
+// request and opened again on the next request after a failure.
+public class TcpReplicationSource implements ReplicationSource {
+
+	private final String host;
+	private final int port;
+	private Socket socket;
+	private DataInputStream in;
+	private DataOutputStream out;
+	private boolean closed;
+
+	public TcpReplicationSource(String host, int port) {
+		this.host = host;
+		this.port = port;
+	}
+
+	@Override
+	public synchronized ChangeSet changesSince(long sequence, int max) {
+		try {
+			connect();
+			out.writeByte(ReplicationCodec.CHANGES_REQUEST);
+			out.writeLong(sequence);
+			out.writeInt(max);
+			out.flush();
+			readStatus();
+			return ReplicationCodec.readChangeSet(in);
+		} catch (IOException e) {
+			disconnect();
+			throw new UncheckedIOException("Cannot read changes from " + host + ":" + port + ".", e);
+		}
+	}
+
+	@Override
+	public synchronized ReplicationImage image() {
+		try {
+			connect();
+			out.writeByte(ReplicationCodec.IMAGE_REQUEST);
+			out.flush();
+			readStatus();
+			return ReplicationCodec.readImage(in);
+		} catch (IOException e) {
+			disconnect();
+			throw new UncheckedIOException("Cannot read fleet image from " + host + ":" + port + ".", e);
+		}
+	}
+
+	@Override
+	public synchronized void close() {
+		closed = true;
+		disconnect();
+	}
+
+	private void connect() throws IOException {
+		if (closed) {
+			throw new IllegalStateException("Replication source is closed.");
+		}
+		if (socket == null) {
+			socket = new Socket(host, port);
+			socket.setTcpNoDelay(true);
+			in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+			out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+		}
+	}
+
+	private void readStatus() throws IOException {
+		if (in.readByte() == ReplicationCodec.ERROR) {
+			throw new IllegalStateException("Primary rejected the request: " + in.readUTF());
+		}
+	}
+
+	private void disconnect() {
+		if (socket != null) {
+			try {
+				socket.close();
+			} catch (IOException e) {
+				// Closing anyway
+			}
+			socket = null;
+			in = null;
+			out = null;
+		}
+	}
+}
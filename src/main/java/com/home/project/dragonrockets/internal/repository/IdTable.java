@@ -0,0 +1,78 @@
+package com.home.project.dragonrockets.internal.repository;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+// Entities indexed by the dense slot of their id. Slots live in fixed-size chunks that are
+// shared by every version of the chunk directory, so growing the table never
+// copies slots and never loses a concurrent write.
+class IdTable<T> {
+
+	private static final int CHUNK_BITS = 10;
+	private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+	private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+	private volatile AtomicReferenceArray<T>[] chunks = newDirectory(16);
+
+	T get(int id) {
+		AtomicReferenceArray<T>[] directory = chunks;
+		int chunk = id >>> CHUNK_BITS;
+		if (id < 0 || chunk >= directory.length || directory[chunk] == null) {
+			return null;
+		}
+		return directory[chunk].get(id & CHUNK_MASK);
+	}
+
+	boolean putIfAbsent(int id, T value) {
+		return chunk(id).compareAndSet(id & CHUNK_MASK, null, value);
+	}
+
+	boolean remove(int id, T value) {
+		return chunk(id).compareAndSet(id & CHUNK_MASK, value, null);
+	}
+
+	void forEach(Consumer<? super T> action) {
+		for (AtomicReferenceArray<T> chunk : chunks) {
+			if (chunk != null) {
+				for (int i = 0; i < CHUNK_SIZE; i++) {
+					T value = chunk.get(i);
+					if (value != null) {
+						action.accept(value);
+					}
+				}
+			}
+		}
+	}
+
+	private AtomicReferenceArray<T> chunk(int id) {
+		AtomicReferenceArray<T>[] directory = chunks;
+		int index = id >>> CHUNK_BITS;
+		if (index < directory.length && directory[index] != null) {
+			return directory[index];
+		}
+		return createChunk(index);
+	}
+
+	// Chunks are added rarely, once per CHUNK_SIZE ids
+	private synchronized AtomicReferenceArray<T> createChunk(int index) {
+		AtomicReferenceArray<T>[] directory = chunks;
+		if (index >= directory.length) {
+			AtomicReferenceArray<T>[] grown = newDirectory(Math.max(directory.length * 2, index + 1));
+			System.arraycopy(directory, 0, grown, 0, directory.length);
+			directory = grown;
+		} else if (directory[index] != null) {
+			return directory[index];
+		} else {
+			directory = directory.clone();
+		}
+		AtomicReferenceArray<T> chunk = new AtomicReferenceArray<>(CHUNK_SIZE);
+		directory[index] = chunk;
+		chunks = directory;
+		return chunk;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> AtomicReferenceArray<T>[] newDirectory(int length) {
+		return (AtomicReferenceArray<T>[]) new AtomicReferenceArray<?>[length];
+	}
+}
@@ -1,33 +1,139 @@
 package com.home.project.dragonrockets.internal.repository;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import com.home.project.dragonrockets.internal.model.Mission;
+import com.home.project.dragonrockets.internal.model.MissionRank;
+import com.home.project.dragonrockets.internal.model.MissionStatus;
 
 public class MissionRepository {
 
-	private final Map<String, Mission> missions = new HashMap<>();
+	// Missions by the dense id of their name
+	private final NameDictionary names = new NameDictionary();
+	private final IdTable<Mission> missions = new IdTable<>();
+	// Missions in summary order: rocket count descending, then name descending
+	private final NavigableMap<MissionRank, Mission> summaryIndex = new ConcurrentSkipListMap<>();
+	// A mission moves to its new rank as a remove and a put. Moves share the
+	// read lock, and readers copy the order under the write lock, so no reader
+	// sees a mission twice or misses one that is between its two ranks.
+	private final ReentrantReadWriteLock summaryLock = new ReentrantReadWriteLock();
+	// Missions by status, updated by the services whenever a status changes
+	private final Map<MissionStatus, Set<Mission>> statusIndex = new EnumMap<>(MissionStatus.class);
+
+	public MissionRepository() {
+		for (MissionStatus status : MissionStatus.values()) {
+			statusIndex.put(status, ConcurrentHashMap.newKeySet());
+		}
+	}
 
 	public void addMission(Mission mission) {
-		if (missions.containsKey(mission.getName())) {
+		if (!missions.putIfAbsent(NameDictionary.slot(names.idOf(mission.getName())), mission)) {
 			throw new IllegalArgumentException("Mission with name '" + mission.getName() + "' already exists.");
 		}
-		missions.put(mission.getName(), mission);
+		summaryIndex.put(new MissionRank(mission.getAssignedRockets().size(), mission.getName()), mission);
+		statusIndex.get(mission.getStatus()).add(mission);
 	}
 
 	public Optional<Mission> findByName(String name) {
-		return Optional.ofNullable(missions.get(name));
+		return Optional.ofNullable(getByName(name));
+	}
+
+	// Like findByName, but returns null for an unknown name, for lookups that
+	// must not allocate
+	public Mission getByName(String name) {
+		int id = names.find(name);
+		return id == NameDictionary.NO_ID ? null : getById(id);
+	}
+
+	// The id of an existing mission, or NO_ID. An id stays valid for as long as
+	// the mission exists, and refers to nothing afterwards; a mission added again
+	// soon under the same name takes its old id back.
+	public int findId(String name) {
+		int id = names.find(name);
+		return id != NameDictionary.NO_ID && getById(id) != null ? id : NameDictionary.NO_ID;
+	}
+
+	public Mission getById(int id) {
+		if (id < 0) {
+			return null;
+		}
+		// The slot may hold a newer mission once the id's name has been released
+		Mission mission = missions.get(NameDictionary.slot(id));
+		return mission != null && names.isCurrent(id) ? mission : null;
 	}
 
 	public List<Mission> findAll() {
-		return new ArrayList<>(missions.values());
+		List<Mission> all = new ArrayList<>();
+		missions.forEach(all::add);
+		return all;
+	}
+
+	public List<Mission> findAllInSummaryOrder() {
+		return findInSummaryOrder(0, Integer.MAX_VALUE);
+	}
+
+	public List<Mission> findInSummaryOrder(int offset, int limit) {
+		List<Mission> page = new ArrayList<>(Math.min(limit, 1024));
+		summaryLock.writeLock().lock();
+		try {
+			int skipped = 0;
+			for (Mission mission : summaryIndex.values()) {
+				if (page.size() == limit) {
+					break;
+				}
+				if (skipped < offset) {
+					skipped++;
+				} else {
+					page.add(mission);
+				}
+			}
+		} finally {
+			summaryLock.writeLock().unlock();
+		}
+		return page;
+	}
+
+	public void updateRocketCount(Mission mission, int previousRocketCount) {
+		int currentRocketCount = mission.getAssignedRockets().size();
+		if (currentRocketCount == previousRocketCount || getByName(mission.getName()) != mission) {
+			return;
+		}
+		summaryLock.readLock().lock();
+		try {
+			summaryIndex.remove(new MissionRank(previousRocketCount, mission.getName()));
+			summaryIndex.put(new MissionRank(currentRocketCount, mission.getName()), mission);
+		} finally {
+			summaryLock.readLock().unlock();
+		}
+	}
+
+	public List<Mission> findByStatus(MissionStatus status) {
+		return new ArrayList<>(statusIndex.get(status));
+	}
+
+	public void updateStatus(Mission mission, MissionStatus previousStatus) {
+		if (mission.getStatus() == previousStatus || getByName(mission.getName()) != mission) {
+			return;
+		}
+		statusIndex.get(previousStatus).remove(mission);
+		statusIndex.get(mission.getStatus()).add(mission);
 	}
 
 	public void remove(String name) {
-		missions.remove(name);
+		Mission mission = getByName(name);
+		if (mission != null && missions.remove(NameDictionary.slot(names.find(name)), mission)) {
+			summaryIndex.remove(new MissionRank(mission.getAssignedRockets().size(), name));
+			statusIndex.get(mission.getStatus()).remove(mission);
+			names.retire(name);
+		}
 	}
 }
@@ -0,0 +1,166 @@
+package com.home.project.dragonrockets.internal.repository;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Gives every name an int id made of a dense slot and the slot's generation.
+// When its entity is removed, a name is retired but keeps its id, and gets it
+// back if an entity with the same name is added again. Only the latest
+// RETIRED_LIMIT retired names are kept: older ones are released, and their
+// slots are reused for new names under the next generation. An id whose slot
+// was released and reused is no longer current. A slot whose generations are
+// used up is never reused, so an id never comes back for another name; that
+// leaks one slot per 64 releases, and memory otherwise stays bounded by the
+// live names plus RETIRED_LIMIT.
+public class NameDictionary {
+
+	public static final int NO_ID = -1;
+
+	static final int RETIRED_LIMIT = 1024;
+
+	private static final int SLOT_BITS = 25;
+	private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+	// The last generation of a slot, after 63 reuses
+	private static final int GENERATION_MASK = (1 << (Integer.SIZE - 1 - SLOT_BITS)) - 1;
+	private static final int CHUNK_BITS = 10;
+	private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+	private final AtomicInteger nextSlot = new AtomicInteger();
+	private final Queue<Integer> freeSlots = new ConcurrentLinkedQueue<>();
+	private final Queue<String> retiredNames = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger retiredCount = new AtomicInteger();
+	// Generation of every slot that was released at least once, in chunks
+	private volatile AtomicIntegerArray[] generations = new AtomicIntegerArray[16];
+
+	static int slot(int id) {
+		return id & SLOT_MASK;
+	}
+
+	public int idOf(String name) {
+		Entry existing = entries.get(name);
+		if (existing != null && !existing.retired) {
+			return existing.id;
+		}
+		// Returning names are taken back under the map's lock for the name, so
+		// they cannot be released at the same time
+		Entry entry = entries.compute(name, (key, current) -> {
+			if (current == null) {
+				return new Entry(allocate());
+			}
+			if (current.retired) {
+				current.retired = false;
+				retiredCount.decrementAndGet();
+			}
+			return current;
+		});
+		return entry.id;
+	}
+
+	// NO_ID for a name that was never seen or has been released
+	public int find(String name) {
+		Entry entry = entries.get(name);
+		return entry == null ? NO_ID : entry.id;
+	}
+
+	// False once the id's slot has been released; checked after reading the
+	// slot, so a slot reused meanwhile is never mistaken for the id's entity
+	public boolean isCurrent(int id) {
+		return id >= 0 && generation(slot(id)) == id >>> SLOT_BITS;
+	}
+
+	// Called after the name's entity has been removed
+	public void retire(String name) {
+		Entry entry = entries.get(name);
+		if (entry == null || entry.retired) {
+			return;
+		}
+		entries.computeIfPresent(name, (key, current) -> {
+			if (!current.retired) {
+				current.retired = true;
+				retiredCount.incrementAndGet();
+				retiredNames.add(key);
+			}
+			return current;
+		});
+		while (retiredCount.get() > RETIRED_LIMIT) {
+			String oldest = retiredNames.poll();
+			if (oldest == null) {
+				return;
+			}
+			release(oldest);
+		}
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	private void release(String name) {
+		// Names that came back since they were queued stay
+		entries.computeIfPresent(name, (key, current) -> {
+			if (!current.retired) {
+				return current;
+			}
+			retiredCount.decrementAndGet();
+			int slot = slot(current.id);
+			if (generation(slot) < GENERATION_MASK) {
+				nextGeneration(slot);
+				freeSlots.add(slot);
+			}
+			return null;
+		});
+	}
+
+	private int allocate() {
+		Integer free = freeSlots.poll();
+		int slot;
+		if (free != null) {
+			slot = free;
+		} else {
+			slot = nextSlot.getAndIncrement();
+			if (slot > SLOT_MASK) {
+				throw new IllegalStateException("No more than " + (SLOT_MASK + 1) + " names are supported.");
+			}
+		}
+		return slot | generation(slot) << SLOT_BITS;
+	}
+
+	private int generation(int slot) {
+		AtomicIntegerArray[] directory = generations;
+		int chunk = slot >>> CHUNK_BITS;
+		if (chunk >= directory.length || directory[chunk] == null) {
+			return 0;
+		}
+		return directory[chunk].get(slot & (CHUNK_SIZE - 1));
+	}
+
+	private synchronized void nextGeneration(int slot) {
+		int chunk = slot >>> CHUNK_BITS;
+		AtomicIntegerArray[] directory = generations;
+		if (chunk >= directory.length || directory[chunk] == null) {
+			directory = Arrays.copyOf(directory, Math.max(directory.length, chunk + 1));
+			directory[chunk] = new AtomicIntegerArray(CHUNK_SIZE);
+			generations = directory;
+		}
+		AtomicIntegerArray chunkGenerations = directory[chunk];
+		int index = slot & (CHUNK_SIZE - 1);
+		chunkGenerations.incrementAndGet(index);
+	}
+
+	// retired is only written under the map's lock for the name
+	private static final class Entry {
+
+		final int id;
+		volatile boolean retired;
+
+		Entry(int id) {
+			this.id = id;
+		}
+	}
+}
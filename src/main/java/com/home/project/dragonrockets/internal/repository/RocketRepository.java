@@ -1,27 +1,132 @@
 package com.home.project.dragonrockets.internal.repository;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.home.project.dragonrockets.internal.model.Rocket;
+import com.home.project.dragonrockets.internal.model.RocketStatus;
 
-public class RocketRepository {
+public class RocketRepository implements RocketStore {
 
-	private final Map<String, Rocket> rockets = new HashMap<>();
+	// Rockets by the dense id of their name
+	private final NameDictionary names = new NameDictionary();
+	private final IdTable<Rocket> rockets = new IdTable<>();
+	// Rockets by status, updated by the services whenever a status changes
+	private final Map<RocketStatus, Set<Rocket>> statusIndex = new EnumMap<>(RocketStatus.class);
+	// Rockets without a mission, by status, updated on every assignment change
+	private final Map<RocketStatus, Set<Rocket>> unassignedIndex = new EnumMap<>(RocketStatus.class);
 
+	public RocketRepository() {
+		for (RocketStatus status : RocketStatus.values()) {
+			statusIndex.put(status, ConcurrentHashMap.newKeySet());
+			unassignedIndex.put(status, ConcurrentHashMap.newKeySet());
+		}
+	}
+
+	@Override
 	public void addRocket(Rocket rocket) {
-		if (rockets.containsKey(rocket.getName())) {
+		if (!rockets.putIfAbsent(NameDictionary.slot(names.idOf(rocket.getName())), rocket)) {
 			throw new IllegalArgumentException("Rocket with name '" + rocket.getName() + "' already exists.");
 		}
-		rockets.put(rocket.getName(), rocket);
+		statusIndex.get(rocket.getStatus()).add(rocket);
+		if (rocket.getAssignedMissionName() == null) {
+			unassignedIndex.get(rocket.getStatus()).add(rocket);
+		}
 	}
 
+	@Override
 	public Optional<Rocket> findByName(String name) {
-		return Optional.ofNullable(rockets.get(name));
+		return Optional.ofNullable(getByName(name));
+	}
+
+	@Override
+	public Rocket getByName(String name) {
+		int id = names.find(name);
+		return id == NameDictionary.NO_ID ? null : getById(id);
+	}
+
+	@Override
+	public int findId(String name) {
+		int id = names.find(name);
+		return id != NameDictionary.NO_ID && getById(id) != null ? id : NameDictionary.NO_ID;
+	}
+
+	@Override
+	public Rocket getById(int id) {
+		if (id < 0) {
+			return null;
+		}
+		// The slot may hold a newer rocket once the id's name has been released
+		Rocket rocket = rockets.get(NameDictionary.slot(id));
+		return rocket != null && names.isCurrent(id) ? rocket : null;
 	}
 
+	@Override
+	public List<Rocket> findAll() {
+		List<Rocket> all = new ArrayList<>();
+		rockets.forEach(all::add);
+		return all;
+	}
+
+	@Override
+	public List<Rocket> findByStatus(RocketStatus status) {
+		return new ArrayList<>(statusIndex.get(status));
+	}
+
+	@Override
+	public List<Rocket> findUnassigned(RocketStatus status, int limit) {
+		List<Rocket> result = new ArrayList<>(Math.min(limit, 1024));
+		for (RocketStatus candidateStatus : RocketStatus.values()) {
+			if (status != null && status != candidateStatus) {
+				continue;
+			}
+			for (Rocket rocket : unassignedIndex.get(candidateStatus)) {
+				if (result.size() == limit) {
+					return result;
+				}
+				result.add(rocket);
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public void updateStatus(Rocket rocket, RocketStatus previousStatus) {
+		if (rocket.getStatus() == previousStatus || getByName(rocket.getName()) != rocket) {
+			return;
+		}
+		statusIndex.get(previousStatus).remove(rocket);
+		statusIndex.get(rocket.getStatus()).add(rocket);
+		if (rocket.getAssignedMissionName() == null) {
+			unassignedIndex.get(previousStatus).remove(rocket);
+			unassignedIndex.get(rocket.getStatus()).add(rocket);
+		}
+	}
+
+	@Override
+	public void updateAssignment(Rocket rocket) {
+		if (getByName(rocket.getName()) != rocket) {
+			return;
+		}
+		if (rocket.getAssignedMissionName() == null) {
+			unassignedIndex.get(rocket.getStatus()).add(rocket);
+		} else {
+			unassignedIndex.get(rocket.getStatus()).remove(rocket);
+		}
+	}
+
+	@Override
 	public void remove(String name) {
-		rockets.remove(name);
+		Rocket rocket = getByName(name);
+		if (rocket != null && rockets.remove(NameDictionary.slot(names.find(name)), rocket)) {
+			statusIndex.get(rocket.getStatus()).remove(rocket);
+			unassignedIndex.get(rocket.getStatus()).remove(rocket);
+			names.retire(name);
+		}
 	}
 }
@@ -0,0 +1,45 @@
+package com.home.project.dragonrockets.internal.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.home.project.dragonrockets.internal.model.Rocket;
+import com.home.project.dragonrockets.internal.model.RocketStatus;
+
+// Storage of rockets as seen by the services: RocketRepository on the heap,
+// MappedRocketRepository in a MappedFleetStore
+public interface RocketStore {
+
+	void addRocket(Rocket rocket);
+
+	default Optional<Rocket> findByName(String name) {
+		return Optional.ofNullable(getByName(name));
+	}
+
+	// Like findByName, but returns null for an unknown name, for lookups that
+	// must not allocate
+	Rocket getByName(String name);
+
+	// The id of an existing rocket, or NameDictionary.NO_ID. An id stays valid
+	// for as long as the rocket exists, and refers to nothing afterwards; a
+	// rocket added again soon under the same name takes its old id back.
+	int findId(String name);
+
+	Rocket getById(int id);
+
+	List<Rocket> findAll();
+
+	List<Rocket> findByStatus(RocketStatus status);
+
+	// Up to limit unassigned rockets with the given status, or with any status
+	// when status is null
+	List<Rocket> findUnassigned(RocketStatus status, int limit);
+
+	// Called by the services after a rocket's status changed
+	void updateStatus(Rocket rocket, RocketStatus previousStatus);
+
+	// Called by the services after a rocket was assigned or unassigned
+	void updateAssignment(Rocket rocket);
+
+	void remove(String name);
+}
@@ -1,163 +1,549 @@
 package com.home.project.dragonrockets.internal.service;
 
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import com.home.project.dragonrockets.internal.concurrent.StripedLocks;
+import com.home.project.dragonrockets.internal.exception.InsufficientRocketsException;
 import com.home.project.dragonrockets.internal.exception.InvalidStatusTransitionException;
 import com.home.project.dragonrockets.internal.exception.MissionHasAssignedRocketsException;
 import com.home.project.dragonrockets.internal.exception.MissionNotFoundException;
 import com.home.project.dragonrockets.internal.exception.RocketAlreadyAssignedException;
-import com.home.project.dragonrockets.internal.exception.RocketNotFoundException;
+import com.home.project.dragonrockets.internal.model.AssignmentOutcome;
+import com.home.project.dragonrockets.internal.model.BatchFailure;
+import com.home.project.dragonrockets.internal.model.BatchResult;
 import com.home.project.dragonrockets.internal.model.Mission;
 import com.home.project.dragonrockets.internal.model.MissionStatus;
+import com.home.project.dragonrockets.internal.model.MissionSummary;
 import com.home.project.dragonrockets.internal.model.Rocket;
 import com.home.project.dragonrockets.internal.model.RocketStatus;
 import com.home.project.dragonrockets.internal.repository.MissionRepository;
-import com.home.project.dragonrockets.internal.repository.RocketRepository;
+import com.home.project.dragonrockets.internal.repository.NameDictionary;
+import com.home.project.dragonrockets.internal.repository.RocketStore;
 
 public class MissionService {
 
+	private static final String LINE_SEPARATOR = System.lineSeparator();
+
 	private final MissionRepository missionRepository;
-	private final RocketRepository rocketRepository;
+	private final RocketStore rocketRepository;
+	private final StripedLocks locks;
+	private volatile MutationListener listener = MutationListener.NONE;
 
-	public MissionService(MissionRepository missionRepository, RocketRepository rocketRepository) {
+	public MissionService(MissionRepository missionRepository, RocketStore rocketRepository,
+			StripedLocks locks) {
 		this.missionRepository = missionRepository;
 		this.rocketRepository = rocketRepository;
+		this.locks = locks;
+	}
+
+	public void setMutationListener(MutationListener listener) {
+		this.listener = listener;
 	}
 
 	public void addMission(Mission mission) {
-		missionRepository.addMission(mission);
+		try (StripedLocks.Guard guard = locks.lock(locks.missionStripe(mission.getName()))) {
+			missionRepository.addMission(mission);
+			listener.missionAdded(mission);
+		}
+	}
+
+	public BatchResult addMissions(Collection<Mission> missions) {
+		BatchResult result = new BatchResult();
+		BitSet stripes = new BitSet(locks.stripeCount());
+		for (Mission mission : missions) {
+			stripes.set(locks.missionStripe(mission.getName()));
+		}
+
+		try (StripedLocks.Guard guard = locks.lock(stripes)) {
+			List<Mission> accepted = new ArrayList<>(missions.size());
+			Set<String> names = new HashSet<>();
+			for (Mission mission : missions) {
+				if (!names.add(mission.getName()) || missionRepository.findByName(mission.getName()).isPresent()) {
+					result.failed(mission.getName(), BatchFailure.ALREADY_EXISTS,
+							() -> "Mission with name '" + mission.getName() + "' already exists.");
+				} else {
+					accepted.add(mission);
+				}
+			}
+
+			for (Mission mission : accepted) {
+				missionRepository.addMission(mission);
+				listener.missionAdded(mission);
+				result.succeeded(mission.getName());
+			}
+		}
+		return result;
 	}
 
 	public Optional<Mission> findMissionByName(String missionName) {
 		return missionRepository.findByName(missionName);
 	}
 
+	public List<Mission> findMissionsByStatus(MissionStatus status) {
+		return missionRepository.findByStatus(status);
+	}
+
 	public void assignRocketToMission(String rocketName, String missionName) {
-		Optional<Rocket> rocketOptional = rocketRepository.findByName(rocketName);
-		Optional<Mission> missionOptional = missionRepository.findByName(missionName);
+		try (StripedLocks.Guard guard = locks.lock(locks.rocketStripe(rocketName),
+				locks.missionStripe(missionName))) {
+			Optional<Rocket> rocketOptional = rocketRepository.findByName(rocketName);
+			Optional<Mission> missionOptional = missionRepository.findByName(missionName);
+
+			if (rocketOptional.isEmpty()) {
+				throw RocketService.rocketNotFound(rocketName);
+			}
+			if (missionOptional.isEmpty()) {
+				throw missionNotFound(missionName);
+			}
+
+			Rocket rocket = rocketOptional.get();
+			Mission mission = missionOptional.get();
 
-		if (rocketOptional.isEmpty()) {
-			throw new RocketNotFoundException("Rocket '" + rocketName + "' not found.");
+			checkAssignment(rocketName, rocket.getAssignedMissionName(), mission.getStatus());
+			assign(rocket, mission);
 		}
-		if (missionOptional.isEmpty()) {
-			throw new MissionNotFoundException("Mission '" + missionName + "' not found.");
+	}
+
+	public void assignRocketToMission(int rocketId, int missionId) {
+		while (true) {
+			Rocket rocket = rocketRepository.getById(rocketId);
+			if (rocket == null) {
+				throw RocketService.rocketNotFound(null, rocketId);
+			}
+			Mission mission = missionRepository.getById(missionId);
+			if (mission == null) {
+				throw missionNotFound(missionId);
+			}
+
+			try (StripedLocks.Guard guard = locks.lock(locks.rocketStripe(rocket.getName()),
+					locks.missionStripe(mission.getName()))) {
+				// Retry if either id was freed before we got the locks
+				if (!rocket.equals(rocketRepository.getById(rocketId))
+						|| !mission.equals(missionRepository.getById(missionId))) {
+					continue;
+				}
+
+				checkAssignment(rocket.getName(), rocket.getAssignedMissionName(), mission.getStatus());
+				assign(rocket, mission);
+				return;
+			}
 		}
+	}
 
-		Rocket rocket = rocketOptional.get();
-		Mission mission = missionOptional.get();
+	// Same as assignRocketToMission, but reports a rejection as the outcome
+	// instead of throwing, so that frequent rejections stay cheap
+	public AssignmentOutcome tryAssignRocketToMission(String rocketName, String missionName) {
+		try (StripedLocks.Guard guard = locks.lock(locks.rocketStripe(rocketName),
+				locks.missionStripe(missionName))) {
+			Rocket rocket = rocketRepository.getByName(rocketName);
+			if (rocket == null) {
+				return AssignmentOutcome.ROCKET_NOT_FOUND;
+			}
+			Mission mission = missionRepository.getByName(missionName);
+			if (mission == null) {
+				return AssignmentOutcome.MISSION_NOT_FOUND;
+			}
 
-		if (rocket.getAssignedMissionName() != null) {
-			throw new RocketAlreadyAssignedException("Rocket '" + rocketName + "' is already assigned to mission '"
-					+ rocket.getAssignedMissionName() + "'.");
+			AssignmentOutcome outcome = assignmentOutcome(rocket.getAssignedMissionName(), mission.getStatus());
+			if (outcome == AssignmentOutcome.ASSIGNED) {
+				assign(rocket, mission);
+			}
+			return outcome;
 		}
+	}
 
-		if (mission.getStatus() == MissionStatus.ENDED) {
-			throw new InvalidStatusTransitionException("Cannot assign rockets to a mission with status 'Ended'.");
+	// A missing or ended mission rejects the whole batch; rockets that cannot be
+	// assigned are reported in the result and the rest are assigned together
+	public BatchResult assignRocketsToMission(String missionName, Collection<String> rocketNames) {
+		BatchResult result = new BatchResult();
+		BitSet stripes = new BitSet(locks.stripeCount());
+		stripes.set(locks.missionStripe(missionName));
+		for (String rocketName : rocketNames) {
+			stripes.set(locks.rocketStripe(rocketName));
 		}
 
-		// Assign the rocket to the mission
-		mission.getAssignedRockets().add(rocket);
+		try (StripedLocks.Guard guard = locks.lock(stripes)) {
+			Mission mission = missionRepository.findByName(missionName)
+					.orElseThrow(() -> missionNotFound(missionName));
 
-		// Update rocket's mission link
-		rocket.setAssignedMissionName(missionName);
+			if (mission.getStatus() == MissionStatus.ENDED) {
+				throw new InvalidStatusTransitionException("Cannot assign rockets to a mission with status 'Ended'.");
+			}
+
+			List<Rocket> accepted = new ArrayList<>(rocketNames.size());
+			Set<String> names = new HashSet<>();
+			for (String rocketName : rocketNames) {
+				Optional<Rocket> rocket = rocketRepository.findByName(rocketName);
+				if (rocket.isEmpty()) {
+					result.failed(rocketName, BatchFailure.ROCKET_NOT_FOUND, () -> "Rocket '" + rocketName + "' not found.");
+				} else if (!names.add(rocketName)) {
+					result.failed(rocketName, BatchFailure.ROCKET_ALREADY_ASSIGNED,
+							() -> "Rocket '" + rocketName + "' is already assigned to mission '" + missionName + "'.");
+				} else if (rocket.get().getAssignedMissionName() != null) {
+					String assignedMissionName = rocket.get().getAssignedMissionName();
+					result.failed(rocketName, BatchFailure.ROCKET_ALREADY_ASSIGNED, () -> "Rocket '" + rocketName
+							+ "' is already assigned to mission '" + assignedMissionName + "'.");
+				} else {
+					accepted.add(rocket.get());
+				}
+			}
+
+			assignAll(mission, accepted);
+			for (Rocket rocket : accepted) {
+				result.succeeded(rocket.getName());
+			}
+		}
+		return result;
 	}
 
-	public void unassignRocketFromMission(String rocketName) {
-		Rocket rocket = rocketRepository.findByName(rocketName)
-				.orElseThrow(() -> new RocketNotFoundException("Rocket '" + rocketName + "' not found."));
+	// Claims count unassigned rockets (with the given status, or any status when
+	// statusFilter is null) for the mission. Either all of them are assigned or,
+	// if not enough free rockets exist, none.
+	public List<String> allocateRockets(String missionName, int count, RocketStatus statusFilter) {
+		if (count < 0) {
+			throw new IllegalArgumentException("Number of rockets must not be negative.");
+		}
+		while (true) {
+			List<Rocket> candidates = rocketRepository.findUnassigned(statusFilter, count);
+			if (candidates.size() < count) {
+				throw new InsufficientRocketsException("Only " + candidates.size() + " of " + count
+						+ " requested rockets are available for mission '" + missionName + "'.");
+			}
+
+			BitSet stripes = new BitSet(locks.stripeCount());
+			stripes.set(locks.missionStripe(missionName));
+			for (Rocket rocket : candidates) {
+				stripes.set(locks.rocketStripe(rocket.getName()));
+			}
 
-		if (rocket.getAssignedMissionName() == null) {
-			throw new RocketAlreadyAssignedException("Rocket '" + rocketName + "' is not assigned to any mission.");
+			try (StripedLocks.Guard guard = locks.lock(stripes)) {
+				Mission mission = missionRepository.findByName(missionName)
+						.orElseThrow(() -> missionNotFound(missionName));
+
+				if (mission.getStatus() == MissionStatus.ENDED) {
+					throw new InvalidStatusTransitionException("Cannot assign rockets to a mission with status 'Ended'.");
+				}
+
+				// Retry with fresh candidates if another caller claimed or changed one
+				if (!isStillFree(candidates, statusFilter)) {
+					continue;
+				}
+
+				assignAll(mission, candidates);
+				List<String> allocated = new ArrayList<>(candidates.size());
+				for (Rocket rocket : candidates) {
+					allocated.add(rocket.getName());
+				}
+				return allocated;
+			}
 		}
+	}
 
-		Mission mission = missionRepository.findByName(rocket.getAssignedMissionName())
-				.orElseThrow(() -> new IllegalStateException(
-						"Assigned mission '" + rocket.getAssignedMissionName() + "' not found."));
+	public void unassignRocketFromMission(String rocketName) {
+		unassignRocketFromMission(rocketName, NameDictionary.NO_ID);
+	}
+
+	public void unassignRocketFromMission(int rocketId) {
+		unassignRocketFromMission(null, rocketId);
+	}
+
+	// The rocket is identified by its name or, when the name is null, by its id
+	private void unassignRocketFromMission(String rocketName, int rocketId) {
+		while (true) {
+			Rocket rocket = lookupRocket(rocketName, rocketId);
+			if (rocket == null) {
+				throw RocketService.rocketNotFound(rocketName, rocketId);
+			}
+			String name = rocketName != null ? rocketName : rocket.getName();
 
-		// Remove the rocket from the mission's list
-		mission.getAssignedRockets().remove(rocket);
+			String missionName = rocket.getAssignedMissionName();
+			if (missionName == null) {
+				throw new RocketAlreadyAssignedException(
+						() -> "Rocket '" + name + "' is not assigned to any mission.");
+			}
 
-		// Reset rocket's state
-		rocket.setAssignedMissionName(null);
-		rocket.setStatus(RocketStatus.ON_GROUND);
+			try (StripedLocks.Guard guard = locks.lock(locks.rocketStripe(name),
+					locks.missionStripe(missionName))) {
+				// Retry if the rocket was removed or re-assigned before we got the locks
+				if (!rocket.equals(lookupRocket(rocketName, rocketId))
+						|| !missionName.equals(rocket.getAssignedMissionName())) {
+					continue;
+				}
+
+				Mission mission = rocket.getAssignedMission();
+				if (mission == null) {
+					mission = missionRepository.findByName(missionName)
+							.orElseThrow(() -> new IllegalStateException(
+									"Assigned mission '" + missionName + "' not found."));
+				}
+
+				// Remove the rocket from the mission's list
+				int previousRocketCount = mission.getAssignedRockets().size();
+				mission.unassignRocket(rocket);
+				missionRepository.updateRocketCount(mission, previousRocketCount);
+
+				// Reset rocket's state
+				RocketStatus previousStatus = rocket.getStatus();
+				rocket.setAssignedMissionName(null);
+				rocketRepository.updateAssignment(rocket);
+				rocket.setStatus(RocketStatus.ON_GROUND);
+				rocketRepository.updateStatus(rocket, previousStatus);
+				listener.rocketUnassigned(rocket, mission);
+				return;
+			}
+		}
 	}
 
 	public void changeMissionStatus(String missionName, MissionStatus newStatus) {
-		Mission mission = missionRepository.findByName(missionName)
-				.orElseThrow(() -> new MissionNotFoundException("Mission '" + missionName + "' not found."));
+		try (StripedLocks.Guard guard = locks.lock(locks.missionStripe(missionName))) {
+			Mission mission = missionRepository.findByName(missionName)
+					.orElseThrow(() -> missionNotFound(missionName));
+
+			changeMissionStatus(mission, newStatus);
+		}
+	}
+
+	public void changeMissionStatus(int missionId, MissionStatus newStatus) {
+		while (true) {
+			Mission mission = missionRepository.getById(missionId);
+			if (mission == null) {
+				throw missionNotFound(missionId);
+			}
 
-		if (newStatus != MissionStatus.SCHEDULED && newStatus != MissionStatus.ENDED
-				&& mission.getAssignedRockets().isEmpty()) {
+			try (StripedLocks.Guard guard = locks.lock(locks.missionStripe(mission.getName()))) {
+				// Retry if the id was freed before we got the lock
+				if (!mission.equals(missionRepository.getById(missionId))) {
+					continue;
+				}
+
+				changeMissionStatus(mission, newStatus);
+				return;
+			}
+		}
+	}
+
+	private void changeMissionStatus(Mission mission, MissionStatus newStatus) {
+		checkStatusChange(newStatus, mission.getAssignedRockets().size(),
+				mission.countRocketsWithStatus(RocketStatus.IN_REPAIR));
+
+		MissionStatus previousStatus = mission.getStatus();
+		mission.setStatus(newStatus);
+		missionRepository.updateStatus(mission, previousStatus);
+		listener.missionStatusChanged(mission, previousStatus, false);
+	}
+
+	// The assignment and mission status rules, shared with transactions which
+	// check them against their own copies of rockets and missions
+	public static AssignmentOutcome assignmentOutcome(String assignedMissionName, MissionStatus missionStatus) {
+		if (assignedMissionName != null) {
+			return AssignmentOutcome.ROCKET_ALREADY_ASSIGNED;
+		}
+		if (missionStatus == MissionStatus.ENDED) {
+			return AssignmentOutcome.MISSION_ENDED;
+		}
+		return AssignmentOutcome.ASSIGNED;
+	}
+
+	public static void checkAssignment(String rocketName, String assignedMissionName, MissionStatus missionStatus) {
+		switch (assignmentOutcome(assignedMissionName, missionStatus)) {
+			case ROCKET_ALREADY_ASSIGNED:
+				throw new RocketAlreadyAssignedException(() -> "Rocket '" + rocketName
+						+ "' is already assigned to mission '" + assignedMissionName + "'.");
+			case MISSION_ENDED:
+				throw new InvalidStatusTransitionException("Cannot assign rockets to a mission with status 'Ended'.");
+			default:
+				break;
+		}
+	}
+
+	public static void checkStatusChange(MissionStatus newStatus, int rocketCount, int rocketsInRepair) {
+		if (newStatus != MissionStatus.SCHEDULED && newStatus != MissionStatus.ENDED && rocketCount == 0) {
 			throw new MissionHasAssignedRocketsException(
-					"Cannot set status '" + newStatus.getDisplayName() + "' on a mission with no assigned rockets.");
+					() -> "Cannot set status '" + newStatus.getDisplayName() + "' on a mission with no assigned rockets.");
 		}
 
 		switch (newStatus) {
 			case SCHEDULED:
 				throw new InvalidStatusTransitionException("Status 'Scheduled' can only be set at mission creation.");
 			case PENDING:
-				boolean hasRepairRockets = mission.getAssignedRockets().stream()
-						.anyMatch(r -> r.getStatus() == RocketStatus.IN_REPAIR);
-				if (!hasRepairRockets) {
+				if (rocketsInRepair == 0) {
 					throw new InvalidStatusTransitionException(
 							"Cannot set status 'Pending' unless at least one assigned rocket is in 'In Repair' status.");
 				}
 				break;
 			case IN_PROGRESS:
-				boolean hasRepairRocketsForInProgress = mission.getAssignedRockets().stream()
-						.anyMatch(r -> r.getStatus() == RocketStatus.IN_REPAIR);
-				if (hasRepairRocketsForInProgress) {
+				if (rocketsInRepair > 0) {
 					throw new InvalidStatusTransitionException(
 							"Cannot set status 'In Progress' because at least one assigned rocket is in 'In Repair' status.");
 				}
 				break;
 			case ENDED:
-				if (!mission.getAssignedRockets().isEmpty()) {
+				if (rocketCount > 0) {
 					throw new InvalidStatusTransitionException(
 							"Cannot change mission status to 'Ended' because rockets are still assigned. Please unassign all rockets first.");
 				}
 				break;
 		}
-
-		mission.setStatus(newStatus);
 	}
 
 	public List<String> getMissionSummary() {
-		return missionRepository.findAll().stream()
-				.sorted(Comparator.comparingInt((Mission m) -> m.getAssignedRockets().size()).reversed()
-						.thenComparing(Mission::getName, Comparator.reverseOrder()))
-				.flatMap(mission -> {
-					String header = String.format("%s - %s - Dragons: %d",
-							mission.getName(),
-							mission.getStatus().getDisplayName(),
-							mission.getAssignedRockets().size());
+		// Missions come already ordered from the repository's summary index
+		List<String> lines = new ArrayList<>();
+		missionRepository.findAllInSummaryOrder().forEach(mission -> renderMission(mission, lines));
+		return lines;
+	}
 
-					List<String> lines = new ArrayList<>();
-					lines.add(header);
+	public List<String> getMissionSummary(int offset, int limit) {
+		if (offset < 0 || limit < 0) {
+			throw new IllegalArgumentException("Offset and limit must not be negative.");
+		}
+		List<String> lines = new ArrayList<>();
+		missionRepository.findInSummaryOrder(offset, limit).forEach(mission -> renderMission(mission, lines));
+		return lines;
+	}
 
-					mission.getAssignedRockets().stream()
-							.map(rocket -> String.format("\t- %s - %s", rocket.getName(),
-									rocket.getStatus().getDisplayName()))
-							.forEach(lines::add);
+	public List<String> getTopMissions(int count) {
+		return getMissionSummary(0, count);
+	}
 
+	// The same missions as getMissionSummary(offset, limit), unrendered
+	public List<MissionSummary> getMissionSummaries(int offset, int limit) {
+		if (offset < 0 || limit < 0) {
+			throw new IllegalArgumentException("Offset and limit must not be negative.");
+		}
+		List<MissionSummary> summaries = new ArrayList<>();
+		missionRepository.findInSummaryOrder(offset, limit).forEach(mission -> summaries.add(summarize(mission)));
+		return summaries;
+	}
+
+	// The order of the missions is taken up front; their lines are still
+	// rendered one mission at a time as the stream is consumed
+	public Stream<String> streamMissionSummary() {
+		return missionRepository.findAllInSummaryOrder().stream()
+				.flatMap(mission -> {
+					List<String> lines = new ArrayList<>();
+					renderMission(mission, lines);
 					return lines.stream();
-				})
-				.collect(Collectors.toList());
+				});
 	}
 
-	public void removeMission(String missionName) {
-		Mission mission = missionRepository.findByName(missionName)
-				.orElseThrow(() -> new MissionNotFoundException("Mission '" + missionName + "' not found."));
+	public void writeMissionSummary(Appendable out) throws IOException {
+		// A mission's block is rendered under its lock, but written to the
+		// (possibly slow) output only after the lock has been released
+		StringBuilder block = new StringBuilder();
+		for (Mission mission : missionRepository.findAllInSummaryOrder()) {
+			block.setLength(0);
+			try (StripedLocks.Guard guard = locks.lock(locks.missionStripe(mission.getName()))) {
+				appendHeader(block, mission).append(LINE_SEPARATOR);
+				for (Rocket rocket : mission.getAssignedRockets()) {
+					appendRocketLine(block, rocket).append(LINE_SEPARATOR);
+				}
+			}
+			out.append(block);
+		}
+	}
 
-		if (!mission.getAssignedRockets().isEmpty()) {
-			throw new MissionHasAssignedRocketsException(
-					"Cannot remove mission '" + missionName + "' as it has assigned rockets.");
+	private void assign(Rocket rocket, Mission mission) {
+		int previousRocketCount = mission.getAssignedRockets().size();
+		mission.assignRocket(rocket);
+		missionRepository.updateRocketCount(mission, previousRocketCount);
+
+		rocket.setAssignedMission(mission);
+		rocketRepository.updateAssignment(rocket);
+		listener.rocketAssigned(rocket, mission);
+	}
+
+	// The summary index is updated once for all rockets
+	private void assignAll(Mission mission, List<Rocket> rockets) {
+		int previousRocketCount = mission.getAssignedRockets().size();
+		for (Rocket rocket : rockets) {
+			mission.assignRocket(rocket);
+		}
+		missionRepository.updateRocketCount(mission, previousRocketCount);
+
+		for (Rocket rocket : rockets) {
+			rocket.setAssignedMission(mission);
+			rocketRepository.updateAssignment(rocket);
+			listener.rocketAssigned(rocket, mission);
+		}
+	}
+
+	private Rocket lookupRocket(String rocketName, int rocketId) {
+		return rocketName != null ? rocketRepository.findByName(rocketName).orElse(null)
+				: rocketRepository.getById(rocketId);
+	}
+
+	static MissionNotFoundException missionNotFound(String missionName) {
+		return new MissionNotFoundException(() -> "Mission '" + missionName + "' not found.");
+	}
+
+	private static MissionNotFoundException missionNotFound(int missionId) {
+		return new MissionNotFoundException(() -> "Mission with id " + missionId + " not found.");
+	}
+
+	private boolean isStillFree(List<Rocket> rockets, RocketStatus statusFilter) {
+		for (Rocket rocket : rockets) {
+			if (!rocket.equals(rocketRepository.findByName(rocket.getName()).orElse(null))
+					|| rocket.getAssignedMissionName() != null
+					|| (statusFilter != null && rocket.getStatus() != statusFilter)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private void renderMission(Mission mission, List<String> lines) {
+		StringBuilder line = new StringBuilder();
+		try (StripedLocks.Guard guard = locks.lock(locks.missionStripe(mission.getName()))) {
+			lines.add(appendHeader(line, mission).toString());
+			for (Rocket rocket : mission.getAssignedRockets()) {
+				line.setLength(0);
+				lines.add(appendRocketLine(line, rocket).toString());
+			}
 		}
+	}
+
+	private MissionSummary summarize(Mission mission) {
+		try (StripedLocks.Guard guard = locks.lock(locks.missionStripe(mission.getName()))) {
+			List<MissionSummary.AssignedRocket> rockets = new ArrayList<>(mission.getAssignedRockets().size());
+			for (Rocket rocket : mission.getAssignedRockets()) {
+				rockets.add(new MissionSummary.AssignedRocket(rocket.getName(), rocket.getStatus()));
+			}
+			return new MissionSummary(mission.getName(), mission.getStatus(), rockets);
+		}
+	}
+
+	private static StringBuilder appendHeader(StringBuilder line, Mission mission) {
+		return line.append(mission.getName())
+				.append(" - ").append(mission.getStatus().getDisplayName())
+				.append(" - Dragons: ").append(mission.getAssignedRockets().size());
+	}
+
+	private static StringBuilder appendRocketLine(StringBuilder line, Rocket rocket) {
+		return line.append("\t- ").append(rocket.getName())
+				.append(" - ").append(rocket.getStatus().getDisplayName());
+	}
 
-		missionRepository.remove(missionName);
+	public void removeMission(String missionName) {
+		try (StripedLocks.Guard guard = locks.lock(locks.missionStripe(missionName))) {
+			Mission mission = missionRepository.findByName(missionName)
+					.orElseThrow(() -> missionNotFound(missionName));
+
+			if (!mission.getAssignedRockets().isEmpty()) {
+				throw new MissionHasAssignedRocketsException(
+						"Cannot remove mission '" + missionName + "' as it has assigned rockets.");
+			}
+
+			missionRepository.remove(missionName);
+			listener.missionRemoved(mission);
+		}
 	}
 }
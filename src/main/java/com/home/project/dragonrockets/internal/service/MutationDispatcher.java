@@ -0,0 +1,92 @@
+package com.home.project.dragonrockets.internal.service;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.home.project.dragonrockets.internal.model.Mission;
+import com.home.project.dragonrockets.internal.model.MissionStatus;
+import com.home.project.dragonrockets.internal.model.Rocket;
+import com.home.project.dragonrockets.internal.model.RocketStatus;
+
+public class MutationDispatcher implements MutationListener {
+
+	private final List<MutationListener> listeners = new CopyOnWriteArrayList<>();
+
+	public void addListener(MutationListener listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(MutationListener listener) {
+		listeners.remove(listener);
+	}
+
+	@Override
+	public void operationStarted() {
+		for (MutationListener listener : listeners) {
+			listener.operationStarted();
+		}
+	}
+
+	@Override
+	public void operationFinished() {
+		for (MutationListener listener : listeners) {
+			listener.operationFinished();
+		}
+	}
+
+	@Override
+	public void rocketAdded(Rocket rocket) {
+		for (MutationListener listener : listeners) {
+			listener.rocketAdded(rocket);
+		}
+	}
+
+	@Override
+	public void missionAdded(Mission mission) {
+		for (MutationListener listener : listeners) {
+			listener.missionAdded(mission);
+		}
+	}
+
+	@Override
+	public void rocketAssigned(Rocket rocket, Mission mission) {
+		for (MutationListener listener : listeners) {
+			listener.rocketAssigned(rocket, mission);
+		}
+	}
+
+	@Override
+	public void rocketUnassigned(Rocket rocket, Mission mission) {
+		for (MutationListener listener : listeners) {
+			listener.rocketUnassigned(rocket, mission);
+		}
+	}
+
+	@Override
+	public void rocketStatusChanged(Rocket rocket, RocketStatus previousStatus) {
+		for (MutationListener listener : listeners) {
+			listener.rocketStatusChanged(rocket, previousStatus);
+		}
+	}
+
+	@Override
+	public void missionStatusChanged(Mission mission, MissionStatus previousStatus, boolean automatic) {
+		for (MutationListener listener : listeners) {
+			listener.missionStatusChanged(mission, previousStatus, automatic);
+		}
+	}
+
+	@Override
+	public void rocketRemoved(Rocket rocket) {
+		for (MutationListener listener : listeners) {
+			listener.rocketRemoved(rocket);
+		}
+	}
+
+	@Override
+	public void missionRemoved(Mission mission) {
+		for (MutationListener listener : listeners) {
+			listener.missionRemoved(mission);
+		}
+	}
+}
@@ -0,0 +1,51 @@
+package com.home.project.dragonrockets.internal.service;
+
+import com.home.project.dragonrockets.internal.model.Mission;
+import com.home.project.dragonrockets.internal.model.MissionStatus;
+import com.home.project.dragonrockets.internal.model.Rocket;
+import com.home.project.dragonrockets.internal.model.RocketStatus;
+
+// Notified by the services after every successful mutation, while the locks of
+// the affected rocket and mission are still held. Implementations must be fast
+// and must not call back into the services.
+public interface MutationListener {
+
+	MutationListener NONE = new MutationListener() {
+	};
+
+	// Bracket every service operation while its locks are held, so listeners can
+	// handle all callbacks of one operation together. They nest when one
+	// operation runs inside another, e.g. in a transaction.
+	default void operationStarted() {
+	}
+
+	default void operationFinished() {
+	}
+
+	default void rocketAdded(Rocket rocket) {
+	}
+
+	default void missionAdded(Mission mission) {
+	}
+
+	default void rocketAssigned(Rocket rocket, Mission mission) {
+	}
+
+	// Unassigning also puts the rocket back 'On Ground'
+	default void rocketUnassigned(Rocket rocket, Mission mission) {
+	}
+
+	default void rocketStatusChanged(Rocket rocket, RocketStatus previousStatus) {
+	}
+
+	// automatic is true when the change was made by the services themselves,
+	// e.g. the switch to 'Pending' when an assigned rocket goes into repair
+	default void missionStatusChanged(Mission mission, MissionStatus previousStatus, boolean automatic) {
+	}
+
+	default void rocketRemoved(Rocket rocket) {
+	}
+
+	default void missionRemoved(Mission mission) {
+	}
+}
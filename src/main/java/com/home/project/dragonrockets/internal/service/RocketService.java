@@ -1,81 +1,300 @@
 package com.home.project.dragonrockets.internal.service;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
+import com.home.project.dragonrockets.internal.concurrent.StripedLocks;
 import com.home.project.dragonrockets.internal.exception.MissionNotFoundException;
 import com.home.project.dragonrockets.internal.exception.RocketAlreadyAssignedException;
 import com.home.project.dragonrockets.internal.exception.RocketNotFoundException;
+import com.home.project.dragonrockets.internal.model.BatchFailure;
+import com.home.project.dragonrockets.internal.model.BatchResult;
 import com.home.project.dragonrockets.internal.model.Mission;
 import com.home.project.dragonrockets.internal.model.MissionStatus;
 import com.home.project.dragonrockets.internal.model.Rocket;
 import com.home.project.dragonrockets.internal.model.RocketStatus;
 import com.home.project.dragonrockets.internal.repository.MissionRepository;
-import com.home.project.dragonrockets.internal.repository.RocketRepository;
+import com.home.project.dragonrockets.internal.repository.NameDictionary;
+import com.home.project.dragonrockets.internal.repository.RocketStore;
 
 public class RocketService {
 
-	private final RocketRepository rocketRepository;
+	private final RocketStore rocketRepository;
 	private final MissionRepository missionRepository;
+	private final StripedLocks locks;
+	private volatile MutationListener listener = MutationListener.NONE;
 
-	public RocketService(RocketRepository rocketRepository, MissionRepository missionRepository) {
+	public RocketService(RocketStore rocketRepository, MissionRepository missionRepository,
+			StripedLocks locks) {
 		this.rocketRepository = rocketRepository;
 		this.missionRepository = missionRepository;
+		this.locks = locks;
+	}
+
+	public void setMutationListener(MutationListener listener) {
+		this.listener = listener;
 	}
 
 	public void addRocket(Rocket rocket) {
-		rocketRepository.addRocket(rocket);
+		try (StripedLocks.Guard guard = locks.lock(locks.rocketStripe(rocket.getName()))) {
+			rocketRepository.addRocket(rocket);
+			listener.rocketAdded(rocket);
+		}
+	}
+
+	// Validates the whole batch before adding anything; rejected rockets are
+	// reported in the result, all others are added under one set of locks
+	public BatchResult addRockets(Collection<Rocket> rockets) {
+		BatchResult result = new BatchResult();
+		BitSet stripes = new BitSet(locks.stripeCount());
+		for (Rocket rocket : rockets) {
+			stripes.set(locks.rocketStripe(rocket.getName()));
+		}
+
+		try (StripedLocks.Guard guard = locks.lock(stripes)) {
+			List<Rocket> accepted = new ArrayList<>(rockets.size());
+			Set<String> names = new HashSet<>();
+			for (Rocket rocket : rockets) {
+				if (!names.add(rocket.getName()) || rocketRepository.findByName(rocket.getName()).isPresent()) {
+					result.failed(rocket.getName(), BatchFailure.ALREADY_EXISTS,
+							() -> "Rocket with name '" + rocket.getName() + "' already exists.");
+				} else {
+					accepted.add(rocket);
+				}
+			}
+
+			for (Rocket rocket : accepted) {
+				rocketRepository.addRocket(rocket);
+				listener.rocketAdded(rocket);
+				result.succeeded(rocket.getName());
+			}
+		}
+		return result;
 	}
 
 	public Optional<Rocket> findRocketByName(String rocketName) {
 		return rocketRepository.findByName(rocketName);
 	}
 
+	public List<Rocket> findRocketsByStatus(RocketStatus status) {
+		return rocketRepository.findByStatus(status);
+	}
+
+	public List<Rocket> findUnassignedRockets(RocketStatus statusFilter, int limit) {
+		if (limit < 0) {
+			throw new IllegalArgumentException("Limit must not be negative.");
+		}
+		return rocketRepository.findUnassigned(statusFilter, limit);
+	}
+
+	// Served from the rocket's cached info line, so a lookup of a known rocket
+	// whose state has not changed since the last call allocates nothing
 	public String getRocketInfo(String rocketName) {
-		Rocket rocket = rocketRepository.findByName(rocketName)
-				.orElseThrow(() -> new RocketNotFoundException("Rocket '" + rocketName + "' not found."));
-		String rocketInfo = String.format("%s - %s - Mission: %s",
-				rocket.getName(),
-				rocket.getStatus().getDisplayName(),
-				rocket.getAssignedMissionName() == null ? "NOT ASSIGNED" : rocket.getAssignedMissionName());
-		return rocketInfo;
+		return getRocket(rocketName).getInfo();
+	}
+
+	public void appendRocketInfo(String rocketName, StringBuilder out) {
+		out.append(getRocket(rocketName).getInfo());
+	}
+
+	public void appendRocketInfo(String rocketName, Appendable out) throws IOException {
+		out.append(getRocket(rocketName).getInfo());
+	}
+
+	public String getRocketInfo(int rocketId) {
+		return getRocket(rocketId).getInfo();
+	}
+
+	public void appendRocketInfo(int rocketId, StringBuilder out) {
+		out.append(getRocket(rocketId).getInfo());
 	}
 
 	public void changeRocketStatus(String rocketName, RocketStatus newStatus) {
-		Rocket rocket = rocketRepository.findByName(rocketName)
-				.orElseThrow(() -> new RocketNotFoundException("Rocket '" + rocketName + "' not found."));
+		changeRocketStatus(rocketName, NameDictionary.NO_ID, newStatus);
+	}
+
+	public void changeRocketStatus(int rocketId, RocketStatus newStatus) {
+		changeRocketStatus(null, rocketId, newStatus);
+	}
 
-		if (rocket.getStatus() != newStatus) {
-			rocket.setStatus(newStatus);
+	// The rocket is identified by its name or, when the name is null, by its id
+	private void changeRocketStatus(String rocketName, int rocketId, RocketStatus newStatus) {
+		while (true) {
+			Rocket rocket = lookupRocket(rocketName, rocketId);
+			if (rocket == null) {
+				throw rocketNotFound(rocketName, rocketId);
+			}
+			String name = rocketName != null ? rocketName : rocket.getName();
+
+			// The assigned mission is locked together with the rocket, because its
+			// status may have to follow the rocket's one
+			String missionName = rocket.getAssignedMissionName();
+			try (StripedLocks.Guard guard = missionName == null
+					? locks.lock(locks.rocketStripe(name))
+					: locks.lock(locks.rocketStripe(name), locks.missionStripe(missionName))) {
+				// Retry if the rocket was removed or re-assigned before we got the locks
+				if (!rocket.equals(lookupRocket(rocketName, rocketId))
+						|| !Objects.equals(missionName, rocket.getAssignedMissionName())) {
+					continue;
+				}
+
+				Mission mission = missionName == null ? null : findAssignedMission(rocket, missionName);
+				RocketStatus previousStatus = rocket.getStatus();
+				if (previousStatus != newStatus) {
+					rocket.setStatus(newStatus);
+					rocketRepository.updateStatus(rocket, previousStatus);
+					if (mission != null) {
+						mission.rocketStatusChanged(previousStatus, newStatus);
+					}
+					listener.rocketStatusChanged(rocket, previousStatus);
+				}
+
+				if (mission != null) {
+					updateMissionStatusBasedOnRockets(mission);
+				}
+				return;
+			}
 		}
+	}
 
-		if (rocket.getAssignedMissionName() != null) {
-			Mission mission = missionRepository.findByName(rocket.getAssignedMissionName())
-					.orElseThrow(() -> new MissionNotFoundException(
-							"Assigned mission '" + rocket.getAssignedMissionName() + "' not found."));
+	// Applies all status changes under one set of locks. Mission statuses are
+	// re-evaluated once per affected mission instead of once per rocket.
+	public BatchResult changeRocketStatuses(Map<String, RocketStatus> newStatuses) {
+		while (true) {
+			BatchResult result = new BatchResult();
+			Map<Rocket, RocketStatus> accepted = new LinkedHashMap<>();
+			Map<String, String> missionNames = new HashMap<>();
+			BitSet stripes = new BitSet(locks.stripeCount());
+			for (Map.Entry<String, RocketStatus> entry : newStatuses.entrySet()) {
+				Optional<Rocket> rocket = rocketRepository.findByName(entry.getKey());
+				if (rocket.isEmpty()) {
+					String rocketName = entry.getKey();
+					result.failed(rocketName, BatchFailure.ROCKET_NOT_FOUND, () -> "Rocket '" + rocketName + "' not found.");
+					continue;
+				}
+				accepted.put(rocket.get(), entry.getValue());
+				String missionName = rocket.get().getAssignedMissionName();
+				missionNames.put(entry.getKey(), missionName);
+				stripes.set(locks.rocketStripe(entry.getKey()));
+				if (missionName != null) {
+					stripes.set(locks.missionStripe(missionName));
+				}
+			}
 
-			updateMissionStatusBasedOnRockets(mission);
+			try (StripedLocks.Guard guard = locks.lock(stripes)) {
+				// Retry if any rocket was removed or re-assigned before we got the locks
+				if (!isUnchanged(accepted.keySet(), missionNames)) {
+					continue;
+				}
+
+				Map<String, Mission> affectedMissions = new LinkedHashMap<>();
+				for (Map.Entry<Rocket, RocketStatus> entry : accepted.entrySet()) {
+					Rocket rocket = entry.getKey();
+					String missionName = rocket.getAssignedMissionName();
+					Mission mission = missionName == null ? null
+							: affectedMissions.computeIfAbsent(missionName, name -> findAssignedMission(rocket, name));
+					RocketStatus previousStatus = rocket.getStatus();
+					if (previousStatus != entry.getValue()) {
+						rocket.setStatus(entry.getValue());
+						rocketRepository.updateStatus(rocket, previousStatus);
+						if (mission != null) {
+							mission.rocketStatusChanged(previousStatus, entry.getValue());
+						}
+						listener.rocketStatusChanged(rocket, previousStatus);
+					}
+					result.succeeded(rocket.getName());
+				}
+
+				for (Mission mission : affectedMissions.values()) {
+					updateMissionStatusBasedOnRockets(mission);
+				}
+				return result;
+			}
 		}
 	}
 
 	public void removeRocket(String rocketName) {
-		Rocket rocket = rocketRepository.findByName(rocketName)
-				.orElseThrow(() -> new RocketNotFoundException("Rocket '" + rocketName + "' not found."));
+		try (StripedLocks.Guard guard = locks.lock(locks.rocketStripe(rocketName))) {
+			Rocket rocket = rocketRepository.findByName(rocketName)
+					.orElseThrow(() -> rocketNotFound(rocketName));
+
+			if (rocket.getAssignedMissionName() != null) {
+				throw new RocketAlreadyAssignedException("Cannot remove rocket '" + rocketName
+						+ "' as it is currently assigned to mission '" + rocket.getAssignedMissionName() + "'.");
+			}
 
-		if (rocket.getAssignedMissionName() != null) {
-			throw new RocketAlreadyAssignedException("Cannot remove rocket '" + rocketName
-					+ "' as it is currently assigned to mission '" + rocket.getAssignedMissionName() + "'.");
+			rocketRepository.remove(rocketName);
+			listener.rocketRemoved(rocket);
 		}
+	}
 
-		rocketRepository.remove(rocketName);
+	private boolean isUnchanged(Collection<Rocket> rockets, Map<String, String> missionNames) {
+		for (Rocket rocket : rockets) {
+			if (!rocket.equals(rocketRepository.findByName(rocket.getName()).orElse(null))
+					|| !Objects.equals(missionNames.get(rocket.getName()), rocket.getAssignedMissionName())) {
+				return false;
+			}
+		}
+		return true;
 	}
 
-	private void updateMissionStatusBasedOnRockets(Mission mission) {
-		long rocketsInRepair = mission.getAssignedRockets().stream()
-				.filter(r -> r.getStatus() == RocketStatus.IN_REPAIR)
-				.count();
+	private Rocket getRocket(String rocketName) {
+		Rocket rocket = rocketRepository.getByName(rocketName);
+		if (rocket == null) {
+			throw rocketNotFound(rocketName);
+		}
+		return rocket;
+	}
 
-		if (rocketsInRepair > 0) {
+	private Rocket getRocket(int rocketId) {
+		Rocket rocket = rocketRepository.getById(rocketId);
+		if (rocket == null) {
+			throw rocketNotFound(null, rocketId);
+		}
+		return rocket;
+	}
+
+	private Rocket lookupRocket(String rocketName, int rocketId) {
+		return rocketName != null ? rocketRepository.findByName(rocketName).orElse(null)
+				: rocketRepository.getById(rocketId);
+	}
+
+	static RocketNotFoundException rocketNotFound(String rocketName) {
+		return new RocketNotFoundException(() -> "Rocket '" + rocketName + "' not found.");
+	}
+
+	static RocketNotFoundException rocketNotFound(String rocketName, int rocketId) {
+		return rocketName != null ? rocketNotFound(rocketName)
+				: new RocketNotFoundException(() -> "Rocket with id " + rocketId + " not found.");
+	}
+
+	// Follows the rocket's link to its mission, falling back to a lookup by name
+	// when the rocket only knows the mission's name
+	private Mission findAssignedMission(Rocket rocket, String missionName) {
+		Mission mission = rocket.getAssignedMission();
+		if (mission != null) {
+			return mission;
+		}
+		return missionRepository.findByName(missionName)
+				.orElseThrow(() -> new MissionNotFoundException(() -> "Assigned mission '" + missionName + "' not found."));
+	}
+
+	private void updateMissionStatusBasedOnRockets(Mission mission) {
+		if (mission.countRocketsWithStatus(RocketStatus.IN_REPAIR) > 0 && mission.getStatus() != MissionStatus.PENDING) {
+			MissionStatus previousStatus = mission.getStatus();
 			mission.setStatus(MissionStatus.PENDING);
+			missionRepository.updateStatus(mission, previousStatus);
+			listener.missionStatusChanged(mission, previousStatus, true);
 		}
 	}
 }
@@ -0,0 +1,60 @@
+package com.home.project.dragonrockets.internal.shard;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import com.home.project.dragonrockets.SpaceXManager;
+
+// Transport to shards living in the same process. Requests still go through
+// ShardCodec and a ShardEndpoint, exactly as over a network, but run on the
+// calling thread, so the returned futures are already complete.
+public class LoopbackTransport implements ShardTransport {
+
+	private final List<SpaceXManager> shards;
+	private final List<ShardEndpoint> endpoints = new ArrayList<>();
+
+	public LoopbackTransport(int shardCount) {
+		this(newShards(shardCount));
+	}
+
+	public LoopbackTransport(List<SpaceXManager> shards) {
+		if (shards.isEmpty()) {
+			throw new IllegalArgumentException("At least one shard is required.");
+		}
+		this.shards = List.copyOf(shards);
+		for (SpaceXManager shard : this.shards) {
+			endpoints.add(new ShardEndpoint(shard));
+		}
+	}
+
+	@Override
+	public int shardCount() {
+		return shards.size();
+	}
+
+	@Override
+	public CompletableFuture<ByteBuffer> send(int shard, ByteBuffer request) {
+		return CompletableFuture.completedFuture(endpoints.get(shard).handle(request));
+	}
+
+	// Closes the shards' managers
+	@Override
+	public void close() {
+		for (SpaceXManager shard : shards) {
+			shard.close();
+		}
+	}
+
+	private static List<SpaceXManager> newShards(int shardCount) {
+		if (shardCount < 1) {
+			throw new IllegalArgumentException("At least one shard is required.");
+		}
+		List<SpaceXManager> shards = new ArrayList<>(shardCount);
+		for (int i = 0; i < shardCount; i++) {
+			shards.add(new SpaceXManager());
+		}
+		return shards;
+	}
+}
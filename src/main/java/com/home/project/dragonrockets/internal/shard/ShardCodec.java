@@ -0,0 +1,537 @@
+package com.home.project.dragonrockets.internal.shard;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.home.project.dragonrockets.internal.codec.BinaryReader;
+import com.home.project.dragonrockets.internal.codec.BinaryWriter;
+import com.home.project.dragonrockets.internal.exception.InsufficientRocketsException;
+import com.home.project.dragonrockets.internal.exception.InvalidStatusTransitionException;
+import com.home.project.dragonrockets.internal.exception.MissionHasAssignedRocketsException;
+import com.home.project.dragonrockets.internal.exception.MissionNotFoundException;
+import com.home.project.dragonrockets.internal.exception.RocketAlreadyAssignedException;
+import com.home.project.dragonrockets.internal.exception.RocketNotFoundException;
+import com.home.project.dragonrockets.internal.model.BatchFailure;
+import com.home.project.dragonrockets.internal.model.BatchResult;
+import com.home.project.dragonrockets.internal.model.Mission;
+import com.home.project.dragonrockets.internal.model.MissionStatus;
+import com.home.project.dragonrockets.internal.model.MissionSummary;
+import com.home.project.dragonrockets.internal.model.Rocket;
+import com.home.project.dragonrockets.internal.model.RocketStatus;
+
+// Binary encoding of the messages between a sharded router and its shards.
+// A request is [version][type][arguments]; a response is [OK][result] or
+// [ERROR][error type][message]. Results describe themselves with a leading
+// type byte, so the router needs no table of which request returns what.
+// Rockets and missions are written as their name and status code; an assigned
+// rocket also carries its mission's name.
+public final class ShardCodec {
+
+	public static final byte VERSION = 1;
+
+	private static final byte ADD_ROCKET = 1;
+	private static final byte ADD_MISSION = 2;
+	private static final byte ADD_ROCKETS = 3;
+	private static final byte ADD_MISSIONS = 4;
+	private static final byte ASSIGN_ROCKET = 5;
+	private static final byte ASSIGN_ROCKETS = 6;
+	private static final byte UNASSIGN_ROCKET = 7;
+	private static final byte CHANGE_ROCKET_STATUS = 8;
+	private static final byte CHANGE_ROCKET_STATUSES = 9;
+	private static final byte CHANGE_MISSION_STATUS = 10;
+	private static final byte REMOVE_ROCKET = 11;
+	private static final byte REMOVE_MISSION = 12;
+	private static final byte MISSION_ID = 13;
+	private static final byte GET_ROCKET_INFO = 14;
+	private static final byte FIND_ROCKET = 15;
+	private static final byte FIND_ROCKETS_BY_STATUS = 16;
+	private static final byte FIND_MISSIONS_BY_STATUS = 17;
+	private static final byte FIND_UNASSIGNED_ROCKETS = 18;
+	private static final byte GET_MISSION_SUMMARIES = 19;
+
+	private static final byte OK = 0;
+	private static final byte ERROR = 1;
+
+	private static final byte NO_RESULT = 0;
+	private static final byte INT_RESULT = 1;
+	private static final byte STRING_RESULT = 2;
+	private static final byte BATCH_RESULT = 3;
+	private static final byte ROCKET_RESULT = 4;
+	private static final byte NO_ROCKET_RESULT = 5;
+	private static final byte ROCKETS_RESULT = 6;
+	private static final byte MISSIONS_RESULT = 7;
+	private static final byte SUMMARIES_RESULT = 8;
+
+	private static final byte ROCKET_NOT_FOUND = 1;
+	private static final byte MISSION_NOT_FOUND = 2;
+	private static final byte ROCKET_ALREADY_ASSIGNED = 3;
+	private static final byte INVALID_STATUS_TRANSITION = 4;
+	private static final byte MISSION_HAS_ASSIGNED_ROCKETS = 5;
+	private static final byte INSUFFICIENT_ROCKETS = 6;
+	private static final byte ILLEGAL_ARGUMENT = 7;
+	private static final byte OTHER_ERROR = 8;
+
+	private ShardCodec() {
+	}
+
+	public static ByteBuffer encodeRequest(ShardRequest<?> request) {
+		BinaryWriter out = new BinaryWriter(64);
+		out.writeByte(VERSION);
+		writeRequest(out, request);
+		return out.toByteBuffer();
+	}
+
+	public static ShardRequest<?> decodeRequest(ByteBuffer buffer) {
+		BinaryReader in = new BinaryReader(buffer);
+		int version = in.readByte();
+		if (version != VERSION) {
+			throw new IllegalArgumentException("Unsupported shard message version " + version + ".");
+		}
+		return readRequest(in);
+	}
+
+	public static ByteBuffer encodeResult(Object result) {
+		BinaryWriter out = new BinaryWriter(64);
+		out.writeByte(OK);
+		writeResult(out, result);
+		return out.toByteBuffer();
+	}
+
+	public static ByteBuffer encodeError(RuntimeException error) {
+		BinaryWriter out = new BinaryWriter(64);
+		out.writeByte(ERROR);
+		out.writeByte(errorType(error));
+		writeOptionalString(out, error.getMessage());
+		return out.toByteBuffer();
+	}
+
+	// Returns the result, or throws the exception the shard threw
+	public static Object decodeResponse(ByteBuffer buffer) {
+		BinaryReader in = new BinaryReader(buffer);
+		int status = in.readByte();
+		if (status == OK) {
+			return readResult(in);
+		}
+		if (status == ERROR) {
+			int type = in.readByte();
+			throw error(type, readOptionalString(in));
+		}
+		throw new IllegalArgumentException("Unknown response status " + status + ".");
+	}
+
+	private static void writeRequest(BinaryWriter out, ShardRequest<?> request) {
+		if (request instanceof ShardRequest.AddRocket add) {
+			out.writeByte(ADD_ROCKET);
+			writeRocket(out, add.rocket());
+		} else if (request instanceof ShardRequest.AddMission add) {
+			out.writeByte(ADD_MISSION);
+			writeMission(out, add.mission());
+		} else if (request instanceof ShardRequest.AddRockets add) {
+			out.writeByte(ADD_ROCKETS);
+			out.writeVarint(add.rockets().size());
+			for (Rocket rocket : add.rockets()) {
+				writeRocket(out, rocket);
+			}
+		} else if (request instanceof ShardRequest.AddMissions add) {
+			out.writeByte(ADD_MISSIONS);
+			out.writeVarint(add.missions().size());
+			for (Mission mission : add.missions()) {
+				writeMission(out, mission);
+			}
+		} else if (request instanceof ShardRequest.AssignRocket assign) {
+			out.writeByte(ASSIGN_ROCKET);
+			out.writeString(assign.rocketName());
+			out.writeString(assign.missionName());
+		} else if (request instanceof ShardRequest.AssignRockets assign) {
+			out.writeByte(ASSIGN_ROCKETS);
+			out.writeString(assign.missionName());
+			writeNames(out, assign.rocketNames());
+		} else if (request instanceof ShardRequest.UnassignRocket unassign) {
+			out.writeByte(UNASSIGN_ROCKET);
+			out.writeString(unassign.rocketName());
+		} else if (request instanceof ShardRequest.ChangeRocketStatus change) {
+			out.writeByte(CHANGE_ROCKET_STATUS);
+			out.writeString(change.rocketName());
+			out.writeByte(change.newStatus().getCode());
+		} else if (request instanceof ShardRequest.ChangeRocketStatuses change) {
+			out.writeByte(CHANGE_ROCKET_STATUSES);
+			out.writeVarint(change.newStatuses().size());
+			change.newStatuses().forEach((rocketName, newStatus) -> {
+				out.writeString(rocketName);
+				out.writeByte(newStatus.getCode());
+			});
+		} else if (request instanceof ShardRequest.ChangeMissionStatus change) {
+			out.writeByte(CHANGE_MISSION_STATUS);
+			out.writeString(change.missionName());
+			out.writeByte(change.newStatus().getCode());
+		} else if (request instanceof ShardRequest.RemoveRocket remove) {
+			out.writeByte(REMOVE_ROCKET);
+			out.writeString(remove.rocketName());
+		} else if (request instanceof ShardRequest.RemoveMission remove) {
+			out.writeByte(REMOVE_MISSION);
+			out.writeString(remove.missionName());
+		} else if (request instanceof ShardRequest.MissionId missionId) {
+			out.writeByte(MISSION_ID);
+			out.writeString(missionId.missionName());
+		} else if (request instanceof ShardRequest.GetRocketInfo info) {
+			out.writeByte(GET_ROCKET_INFO);
+			out.writeString(info.rocketName());
+		} else if (request instanceof ShardRequest.FindRocket find) {
+			out.writeByte(FIND_ROCKET);
+			out.writeString(find.rocketName());
+		} else if (request instanceof ShardRequest.FindRocketsByStatus find) {
+			out.writeByte(FIND_ROCKETS_BY_STATUS);
+			out.writeByte(find.status().getCode());
+		} else if (request instanceof ShardRequest.FindMissionsByStatus find) {
+			out.writeByte(FIND_MISSIONS_BY_STATUS);
+			out.writeByte(find.status().getCode());
+		} else if (request instanceof ShardRequest.FindUnassignedRockets find) {
+			out.writeByte(FIND_UNASSIGNED_ROCKETS);
+			// 0 for no filter, otherwise the status code plus one
+			out.writeByte(find.statusFilter() == null ? 0 : find.statusFilter().getCode() + 1);
+			out.writeVarint(find.limit());
+		} else if (request instanceof ShardRequest.GetMissionSummaries summaries) {
+			out.writeByte(GET_MISSION_SUMMARIES);
+			out.writeVarint(summaries.offset());
+			out.writeVarint(summaries.limit());
+		} else {
+			throw new IllegalArgumentException("Unknown shard request " + request);
+		}
+	}
+
+	private static ShardRequest<?> readRequest(BinaryReader in) {
+		int type = in.readByte();
+		switch (type) {
+			case ADD_ROCKET:
+				return new ShardRequest.AddRocket(readRocket(in));
+			case ADD_MISSION:
+				return new ShardRequest.AddMission(readMission(in));
+			case ADD_ROCKETS: {
+				int count = in.readCount();
+				List<Rocket> rockets = new ArrayList<>(count);
+				for (int i = 0; i < count; i++) {
+					rockets.add(readRocket(in));
+				}
+				return new ShardRequest.AddRockets(rockets);
+			}
+			case ADD_MISSIONS: {
+				int count = in.readCount();
+				List<Mission> missions = new ArrayList<>(count);
+				for (int i = 0; i < count; i++) {
+					missions.add(readMission(in));
+				}
+				return new ShardRequest.AddMissions(missions);
+			}
+			case ASSIGN_ROCKET:
+				return new ShardRequest.AssignRocket(in.readString(), in.readString());
+			case ASSIGN_ROCKETS:
+				return new ShardRequest.AssignRockets(in.readString(), readNames(in));
+			case UNASSIGN_ROCKET:
+				return new ShardRequest.UnassignRocket(in.readString());
+			case CHANGE_ROCKET_STATUS:
+				return new ShardRequest.ChangeRocketStatus(in.readString(), RocketStatus.fromCode(in.readByte()));
+			case CHANGE_ROCKET_STATUSES: {
+				int count = in.readCount();
+				Map<String, RocketStatus> newStatuses = new LinkedHashMap<>();
+				for (int i = 0; i < count; i++) {
+					newStatuses.put(in.readString(), RocketStatus.fromCode(in.readByte()));
+				}
+				return new ShardRequest.ChangeRocketStatuses(newStatuses);
+			}
+			case CHANGE_MISSION_STATUS:
+				return new ShardRequest.ChangeMissionStatus(in.readString(), MissionStatus.fromCode(in.readByte()));
+			case REMOVE_ROCKET:
+				return new ShardRequest.RemoveRocket(in.readString());
+			case REMOVE_MISSION:
+				return new ShardRequest.RemoveMission(in.readString());
+			case MISSION_ID:
+				return new ShardRequest.MissionId(in.readString());
+			case GET_ROCKET_INFO:
+				return new ShardRequest.GetRocketInfo(in.readString());
+			case FIND_ROCKET:
+				return new ShardRequest.FindRocket(in.readString());
+			case FIND_ROCKETS_BY_STATUS:
+				return new ShardRequest.FindRocketsByStatus(RocketStatus.fromCode(in.readByte()));
+			case FIND_MISSIONS_BY_STATUS:
+				return new ShardRequest.FindMissionsByStatus(MissionStatus.fromCode(in.readByte()));
+			case FIND_UNASSIGNED_ROCKETS: {
+				int filter = in.readByte();
+				return new ShardRequest.FindUnassignedRockets(filter == 0 ? null : RocketStatus.fromCode(filter - 1),
+						in.readCount());
+			}
+			case GET_MISSION_SUMMARIES:
+				return new ShardRequest.GetMissionSummaries(in.readCount(), in.readCount());
+			default:
+				throw new IllegalArgumentException("Unknown shard request type " + type + ".");
+		}
+	}
+
+	private static void writeResult(BinaryWriter out, Object result) {
+		if (result == null) {
+			out.writeByte(NO_RESULT);
+		} else if (result instanceof Integer value) {
+			out.writeByte(INT_RESULT);
+			out.writeInt(value);
+		} else if (result instanceof String value) {
+			out.writeByte(STRING_RESULT);
+			out.writeString(value);
+		} else if (result instanceof BatchResult batch) {
+			out.writeByte(BATCH_RESULT);
+			writeBatch(out, batch);
+		} else if (result instanceof Optional<?> optional) {
+			if (optional.isPresent()) {
+				out.writeByte(ROCKET_RESULT);
+				writeRocket(out, (Rocket) optional.get());
+			} else {
+				out.writeByte(NO_ROCKET_RESULT);
+			}
+		} else if (result instanceof List<?> list) {
+			writeList(out, list);
+		} else {
+			throw new IllegalArgumentException("Unknown shard result " + result);
+		}
+	}
+
+	// An empty list is written as a list of rockets, which reads back as an
+	// empty list of any type
+	private static void writeList(BinaryWriter out, List<?> list) {
+		Object first = list.isEmpty() ? null : list.get(0);
+		if (first == null || first instanceof Rocket) {
+			out.writeByte(ROCKETS_RESULT);
+			out.writeVarint(list.size());
+			for (Object rocket : list) {
+				writeRocket(out, (Rocket) rocket);
+			}
+		} else if (first instanceof Mission) {
+			out.writeByte(MISSIONS_RESULT);
+			out.writeVarint(list.size());
+			for (Object mission : list) {
+				writeMissionWithRockets(out, (Mission) mission);
+			}
+		} else if (first instanceof MissionSummary) {
+			out.writeByte(SUMMARIES_RESULT);
+			out.writeVarint(list.size());
+			for (Object summary : list) {
+				writeSummary(out, (MissionSummary) summary);
+			}
+		} else {
+			throw new IllegalArgumentException("Unknown shard result element " + first);
+		}
+	}
+
+	private static Object readResult(BinaryReader in) {
+		int type = in.readByte();
+		switch (type) {
+			case NO_RESULT:
+				return null;
+			case INT_RESULT:
+				return in.readInt();
+			case STRING_RESULT:
+				return in.readString();
+			case BATCH_RESULT:
+				return readBatch(in);
+			case ROCKET_RESULT:
+				return Optional.of(readRocket(in));
+			case NO_ROCKET_RESULT:
+				return Optional.empty();
+			case ROCKETS_RESULT: {
+				int count = in.readCount();
+				List<Rocket> rockets = new ArrayList<>(count);
+				for (int i = 0; i < count; i++) {
+					rockets.add(readRocket(in));
+				}
+				return rockets;
+			}
+			case MISSIONS_RESULT: {
+				int count = in.readCount();
+				List<Mission> missions = new ArrayList<>(count);
+				for (int i = 0; i < count; i++) {
+					missions.add(readMissionWithRockets(in));
+				}
+				return missions;
+			}
+			case SUMMARIES_RESULT: {
+				int count = in.readCount();
+				List<MissionSummary> summaries = new ArrayList<>(count);
+				for (int i = 0; i < count; i++) {
+					summaries.add(readSummary(in));
+				}
+				return summaries;
+			}
+			default:
+				throw new IllegalArgumentException("Unknown shard result type " + type + ".");
+		}
+	}
+
+	// An assigned rocket carries its mission's name
+	private static void writeRocket(BinaryWriter out, Rocket rocket) {
+		out.writeString(rocket.getName());
+		out.writeByte(rocket.getStatus().getCode());
+		writeOptionalString(out, rocket.getAssignedMissionName());
+	}
+
+	private static Rocket readRocket(BinaryReader in) {
+		Rocket rocket = new Rocket(in.readString());
+		rocket.setStatus(RocketStatus.fromCode(in.readByte()));
+		rocket.setAssignedMissionName(readOptionalString(in));
+		return rocket;
+	}
+
+	private static void writeMission(BinaryWriter out, Mission mission) {
+		out.writeString(mission.getName());
+		out.writeByte(mission.getStatus().getCode());
+	}
+
+	private static Mission readMission(BinaryReader in) {
+		Mission mission = new Mission(in.readString());
+		mission.setStatus(MissionStatus.fromCode(in.readByte()));
+		return mission;
+	}
+
+	private static void writeMissionWithRockets(BinaryWriter out, Mission mission) {
+		writeMission(out, mission);
+		Collection<Rocket> rockets = mission.getAssignedRockets();
+		out.writeVarint(rockets.size());
+		for (Rocket rocket : rockets) {
+			out.writeString(rocket.getName());
+			out.writeByte(rocket.getStatus().getCode());
+		}
+	}
+
+	private static Mission readMissionWithRockets(BinaryReader in) {
+		Mission mission = readMission(in);
+		int count = in.readCount();
+		for (int i = 0; i < count; i++) {
+			Rocket rocket = new Rocket(in.readString());
+			rocket.setStatus(RocketStatus.fromCode(in.readByte()));
+			rocket.setAssignedMission(mission);
+			mission.assignRocket(rocket);
+		}
+		return mission;
+	}
+
+	private static void writeSummary(BinaryWriter out, MissionSummary summary) {
+		out.writeString(summary.name());
+		out.writeByte(summary.status().getCode());
+		out.writeVarint(summary.rockets().size());
+		for (MissionSummary.AssignedRocket rocket : summary.rockets()) {
+			out.writeString(rocket.name());
+			out.writeByte(rocket.status().getCode());
+		}
+	}
+
+	private static MissionSummary readSummary(BinaryReader in) {
+		String name = in.readString();
+		MissionStatus status = MissionStatus.fromCode(in.readByte());
+		int count = in.readCount();
+		List<MissionSummary.AssignedRocket> rockets = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			rockets.add(new MissionSummary.AssignedRocket(in.readString(), RocketStatus.fromCode(in.readByte())));
+		}
+		return new MissionSummary(name, status, rockets);
+	}
+
+	// Failure messages are built here, as they cannot travel as suppliers
+	private static void writeBatch(BinaryWriter out, BatchResult batch) {
+		writeNames(out, batch.getApplied());
+		Map<String, BatchFailure> reasons = batch.getFailureReasons();
+		out.writeVarint(reasons.size());
+		reasons.forEach((name, reason) -> {
+			out.writeString(name);
+			out.writeByte(reason.getCode());
+			out.writeString(batch.getFailureMessage(name));
+		});
+	}
+
+	private static BatchResult readBatch(BinaryReader in) {
+		BatchResult batch = new BatchResult();
+		for (String name : readNames(in)) {
+			batch.succeeded(name);
+		}
+		int failures = in.readCount();
+		for (int i = 0; i < failures; i++) {
+			String name = in.readString();
+			BatchFailure reason = BatchFailure.fromCode(in.readByte());
+			String message = in.readString();
+			batch.failed(name, reason, () -> message);
+		}
+		return batch;
+	}
+
+	private static void writeNames(BinaryWriter out, Collection<String> names) {
+		out.writeVarint(names.size());
+		for (String name : names) {
+			out.writeString(name);
+		}
+	}
+
+	private static List<String> readNames(BinaryReader in) {
+		int count = in.readCount();
+		List<String> names = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			names.add(in.readString());
+		}
+		return names;
+	}
+
+	private static void writeOptionalString(BinaryWriter out, String value) {
+		out.writeByte(value == null ? 0 : 1);
+		if (value != null) {
+			out.writeString(value);
+		}
+	}
+
+	private static String readOptionalString(BinaryReader in) {
+		return in.readByte() == 0 ? null : in.readString();
+	}
+
+	private static byte errorType(RuntimeException error) {
+		if (error instanceof RocketNotFoundException) {
+			return ROCKET_NOT_FOUND;
+		}
+		if (error instanceof MissionNotFoundException) {
+			return MISSION_NOT_FOUND;
+		}
+		if (error instanceof RocketAlreadyAssignedException) {
+			return ROCKET_ALREADY_ASSIGNED;
+		}
+		if (error instanceof InvalidStatusTransitionException) {
+			return INVALID_STATUS_TRANSITION;
+		}
+		if (error instanceof MissionHasAssignedRocketsException) {
+			return MISSION_HAS_ASSIGNED_ROCKETS;
+		}
+		if (error instanceof InsufficientRocketsException) {
+			return INSUFFICIENT_ROCKETS;
+		}
+		return error instanceof IllegalArgumentException ? ILLEGAL_ARGUMENT : OTHER_ERROR;
+	}
+
+	// The same exception type the shard threw; anything unexpected arrives as
+	// an IllegalStateException
+	private static RuntimeException error(int type, String message) {
+		switch (type) {
+			case ROCKET_NOT_FOUND:
+				return new RocketNotFoundException(message);
+			case MISSION_NOT_FOUND:
+				return new MissionNotFoundException(message);
+			case ROCKET_ALREADY_ASSIGNED:
+				return new RocketAlreadyAssignedException(message);
+			case INVALID_STATUS_TRANSITION:
+				return new InvalidStatusTransitionException(message);
+			case MISSION_HAS_ASSIGNED_ROCKETS:
+				return new MissionHasAssignedRocketsException(message);
+			case INSUFFICIENT_ROCKETS:
+				return new InsufficientRocketsException(message);
+			case ILLEGAL_ARGUMENT:
+				return new IllegalArgumentException(message);
+			default:
+				return new IllegalStateException(message);
+		}
+	}
+}
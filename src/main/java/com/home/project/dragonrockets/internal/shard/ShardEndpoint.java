@@ -0,0 +1,25 @@
+package com.home.project.dragonrockets.internal.shard;
+
+import java.nio.ByteBuffer;
+
+import com.home.project.dragonrockets.SpaceXManager;
+
+// The receiving end of a shard: decodes a request, applies it to the shard's
+// manager and encodes the result, or the exception the manager threw. A
+// transport hands it the bytes it received and sends back the bytes returned.
+public class ShardEndpoint {
+
+	private final SpaceXManager shard;
+
+	public ShardEndpoint(SpaceXManager shard) {
+		this.shard = shard;
+	}
+
+	public ByteBuffer handle(ByteBuffer request) {
+		try {
+			return ShardCodec.encodeResult(ShardCodec.decodeRequest(request).apply(shard));
+		} catch (RuntimeException e) {
+			return ShardCodec.encodeError(e);
+		}
+	}
+}
@@ -0,0 +1,182 @@
+package com.home.project.dragonrockets.internal.shard;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.home.project.dragonrockets.SpaceXManager;
+import com.home.project.dragonrockets.internal.model.BatchResult;
+import com.home.project.dragonrockets.internal.model.Mission;
+import com.home.project.dragonrockets.internal.model.MissionStatus;
+import com.home.project.dragonrockets.internal.model.MissionSummary;
+import com.home.project.dragonrockets.internal.model.Rocket;
+import com.home.project.dragonrockets.internal.model.RocketStatus;
+
+// An operation for one shard, as plain data: ShardCodec encodes it for the
+// transport, and the receiving ShardEndpoint decodes it and applies it to its
+// own SpaceXManager. Rockets and missions travel as name and status only.
+public sealed interface ShardRequest<T> {
+
+	T apply(SpaceXManager shard);
+
+	record AddRocket(Rocket rocket) implements ShardRequest<Void> {
+
+		@Override
+		public Void apply(SpaceXManager shard) {
+			shard.addRocket(rocket);
+			return null;
+		}
+	}
+
+	record AddMission(Mission mission) implements ShardRequest<Void> {
+
+		@Override
+		public Void apply(SpaceXManager shard) {
+			shard.addMission(mission);
+			return null;
+		}
+	}
+
+	record AddRockets(List<Rocket> rockets) implements ShardRequest<BatchResult> {
+
+		@Override
+		public BatchResult apply(SpaceXManager shard) {
+			return shard.addRockets(rockets);
+		}
+	}
+
+	record AddMissions(List<Mission> missions) implements ShardRequest<BatchResult> {
+
+		@Override
+		public BatchResult apply(SpaceXManager shard) {
+			return shard.addMissions(missions);
+		}
+	}
+
+	record AssignRocket(String rocketName, String missionName) implements ShardRequest<Void> {
+
+		@Override
+		public Void apply(SpaceXManager shard) {
+			shard.assignRocketToMission(rocketName, missionName);
+			return null;
+		}
+	}
+
+	record AssignRockets(String missionName, List<String> rocketNames) implements ShardRequest<BatchResult> {
+
+		@Override
+		public BatchResult apply(SpaceXManager shard) {
+			return shard.assignRocketsToMission(missionName, rocketNames);
+		}
+	}
+
+	record UnassignRocket(String rocketName) implements ShardRequest<Void> {
+
+		@Override
+		public Void apply(SpaceXManager shard) {
+			shard.unassignRocketFromMission(rocketName);
+			return null;
+		}
+	}
+
+	record ChangeRocketStatus(String rocketName, RocketStatus newStatus) implements ShardRequest<Void> {
+
+		@Override
+		public Void apply(SpaceXManager shard) {
+			shard.changeRocketStatus(rocketName, newStatus);
+			return null;
+		}
+	}
+
+	record ChangeRocketStatuses(Map<String, RocketStatus> newStatuses) implements ShardRequest<BatchResult> {
+
+		@Override
+		public BatchResult apply(SpaceXManager shard) {
+			return shard.changeRocketStatuses(newStatuses);
+		}
+	}
+
+	record ChangeMissionStatus(String missionName, MissionStatus newStatus) implements ShardRequest<Void> {
+
+		@Override
+		public Void apply(SpaceXManager shard) {
+			shard.changeMissionStatus(missionName, newStatus);
+			return null;
+		}
+	}
+
+	record RemoveRocket(String rocketName) implements ShardRequest<Void> {
+
+		@Override
+		public Void apply(SpaceXManager shard) {
+			shard.removeRocket(rocketName);
+			return null;
+		}
+	}
+
+	record RemoveMission(String missionName) implements ShardRequest<Void> {
+
+		@Override
+		public Void apply(SpaceXManager shard) {
+			shard.removeMission(missionName);
+			return null;
+		}
+	}
+
+	record MissionId(String missionName) implements ShardRequest<Integer> {
+
+		@Override
+		public Integer apply(SpaceXManager shard) {
+			return shard.missionId(missionName);
+		}
+	}
+
+	record GetRocketInfo(String rocketName) implements ShardRequest<String> {
+
+		@Override
+		public String apply(SpaceXManager shard) {
+			return shard.getRocketInfo(rocketName);
+		}
+	}
+
+	record FindRocket(String rocketName) implements ShardRequest<Optional<Rocket>> {
+
+		@Override
+		public Optional<Rocket> apply(SpaceXManager shard) {
+			return shard.findRocket(rocketName);
+		}
+	}
+
+	record FindRocketsByStatus(RocketStatus status) implements ShardRequest<List<Rocket>> {
+
+		@Override
+		public List<Rocket> apply(SpaceXManager shard) {
+			return shard.findRocketsByStatus(status);
+		}
+	}
+
+	record FindMissionsByStatus(MissionStatus status) implements ShardRequest<List<Mission>> {
+
+		@Override
+		public List<Mission> apply(SpaceXManager shard) {
+			return shard.findMissionsByStatus(status);
+		}
+	}
+
+	// statusFilter may be null for rockets of any status
+	record FindUnassignedRockets(RocketStatus statusFilter, int limit) implements ShardRequest<List<Rocket>> {
+
+		@Override
+		public List<Rocket> apply(SpaceXManager shard) {
+			return shard.findUnassignedRockets(statusFilter, limit);
+		}
+	}
+
+	record GetMissionSummaries(int offset, int limit) implements ShardRequest<List<MissionSummary>> {
+
+		@Override
+		public List<MissionSummary> apply(SpaceXManager shard) {
+			return shard.getMissionSummaries(offset, limit);
+		}
+	}
+}
@@ -0,0 +1,18 @@
+package com.home.project.dragonrockets.internal.shard;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+
+// Carries encoded requests from a ShardedSpaceXManager to the shards and their
+// encoded responses back (see ShardCodec). Shards are numbered from 0 to
+// shardCount() - 1; the future fails only if the message could not be
+// delivered, while errors of the shard travel inside the response.
+public interface ShardTransport extends AutoCloseable {
+
+	int shardCount();
+
+	CompletableFuture<ByteBuffer> send(int shard, ByteBuffer request);
+
+	@Override
+	void close();
+}
@@ -0,0 +1,69 @@
+package com.home.project.dragonrockets.internal.shard;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import com.home.project.dragonrockets.internal.model.MissionSummary;
+
+// Merges mission summaries of several shards, each already in summary order
+// (rocket count descending, then name descending), into one summary in the
+// same order. Every mission lives on exactly one shard, so the merge only
+// interleaves whole missions.
+public final class SummaryMerge {
+
+	private SummaryMerge() {
+	}
+
+	// Skips the first offset missions and returns at most limit missions after them
+	public static List<MissionSummary> merge(List<List<MissionSummary>> summaries, int offset, int limit) {
+		PriorityQueue<Cursor> cursors = new PriorityQueue<>(Math.max(1, summaries.size()));
+		for (List<MissionSummary> summary : summaries) {
+			Iterator<MissionSummary> missions = summary.iterator();
+			if (missions.hasNext()) {
+				cursors.add(new Cursor(missions));
+			}
+		}
+
+		List<MissionSummary> merged = new ArrayList<>();
+		int skipped = 0;
+		while (merged.size() < limit && !cursors.isEmpty()) {
+			Cursor cursor = cursors.poll();
+			if (skipped < offset) {
+				skipped++;
+			} else {
+				merged.add(cursor.current);
+			}
+			if (cursor.advance()) {
+				cursors.add(cursor);
+			}
+		}
+		return merged;
+	}
+
+	// Position of one shard's summary, at its next mission
+	private static final class Cursor implements Comparable<Cursor> {
+
+		private final Iterator<MissionSummary> missions;
+		private MissionSummary current;
+
+		Cursor(Iterator<MissionSummary> missions) {
+			this.missions = missions;
+			this.current = missions.next();
+		}
+
+		boolean advance() {
+			if (!missions.hasNext()) {
+				return false;
+			}
+			current = missions.next();
+			return true;
+		}
+
+		@Override
+		public int compareTo(Cursor other) {
+			return current.rank().compareTo(other.current.rank());
+		}
+	}
+}
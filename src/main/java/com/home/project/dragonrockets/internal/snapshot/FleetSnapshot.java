@@ -0,0 +1,98 @@
+package com.home.project.dragonrockets.internal.snapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import com.home.project.dragonrockets.internal.exception.RocketNotFoundException;
+import com.home.project.dragonrockets.internal.model.MissionRank;
+
+// Read-only, consistent view of the fleet at one point in time. It never
+// changes, so any number of threads can read it without locks while writers
+// keep publishing newer snapshots.
+public final class FleetSnapshot {
+
+	static final FleetSnapshot EMPTY = new FleetSnapshot(PersistentMap.empty(), PersistentMap.empty(),
+			PersistentSortedMap.empty());
+
+	private final PersistentMap<String, RocketState> rockets;
+	private final PersistentMap<String, MissionState> missions;
+	// Missions in summary order, updated along with missions
+	private final PersistentSortedMap<MissionRank, MissionState> summaryIndex;
+
+	private FleetSnapshot(PersistentMap<String, RocketState> rockets, PersistentMap<String, MissionState> missions,
+			PersistentSortedMap<MissionRank, MissionState> summaryIndex) {
+		this.rockets = rockets;
+		this.missions = missions;
+		this.summaryIndex = summaryIndex;
+	}
+
+	public Optional<RocketState> findRocket(String rocketName) {
+		return Optional.ofNullable(rockets.get(rocketName));
+	}
+
+	public Optional<MissionState> findMission(String missionName) {
+		return Optional.ofNullable(missions.get(missionName));
+	}
+
+	public int rocketCount() {
+		return rockets.size();
+	}
+
+	public int missionCount() {
+		return missions.size();
+	}
+
+	public String getRocketInfo(String rocketName) {
+		RocketState rocket = findRocket(rocketName)
+				.orElseThrow(() -> new RocketNotFoundException("Rocket '" + rocketName + "' not found."));
+		return rocket.name() + " - " + rocket.status().getDisplayName() + " - Mission: "
+				+ (rocket.missionName() == null ? "NOT ASSIGNED" : rocket.missionName());
+	}
+
+	public List<String> getMissionSummary() {
+		List<String> lines = new ArrayList<>();
+		StringBuilder line = new StringBuilder();
+		summaryIndex.forEach((rank, mission) -> {
+			line.setLength(0);
+			lines.add(line.append(mission.name())
+					.append(" - ").append(mission.status().getDisplayName())
+					.append(" - Dragons: ").append(mission.rocketNames().size()).toString());
+			for (String rocketName : mission.rocketNames()) {
+				line.setLength(0);
+				lines.add(line.append("\t- ").append(rocketName)
+						.append(" - ").append(rockets.get(rocketName).status().getDisplayName()).toString());
+			}
+		});
+		return lines;
+	}
+
+	FleetSnapshot withRocket(RocketState rocket) {
+		return new FleetSnapshot(rockets.plus(rocket.name(), rocket), missions, summaryIndex);
+	}
+
+	FleetSnapshot withoutRocket(String rocketName) {
+		return new FleetSnapshot(rockets.minus(rocketName), missions, summaryIndex);
+	}
+
+	FleetSnapshot withMission(MissionState mission) {
+		return new FleetSnapshot(rockets, missions.plus(mission.name(), mission), reindexed(mission.name(), mission));
+	}
+
+	FleetSnapshot withoutMission(String missionName) {
+		return new FleetSnapshot(rockets, missions.minus(missionName), reindexed(missionName, null));
+	}
+
+	FleetSnapshot withRocketAndMission(RocketState rocket, MissionState mission) {
+		return new FleetSnapshot(rockets.plus(rocket.name(), rocket), missions.plus(mission.name(), mission),
+				reindexed(mission.name(), mission));
+	}
+
+	// Moves the mission to the rank of its new version; null removes it
+	private PersistentSortedMap<MissionRank, MissionState> reindexed(String missionName, MissionState mission) {
+		MissionState previous = missions.get(missionName);
+		PersistentSortedMap<MissionRank, MissionState> index = previous == null ? summaryIndex
+				: summaryIndex.minus(previous.rank());
+		return mission == null ? index : index.plus(mission.rank(), mission);
+	}
+}
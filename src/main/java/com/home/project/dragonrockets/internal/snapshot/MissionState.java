@@ -0,0 +1,35 @@
+package com.home.project.dragonrockets.internal.snapshot;
+
+import com.home.project.dragonrockets.internal.model.Mission;
+import com.home.project.dragonrockets.internal.model.MissionRank;
+import com.home.project.dragonrockets.internal.model.MissionStatus;
+import com.home.project.dragonrockets.internal.model.Rocket;
+
+// Immutable version of a mission, with the names of its rockets in assignment
+// order. New versions share the rocket list of the previous one.
+public record MissionState(String name, MissionStatus status, PersistentList<String> rocketNames) {
+
+	static MissionState of(Mission mission) {
+		PersistentList<String> rocketNames = PersistentList.empty();
+		for (Rocket rocket : mission.getAssignedRockets()) {
+			rocketNames = rocketNames.plus(rocket.getName());
+		}
+		return new MissionState(mission.getName(), mission.getStatus(), rocketNames);
+	}
+
+	MissionRank rank() {
+		return new MissionRank(rocketNames.size(), name);
+	}
+
+	MissionState withStatus(MissionStatus newStatus) {
+		return new MissionState(name, newStatus, rocketNames);
+	}
+
+	MissionState withRocket(String rocketName) {
+		return new MissionState(name, status, rocketNames.plus(rocketName));
+	}
+
+	MissionState withoutRocket(String rocketName) {
+		return new MissionState(name, status, rocketNames.minus(rocketName));
+	}
+}
@@ -0,0 +1,138 @@
+package com.home.project.dragonrockets.internal.snapshot;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+// Immutable list with cheap appends: full chunks of 32 elements sit in a
+// 32-way trie and the last, partly filled chunk is kept as the tail. plus
+// copies the tail, or one path of the trie when the tail is full, so appending
+// never copies the whole list. minus rebuilds the list.
+public final class PersistentList<T> extends AbstractList<T> {
+
+	private static final int BITS = 5;
+	private static final int WIDTH = 1 << BITS;
+	private static final int MASK = WIDTH - 1;
+
+	private static final PersistentList<?> EMPTY = new PersistentList<>(0, BITS, new Object[0], new Object[0]);
+
+	private final int size;
+	private final int shift;
+	private final Object[] root;
+	private final Object[] tail;
+
+	private PersistentList(int size, int shift, Object[] root, Object[] tail) {
+		this.size = size;
+		this.shift = shift;
+		this.root = root;
+		this.tail = tail;
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <T> PersistentList<T> empty() {
+		return (PersistentList<T>) EMPTY;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T get(int index) {
+		Objects.checkIndex(index, size);
+		return (T) chunk(index)[index & MASK];
+	}
+
+	public PersistentList<T> plus(T element) {
+		if (size - tailOffset() < WIDTH) {
+			Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+			newTail[tail.length] = element;
+			return new PersistentList<>(size + 1, shift, root, newTail);
+		}
+		// The full tail moves into the trie, which grows a level once the root is full
+		Object[] newRoot;
+		int newShift = shift;
+		if ((size >>> BITS) > (1 << shift)) {
+			newRoot = new Object[] { root, path(shift, tail) };
+			newShift += BITS;
+		} else {
+			newRoot = pushTail(shift, root);
+		}
+		return new PersistentList<>(size + 1, newShift, newRoot, new Object[] { element });
+	}
+
+	public PersistentList<T> minus(Object element) {
+		int index = indexOf(element);
+		if (index < 0) {
+			return this;
+		}
+		PersistentList<T> result = empty();
+		for (int i = 0; i < size; i++) {
+			if (i != index) {
+				result = result.plus(get(i));
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new Iterator<>() {
+
+			private int index;
+			private Object[] chunk;
+
+			@Override
+			public boolean hasNext() {
+				return index < size;
+			}
+
+			@Override
+			@SuppressWarnings("unchecked")
+			public T next() {
+				if (index >= size) {
+					throw new NoSuchElementException();
+				}
+				if ((index & MASK) == 0 || chunk == null) {
+					chunk = chunk(index);
+				}
+				return (T) chunk[index++ & MASK];
+			}
+		};
+	}
+
+	private int tailOffset() {
+		return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+	}
+
+	private Object[] chunk(int index) {
+		if (index >= tailOffset()) {
+			return tail;
+		}
+		Object[] node = root;
+		for (int level = shift; level > 0; level -= BITS) {
+			node = (Object[]) node[(index >>> level) & MASK];
+		}
+		return node;
+	}
+
+	private Object[] pushTail(int level, Object[] parent) {
+		int child = ((size - 1) >>> level) & MASK;
+		Object[] result = Arrays.copyOf(parent, Math.max(parent.length, child + 1));
+		if (level == BITS) {
+			result[child] = tail;
+		} else {
+			Object[] existing = child < parent.length ? (Object[]) parent[child] : null;
+			result[child] = existing != null ? pushTail(level - BITS, existing) : path(level - BITS, tail);
+		}
+		return result;
+	}
+
+	private static Object[] path(int level, Object[] node) {
+		return level == 0 ? node : new Object[] { path(level - BITS, node) };
+	}
+}
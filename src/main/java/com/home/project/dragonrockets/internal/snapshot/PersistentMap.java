@@ -0,0 +1,308 @@
+package com.home.project.dragonrockets.internal.snapshot;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+// Immutable hash array mapped trie. plus and minus return a new map that shares
+// all untouched nodes with this one, so an update copies only the path from
+// the root to the changed entry (at most 7 nodes of up to 32 slots).
+public final class PersistentMap<K, V> {
+
+	private static final int BITS = 5;
+	private static final int MASK = (1 << BITS) - 1;
+
+	private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(null, 0);
+
+	private final Node root;
+	private final int size;
+
+	private PersistentMap(Node root, int size) {
+		this.root = root;
+		this.size = size;
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <K, V> PersistentMap<K, V> empty() {
+		return (PersistentMap<K, V>) EMPTY;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@SuppressWarnings("unchecked")
+	public V get(K key) {
+		return root == null ? null : (V) root.get(key, hash(key), 0);
+	}
+
+	public PersistentMap<K, V> plus(K key, V value) {
+		Leaf leaf = new Leaf(hash(key), key, value);
+		if (root == null) {
+			return new PersistentMap<>(leaf, 1);
+		}
+		int[] sizeChange = new int[1];
+		Node newRoot = root.put(leaf, 0, sizeChange);
+		return newRoot == root ? this : new PersistentMap<>(newRoot, size + sizeChange[0]);
+	}
+
+	public PersistentMap<K, V> minus(K key) {
+		if (root == null) {
+			return this;
+		}
+		int[] sizeChange = new int[1];
+		Node newRoot = root.remove(key, hash(key), 0, sizeChange);
+		if (newRoot == root) {
+			return this;
+		}
+		return newRoot == null ? empty() : new PersistentMap<>(newRoot, size + sizeChange[0]);
+	}
+
+	@SuppressWarnings("unchecked")
+	public void forEach(BiConsumer<? super K, ? super V> action) {
+		if (root != null) {
+			root.forEach((BiConsumer<Object, Object>) action);
+		}
+	}
+
+	private static int hash(Object key) {
+		int hash = key.hashCode();
+		return hash ^ (hash >>> 16);
+	}
+
+	private static int bit(int hash, int shift) {
+		return 1 << ((hash >>> shift) & MASK);
+	}
+
+	// Combines two nodes with different hashes into the smallest subtree holding both
+	private static Node merge(Node first, int firstHash, Node second, int secondHash, int shift) {
+		int firstBit = bit(firstHash, shift);
+		int secondBit = bit(secondHash, shift);
+		if (firstBit == secondBit) {
+			return new BitmapNode(firstBit, new Node[] { merge(first, firstHash, second, secondHash, shift + BITS) });
+		}
+		Node[] children = Integer.compareUnsigned(firstBit, secondBit) < 0
+				? new Node[] { first, second }
+				: new Node[] { second, first };
+		return new BitmapNode(firstBit | secondBit, children);
+	}
+
+	private abstract static class Node {
+
+		abstract Object get(Object key, int hash, int shift);
+
+		abstract Node put(Leaf leaf, int shift, int[] sizeChange);
+
+		// Returns null when the node becomes empty
+		abstract Node remove(Object key, int hash, int shift, int[] sizeChange);
+
+		abstract void forEach(BiConsumer<Object, Object> action);
+	}
+
+	private static final class Leaf extends Node {
+
+		private final int hash;
+		private final Object key;
+		private final Object value;
+
+		Leaf(int hash, Object key, Object value) {
+			this.hash = hash;
+			this.key = key;
+			this.value = value;
+		}
+
+		@Override
+		Object get(Object key, int hash, int shift) {
+			return hash == this.hash && key.equals(this.key) ? value : null;
+		}
+
+		@Override
+		Node put(Leaf leaf, int shift, int[] sizeChange) {
+			if (leaf.hash == hash && leaf.key.equals(key)) {
+				return leaf.value == value ? this : leaf;
+			}
+			sizeChange[0] = 1;
+			if (leaf.hash == hash) {
+				return new CollisionNode(hash, new Leaf[] { this, leaf });
+			}
+			return merge(this, hash, leaf, leaf.hash, shift);
+		}
+
+		@Override
+		Node remove(Object key, int hash, int shift, int[] sizeChange) {
+			if (hash == this.hash && key.equals(this.key)) {
+				sizeChange[0] = -1;
+				return null;
+			}
+			return this;
+		}
+
+		@Override
+		void forEach(BiConsumer<Object, Object> action) {
+			action.accept(key, value);
+		}
+	}
+
+	// Keys whose full hashes are equal
+	private static final class CollisionNode extends Node {
+
+		private final int hash;
+		private final Leaf[] leaves;
+
+		CollisionNode(int hash, Leaf[] leaves) {
+			this.hash = hash;
+			this.leaves = leaves;
+		}
+
+		@Override
+		Object get(Object key, int hash, int shift) {
+			if (hash == this.hash) {
+				for (Leaf leaf : leaves) {
+					if (key.equals(leaf.key)) {
+						return leaf.value;
+					}
+				}
+			}
+			return null;
+		}
+
+		@Override
+		Node put(Leaf leaf, int shift, int[] sizeChange) {
+			if (leaf.hash != hash) {
+				sizeChange[0] = 1;
+				return merge(this, hash, leaf, leaf.hash, shift);
+			}
+			for (int i = 0; i < leaves.length; i++) {
+				if (leaf.key.equals(leaves[i].key)) {
+					if (leaf.value == leaves[i].value) {
+						return this;
+					}
+					Leaf[] copy = leaves.clone();
+					copy[i] = leaf;
+					return new CollisionNode(hash, copy);
+				}
+			}
+			Leaf[] copy = Arrays.copyOf(leaves, leaves.length + 1);
+			copy[leaves.length] = leaf;
+			sizeChange[0] = 1;
+			return new CollisionNode(hash, copy);
+		}
+
+		@Override
+		Node remove(Object key, int hash, int shift, int[] sizeChange) {
+			if (hash != this.hash) {
+				return this;
+			}
+			for (int i = 0; i < leaves.length; i++) {
+				if (key.equals(leaves[i].key)) {
+					sizeChange[0] = -1;
+					if (leaves.length == 2) {
+						return leaves[1 - i];
+					}
+					Leaf[] copy = new Leaf[leaves.length - 1];
+					System.arraycopy(leaves, 0, copy, 0, i);
+					System.arraycopy(leaves, i + 1, copy, i, copy.length - i);
+					return new CollisionNode(hash, copy);
+				}
+			}
+			return this;
+		}
+
+		@Override
+		void forEach(BiConsumer<Object, Object> action) {
+			for (Leaf leaf : leaves) {
+				action.accept(leaf.key, leaf.value);
+			}
+		}
+	}
+
+	// Up to 32 children, one per 5-bit slice of the hash at this level
+	private static final class BitmapNode extends Node {
+
+		private final int bitmap;
+		private final Node[] children;
+
+		BitmapNode(int bitmap, Node[] children) {
+			this.bitmap = bitmap;
+			this.children = children;
+		}
+
+		private int index(int bit) {
+			return Integer.bitCount(bitmap & (bit - 1));
+		}
+
+		@Override
+		Object get(Object key, int hash, int shift) {
+			int bit = bit(hash, shift);
+			if ((bitmap & bit) == 0) {
+				return null;
+			}
+			return children[index(bit)].get(key, hash, shift + BITS);
+		}
+
+		@Override
+		Node put(Leaf leaf, int shift, int[] sizeChange) {
+			int bit = bit(leaf.hash, shift);
+			int index = index(bit);
+			if ((bitmap & bit) == 0) {
+				Node[] copy = new Node[children.length + 1];
+				System.arraycopy(children, 0, copy, 0, index);
+				copy[index] = leaf;
+				System.arraycopy(children, index, copy, index + 1, children.length - index);
+				sizeChange[0] = 1;
+				return new BitmapNode(bitmap | bit, copy);
+			}
+			Node child = children[index];
+			Node newChild = child.put(leaf, shift + BITS, sizeChange);
+			if (newChild == child) {
+				return this;
+			}
+			Node[] copy = children.clone();
+			copy[index] = newChild;
+			return new BitmapNode(bitmap, copy);
+		}
+
+		@Override
+		Node remove(Object key, int hash, int shift, int[] sizeChange) {
+			int bit = bit(hash, shift);
+			if ((bitmap & bit) == 0) {
+				return this;
+			}
+			int index = index(bit);
+			Node child = children[index];
+			Node newChild = child.remove(key, hash, shift + BITS, sizeChange);
+			if (newChild == child) {
+				return this;
+			}
+			if (newChild != null) {
+				// A lone leaf moves up so that the trie stays as shallow as possible
+				if (children.length == 1 && !(newChild instanceof BitmapNode)) {
+					return newChild;
+				}
+				Node[] copy = children.clone();
+				copy[index] = newChild;
+				return new BitmapNode(bitmap, copy);
+			}
+			if (children.length == 1) {
+				return null;
+			}
+			if (children.length == 2 && !(children[1 - index] instanceof BitmapNode)) {
+				return children[1 - index];
+			}
+			Node[] copy = new Node[children.length - 1];
+			System.arraycopy(children, 0, copy, 0, index);
+			System.arraycopy(children, index + 1, copy, index, copy.length - index);
+			return new BitmapNode(bitmap & ~bit, copy);
+		}
+
+		@Override
+		void forEach(BiConsumer<Object, Object> action) {
+			for (Node child : children) {
+				child.forEach(action);
+			}
+		}
+	}
+}
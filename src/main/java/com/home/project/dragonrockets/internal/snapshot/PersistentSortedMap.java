@@ -0,0 +1,143 @@
+package com.home.project.dragonrockets.internal.snapshot;
+
+import java.util.function.BiConsumer;
+
+// Immutable sorted map: a treap whose node priorities are derived from the key
+// hashes, so the same keys always make the same tree. plus and minus copy only
+// the search path, O(log n) nodes on average, and share the rest.
+public final class PersistentSortedMap<K extends Comparable<? super K>, V> {
+
+	private static final PersistentSortedMap<?, ?> EMPTY = new PersistentSortedMap<>(null, 0);
+
+	private final Node<K, V> root;
+	private final int size;
+
+	private PersistentSortedMap(Node<K, V> root, int size) {
+		this.root = root;
+		this.size = size;
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <K extends Comparable<? super K>, V> PersistentSortedMap<K, V> empty() {
+		return (PersistentSortedMap<K, V>) EMPTY;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public V get(K key) {
+		Node<K, V> node = root;
+		while (node != null) {
+			int comparison = key.compareTo(node.key);
+			if (comparison == 0) {
+				return node.value;
+			}
+			node = comparison < 0 ? node.left : node.right;
+		}
+		return null;
+	}
+
+	public PersistentSortedMap<K, V> plus(K key, V value) {
+		int[] sizeChange = new int[1];
+		Node<K, V> newRoot = insert(root, key, value, priority(key), sizeChange);
+		return new PersistentSortedMap<>(newRoot, size + sizeChange[0]);
+	}
+
+	public PersistentSortedMap<K, V> minus(K key) {
+		Node<K, V> newRoot = remove(root, key);
+		return newRoot == root ? this : new PersistentSortedMap<>(newRoot, size - 1);
+	}
+
+	// Entries in ascending key order
+	public void forEach(BiConsumer<? super K, ? super V> action) {
+		forEach(root, action);
+	}
+
+	private static <K extends Comparable<? super K>, V> Node<K, V> insert(Node<K, V> node, K key, V value,
+			int priority, int[] sizeChange) {
+		if (node == null) {
+			sizeChange[0] = 1;
+			return new Node<>(key, value, priority, null, null);
+		}
+		int comparison = key.compareTo(node.key);
+		if (comparison == 0) {
+			return new Node<>(key, value, node.priority, node.left, node.right);
+		}
+		if (comparison < 0) {
+			Node<K, V> left = insert(node.left, key, value, priority, sizeChange);
+			if (left.priority > node.priority) {
+				// Rotate right so the higher priority stays on top
+				return new Node<>(left.key, left.value, left.priority, left.left,
+						new Node<>(node.key, node.value, node.priority, left.right, node.right));
+			}
+			return new Node<>(node.key, node.value, node.priority, left, node.right);
+		}
+		Node<K, V> right = insert(node.right, key, value, priority, sizeChange);
+		if (right.priority > node.priority) {
+			return new Node<>(right.key, right.value, right.priority,
+					new Node<>(node.key, node.value, node.priority, node.left, right.left), right.right);
+		}
+		return new Node<>(node.key, node.value, node.priority, node.left, right);
+	}
+
+	private static <K extends Comparable<? super K>, V> Node<K, V> remove(Node<K, V> node, K key) {
+		if (node == null) {
+			return null;
+		}
+		int comparison = key.compareTo(node.key);
+		if (comparison == 0) {
+			return join(node.left, node.right);
+		}
+		if (comparison < 0) {
+			Node<K, V> left = remove(node.left, key);
+			return left == node.left ? node : new Node<>(node.key, node.value, node.priority, left, node.right);
+		}
+		Node<K, V> right = remove(node.right, key);
+		return right == node.right ? node : new Node<>(node.key, node.value, node.priority, node.left, right);
+	}
+
+	// Merges two subtrees where every key of left is smaller than every key of right
+	private static <K, V> Node<K, V> join(Node<K, V> left, Node<K, V> right) {
+		if (left == null) {
+			return right;
+		}
+		if (right == null) {
+			return left;
+		}
+		if (left.priority > right.priority) {
+			return new Node<>(left.key, left.value, left.priority, left.left, join(left.right, right));
+		}
+		return new Node<>(right.key, right.value, right.priority, join(left, right.left), right.right);
+	}
+
+	private static <K, V> void forEach(Node<K, V> node, BiConsumer<? super K, ? super V> action) {
+		while (node != null) {
+			forEach(node.left, action);
+			action.accept(node.key, node.value);
+			node = node.right;
+		}
+	}
+
+	private static int priority(Object key) {
+		int hash = key.hashCode() * 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+
+	private static final class Node<K, V> {
+
+		final K key;
+		final V value;
+		final int priority;
+		final Node<K, V> left;
+		final Node<K, V> right;
+
+		Node(K key, V value, int priority, Node<K, V> left, Node<K, V> right) {
+			this.key = key;
+			this.value = value;
+			this.priority = priority;
+			this.left = left;
+			this.right = right;
+		}
+	}
+}
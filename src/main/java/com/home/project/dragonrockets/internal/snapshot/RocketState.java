@@ -0,0 +1,12 @@
+package com.home.project.dragonrockets.internal.snapshot;
+
+import com.home.project.dragonrockets.internal.model.Rocket;
+import com.home.project.dragonrockets.internal.model.RocketStatus;
+
+// Immutable version of a rocket; missionName is null while it is unassigned
+public record RocketState(String name, RocketStatus status, String missionName) {
+
+	static RocketState of(Rocket rocket) {
+		return new RocketState(rocket.getName(), rocket.getStatus(), rocket.getAssignedMissionName());
+	}
+}
@@ -0,0 +1,139 @@
+package com.home.project.dragonrockets.internal.snapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+import com.home.project.dragonrockets.internal.model.Mission;
+import com.home.project.dragonrockets.internal.model.MissionStatus;
+import com.home.project.dragonrockets.internal.model.Rocket;
+import com.home.project.dragonrockets.internal.model.RocketStatus;
+import com.home.project.dragonrockets.internal.service.MutationListener;
+
+// Keeps an immutable copy of the fleet in step with the mutable one. The
+// callbacks of one service operation are collected and published together in
+// a single compare-and-set when the operation finishes, so a snapshot never
+// shows half of an operation, e.g. a rocket assigned to a mission that does
+// not list it yet, or only some rockets of a batch.
+public class SnapshotPublisher implements MutationListener {
+
+	private final AtomicReference<FleetSnapshot> current;
+	private final ThreadLocal<Operation> operation = ThreadLocal.withInitial(Operation::new);
+
+	// The given rockets and missions must not change during construction
+	public SnapshotPublisher(Iterable<Rocket> rockets, Iterable<Mission> missions) {
+		FleetSnapshot snapshot = FleetSnapshot.EMPTY;
+		for (Rocket rocket : rockets) {
+			snapshot = snapshot.withRocket(RocketState.of(rocket));
+		}
+		for (Mission mission : missions) {
+			snapshot = snapshot.withMission(MissionState.of(mission));
+		}
+		this.current = new AtomicReference<>(snapshot);
+	}
+
+	public FleetSnapshot current() {
+		return current.get();
+	}
+
+	@Override
+	public void operationStarted() {
+		operation.get().depth++;
+	}
+
+	@Override
+	public void operationFinished() {
+		Operation running = operation.get();
+		// The operation that registered this publisher started before it and
+		// finishes with a depth of 0
+		if (running.depth > 0 && --running.depth > 0) {
+			return;
+		}
+		if (!running.changes.isEmpty()) {
+			List<UnaryOperator<FleetSnapshot>> changes = running.changes;
+			current.updateAndGet(snapshot -> {
+				for (UnaryOperator<FleetSnapshot> change : changes) {
+					snapshot = change.apply(snapshot);
+				}
+				return snapshot;
+			});
+			changes.clear();
+		}
+	}
+
+	@Override
+	public void rocketAdded(Rocket rocket) {
+		RocketState state = RocketState.of(rocket);
+		update(snapshot -> snapshot.withRocket(state));
+	}
+
+	@Override
+	public void missionAdded(Mission mission) {
+		MissionState state = MissionState.of(mission);
+		update(snapshot -> snapshot.withMission(state));
+	}
+
+	@Override
+	public void rocketAssigned(Rocket rocket, Mission mission) {
+		// The mission's rocket list is extended from its previous version rather
+		// than copied from the live mission, which may already hold rockets of
+		// the same batch whose own callbacks are still to come
+		RocketState state = RocketState.of(rocket);
+		update(snapshot -> snapshot.withRocketAndMission(state,
+				missionState(snapshot, mission).withRocket(state.name())));
+	}
+
+	@Override
+	public void rocketUnassigned(Rocket rocket, Mission mission) {
+		RocketState state = RocketState.of(rocket);
+		update(snapshot -> snapshot.withRocketAndMission(state,
+				missionState(snapshot, mission).withoutRocket(state.name())));
+	}
+
+	@Override
+	public void rocketStatusChanged(Rocket rocket, RocketStatus previousStatus) {
+		RocketState state = RocketState.of(rocket);
+		update(snapshot -> snapshot.withRocket(state));
+	}
+
+	@Override
+	public void missionStatusChanged(Mission mission, MissionStatus previousStatus, boolean automatic) {
+		MissionStatus newStatus = mission.getStatus();
+		update(snapshot -> snapshot.withMission(missionState(snapshot, mission).withStatus(newStatus)));
+	}
+
+	@Override
+	public void rocketRemoved(Rocket rocket) {
+		String rocketName = rocket.getName();
+		update(snapshot -> snapshot.withoutRocket(rocketName));
+	}
+
+	@Override
+	public void missionRemoved(Mission mission) {
+		String missionName = mission.getName();
+		update(snapshot -> snapshot.withoutMission(missionName));
+	}
+
+	private MissionState missionState(FleetSnapshot snapshot, Mission mission) {
+		return snapshot.findMission(mission.getName()).orElseGet(() -> MissionState.of(mission));
+	}
+
+	// Writers of different stripes may race when publishing; the loser reapplies
+	// its changes on top of the winner's version, which holds none of the
+	// loser's entities. Callbacks outside of an operation are published at once.
+	private void update(UnaryOperator<FleetSnapshot> change) {
+		Operation running = operation.get();
+		if (running.depth == 0) {
+			current.updateAndGet(change);
+		} else {
+			running.changes.add(change);
+		}
+	}
+
+	private static final class Operation {
+
+		int depth;
+		final List<UnaryOperator<FleetSnapshot>> changes = new ArrayList<>();
+	}
+}
@@ -0,0 +1,126 @@
+package com.home.project.dragonrockets.internal.transaction;
+
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.home.project.dragonrockets.internal.model.Mission;
+import com.home.project.dragonrockets.internal.model.MissionStatus;
+import com.home.project.dragonrockets.internal.model.Rocket;
+import com.home.project.dragonrockets.internal.model.RocketStatus;
+import com.home.project.dragonrockets.internal.service.MutationListener;
+
+// Version numbers of rockets and missions, raised on every mutation while the
+// entity's lock is held. The entry of a removed entity is kept until every
+// transaction that was running at the removal has finished: one of them may
+// have seen the entity missing before it was added and removed again, and
+// must not find version 0 back. Later transactions cannot tell the pruned
+// entry from an entity that never existed, so nothing is lost.
+class EntityVersions implements MutationListener {
+
+	private final Map<String, Long> rocketVersions = new ConcurrentHashMap<>();
+	private final Map<String, Long> missionVersions = new ConcurrentHashMap<>();
+	// Orders transaction starts and removals
+	private final AtomicLong clock = new AtomicLong();
+	private final NavigableSet<Long> runningTransactions = new ConcurrentSkipListSet<>();
+	private final Queue<Removal> removals = new ConcurrentLinkedQueue<>();
+
+	// Must be called before the transaction reads its first version; returns
+	// the ticket for finished
+	synchronized long started() {
+		long start = clock.incrementAndGet();
+		runningTransactions.add(start);
+		return start;
+	}
+
+	void finished(long start) {
+		runningTransactions.remove(start);
+		prune();
+	}
+
+	long rocketVersion(String rocketName) {
+		return rocketVersions.getOrDefault(rocketName, 0L);
+	}
+
+	long missionVersion(String missionName) {
+		return missionVersions.getOrDefault(missionName, 0L);
+	}
+
+	@Override
+	public void rocketAdded(Rocket rocket) {
+		bumpRocket(rocket);
+	}
+
+	@Override
+	public void missionAdded(Mission mission) {
+		bumpMission(mission.getName());
+	}
+
+	@Override
+	public void rocketAssigned(Rocket rocket, Mission mission) {
+		bumpRocket(rocket);
+		bumpMission(mission.getName());
+	}
+
+	@Override
+	public void rocketUnassigned(Rocket rocket, Mission mission) {
+		bumpRocket(rocket);
+		bumpMission(mission.getName());
+	}
+
+	@Override
+	public void rocketStatusChanged(Rocket rocket, RocketStatus previousStatus) {
+		// The mission's rocket counts per status change as well
+		bumpRocket(rocket);
+		if (rocket.getAssignedMissionName() != null) {
+			bumpMission(rocket.getAssignedMissionName());
+		}
+	}
+
+	@Override
+	public void missionStatusChanged(Mission mission, MissionStatus previousStatus, boolean automatic) {
+		bumpMission(mission.getName());
+	}
+
+	@Override
+	public void rocketRemoved(Rocket rocket) {
+		removed(rocketVersions, rocket.getName(), bumpRocket(rocket));
+	}
+
+	@Override
+	public void missionRemoved(Mission mission) {
+		removed(missionVersions, mission.getName(), bumpMission(mission.getName()));
+	}
+
+	private long bumpRocket(Rocket rocket) {
+		return rocketVersions.merge(rocket.getName(), 1L, Long::sum);
+	}
+
+	private long bumpMission(String missionName) {
+		return missionVersions.merge(missionName, 1L, Long::sum);
+	}
+
+	private void removed(Map<String, Long> versions, String name, long version) {
+		removals.add(new Removal(versions, name, version, clock.incrementAndGet()));
+		prune();
+	}
+
+	// Serialized with started(), so no transaction can start between reading
+	// the oldest running one and dropping the entries it may not see
+	private synchronized void prune() {
+		Long oldest = runningTransactions.ceiling(Long.MIN_VALUE);
+		Removal removal;
+		while ((removal = removals.peek()) != null && (oldest == null || removal.removedAt() < oldest)) {
+			removals.poll();
+			// Entities added again since then keep their entry
+			removal.versions().remove(removal.name(), removal.version());
+		}
+	}
+
+	private record Removal(Map<String, Long> versions, String name, long version, long removedAt) {
+	}
+}
@@ -0,0 +1,229 @@
+package com.home.project.dragonrockets.internal.transaction;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.home.project.dragonrockets.internal.concurrent.StripedLocks;
+import com.home.project.dragonrockets.internal.exception.MissionNotFoundException;
+import com.home.project.dragonrockets.internal.exception.RocketAlreadyAssignedException;
+import com.home.project.dragonrockets.internal.exception.RocketNotFoundException;
+import com.home.project.dragonrockets.internal.model.Mission;
+import com.home.project.dragonrockets.internal.model.MissionStatus;
+import com.home.project.dragonrockets.internal.model.Rocket;
+import com.home.project.dragonrockets.internal.model.RocketStatus;
+import com.home.project.dragonrockets.internal.service.MissionService;
+
+// One attempt of a transaction. Reads and operations work on private copies of
+// the rockets and missions involved, taken together with their versions on
+// first use. Every operation is checked against the copies right away and
+// only recorded; nothing reaches the fleet before the transaction commits.
+public final class Transaction {
+
+	private final TransactionManager manager;
+	private final Map<String, RocketCopy> rockets = new HashMap<>();
+	private final Map<String, MissionCopy> missions = new HashMap<>();
+	private final List<Runnable> operations = new ArrayList<>();
+
+	Transaction(TransactionManager manager) {
+		this.manager = manager;
+	}
+
+	public RocketStatus rocketStatus(String rocketName) {
+		return existingRocket(rocketName).status;
+	}
+
+	// null while the rocket is unassigned
+	public String assignedMission(String rocketName) {
+		return existingRocket(rocketName).missionName;
+	}
+
+	public MissionStatus missionStatus(String missionName) {
+		return existingMission(missionName).status;
+	}
+
+	public void assignRocketToMission(String rocketName, String missionName) {
+		RocketCopy rocket = existingRocket(rocketName);
+		MissionCopy mission = existingMission(missionName);
+		MissionService.checkAssignment(rocketName, rocket.missionName, mission.status);
+
+		mission.add(rocket.status);
+		rocket.missionName = missionName;
+		operations.add(() -> manager.missionService().assignRocketToMission(rocketName, missionName));
+	}
+
+	public void unassignRocketFromMission(String rocketName) {
+		RocketCopy rocket = existingRocket(rocketName);
+		if (rocket.missionName == null) {
+			throw new RocketAlreadyAssignedException("Rocket '" + rocketName + "' is not assigned to any mission.");
+		}
+
+		mission(rocket.missionName).remove(rocket.status);
+		rocket.missionName = null;
+		rocket.status = RocketStatus.ON_GROUND;
+		operations.add(() -> manager.missionService().unassignRocketFromMission(rocketName));
+	}
+
+	public void changeRocketStatus(String rocketName, RocketStatus newStatus) {
+		RocketCopy rocket = existingRocket(rocketName);
+		if (rocket.missionName != null) {
+			MissionCopy mission = mission(rocket.missionName);
+			mission.remove(rocket.status);
+			mission.add(newStatus);
+			// The automatic switch to 'Pending' made by RocketService
+			if (mission.countsByStatus[RocketStatus.IN_REPAIR.ordinal()] > 0 && mission.status != MissionStatus.PENDING) {
+				mission.status = MissionStatus.PENDING;
+			}
+		}
+		rocket.status = newStatus;
+		operations.add(() -> manager.rocketService().changeRocketStatus(rocketName, newStatus));
+	}
+
+	public void changeMissionStatus(String missionName, MissionStatus newStatus) {
+		MissionCopy mission = existingMission(missionName);
+		MissionService.checkStatusChange(newStatus, mission.rocketCount,
+				mission.countsByStatus[RocketStatus.IN_REPAIR.ordinal()]);
+
+		mission.status = newStatus;
+		operations.add(() -> manager.missionService().changeMissionStatus(missionName, newStatus));
+	}
+
+	boolean isEmpty() {
+		return rockets.isEmpty() && missions.isEmpty();
+	}
+
+	BitSet stripes(StripedLocks locks) {
+		BitSet stripes = new BitSet(locks.stripeCount());
+		for (String rocketName : rockets.keySet()) {
+			stripes.set(locks.rocketStripe(rocketName));
+		}
+		for (String missionName : missions.keySet()) {
+			stripes.set(locks.missionStripe(missionName));
+		}
+		return stripes;
+	}
+
+	// Must be called with the locks of all copied entities held
+	boolean isCurrent() {
+		EntityVersions versions = manager.versions();
+		for (RocketCopy rocket : rockets.values()) {
+			if (versions.rocketVersion(rocket.name) != rocket.version) {
+				return false;
+			}
+		}
+		for (MissionCopy mission : missions.values()) {
+			if (versions.missionVersion(mission.name) != mission.version) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// The operations cannot fail here: they were checked against copies that
+	// still match the fleet, and the locks keep it that way. Their listeners only
+	// buffer in memory once the storage check has passed, and none of them adds
+	// a record or a name that would grow an off-heap store.
+	void apply() {
+		for (Runnable operation : operations) {
+			operation.run();
+		}
+	}
+
+	private RocketCopy existingRocket(String rocketName) {
+		RocketCopy rocket = rocket(rocketName);
+		if (!rocket.exists) {
+			throw new RocketNotFoundException("Rocket '" + rocketName + "' not found.");
+		}
+		return rocket;
+	}
+
+	private MissionCopy existingMission(String missionName) {
+		MissionCopy mission = mission(missionName);
+		if (!mission.exists) {
+			throw new MissionNotFoundException("Mission '" + missionName + "' not found.");
+		}
+		return mission;
+	}
+
+	// The version is read before the state, so a concurrent change that the
+	// copy may have partly seen always shows up as a newer version at commit
+	private RocketCopy rocket(String rocketName) {
+		RocketCopy rocket = rockets.get(rocketName);
+		if (rocket == null) {
+			rocket = new RocketCopy(rocketName, manager.versions().rocketVersion(rocketName));
+			Optional<Rocket> current = manager.rocketRepository().findByName(rocketName);
+			if (current.isPresent()) {
+				rocket.exists = true;
+				rocket.status = current.get().getStatus();
+				rocket.missionName = current.get().getAssignedMissionName();
+			}
+			rockets.put(rocketName, rocket);
+			// The assigned mission is part of the transaction too, as its rocket
+			// counts and status follow the rocket's
+			if (rocket.missionName != null) {
+				mission(rocket.missionName);
+			}
+		}
+		return rocket;
+	}
+
+	private MissionCopy mission(String missionName) {
+		MissionCopy mission = missions.get(missionName);
+		if (mission == null) {
+			mission = new MissionCopy(missionName, manager.versions().missionVersion(missionName));
+			Optional<Mission> current = manager.missionRepository().findByName(missionName);
+			if (current.isPresent()) {
+				mission.exists = true;
+				mission.status = current.get().getStatus();
+				mission.rocketCount = current.get().getAssignedRockets().size();
+				for (RocketStatus status : RocketStatus.values()) {
+					mission.countsByStatus[status.ordinal()] = current.get().countRocketsWithStatus(status);
+				}
+			}
+			missions.put(missionName, mission);
+		}
+		return mission;
+	}
+
+	private static final class RocketCopy {
+
+		private final String name;
+		private final long version;
+		private boolean exists;
+		private RocketStatus status;
+		private String missionName;
+
+		RocketCopy(String name, long version) {
+			this.name = name;
+			this.version = version;
+		}
+	}
+
+	private static final class MissionCopy {
+
+		private final String name;
+		private final long version;
+		private final int[] countsByStatus = new int[RocketStatus.values().length];
+		private boolean exists;
+		private MissionStatus status;
+		private int rocketCount;
+
+		MissionCopy(String name, long version) {
+			this.name = name;
+			this.version = version;
+		}
+
+		void add(RocketStatus rocketStatus) {
+			rocketCount++;
+			countsByStatus[rocketStatus.ordinal()]++;
+		}
+
+		void remove(RocketStatus rocketStatus) {
+			rocketCount--;
+			countsByStatus[rocketStatus.ordinal()]--;
+		}
+	}
+}
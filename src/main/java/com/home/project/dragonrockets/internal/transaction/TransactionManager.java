@@ -0,0 +1,123 @@
+package com.home.project.dragonrockets.internal.transaction;
+
+import java.util.function.Consumer;
+
+import com.home.project.dragonrockets.internal.concurrent.StripedLocks;
+import com.home.project.dragonrockets.internal.exception.TransactionConflictException;
+import com.home.project.dragonrockets.internal.repository.MissionRepository;
+import com.home.project.dragonrockets.internal.repository.RocketStore;
+import com.home.project.dragonrockets.internal.service.MissionService;
+import com.home.project.dragonrockets.internal.service.MutationListener;
+import com.home.project.dragonrockets.internal.service.RocketService;
+
+// Runs transactions optimistically: the body is executed without locks against
+// private copies, then the locks of the rockets and missions it touched are
+// taken, and the recorded operations are applied only if none of those
+// entities has changed in the meantime. Otherwise the body runs again, up to
+// MAX_ATTEMPTS times.
+public class TransactionManager {
+
+	static final int MAX_ATTEMPTS = 1000;
+
+	private final RocketService rocketService;
+	private final MissionService missionService;
+	private final RocketStore rocketRepository;
+	private final MissionRepository missionRepository;
+	private final StripedLocks locks;
+	private final Runnable storageCheck;
+	private final EntityVersions versions = new EntityVersions();
+
+	// storageCheck runs under the locks right before a commit and throws if the
+	// storage behind the listeners, e.g. the write-ahead log, cannot take it
+	public TransactionManager(RocketService rocketService, MissionService missionService,
+			RocketStore rocketRepository, MissionRepository missionRepository, StripedLocks locks,
+			Runnable storageCheck) {
+		this.rocketService = rocketService;
+		this.missionService = missionService;
+		this.rocketRepository = rocketRepository;
+		this.missionRepository = missionRepository;
+		this.locks = locks;
+		this.storageCheck = storageCheck;
+	}
+
+	// Must receive every mutation, starting before the first transaction
+	public MutationListener versionTracker() {
+		return versions;
+	}
+
+	// The body may run several times and must not have side effects of its own.
+	// An exception thrown by the body (including the rule violations of the
+	// transaction's operations) aborts the transaction without applying anything,
+	// and so does running into concurrent changes MAX_ATTEMPTS times in a row.
+	public void execute(Consumer<Transaction> body) {
+		for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+			long start = versions.started();
+			try {
+				if (attempt(body)) {
+					return;
+				}
+			} finally {
+				versions.finished(start);
+			}
+			// Give the conflicting writer a chance to finish before running again
+			Thread.yield();
+		}
+		throw new TransactionConflictException(
+				"Transaction gave up after " + MAX_ATTEMPTS + " attempts that ran into concurrent changes.");
+	}
+
+	// false if the transaction ran into a concurrent change and has to run again
+	private boolean attempt(Consumer<Transaction> body) {
+		Transaction transaction = new Transaction(this);
+		try {
+			body.accept(transaction);
+		} catch (RuntimeException e) {
+			// The body may have seen another transaction half-way through; it
+			// only fails if the copies it failed on were up to date
+			if (isCurrent(transaction)) {
+				throw e;
+			}
+			return false;
+		}
+		if (transaction.isEmpty()) {
+			return true;
+		}
+
+		// All operations run under one guard, so the commit reaches the change
+		// journal and the snapshot as a single operation
+		try (StripedLocks.Guard guard = locks.lock(transaction.stripes(locks))) {
+			if (transaction.isCurrent()) {
+				storageCheck.run();
+				transaction.apply();
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isCurrent(Transaction transaction) {
+		try (StripedLocks.Guard guard = locks.lock(transaction.stripes(locks))) {
+			return transaction.isCurrent();
+		}
+	}
+
+	RocketService rocketService() {
+		return rocketService;
+	}
+
+	MissionService missionService() {
+		return missionService;
+	}
+
+	RocketStore rocketRepository() {
+		return rocketRepository;
+	}
+
+	MissionRepository missionRepository() {
+		return missionRepository;
+	}
+
+	EntityVersions versions() {
+		return versions;
+	}
+}
@@ -0,0 +1,255 @@
+package com.home.project.dragonrockets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.home.project.dragonrockets.internal.concurrent.SerialExecutor;
+import com.home.project.dragonrockets.internal.exception.RocketNotFoundException;
+import com.home.project.dragonrockets.internal.model.Mission;
+import com.home.project.dragonrockets.internal.model.MissionStatus;
+import com.home.project.dragonrockets.internal.model.Rocket;
+import com.home.project.dragonrockets.internal.model.RocketStatus;
+
+class AsyncSpaceXManagerTest {
+
+	private SpaceXManager spaceXManager;
+	private AsyncSpaceXManager asyncManager;
+
+	@BeforeEach
+	void setUp() {
+		spaceXManager = new SpaceXManager();
+		asyncManager = new AsyncSpaceXManager(spaceXManager);
+	}
+
+	@AfterEach
+	void tearDown() {
+		asyncManager.close();
+		spaceXManager.close();
+	}
+
+	@Test
+	void shouldCompleteFuturesWithResultsAndErrors() throws Exception {
+		// Given
+		asyncManager.addMission(new Mission("Mars"));
+		asyncManager.addRocket(new Rocket("Dragon 1")).get();
+
+		// When
+		CompletableFuture<Void> assignment = asyncManager.assignRocketToMission("Dragon 1", "Mars");
+		CompletableFuture<Void> unknown = asyncManager.changeRocketStatus("Dragon 2", RocketStatus.IN_SPACE);
+
+		// Then
+		assignment.get();
+		assertEquals("Dragon 1 - On Ground - Mission: Mars", asyncManager.getRocketInfo("Dragon 1").get());
+		ExecutionException exception = assertThrows(ExecutionException.class, unknown::get);
+		assertInstanceOf(RocketNotFoundException.class, exception.getCause());
+	}
+
+	@Test
+	void shouldRunOperationsOnSameMissionInSubmissionOrder() throws Exception {
+		// Given
+		int rocketCount = 500;
+		spaceXManager.addMission(new Mission("Mars"));
+		List<String> expected = new ArrayList<>();
+		expected.add("Mars - In Progress - Dragons: " + rocketCount);
+		for (int i = 0; i < rocketCount; i++) {
+			spaceXManager.addRocket(new Rocket("Dragon " + i));
+			expected.add("\t- Dragon " + i + " - On Ground");
+		}
+
+		// When: the mission is started right after the assignments were submitted
+		List<CompletableFuture<Void>> futures = new ArrayList<>();
+		for (int i = 0; i < rocketCount; i++) {
+			futures.add(asyncManager.assignRocketToMission("Dragon " + i, "Mars"));
+		}
+		futures.add(asyncManager.changeMissionStatus("Mars", MissionStatus.IN_PROGRESS));
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get();
+
+		// Then: rockets were assigned in submission order, and before the start
+		assertEquals(expected, spaceXManager.getMissionSummary());
+	}
+
+	@Test
+	void shouldRunRocketOperationsAfterPendingAssignment() throws Exception {
+		// Given
+		int rocketCount = 200;
+		spaceXManager.addMission(new Mission("Mars"));
+
+		// When: every rocket is added, assigned and unassigned again without waiting
+		List<CompletableFuture<Void>> futures = new ArrayList<>();
+		for (int i = 0; i < rocketCount; i++) {
+			futures.add(asyncManager.addRocket(new Rocket("Dragon " + i)));
+			futures.add(asyncManager.assignRocketToMission("Dragon " + i, "Mars"));
+			futures.add(asyncManager.changeRocketStatus("Dragon " + i, RocketStatus.IN_SPACE));
+			futures.add(asyncManager.unassignRocketFromMission("Dragon " + i));
+		}
+
+		// Then: every operation ran after the ones submitted before it
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(30, TimeUnit.SECONDS);
+		assertEquals(List.of("Mars - Scheduled - Dragons: 0"), spaceXManager.getMissionSummary());
+		assertEquals(rocketCount, spaceXManager.findRocketsByStatus(RocketStatus.ON_GROUND).size());
+	}
+
+	@Test
+	void shouldHandleManyOperationsInFlight() throws Exception {
+		// Given
+		int missionCount = 20_000;
+
+		// When: every operation is submitted before any result is awaited
+		List<CompletableFuture<Void>> futures = new ArrayList<>(missionCount);
+		for (int i = 0; i < missionCount; i++) {
+			futures.add(asyncManager.addMission(new Mission("Mission " + i)));
+		}
+		CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(30, TimeUnit.SECONDS);
+
+		// Then
+		assertEquals(missionCount, spaceXManager.findMissionsByStatus(MissionStatus.SCHEDULED).size());
+	}
+
+	@Test
+	void shouldOrderRocketOperationsByActualMissionAfterFailedAssignment() throws Exception {
+		// Given: an executor that runs the latest task first, so that only
+		// mailboxes keep operations in order
+		Deque<Runnable> tasks = new ArrayDeque<>();
+		AsyncSpaceXManager lifoManager = new AsyncSpaceXManager(spaceXManager, tasks::push);
+		spaceXManager.addMission(new Mission("Mars"));
+		spaceXManager.addMission(new Mission("Luna"));
+		spaceXManager.changeMissionStatus("Luna", MissionStatus.ENDED);
+		spaceXManager.addRocket(new Rocket("Dragon 1"));
+		CompletableFuture<Void> failedAssignment = lifoManager.assignRocketToMission("Dragon 1", "Luna");
+		runAll(tasks);
+		assertThrows(ExecutionException.class, failedAssignment::get);
+		assertEquals(List.of("Dragon 1"), spaceXManager.allocateRockets("Mars", 1, null));
+
+		// When
+		CompletableFuture<Void> repair = lifoManager.changeRocketStatus("Dragon 1", RocketStatus.IN_REPAIR);
+		CompletableFuture<Void> start = lifoManager.changeMissionStatus("Mars", MissionStatus.IN_PROGRESS);
+		runAll(tasks);
+
+		// Then: the repair ran first on Mars's mailbox, so Mars cannot start
+		repair.get();
+		assertThrows(ExecutionException.class, start::get);
+		assertEquals(List.of("Mars - Pending - Dragons: 1", "\t- Dragon 1 - In Repair"),
+				spaceXManager.getMissionSummary(0, 1));
+	}
+
+	@Test
+	void shouldRunTasksPerKeyInOrderAndReleaseIdleKeys() throws Exception {
+		// Given
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		SerialExecutor serialExecutor = new SerialExecutor(executor);
+		List<List<Integer>> seen = new ArrayList<>();
+		for (int key = 0; key < 8; key++) {
+			seen.add(Collections.synchronizedList(new ArrayList<>()));
+		}
+
+		// When
+		for (int i = 0; i < 10_000; i++) {
+			int key = i % 8;
+			int value = i;
+			serialExecutor.execute(key, () -> seen.get(key).add(value));
+		}
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+		// Then
+		for (int key = 0; key < 8; key++) {
+			List<Integer> values = seen.get(key);
+			assertEquals(1250, values.size());
+			for (int i = 1; i < values.size(); i++) {
+				assertTrue(values.get(i - 1) < values.get(i));
+			}
+		}
+		assertEquals(0, serialExecutor.activeKeys());
+	}
+
+	@Test
+	void shouldReleaseKeyAndFailTasksWhenExecutorRejects() {
+		// Given: an executor that rejects everything until it is opened
+		AtomicBoolean open = new AtomicBoolean();
+		Executor executor = task -> {
+			if (!open.get()) {
+				throw new RejectedExecutionException("Shut down");
+			}
+			task.run();
+		};
+		SerialExecutor serialExecutor = new SerialExecutor(executor);
+		List<String> rejected = new ArrayList<>();
+		List<String> ran = new ArrayList<>();
+
+		// When
+		assertThrows(RejectedExecutionException.class,
+				() -> serialExecutor.execute("Mars", () -> ran.add("first"), e -> rejected.add("first")));
+		open.set(true);
+		serialExecutor.execute("Mars", () -> ran.add("second"), e -> rejected.add("second"));
+
+		// Then: the rejected task failed and the key did not stay blocked
+		assertEquals(List.of("first"), rejected);
+		assertEquals(List.of("second"), ran);
+		assertEquals(0, serialExecutor.activeKeys());
+	}
+
+	@Test
+	void shouldRunTaskWithSeveralKeysAfterEarlierTasksOfEachKey() throws Exception {
+		// Given
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		SerialExecutor serialExecutor = new SerialExecutor(executor);
+		List<String> order = Collections.synchronizedList(new ArrayList<>());
+		CountDownLatch release = new CountDownLatch(1);
+		CountDownLatch finished = new CountDownLatch(1);
+
+		// When: a task for both keys waits behind a slow task of one of them
+		serialExecutor.execute("Dragon 1", () -> {
+			awaitQuietly(release);
+			order.add("rocket");
+		});
+		serialExecutor.execute("Mars", () -> order.add("mission"));
+		serialExecutor.execute(List.of("Dragon 1", "Mars"), () -> order.add("assignment"), e -> {
+		});
+		serialExecutor.execute("Mars", () -> {
+			order.add("later mission");
+			finished.countDown();
+		});
+		release.countDown();
+		// Shutting down earlier would reject the mailbox resumed after the assignment
+		assertTrue(finished.await(10, TimeUnit.SECONDS));
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+		// Then
+		assertEquals("assignment", order.get(2));
+		assertEquals("later mission", order.get(3));
+		assertEquals(0, serialExecutor.activeKeys());
+	}
+
+	private static void runAll(Deque<Runnable> tasks) {
+		while (!tasks.isEmpty()) {
+			tasks.pop().run();
+		}
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
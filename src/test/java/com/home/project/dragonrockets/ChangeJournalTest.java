@@ -0,0 +1,113 @@
+package com.home.project.dragonrockets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.home.project.dragonrockets.internal.event.Change;
+import com.home.project.dragonrockets.internal.event.ChangeJournal;
+import com.home.project.dragonrockets.internal.event.ChangeSet;
+import com.home.project.dragonrockets.internal.model.Rocket;
+
+class ChangeJournalTest {
+
+	@Test
+	void shouldReturnChangesPageByPage() {
+		// Given
+		ChangeJournal journal = new ChangeJournal(16);
+		for (int i = 1; i <= 5; i++) {
+			journal.rocketAdded(new Rocket("Dragon " + i));
+		}
+
+		// When
+		ChangeSet first = journal.changesSince(0, 3);
+		ChangeSet second = journal.changesSince(first.nextSequence(), 3);
+
+		// Then
+		assertEquals(List.of(1L, 2L, 3L), sequences(first));
+		assertEquals(List.of(4L, 5L), sequences(second));
+		assertEquals(5, second.latestSequence());
+		assertEquals(5, second.nextSequence());
+		assertFalse(first.truncated() || second.truncated());
+		assertTrue(journal.changesSince(5, 3).changes().isEmpty());
+	}
+
+	@Test
+	void shouldReportTruncationWhenOldChangesWereOverwritten() {
+		// Given: more changes than the journal holds
+		ChangeJournal journal = new ChangeJournal(4);
+		for (int i = 1; i <= 10; i++) {
+			journal.rocketAdded(new Rocket("Dragon " + i));
+		}
+
+		// When
+		ChangeSet changes = journal.changesSince(2, 100);
+
+		// Then: only the retained changes are returned
+		assertTrue(changes.truncated());
+		assertEquals(List.of(7L, 8L, 9L, 10L), sequences(changes));
+		assertFalse(journal.changesSince(6, 100).truncated());
+	}
+
+	@Test
+	void shouldReportTruncationForUnknownSequence() {
+		// Given: a sequence issued by a journal before a restart
+		ChangeJournal journal = new ChangeJournal(4);
+		journal.rocketAdded(new Rocket("Dragon 1"));
+
+		// When & Then
+		assertTrue(journal.changesSince(42, 10).truncated());
+		assertThrows(IllegalArgumentException.class, () -> journal.changesSince(-1, 10));
+	}
+
+	@Test
+	void shouldPublishChangesOfOneOperationTogether() {
+		// Given
+		ChangeJournal journal = new ChangeJournal(16);
+		journal.operationStarted();
+		journal.rocketAdded(new Rocket("Dragon 1"));
+		journal.rocketAdded(new Rocket("Dragon 2"));
+
+		// When & Then: nothing is visible before the operation finishes
+		assertEquals(0, journal.latestSequence());
+		assertTrue(journal.changesSince(0, 10).changes().isEmpty());
+		journal.operationFinished();
+		assertEquals(List.of(1L, 2L), sequences(journal.changesSince(0, 10)));
+	}
+
+	@Test
+	void shouldPublishContiguousSequencesFromConcurrentWriters() throws InterruptedException {
+		// Given
+		ChangeJournal journal = new ChangeJournal(4096);
+		Thread[] writers = new Thread[4];
+		for (int t = 0; t < writers.length; t++) {
+			int writer = t;
+			writers[t] = new Thread(() -> {
+				for (int i = 0; i < 500; i++) {
+					journal.rocketAdded(new Rocket("Dragon " + writer + "-" + i));
+				}
+			});
+		}
+
+		// When
+		for (Thread writer : writers) {
+			writer.start();
+		}
+		for (Thread writer : writers) {
+			writer.join();
+		}
+
+		// Then: every change is visible exactly once, in sequence order
+		ChangeSet changes = journal.changesSince(0, 4096);
+		assertEquals(2000, journal.latestSequence());
+		assertEquals(LongStream.rangeClosed(1, 2000).boxed().toList(), sequences(changes));
+		assertEquals(2000, changes.changes().stream().map(change -> change.event()).distinct().count());
+	}
+
+	private List<Long> sequences(ChangeSet changes) {
+		return changes.changes().stream().map(Change::sequence).toList();
+	}
+}
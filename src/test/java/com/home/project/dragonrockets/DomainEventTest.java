@@ -0,0 +1,167 @@
+package com.home.project.dragonrockets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.home.project.dragonrockets.internal.event.Change;
+import com.home.project.dragonrockets.internal.event.ChangeSet;
+import com.home.project.dragonrockets.internal.event.DomainEvent;
+import com.home.project.dragonrockets.internal.event.EventSubscription;
+import com.home.project.dragonrockets.internal.event.OverflowPolicy;
+import com.home.project.dragonrockets.internal.model.Mission;
+import com.home.project.dragonrockets.internal.model.MissionStatus;
+import com.home.project.dragonrockets.internal.model.Rocket;
+import com.home.project.dragonrockets.internal.model.RocketStatus;
+
+class DomainEventTest {
+
+	@Test
+	void shouldPublishEventForEveryMutation() {
+		// Given
+		List<DomainEvent> received = Collections.synchronizedList(new ArrayList<>());
+		try (SpaceXManager spaceXManager = new SpaceXManager()) {
+			EventSubscription subscription = spaceXManager.subscribe(received::add);
+
+			// When
+			spaceXManager.addMission(new Mission("Mars"));
+			spaceXManager.addRocket(new Rocket("Dragon 1"));
+			spaceXManager.assignRocketToMission("Dragon 1", "Mars");
+			spaceXManager.changeRocketStatus("Dragon 1", RocketStatus.IN_REPAIR);
+			spaceXManager.unassignRocketFromMission("Dragon 1");
+			spaceXManager.removeRocket("Dragon 1");
+			spaceXManager.changeMissionStatus("Mars", MissionStatus.ENDED);
+			spaceXManager.removeMission("Mars");
+			subscription.close();
+		}
+
+		// Then: closing delivers everything that was buffered
+		assertEquals(List.of(
+				new DomainEvent.MissionAdded("Mars", MissionStatus.SCHEDULED),
+				new DomainEvent.RocketAdded("Dragon 1", RocketStatus.ON_GROUND),
+				new DomainEvent.RocketAssigned("Dragon 1", "Mars"),
+				new DomainEvent.RocketStatusChanged("Dragon 1", RocketStatus.ON_GROUND, RocketStatus.IN_REPAIR),
+				new DomainEvent.MissionStatusChanged("Mars", MissionStatus.SCHEDULED, MissionStatus.PENDING, true),
+				new DomainEvent.RocketUnassigned("Dragon 1", "Mars"),
+				new DomainEvent.RocketRemoved("Dragon 1"),
+				new DomainEvent.MissionStatusChanged("Mars", MissionStatus.PENDING, MissionStatus.ENDED, false),
+				new DomainEvent.MissionRemoved("Mars")), received);
+	}
+
+	@Test
+	void shouldDropEventsForSlowSubscriberInsteadOfStallingMutations() throws InterruptedException {
+		// Given: a subscriber stuck on its first event
+		CountDownLatch release = new CountDownLatch(1);
+		List<DomainEvent> received = Collections.synchronizedList(new ArrayList<>());
+		try (SpaceXManager spaceXManager = new SpaceXManager()) {
+			EventSubscription subscription = spaceXManager.subscribe(event -> {
+				awaitQuietly(release);
+				received.add(event);
+			}, 4, OverflowPolicy.DROP);
+
+			// When: far more mutations than the buffer holds
+			for (int i = 0; i < 100; i++) {
+				spaceXManager.addRocket(new Rocket("Dragon " + i));
+			}
+			release.countDown();
+			subscription.close();
+
+			// Then: mutations completed, and every event was either delivered or counted
+			assertEquals(100, received.size() + subscription.droppedEvents());
+			assertTrue(subscription.droppedEvents() > 0);
+			assertEquals(new DomainEvent.RocketAdded("Dragon 0", RocketStatus.ON_GROUND), received.get(0));
+		}
+	}
+
+	@Test
+	void shouldDeliverEveryEventWithBackpressureFromManyThreads() throws Exception {
+		// Given: a small buffer and a subscriber that waits for mutating threads
+		int threads = 4;
+		int rocketsPerThread = 500;
+		List<DomainEvent> received = Collections.synchronizedList(new ArrayList<>());
+		try (SpaceXManager spaceXManager = new SpaceXManager()) {
+			EventSubscription subscription = spaceXManager.subscribe(received::add, 8, OverflowPolicy.BLOCK);
+
+			// When
+			ExecutorService executor = Executors.newFixedThreadPool(threads);
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				int thread = t;
+				futures.add(executor.submit(() -> {
+					for (int i = 0; i < rocketsPerThread; i++) {
+						spaceXManager.addRocket(new Rocket("Dragon " + thread + "-" + i));
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+			executor.shutdown();
+			subscription.close();
+
+			// Then
+			assertEquals(0, subscription.droppedEvents());
+			assertEquals(threads * rocketsPerThread, received.size());
+			assertEquals(threads * rocketsPerThread, received.stream().distinct().count());
+		}
+	}
+
+	@Test
+	void shouldKeepDeliveringAfterSubscriberFailure() {
+		// Given
+		List<DomainEvent> received = Collections.synchronizedList(new ArrayList<>());
+		try (SpaceXManager spaceXManager = new SpaceXManager()) {
+			EventSubscription subscription = spaceXManager.subscribe(event -> {
+				if (event instanceof DomainEvent.MissionAdded) {
+					throw new IllegalStateException("Subscriber failure");
+				}
+				received.add(event);
+			});
+
+			// When
+			spaceXManager.addMission(new Mission("Mars"));
+			spaceXManager.addRocket(new Rocket("Dragon 1"));
+			subscription.close();
+
+			// Then
+			assertEquals(1, subscription.failedDeliveries());
+			assertEquals(List.of(new DomainEvent.RocketAdded("Dragon 1", RocketStatus.ON_GROUND)), received);
+		}
+	}
+
+	@Test
+	void shouldReturnChangesSinceSequence() {
+		// Given
+		try (SpaceXManager spaceXManager = new SpaceXManager()) {
+			spaceXManager.addMission(new Mission("Mars"));
+			spaceXManager.addRocket(new Rocket("Dragon 1"));
+			long synced = spaceXManager.changesSince(0, 10).nextSequence();
+
+			// When
+			spaceXManager.assignRocketToMission("Dragon 1", "Mars");
+			ChangeSet changes = spaceXManager.changesSince(synced, 10);
+
+			// Then: only the change made after the last sync is returned
+			assertEquals(2, synced);
+			assertEquals(List.of(new Change(3, new DomainEvent.RocketAssigned("Dragon 1", "Mars"))), changes.changes());
+			assertFalse(changes.truncated());
+		}
+	}
+
+		private void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,105 @@
+package com.home.project.dragonrockets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.home.project.dragonrockets.internal.codec.BinaryReader;
+import com.home.project.dragonrockets.internal.codec.ChangeCodec;
+import com.home.project.dragonrockets.internal.event.Change;
+import com.home.project.dragonrockets.internal.event.ChangeSet;
+import com.home.project.dragonrockets.internal.event.DomainEvent;
+import com.home.project.dragonrockets.internal.model.Mission;
+import com.home.project.dragonrockets.internal.model.MissionStatus;
+import com.home.project.dragonrockets.internal.model.Rocket;
+import com.home.project.dragonrockets.internal.model.RocketStatus;
+
+class FleetCodecTest {
+
+	@Test
+	void shouldExportAndImportWholeFleet() {
+		try (SpaceXManager source = new SpaceXManager(); SpaceXManager target = new SpaceXManager()) {
+			// Given: assignments made out of name order, several statuses and non-ASCII names
+			source.addMission(new Mission("Mars"));
+			source.addMission(new Mission("Luna Ω"));
+			for (String rocketName : List.of("Dragon 3", "Dragon 1", "Dragon 2", "Falcon Ä", "Spare")) {
+				source.addRocket(new Rocket(rocketName));
+			}
+			source.assignRocketToMission("Dragon 3", "Mars");
+			source.assignRocketToMission("Dragon 1", "Mars");
+			source.assignRocketToMission("Dragon 2", "Mars");
+			source.assignRocketToMission("Falcon Ä", "Luna Ω");
+			source.changeRocketStatus("Dragon 1", RocketStatus.IN_REPAIR);
+			source.changeRocketStatus("Falcon Ä", RocketStatus.IN_SPACE);
+			source.changeRocketStatus("Spare", RocketStatus.IN_REPAIR);
+
+			// When
+			ByteBuffer state = source.exportState();
+			target.importState(state);
+
+			// Then: the fleet is the same, down to the order of assigned rockets
+			assertEquals(source.getMissionSummary(), target.getMissionSummary());
+			assertEquals("Spare - In Repair - Mission: NOT ASSIGNED", target.getRocketInfo("Spare"));
+			assertEquals("Mars", target.findMissionsByStatus(MissionStatus.PENDING).get(0).getName());
+			assertEquals(0, state.position());
+		}
+	}
+
+	@Test
+	void shouldWriteRepeatedMissionNameOnce() {
+		// Given: many events naming the same mission
+		String missionName = "Mars Sample Return Campaign";
+		List<Change> changes = new ArrayList<>();
+		for (int i = 1; i <= 100; i++) {
+			changes.add(new Change(i, new DomainEvent.RocketAssigned("R" + i, missionName)));
+		}
+		changes.add(new Change(101, new DomainEvent.MissionStatusChanged(missionName, MissionStatus.SCHEDULED,
+				MissionStatus.PENDING, true)));
+		ChangeSet changeSet = new ChangeSet(changes, 120, false);
+
+		// When
+		ByteBuffer encoded = ChangeCodec.encode(changeSet);
+
+		// Then: the name costs a reference per event, and the changes survive unchanged
+		assertTrue(encoded.remaining() < 100 * 10, "Encoded size " + encoded.remaining());
+		assertEquals(changeSet, ChangeCodec.read(new BinaryReader(encoded)));
+	}
+
+	@Test
+	void shouldRejectUnknownFormatVersion() {
+		try (SpaceXManager source = new SpaceXManager(); SpaceXManager target = new SpaceXManager()) {
+			// Given: an export whose version byte follows the 4-byte magic
+			source.addRocket(new Rocket("Dragon 1"));
+			ByteBuffer state = source.exportState();
+			state.put(4, (byte) 99);
+
+			// When & Then
+			assertThrows(IllegalArgumentException.class, () -> target.importState(state));
+			assertTrue(target.getMissionSummary().isEmpty());
+		}
+	}
+
+	@Test
+	void shouldKeepStatusCodesStable() {
+		// Given: the codes already written to logs, snapshots and the wire
+		List<RocketStatus> rocketStatuses = List.of(RocketStatus.ON_GROUND, RocketStatus.IN_SPACE, RocketStatus.IN_REPAIR);
+		List<MissionStatus> missionStatuses = List.of(MissionStatus.SCHEDULED, MissionStatus.PENDING,
+				MissionStatus.IN_PROGRESS, MissionStatus.ENDED);
+
+		// Then: every code still means the same status, and unknown codes are rejected
+		for (int code = 0; code < rocketStatuses.size(); code++) {
+			assertEquals(code, rocketStatuses.get(code).getCode());
+			assertEquals(rocketStatuses.get(code), RocketStatus.fromCode(code));
+		}
+		for (int code = 0; code < missionStatuses.size(); code++) {
+			assertEquals(code, missionStatuses.get(code).getCode());
+			assertEquals(missionStatuses.get(code), MissionStatus.fromCode(code));
+		}
+		assertThrows(IllegalArgumentException.class, () -> RocketStatus.fromCode(rocketStatuses.size()));
+		assertThrows(IllegalArgumentException.class, () -> MissionStatus.fromCode(-1));
+	}
+}
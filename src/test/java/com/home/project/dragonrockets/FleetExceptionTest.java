@@ -0,0 +1,48 @@
+package com.home.project.dragonrockets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.home.project.dragonrockets.internal.exception.FleetException;
+import com.home.project.dragonrockets.internal.exception.RocketAlreadyAssignedException;
+import com.home.project.dragonrockets.internal.exception.RocketNotFoundException;
+
+class FleetExceptionTest {
+
+	@Test
+	void shouldSkipStackTraceWhenDisabled() {
+		// Given
+		boolean previous = FleetException.isStackTracesEnabled();
+		FleetException.setStackTracesEnabled(false);
+		try {
+			// When
+			RocketNotFoundException exception = new RocketNotFoundException("Rocket 'Dragon 1' not found.");
+
+			// Then
+			assertEquals(0, exception.getStackTrace().length);
+			assertEquals("Rocket 'Dragon 1' not found.", exception.getMessage());
+		} finally {
+			FleetException.setStackTracesEnabled(previous);
+		}
+		assertTrue(new RocketNotFoundException("Rocket 'Dragon 1' not found.").getStackTrace().length > 0);
+	}
+
+	@Test
+	void shouldBuildLazyMessageOnlyWhenRead() {
+		// Given
+		AtomicInteger builds = new AtomicInteger();
+		RocketAlreadyAssignedException exception = new RocketAlreadyAssignedException(() -> {
+			builds.incrementAndGet();
+			return "Rocket 'Dragon 1' is already assigned to mission 'Mars'.";
+		});
+
+		// When & Then
+		assertEquals(0, builds.get());
+		assertEquals("Rocket 'Dragon 1' is already assigned to mission 'Mars'.", exception.getMessage());
+		assertTrue(exception.toString().endsWith(exception.getMessage()));
+		assertEquals(1, builds.get());
+	}
+}
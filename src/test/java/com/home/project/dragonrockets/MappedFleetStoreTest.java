@@ -0,0 +1,231 @@
+package com.home.project.dragonrockets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.home.project.dragonrockets.internal.exception.RocketAlreadyAssignedException;
+import com.home.project.dragonrockets.internal.model.Mission;
+import com.home.project.dragonrockets.internal.model.MissionStatus;
+import com.home.project.dragonrockets.internal.model.Rocket;
+import com.home.project.dragonrockets.internal.model.RocketStatus;
+import com.home.project.dragonrockets.internal.offheap.MappedFleetStore;
+import com.home.project.dragonrockets.internal.persistence.FsyncPolicy;
+
+class MappedFleetStoreTest {
+
+	@TempDir
+	Path storeDirectory;
+
+	@Test
+	void shouldBehaveLikeTheHeapBackedManager() {
+		// Given: the same history applied to a heap-backed and an off-heap manager
+		try (MappedFleetStore store = new MappedFleetStore(storeDirectory)) {
+			SpaceXManager heap = new SpaceXManager();
+			SpaceXManager mapped = new SpaceXManager(store);
+
+			// When
+			createFleet(heap);
+			createFleet(mapped);
+
+			// Then
+			assertEquals(heap.getMissionSummary(), mapped.getMissionSummary());
+			assertEquals(heap.getRocketInfo("Dragon 2"), mapped.getRocketInfo("Dragon 2"));
+			assertEquals(heap.getRocketInfo("Dragon 4"), mapped.getRocketInfo("Dragon 4"));
+			assertEquals(2, store.missionCount());
+			assertEquals(4, store.rocketCount());
+		}
+	}
+
+	@Test
+	void shouldUnassignRocketFromTheMiddleOfAMission() {
+		// Given
+		try (MappedFleetStore store = new MappedFleetStore(storeDirectory)) {
+			SpaceXManager spaceXManager = new SpaceXManager(store);
+			spaceXManager.addMission(new Mission("Mars"));
+			for (int i = 1; i <= 3; i++) {
+				spaceXManager.addRocket(new Rocket("Dragon " + i));
+				spaceXManager.assignRocketToMission("Dragon " + i, "Mars");
+			}
+
+			// When
+			spaceXManager.unassignRocketFromMission("Dragon 2");
+
+			// Then
+			assertEquals(List.of("Mars - Scheduled - Dragons: 2", "\t- Dragon 1 - On Ground", "\t- Dragon 3 - On Ground"),
+					spaceXManager.getMissionSummary());
+			assertEquals("Dragon 2 - On Ground - Mission: NOT ASSIGNED", spaceXManager.getRocketInfo("Dragon 2"));
+			assertThrows(RocketAlreadyAssignedException.class,
+					() -> spaceXManager.assignRocketToMission("Dragon 3", "Mars"));
+		}
+	}
+
+	@Test
+	void shouldAllowNamesToBeReusedAfterRemoval() {
+		// Given
+		try (MappedFleetStore store = new MappedFleetStore(storeDirectory)) {
+			SpaceXManager spaceXManager = new SpaceXManager(store);
+			spaceXManager.addRocket(new Rocket("Dragon 1"));
+			spaceXManager.changeRocketStatus("Dragon 1", RocketStatus.IN_REPAIR);
+
+			// When
+			spaceXManager.removeRocket("Dragon 1");
+			spaceXManager.addRocket(new Rocket("Dragon 1"));
+
+			// Then
+			assertEquals("Dragon 1 - On Ground - Mission: NOT ASSIGNED", spaceXManager.getRocketInfo("Dragon 1"));
+			assertEquals(1, store.rocketCount());
+			assertThrows(IllegalArgumentException.class, () -> spaceXManager.addRocket(new Rocket("Dragon 1")));
+		}
+	}
+
+	@Test
+	void shouldFindRocketsByStatus() {
+		// Given
+		try (MappedFleetStore store = new MappedFleetStore(storeDirectory)) {
+			SpaceXManager spaceXManager = new SpaceXManager(store);
+			createFleet(spaceXManager);
+
+			// When
+			spaceXManager.removeRocket("Dragon 4");
+
+			// Then
+			assertEquals(List.of("Dragon 2"), spaceXManager.findRocketsByStatus(RocketStatus.IN_REPAIR).stream()
+					.map(Rocket::getName).toList());
+			assertEquals(List.of("Dragon 1", "Dragon 3"), spaceXManager.findRocketsByStatus(RocketStatus.ON_GROUND)
+					.stream().map(Rocket::getName).toList());
+			assertEquals(List.of("Luna"), spaceXManager.findMissionsByStatus(MissionStatus.PENDING).stream()
+					.map(Mission::getName).toList());
+		}
+	}
+
+	@Test
+	void shouldAllocateFreeRockets() {
+		// Given
+		try (MappedFleetStore store = new MappedFleetStore(storeDirectory)) {
+			SpaceXManager spaceXManager = new SpaceXManager(store);
+			createFleet(spaceXManager);
+
+			// When: only 'Dragon 4' is free
+			List<String> allocated = spaceXManager.allocateRockets("Luna", 1, null);
+
+			// Then
+			assertEquals(List.of("Dragon 4"), allocated);
+			assertEquals("Dragon 4 - On Ground - Mission: Luna", spaceXManager.getRocketInfo("Dragon 4"));
+			assertTrue(spaceXManager.findUnassignedRockets(null, 10).isEmpty());
+		}
+	}
+
+	@Test
+	void shouldGrowBeyondTheInitialMapping() {
+		// Given: more rockets than fit in the initial mapping and hash index
+		int rocketCount = 100_000;
+		try (MappedFleetStore store = new MappedFleetStore(storeDirectory)) {
+			SpaceXManager spaceXManager = new SpaceXManager(store);
+			spaceXManager.addMission(new Mission("Mars"));
+
+			// When
+			for (int i = 0; i < rocketCount; i++) {
+				spaceXManager.addRocket(new Rocket("Dragon " + i));
+				spaceXManager.assignRocketToMission("Dragon " + i, "Mars");
+			}
+
+			// Then
+			assertEquals(rocketCount, store.rocketCount());
+			assertEquals("Mars - Scheduled - Dragons: " + rocketCount, spaceXManager.getTopMissions(1).get(0));
+			assertEquals("Dragon 77777 - On Ground - Mission: Mars", spaceXManager.getRocketInfo("Dragon 77777"));
+		}
+	}
+
+	@Test
+	void shouldRestoreOffHeapFleetFromWriteAheadLog(@TempDir Path logDirectory) {
+		// Given: an off-heap fleet written through a write-ahead log
+		try (MappedFleetStore store = new MappedFleetStore(storeDirectory);
+				SpaceXManager spaceXManager = new SpaceXManager(store, logDirectory, FsyncPolicy.ALWAYS)) {
+			createFleet(spaceXManager);
+		}
+
+		// When: the store is opened again, empty, with the same log
+		try (MappedFleetStore store = new MappedFleetStore(storeDirectory);
+				SpaceXManager restored = new SpaceXManager(store, logDirectory, FsyncPolicy.ALWAYS)) {
+
+			// Then
+			SpaceXManager heap = new SpaceXManager();
+			createFleet(heap);
+			assertEquals(heap.getMissionSummary(), restored.getMissionSummary());
+			assertEquals(4, store.rocketCount());
+		}
+	}
+
+	@Test
+	void shouldReuseInfoLineOfUnchangedRocket() {
+		// Given
+		try (MappedFleetStore store = new MappedFleetStore(storeDirectory)) {
+			SpaceXManager spaceXManager = new SpaceXManager(store);
+			createFleet(spaceXManager);
+
+			// When
+			String first = spaceXManager.getRocketInfo("Dragon 1");
+			String second = spaceXManager.getRocketInfo("Dragon 1");
+
+			// Then: the second lookup returns the line cached by the first
+			assertSame(first, second);
+		}
+	}
+
+	@Test
+	void shouldKeepStatusIndexesConsistentUnderConcurrentUpdates() throws Exception {
+		// Given: rockets with neighbouring ids, whose index bits share words
+		int threads = 4;
+		int rocketsPerThread = 500;
+		try (MappedFleetStore store = new MappedFleetStore(storeDirectory)) {
+			SpaceXManager spaceXManager = new SpaceXManager(store);
+			for (int i = 0; i < threads * rocketsPerThread; i++) {
+				spaceXManager.addRocket(new Rocket("Dragon " + i));
+			}
+
+			// When: every thread changes the status of every threads-th rocket
+			ExecutorService executor = Executors.newFixedThreadPool(threads);
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				int offset = t;
+				futures.add(executor.submit(() -> {
+					for (int i = offset; i < threads * rocketsPerThread; i += threads) {
+						spaceXManager.changeRocketStatus("Dragon " + i, RocketStatus.IN_REPAIR);
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+			executor.shutdown();
+
+			// Then
+			assertEquals(threads * rocketsPerThread, spaceXManager.findRocketsByStatus(RocketStatus.IN_REPAIR).size());
+			assertTrue(spaceXManager.findRocketsByStatus(RocketStatus.ON_GROUND).isEmpty());
+			assertEquals(threads * rocketsPerThread,
+					spaceXManager.findUnassignedRockets(RocketStatus.IN_REPAIR, Integer.MAX_VALUE).size());
+		}
+	}
+
+	private void createFleet(SpaceXManager spaceXManager) {
+		spaceXManager.addMission(new Mission("Luna"));
+		spaceXManager.addMission(new Mission("Mars"));
+		for (int i = 1; i <= 4; i++) {
+			spaceXManager.addRocket(new Rocket("Dragon " + i));
+		}
+		spaceXManager.assignRocketToMission("Dragon 1", "Luna");
+		spaceXManager.assignRocketToMission("Dragon 2", "Luna");
+		spaceXManager.assignRocketToMission("Dragon 3", "Mars");
+		spaceXManager.changeRocketStatus("Dragon 2", RocketStatus.IN_REPAIR);
+		spaceXManager.changeMissionStatus("Mars", MissionStatus.IN_PROGRESS);
+	}
+}
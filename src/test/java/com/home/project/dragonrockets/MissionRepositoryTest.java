@@ -2,13 +2,16 @@ package com.home.project.dragonrockets;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import com.home.project.dragonrockets.internal.model.Mission;
 import com.home.project.dragonrockets.internal.model.MissionStatus;
+import com.home.project.dragonrockets.internal.model.Rocket;
 import com.home.project.dragonrockets.internal.repository.MissionRepository;
 
 class MissionRepositoryTest {
@@ -92,4 +95,77 @@ class MissionRepositoryTest {
 		// Then: no exception should be thrown
 		assertDoesNotThrow(() -> missionRepository.remove(nonExistentName));
 	}
+
+	@Test
+	void shouldKeepMissionsInSummaryOrder() {
+		// Given: missions with different numbers of rockets
+		Mission mars = new Mission("Mars");
+		Mission luna = new Mission("Luna");
+		Mission transit = new Mission("Transit");
+		missionRepository.addMission(mars);
+		missionRepository.addMission(luna);
+		missionRepository.addMission(transit);
+
+		// When: a rocket is added to 'Luna'
+		luna.assignRocket(new Rocket("Dragon 1"));
+		missionRepository.updateRocketCount(luna, 0);
+
+		// Then: 'Luna' comes first, the rest are sorted by name descending
+		assertEquals(List.of("Luna", "Transit", "Mars"), namesInSummaryOrder());
+	}
+
+	@Test
+	void shouldMoveMissionBackWhenRocketCountDecreases() {
+		// Given: 'Luna' leads the summary with one rocket
+		Mission mars = new Mission("Mars");
+		Mission luna = new Mission("Luna");
+		Rocket rocket = new Rocket("Dragon 1");
+		luna.assignRocket(rocket);
+		missionRepository.addMission(mars);
+		missionRepository.addMission(luna);
+		assertEquals(List.of("Luna", "Mars"), namesInSummaryOrder());
+
+		// When: the rocket is removed
+		luna.unassignRocket(rocket);
+		missionRepository.updateRocketCount(luna, 1);
+
+		// Then: missions are ordered by name only
+		assertEquals(List.of("Mars", "Luna"), namesInSummaryOrder());
+	}
+
+	@Test
+	void shouldRemoveMissionFromSummaryOrder() {
+		// Given
+		missionRepository.addMission(new Mission("Mars"));
+		missionRepository.addMission(new Mission("Luna"));
+
+		// When
+		missionRepository.remove("Mars");
+
+		// Then
+		assertEquals(List.of("Luna"), namesInSummaryOrder());
+	}
+
+	@Test
+	void shouldFindMissionsByStatus() {
+		// Given
+		Mission mars = new Mission("Mars");
+		Mission luna = new Mission("Luna");
+		missionRepository.addMission(mars);
+		missionRepository.addMission(luna);
+
+		// When
+		mars.setStatus(MissionStatus.ENDED);
+		missionRepository.updateStatus(mars, MissionStatus.SCHEDULED);
+
+		// Then
+		assertEquals(List.of(mars), missionRepository.findByStatus(MissionStatus.ENDED));
+		assertEquals(List.of(luna), missionRepository.findByStatus(MissionStatus.SCHEDULED));
+	}
+
+	private List<String> namesInSummaryOrder() {
+		return missionRepository.findAllInSummaryOrder().stream()
+				.map(Mission::getName)
+				.collect(Collectors.toList());
+	}
 }
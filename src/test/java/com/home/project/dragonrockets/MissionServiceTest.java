@@ -2,6 +2,7 @@ package com.home.project.dragonrockets;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -16,7 +17,9 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
+import com.home.project.dragonrockets.internal.concurrent.StripedLocks;
 import com.home.project.dragonrockets.internal.exception.InvalidStatusTransitionException;
 import com.home.project.dragonrockets.internal.exception.RocketNotFoundException;
 import com.home.project.dragonrockets.internal.model.Mission;
@@ -26,6 +29,7 @@ import com.home.project.dragonrockets.internal.model.RocketStatus;
 import com.home.project.dragonrockets.internal.repository.MissionRepository;
 import com.home.project.dragonrockets.internal.repository.RocketRepository;
 import com.home.project.dragonrockets.internal.service.MissionService;
+import com.home.project.dragonrockets.internal.service.MutationListener;
 
 class MissionServiceTest {
 
@@ -35,6 +39,9 @@ class MissionServiceTest {
 	@Mock
 	private RocketRepository rocketRepository;
 
+	@Spy
+	private StripedLocks locks = new StripedLocks();
+
 	@InjectMocks
 	private MissionService missionService;
 
@@ -46,6 +53,7 @@ class MissionServiceTest {
 	@Test
 	void shouldAddMission() {
 		Mission mockMission = mock(Mission.class);
+		when(mockMission.getName()).thenReturn("Mars");
 		missionService.addMission(mockMission);
 		verify(missionRepository, times(1)).addMission(mockMission);
 	}
@@ -74,6 +82,7 @@ class MissionServiceTest {
 		// Then
 		assertEquals(missionName, mockRocket.getAssignedMissionName());
 		assertTrue(mockMission.getAssignedRockets().contains(mockRocket));
+		verify(missionRepository, times(1)).updateRocketCount(mockMission, 0);
 		verify(rocketRepository, times(1)).findByName(rocketName);
 		verify(missionRepository, times(1)).findByName(missionName);
 	}
@@ -118,13 +127,10 @@ class MissionServiceTest {
 
 		Rocket mockRocket = mock(Rocket.class);
 		Mission mockMission = mock(Mission.class);
-		@SuppressWarnings("unchecked")
-		List<Rocket> mockRocketsInMission = mock(List.class);
 
 		when(rocketRepository.findByName(rocketName)).thenReturn(Optional.of(mockRocket));
 		when(missionRepository.findByName(missionName)).thenReturn(Optional.of(mockMission));
 		when(mockRocket.getAssignedMissionName()).thenReturn(missionName);
-		when(mockMission.getAssignedRockets()).thenReturn(mockRocketsInMission);
 
 		// When
 		missionService.unassignRocketFromMission(rocketName);
@@ -132,7 +138,7 @@ class MissionServiceTest {
 		// Then
 		verify(mockRocket).setAssignedMissionName(null);
 		verify(mockRocket).setStatus(RocketStatus.ON_GROUND);
-		verify(mockRocketsInMission, times(1)).remove(mockRocket);
+		verify(mockMission, times(1)).unassignRocket(mockRocket);
 	}
 
 	@Test
@@ -140,7 +146,7 @@ class MissionServiceTest {
 		// Given
 		String missionName = "Mars Mission";
 		Mission mockMission = new Mission(missionName);
-		mockMission.getAssignedRockets().add(new Rocket("Rocket 1"));
+		mockMission.assignRocket(new Rocket("Rocket 1"));
 
 		when(missionRepository.findByName(missionName)).thenReturn(Optional.of(mockMission));
 
@@ -172,11 +178,11 @@ class MissionServiceTest {
 		Rocket falcon3 = new Rocket("Falcon 3");
 		Mission firstMission = new Mission("First Mission");
 		Mission secondMission = new Mission("Second Mission");
-		firstMission.getAssignedRockets().add(falcon1);
-		firstMission.getAssignedRockets().add(falcon2);
-		secondMission.getAssignedRockets().add(falcon3);
+		firstMission.assignRocket(falcon1);
+		firstMission.assignRocket(falcon2);
+		secondMission.assignRocket(falcon3);
 
-		when(missionRepository.findAll()).thenReturn(Arrays.asList(firstMission, secondMission));
+		when(missionRepository.findAllInSummaryOrder()).thenReturn(Arrays.asList(firstMission, secondMission));
 
 		List<String> summary = missionService.getMissionSummary();
 
@@ -188,4 +194,29 @@ class MissionServiceTest {
 		assertEquals("Second Mission - Scheduled - Dragons: 1", summary.get(3));
 		assertTrue(summary.contains("\t- Falcon 3 - On Ground"));
 	}
+
+	@Test
+	void shouldNotifyListenerOnlyAboutSuccessfulAssignment() {
+		// Given
+		String rocketName = "Falcon 9";
+		Rocket rocket = new Rocket(rocketName);
+		Mission mission = new Mission("Mars");
+		Mission endedMission = new Mission("Ended Mission");
+		endedMission.setStatus(MissionStatus.ENDED);
+		MutationListener listener = mock(MutationListener.class);
+		missionService.setMutationListener(listener);
+
+		when(rocketRepository.findByName(rocketName)).thenReturn(Optional.of(rocket));
+		when(missionRepository.findByName("Mars")).thenReturn(Optional.of(mission));
+		when(missionRepository.findByName("Ended Mission")).thenReturn(Optional.of(endedMission));
+
+		// When
+		assertThrows(InvalidStatusTransitionException.class,
+				() -> missionService.assignRocketToMission(rocketName, "Ended Mission"));
+		missionService.assignRocketToMission(rocketName, "Mars");
+
+		// Then
+		verify(listener, never()).rocketAssigned(rocket, endedMission);
+		verify(listener, times(1)).rocketAssigned(rocket, mission);
+	}
 }
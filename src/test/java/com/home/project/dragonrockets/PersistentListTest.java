@@ -0,0 +1,56 @@
+package com.home.project.dragonrockets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.home.project.dragonrockets.internal.snapshot.PersistentList;
+
+class PersistentListTest {
+
+	@Test
+	void shouldLeaveOriginalUnchangedOnUpdate() {
+		// Given
+		PersistentList<String> original = PersistentList.<String>empty().plus("Dragon 1").plus("Dragon 2");
+
+		// When
+		PersistentList<String> extended = original.plus("Dragon 3");
+		PersistentList<String> shortened = extended.minus("Dragon 1");
+
+		// Then
+		assertEquals(List.of("Dragon 1", "Dragon 2"), original);
+		assertEquals(List.of("Dragon 1", "Dragon 2", "Dragon 3"), extended);
+		assertEquals(List.of("Dragon 2", "Dragon 3"), shortened);
+		assertSame(shortened, shortened.minus("Dragon 4"));
+	}
+
+	@Test
+	void shouldBehaveLikeArrayListForRandomUpdates() {
+		// Given: enough elements for a trie of three levels
+		Random random = new Random(42);
+		List<Integer> expected = new ArrayList<>();
+		PersistentList<Integer> list = PersistentList.empty();
+
+		// When
+		for (int i = 0; i < 40_000; i++) {
+			if (random.nextInt(50) == 0 && !expected.isEmpty()) {
+				Integer removed = expected.remove(random.nextInt(expected.size()));
+				list = list.minus(removed);
+			} else {
+				expected.add(i);
+				list = list.plus(i);
+			}
+		}
+
+		// Then
+		assertEquals(expected.size(), list.size());
+		assertEquals(expected, list);
+		assertEquals(expected, new ArrayList<>(list));
+		PersistentList<Integer> result = list;
+		assertThrows(IndexOutOfBoundsException.class, () -> result.get(expected.size()));
+	}
+}
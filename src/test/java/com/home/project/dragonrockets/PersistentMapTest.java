@@ -0,0 +1,70 @@
+package com.home.project.dragonrockets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.home.project.dragonrockets.internal.snapshot.PersistentMap;
+
+class PersistentMapTest {
+
+	@Test
+	void shouldLeaveOriginalUnchangedOnUpdate() {
+		// Given
+		PersistentMap<String, Integer> original = PersistentMap.<String, Integer>empty().plus("Dragon 1", 1);
+
+		// When
+		PersistentMap<String, Integer> updated = original.plus("Dragon 1", 2).plus("Dragon 2", 3);
+		PersistentMap<String, Integer> removed = updated.minus("Dragon 1");
+
+		// Then
+		assertEquals(1, original.get("Dragon 1"));
+		assertEquals(1, original.size());
+		assertEquals(2, updated.get("Dragon 1"));
+		assertEquals(2, updated.size());
+		assertNull(removed.get("Dragon 1"));
+		assertEquals(1, removed.size());
+		assertSame(removed, removed.minus("Dragon 1"));
+	}
+
+	@Test
+	void shouldBehaveLikeHashMapForRandomUpdates() {
+		// Given: keys with few distinct hash codes, to force collisions
+		Random random = new Random(42);
+		Map<CollidingKey, Integer> expected = new HashMap<>();
+		PersistentMap<CollidingKey, Integer> map = PersistentMap.empty();
+
+		// When
+		for (int i = 0; i < 20_000; i++) {
+			CollidingKey key = new CollidingKey(random.nextInt(2_000));
+			if (random.nextInt(3) == 0) {
+				expected.remove(key);
+				map = map.minus(key);
+			} else {
+				expected.put(key, i);
+				map = map.plus(key, i);
+			}
+		}
+
+		// Then
+		assertEquals(expected.size(), map.size());
+		for (int id = 0; id < 2_000; id++) {
+			assertEquals(expected.get(new CollidingKey(id)), map.get(new CollidingKey(id)));
+		}
+		Map<CollidingKey, Integer> iterated = new HashMap<>();
+		map.forEach(iterated::put);
+		assertEquals(expected, iterated);
+	}
+
+	private record CollidingKey(int id) {
+
+		@Override
+		public int hashCode() {
+			return id % 500 * 0x9E3779B9;
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package com.home.project.dragonrockets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+import com.home.project.dragonrockets.internal.snapshot.PersistentSortedMap;
+
+class PersistentSortedMapTest {
+
+	@Test
+	void shouldLeaveOriginalUnchangedOnUpdate() {
+		// Given
+		PersistentSortedMap<String, Integer> original = PersistentSortedMap.<String, Integer>empty().plus("Mars", 1);
+
+		// When
+		PersistentSortedMap<String, Integer> updated = original.plus("Mars", 2).plus("Luna", 3);
+		PersistentSortedMap<String, Integer> removed = updated.minus("Mars");
+
+		// Then
+		assertEquals(1, original.get("Mars"));
+		assertEquals(1, original.size());
+		assertEquals(2, updated.get("Mars"));
+		assertEquals(2, updated.size());
+		assertNull(removed.get("Mars"));
+		assertEquals(1, removed.size());
+		assertSame(removed, removed.minus("Mars"));
+	}
+
+	@Test
+	void shouldBehaveLikeTreeMapForRandomUpdates() {
+		// Given
+		Random random = new Random(42);
+		TreeMap<Integer, Integer> expected = new TreeMap<>();
+		PersistentSortedMap<Integer, Integer> map = PersistentSortedMap.empty();
+
+		// When
+		for (int i = 0; i < 20_000; i++) {
+			int key = random.nextInt(2_000);
+			if (random.nextInt(3) == 0) {
+				expected.remove(key);
+				map = map.minus(key);
+			} else {
+				expected.put(key, i);
+				map = map.plus(key, i);
+			}
+		}
+
+		// Then: same entries, in ascending key order
+		assertEquals(expected.size(), map.size());
+		List<Integer> keys = new ArrayList<>();
+		List<Integer> values = new ArrayList<>();
+		map.forEach((key, value) -> {
+			keys.add(key);
+			values.add(value);
+		});
+		assertEquals(new ArrayList<>(expected.keySet()), keys);
+		assertEquals(new ArrayList<>(expected.values()), values);
+	}
+}
@@ -0,0 +1,107 @@
+package com.home.project.dragonrockets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.home.project.dragonrockets.internal.exception.StaleReplicaException;
+import com.home.project.dragonrockets.internal.model.Mission;
+import com.home.project.dragonrockets.internal.model.Rocket;
+import com.home.project.dragonrockets.internal.model.RocketStatus;
+import com.home.project.dragonrockets.internal.replication.LocalReplicationSource;
+import com.home.project.dragonrockets.internal.replication.ReplicationServer;
+import com.home.project.dragonrockets.internal.replication.TcpReplicationSource;
+
+class ReadReplicaTest {
+
+	private SpaceXManager primary;
+
+	@BeforeEach
+	void setUp() {
+		primary = new SpaceXManager();
+		primary.addMission(new Mission("Mars"));
+		primary.addRocket(new Rocket("Dragon 1"));
+		primary.assignRocketToMission("Dragon 1", "Mars");
+	}
+
+	@AfterEach
+	void tearDown() {
+		primary.close();
+	}
+
+	@Test
+	void shouldStartFromImageAndFollowPrimary() {
+		try (ReadReplica replica = new ReadReplica(new LocalReplicationSource(primary))) {
+			// Given: the replica starts with the primary's fleet
+			assertEquals(primary.getMissionSummary(), replica.getMissionSummary());
+
+			// When: the primary changes, including the automatic switch to 'Pending'
+			primary.addRocket(new Rocket("Dragon 2"));
+			primary.assignRocketToMission("Dragon 2", "Mars");
+			primary.changeRocketStatus("Dragon 2", RocketStatus.IN_REPAIR);
+			primary.unassignRocketFromMission("Dragon 1");
+			long token = primary.latestSequence();
+
+			// Then: a read with the token sees all of it
+			assertEquals("Dragon 2 - In Repair - Mission: Mars", replica.getRocketInfo("Dragon 2", token));
+			assertEquals(primary.getMissionSummary(), replica.getMissionSummary(token));
+			assertEquals(token, replica.appliedSequence());
+		}
+	}
+
+	@Test
+	void shouldRebuildFromImageWhenJournalNoLongerHoldsChanges() {
+		try (ReadReplica replica = new ReadReplica(new LocalReplicationSource(primary), Duration.ofHours(1),
+				Duration.ofHours(1))) {
+			// Given: more changes than the primary's journal keeps
+			for (int i = 0; i < 70_000; i++) {
+				primary.changeRocketStatus("Dragon 1", i % 2 == 0 ? RocketStatus.IN_SPACE : RocketStatus.ON_GROUND);
+			}
+			primary.addRocket(new Rocket("Dragon 2"));
+
+			// When
+			replica.catchUp();
+
+			// Then
+			assertEquals(primary.getRocketInfo("Dragon 1"), replica.getRocketInfo("Dragon 1"));
+			assertEquals(primary.getRocketInfo("Dragon 2"), replica.getRocketInfo("Dragon 2"));
+			assertEquals(primary.latestSequence(), replica.appliedSequence());
+		}
+	}
+
+	@Test
+	void shouldReplicateOverTcp() {
+		try (ReplicationServer server = new ReplicationServer(primary, 0);
+				ReadReplica replica = new ReadReplica(new TcpReplicationSource("localhost", server.port()))) {
+			// When
+			primary.changeRocketStatus("Dragon 1", RocketStatus.IN_SPACE);
+			long token = primary.latestSequence();
+
+			// Then
+			assertEquals("Dragon 1 - In Space - Mission: Mars", replica.getRocketInfo("Dragon 1", token));
+			assertEquals(List.of("Mars - Scheduled - Dragons: 1", "\t- Dragon 1 - In Space"),
+					replica.getMissionSummary(token));
+		}
+	}
+
+	@Test
+	void shouldRejectReadsWhenTooStaleAndPrimaryIsUnreachable() {
+		ReplicationServer server = new ReplicationServer(primary, 0);
+		try (ReadReplica replica = new ReadReplica(new TcpReplicationSource("localhost", server.port()),
+				Duration.ofHours(1), Duration.ZERO)) {
+			// Given
+			assertEquals("Dragon 1 - On Ground - Mission: Mars", replica.getRocketInfo("Dragon 1"));
+
+			// When
+			server.close();
+
+			// Then
+			assertThrows(StaleReplicaException.class, () -> replica.getRocketInfo("Dragon 1"));
+		}
+	}
+}
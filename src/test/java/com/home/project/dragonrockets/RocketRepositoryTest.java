@@ -2,6 +2,7 @@ package com.home.project.dragonrockets;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -92,4 +93,82 @@ class RocketRepositoryTest {
 		// Then: no exception should be thrown
 		assertDoesNotThrow(() -> rocketRepository.remove(nonExistentName));
 	}
+
+	@Test
+	void shouldReuseIdsOfRemovedRocketsWithoutResolvingStaleIds() {
+		// Given
+		rocketRepository.addRocket(new Rocket("Dragon 0"));
+		int staleId = rocketRepository.findId("Dragon 0");
+		rocketRepository.remove("Dragon 0");
+
+		// When: far more names come and go than the dictionary keeps retired
+		int latestId = staleId;
+		for (int i = 1; i <= 10_000; i++) {
+			String name = "Dragon " + i;
+			rocketRepository.addRocket(new Rocket(name));
+			latestId = rocketRepository.findId(name);
+			rocketRepository.remove(name);
+		}
+		rocketRepository.addRocket(new Rocket("Dragon 0"));
+
+		// Then: slots are reused, the low bits of an id, and the old id is stale
+		assertTrue((latestId & ((1 << 25) - 1)) < 2048);
+		assertNotEquals(staleId, rocketRepository.findId("Dragon 0"));
+		assertNull(rocketRepository.getById(staleId));
+		assertEquals("Dragon 0", rocketRepository.getById(rocketRepository.findId("Dragon 0")).getName());
+	}
+
+	@Test
+	void shouldNeverResolveStaleIdAfterItsSlotRanOutOfGenerations() {
+		// Given
+		rocketRepository.addRocket(new Rocket("Dragon 0"));
+		int staleId = rocketRepository.findId("Dragon 0");
+		rocketRepository.remove("Dragon 0");
+
+		// When: every released slot is reused well over 64 times
+		for (int i = 1; i <= 100_000; i++) {
+			String name = "Dragon " + i;
+			rocketRepository.addRocket(new Rocket(name));
+
+			// Then: the old id never reaches a rocket added later
+			assertNull(rocketRepository.getById(staleId));
+			rocketRepository.remove(name);
+		}
+	}
+
+	@Test
+	void shouldFindRocketsByStatus() {
+		// Given
+		Rocket falcon = new Rocket("Falcon 9");
+		Rocket starship = new Rocket("Starship");
+		rocketRepository.addRocket(falcon);
+		rocketRepository.addRocket(starship);
+
+		// When: one rocket goes into repair and the other one is removed
+		falcon.setStatus(RocketStatus.IN_REPAIR);
+		rocketRepository.updateStatus(falcon, RocketStatus.ON_GROUND);
+		rocketRepository.remove("Starship");
+
+		// Then
+		assertEquals(List.of(falcon), rocketRepository.findByStatus(RocketStatus.IN_REPAIR));
+		assertTrue(rocketRepository.findByStatus(RocketStatus.ON_GROUND).isEmpty());
+	}
+
+	@Test
+	void shouldFindUnassignedRockets() {
+		// Given
+		Rocket falcon = new Rocket("Falcon 9");
+		Rocket starship = new Rocket("Starship");
+		rocketRepository.addRocket(falcon);
+		rocketRepository.addRocket(starship);
+
+		// When: one rocket is assigned
+		starship.setAssignedMissionName("Mars");
+		rocketRepository.updateAssignment(starship);
+
+		// Then
+		assertEquals(List.of(falcon), rocketRepository.findUnassigned(null, 10));
+		assertEquals(List.of(falcon), rocketRepository.findUnassigned(RocketStatus.ON_GROUND, 1));
+		assertTrue(rocketRepository.findUnassigned(RocketStatus.IN_SPACE, 10).isEmpty());
+	}
 }
@@ -14,7 +14,9 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
+import com.home.project.dragonrockets.internal.concurrent.StripedLocks;
 import com.home.project.dragonrockets.internal.exception.RocketAlreadyAssignedException;
 import com.home.project.dragonrockets.internal.exception.RocketNotFoundException;
 import com.home.project.dragonrockets.internal.model.Mission;
@@ -23,6 +25,7 @@ import com.home.project.dragonrockets.internal.model.Rocket;
 import com.home.project.dragonrockets.internal.model.RocketStatus;
 import com.home.project.dragonrockets.internal.repository.MissionRepository;
 import com.home.project.dragonrockets.internal.repository.RocketRepository;
+import com.home.project.dragonrockets.internal.service.MutationListener;
 import com.home.project.dragonrockets.internal.service.RocketService;
 
 class RocketServiceTest {
@@ -33,6 +36,9 @@ class RocketServiceTest {
 	@Mock
 	private MissionRepository missionRepository;
 
+	@Spy
+	private StripedLocks locks = new StripedLocks();
+
 	@InjectMocks
 	private RocketService rocketService;
 
@@ -44,6 +50,7 @@ class RocketServiceTest {
 	@Test
 	void shouldAddRocket() {
 		Rocket mockRocket = mock(Rocket.class);
+		when(mockRocket.getName()).thenReturn("Falcon 9");
 		rocketService.addRocket(mockRocket);
 		verify(rocketRepository, times(1)).addRocket(mockRocket);
 	}
@@ -89,7 +96,7 @@ class RocketServiceTest {
 		Rocket mockRocket = new Rocket(rocketName);
 		mockRocket.setAssignedMissionName(missionName);
 		Mission mockMission = new Mission(missionName);
-		mockMission.getAssignedRockets().add(mockRocket);
+		mockMission.assignRocket(mockRocket);
 
 		when(rocketRepository.findByName(rocketName)).thenReturn(Optional.of(mockRocket));
 		when(missionRepository.findByName(missionName)).thenReturn(Optional.of(mockMission));
@@ -139,9 +146,9 @@ class RocketServiceTest {
 		Mission mockMission = new Mission(missionName);
 
 		mockRocket.setAssignedMissionName(missionName);
-		mockMission.getAssignedRockets().add(mockRocket);
+		mockMission.assignRocket(mockRocket);
 
-		when(rocketRepository.findByName(rocketName)).thenReturn(Optional.of(mockRocket));
+		when(rocketRepository.getByName(rocketName)).thenReturn(mockRocket);
 		when(missionRepository.findByName(missionName)).thenReturn(Optional.of(mockMission));
 
 		String rocketInfo = rocketService.getRocketInfo(rocketName);
@@ -154,10 +161,33 @@ class RocketServiceTest {
 		String rocketName = "Starship";
 		Rocket mockRocket = new Rocket(rocketName);
 
-		when(rocketRepository.findByName(rocketName)).thenReturn(Optional.of(mockRocket));
+		when(rocketRepository.getByName(rocketName)).thenReturn(mockRocket);
 
 		String rocketInfo = rocketService.getRocketInfo(rocketName);
 
 		assertEquals("Starship - On Ground - Mission: NOT ASSIGNED", rocketInfo);
 	}
+
+	@Test
+	void shouldNotifyListenerAboutAutomaticPendingStatus() {
+		// Given: a rocket assigned to a scheduled mission and a listener
+		String rocketName = "Dragon 1";
+		String missionName = "ISS Mission";
+		Rocket rocket = new Rocket(rocketName);
+		rocket.setAssignedMissionName(missionName);
+		Mission mission = new Mission(missionName);
+		mission.assignRocket(rocket);
+		MutationListener listener = mock(MutationListener.class);
+		rocketService.setMutationListener(listener);
+
+		when(rocketRepository.findByName(rocketName)).thenReturn(Optional.of(rocket));
+		when(missionRepository.findByName(missionName)).thenReturn(Optional.of(mission));
+
+		// When
+		rocketService.changeRocketStatus(rocketName, RocketStatus.IN_REPAIR);
+
+		// Then: both the manual and the automatic change are reported
+		verify(listener, times(1)).rocketStatusChanged(rocket, RocketStatus.ON_GROUND);
+		verify(listener, times(1)).missionStatusChanged(mission, MissionStatus.SCHEDULED, true);
+	}
 }
@@ -0,0 +1,196 @@
+package com.home.project.dragonrockets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.home.project.dragonrockets.internal.exception.InsufficientRocketsException;
+import com.home.project.dragonrockets.internal.exception.InvalidStatusTransitionException;
+import com.home.project.dragonrockets.internal.model.Mission;
+import com.home.project.dragonrockets.internal.model.MissionStatus;
+import com.home.project.dragonrockets.internal.model.Rocket;
+import com.home.project.dragonrockets.internal.model.RocketStatus;
+import com.home.project.dragonrockets.internal.shard.LoopbackTransport;
+
+class ShardedSpaceXManagerTest {
+
+	private List<SpaceXManager> shards;
+	private ShardedSpaceXManager router;
+
+	@BeforeEach
+	void setUp() {
+		shards = List.of(new SpaceXManager(), new SpaceXManager(), new SpaceXManager());
+		router = new ShardedSpaceXManager(new LoopbackTransport(shards));
+	}
+
+	@AfterEach
+	void tearDown() {
+		router.close();
+	}
+
+	@Test
+	void shouldMoveRocketToMissionShardOnAssignmentAndBackOnUnassignment() {
+		// Given: a rocket and a mission on different shards
+		String missionName = nameOnShard("Mission ", 0);
+		String rocketName = nameOnShard("Dragon ", 1);
+		router.addMission(new Mission(missionName));
+		router.addRocket(new Rocket(rocketName));
+
+		// When
+		router.assignRocketToMission(rocketName, missionName);
+		router.changeRocketStatus(rocketName, RocketStatus.IN_REPAIR);
+
+		// Then: the rocket lives with its mission, whose status followed it
+		assertTrue(shards.get(0).findRocket(rocketName).isPresent());
+		assertTrue(shards.get(1).findRocket(rocketName).isEmpty());
+		assertEquals(rocketName + " - In Repair - Mission: " + missionName, router.getRocketInfo(rocketName));
+		assertEquals(List.of(missionName + " - Pending - Dragons: 1", "\t- " + rocketName + " - In Repair"),
+				router.getMissionSummary());
+
+		// When
+		router.unassignRocketFromMission(rocketName);
+
+		// Then
+		assertTrue(shards.get(0).findRocket(rocketName).isEmpty());
+		assertEquals(rocketName + " - On Ground - Mission: NOT ASSIGNED",
+				shards.get(1).getRocketInfo(rocketName));
+	}
+
+	@Test
+	void shouldKeepRocketHomeWhenAssignmentIsRejected() {
+		// Given
+		String missionName = nameOnShard("Mission ", 2);
+		String rocketName = nameOnShard("Dragon ", 0);
+		Mission ended = new Mission(missionName);
+		ended.setStatus(MissionStatus.ENDED);
+		router.addMission(ended);
+		router.addRocket(new Rocket(rocketName));
+
+		// When & Then
+		assertThrows(InvalidStatusTransitionException.class,
+				() -> router.assignRocketToMission(rocketName, missionName));
+		assertTrue(shards.get(0).findRocket(rocketName).isPresent());
+		assertTrue(shards.get(2).findRocket(rocketName).isEmpty());
+		assertThrows(IllegalArgumentException.class, () -> router.addRocket(new Rocket(rocketName)));
+	}
+
+	@Test
+	void shouldMergeShardSummariesInSummaryOrder() {
+		// Given: the same fleet in a single manager and spread over the shards
+		try (SpaceXManager single = new SpaceXManager()) {
+			for (int i = 0; i < 12; i++) {
+				Mission mission = new Mission("Mission " + i);
+				single.addMission(mission);
+				router.addMission(new Mission(mission.getName()));
+				for (int j = 0; j < i % 4; j++) {
+					String rocketName = "Dragon " + i + "-" + j;
+					single.addRocket(new Rocket(rocketName));
+					single.assignRocketToMission(rocketName, mission.getName());
+					router.addRocket(new Rocket(rocketName));
+					router.assignRocketToMission(rocketName, mission.getName());
+				}
+			}
+
+			// When & Then
+			assertEquals(single.getMissionSummary(), router.getMissionSummary());
+			assertEquals(single.getMissionSummary(3, 4), router.getMissionSummary(3, 4));
+			assertEquals(single.getTopMissions(2), router.getTopMissions(2));
+		}
+	}
+
+	@Test
+	void shouldAllocateFreeRocketsFromOtherShards() {
+		// Given: three free rockets, none of them on the mission's shard
+		String missionName = nameOnShard("Mission ", 0);
+		router.addMission(new Mission(missionName));
+		router.addRockets(List.of(new Rocket(nameOnShard("Dragon A", 1)), new Rocket(nameOnShard("Dragon B", 2)),
+				new Rocket(nameOnShard("Dragon C", 1))));
+
+		// When
+		List<String> allocated = router.allocateRockets(missionName, 2, null);
+
+		// Then
+		assertEquals(2, allocated.size());
+		assertEquals(1, router.findUnassignedRockets(null, 10).size());
+		assertEquals(missionName + " - Scheduled - Dragons: 2", router.getMissionSummary().get(0));
+		assertThrows(InsufficientRocketsException.class, () -> router.allocateRockets(missionName, 2, null));
+		assertEquals(1, router.findUnassignedRockets(null, 10).size());
+	}
+
+	@Test
+	void shouldPutRocketBackWhenMoveToMissionShardFails() {
+		// Given: the mission's shard already holds a rocket of the same name,
+		// added behind the router's back
+		String missionName = nameOnShard("Mission ", 0);
+		String rocketName = nameOnShard("Dragon ", 1);
+		router.addMission(new Mission(missionName));
+		router.addRocket(new Rocket(rocketName));
+		shards.get(0).addRocket(new Rocket(rocketName));
+
+		// When & Then
+		assertThrows(IllegalArgumentException.class, () -> router.assignRocketToMission(rocketName, missionName));
+		assertEquals(rocketName + " - On Ground - Mission: NOT ASSIGNED", router.getRocketInfo(rocketName));
+		assertTrue(shards.get(1).findRocket(rocketName).isPresent());
+	}
+
+	@Test
+	void shouldAllocateEveryRocketOnceWhenAllocationsRace() throws Exception {
+		// Given: free rockets on all shards and missions on all shards
+		int rocketCount = 60;
+		for (int i = 0; i < rocketCount; i++) {
+			router.addRocket(new Rocket("Dragon " + i));
+		}
+		List<String> missionNames = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			missionNames.add("Mission " + i);
+			router.addMission(new Mission("Mission " + i));
+		}
+
+		// When: the missions allocate one rocket at a time in parallel
+		ExecutorService executor = Executors.newFixedThreadPool(missionNames.size());
+		List<Future<Integer>> allocations = new ArrayList<>();
+		try {
+			for (String missionName : missionNames) {
+				allocations.add(executor.submit(() -> {
+					int allocated = 0;
+					for (int i = 0; i < rocketCount / missionNames.size(); i++) {
+						allocated += router.allocateRockets(missionName, 1, null).size();
+					}
+					return allocated;
+				}));
+			}
+			int allocated = 0;
+			for (Future<Integer> allocation : allocations) {
+				allocated += allocation.get();
+			}
+
+			// Then: every rocket lives on exactly one shard, assigned once
+			assertEquals(rocketCount, allocated);
+			for (int i = 0; i < rocketCount; i++) {
+				String rocketName = "Dragon " + i;
+				long copies = shards.stream().filter(shard -> shard.findRocket(rocketName).isPresent()).count();
+				assertEquals(1, copies, rocketName);
+				assertTrue(router.findRocket(rocketName).orElseThrow().getAssignedMissionName() != null, rocketName);
+			}
+			assertTrue(router.findUnassignedRockets(null, 10).isEmpty());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private String nameOnShard(String prefix, int shard) {
+		for (int i = 0;; i++) {
+			if (router.shardOf(prefix + i) == shard) {
+				return prefix + i;
+			}
+		}
+	}
+}
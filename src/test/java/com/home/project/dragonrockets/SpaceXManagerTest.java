@@ -2,21 +2,41 @@ package com.home.project.dragonrockets;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import com.home.project.dragonrockets.internal.event.DomainEvent;
+import com.home.project.dragonrockets.internal.exception.InsufficientRocketsException;
 import com.home.project.dragonrockets.internal.exception.InvalidStatusTransitionException;
 import com.home.project.dragonrockets.internal.exception.MissionHasAssignedRocketsException;
 import com.home.project.dragonrockets.internal.exception.MissionNotFoundException;
 import com.home.project.dragonrockets.internal.exception.RocketAlreadyAssignedException;
 import com.home.project.dragonrockets.internal.exception.RocketNotFoundException;
+import com.home.project.dragonrockets.internal.exception.TransactionConflictException;
+import com.home.project.dragonrockets.internal.model.AssignmentOutcome;
+import com.home.project.dragonrockets.internal.model.BatchFailure;
+import com.home.project.dragonrockets.internal.model.BatchResult;
 import com.home.project.dragonrockets.internal.model.Mission;
 import com.home.project.dragonrockets.internal.model.MissionStatus;
 import com.home.project.dragonrockets.internal.model.Rocket;
 import com.home.project.dragonrockets.internal.model.RocketStatus;
+import com.home.project.dragonrockets.internal.snapshot.FleetSnapshot;
 
 class SpaceXManagerTest {
 
@@ -41,13 +61,13 @@ class SpaceXManagerTest {
 		// When: assigning the rocket to the mission
 		spaceXManager.assignRocketToMission(rocketName, missionName);
 
-		Rocket assignedRocket = mission.getAssignedRockets().get(0);
+		Rocket assignedRocket = mission.getAssignedRockets().iterator().next();
 		assertEquals(RocketStatus.ON_GROUND, assignedRocket.getStatus());
 		assertEquals(missionName, assignedRocket.getAssignedMissionName());
 		assertEquals(missionName, rocket.getAssignedMissionName());
 
 		assertEquals(1, mission.getAssignedRockets().size());
-		assertEquals(RocketStatus.ON_GROUND, mission.getAssignedRockets().get(0).getStatus());
+		assertEquals(RocketStatus.ON_GROUND, mission.getAssignedRockets().iterator().next().getStatus());
 		assertEquals(MissionStatus.SCHEDULED, mission.getStatus());
 	}
 
@@ -115,6 +135,27 @@ class SpaceXManagerTest {
 
 	}
 
+	@Test
+	void shouldKeepAssignmentOrderAfterUnassigningFromTheMiddle() {
+		// Given: a mission with three rockets
+		Mission mission = new Mission("Mars");
+		spaceXManager.addMission(mission);
+		for (int i = 1; i <= 3; i++) {
+			spaceXManager.addRocket(new Rocket("Dragon " + i));
+			spaceXManager.assignRocketToMission("Dragon " + i, "Mars");
+		}
+
+		// When
+		spaceXManager.unassignRocketFromMission("Dragon 2");
+		spaceXManager.addRocket(new Rocket("Dragon 4"));
+		spaceXManager.assignRocketToMission("Dragon 4", "Mars");
+
+		// Then: the remaining rockets keep their order and the view is read-only
+		assertEquals(List.of("Mars - Scheduled - Dragons: 3", "\t- Dragon 1 - On Ground", "\t- Dragon 3 - On Ground",
+				"\t- Dragon 4 - On Ground"), spaceXManager.getMissionSummary());
+		assertThrows(UnsupportedOperationException.class, () -> mission.getAssignedRockets().clear());
+	}
+
 	@Test
 	void shouldThrowExceptionWhenUnassigningRocketNotAssignedToAnyMission() {
 		// Given: a rocket not assigned to any mission
@@ -193,6 +234,28 @@ class SpaceXManagerTest {
 		assertEquals(MissionStatus.PENDING, mission.getStatus());
 	}
 
+	@Test
+	void shouldTrackRocketsInRepairAcrossUnassignment() {
+		// Given: a pending mission whose only repaired rocket is unassigned
+		spaceXManager.addMission(new Mission("Mars"));
+		spaceXManager.addRocket(new Rocket("Dragon 1"));
+		spaceXManager.addRocket(new Rocket("Dragon 2"));
+		spaceXManager.assignRocketToMission("Dragon 1", "Mars");
+		spaceXManager.assignRocketToMission("Dragon 2", "Mars");
+		spaceXManager.changeRocketStatus("Dragon 1", RocketStatus.IN_REPAIR);
+		assertThrows(InvalidStatusTransitionException.class,
+				() -> spaceXManager.changeMissionStatus("Mars", MissionStatus.IN_PROGRESS));
+
+		// When
+		spaceXManager.unassignRocketFromMission("Dragon 1");
+
+		// Then: no rocket in repair is left, so the mission may proceed
+		assertThrows(InvalidStatusTransitionException.class,
+				() -> spaceXManager.changeMissionStatus("Mars", MissionStatus.PENDING));
+		spaceXManager.changeMissionStatus("Mars", MissionStatus.IN_PROGRESS);
+		assertEquals("Mars - In Progress - Dragons: 1", spaceXManager.getMissionSummary().get(0));
+	}
+
 	@Test
 	void shouldChangeMissionStatusToInProgress() {
 		// Given: a mission with assigned rocket
@@ -373,6 +436,78 @@ class SpaceXManagerTest {
 		}
 	}
 
+	@Test
+	void shouldReturnRequestedPageOfMissionSummary() {
+		// Given: three missions with 2, 1 and 0 rockets
+		spaceXManager.addMission(new Mission("Mars"));
+		spaceXManager.addMission(new Mission("Luna"));
+		spaceXManager.addMission(new Mission("Transit"));
+		spaceXManager.addRocket(new Rocket("Dragon 1"));
+		spaceXManager.addRocket(new Rocket("Dragon 2"));
+		spaceXManager.addRocket(new Rocket("Dragon 3"));
+		spaceXManager.assignRocketToMission("Dragon 1", "Luna");
+		spaceXManager.assignRocketToMission("Dragon 2", "Luna");
+		spaceXManager.assignRocketToMission("Dragon 3", "Mars");
+
+		// When: requesting the second and third missions
+		List<String> page = spaceXManager.getMissionSummary(1, 2);
+
+		// Then: only their lines are returned, in summary order
+		assertEquals(List.of(
+				"Mars - Scheduled - Dragons: 1",
+				"\t- Dragon 3 - On Ground",
+				"Transit - Scheduled - Dragons: 0"), page);
+		assertEquals(List.of(), spaceXManager.getMissionSummary(3, 10));
+	}
+
+	@Test
+	void shouldReturnTopMissions() {
+		spaceXManager.addMission(new Mission("Mars"));
+		spaceXManager.addMission(new Mission("Luna"));
+		spaceXManager.addRocket(new Rocket("Dragon 1"));
+		spaceXManager.assignRocketToMission("Dragon 1", "Luna");
+
+		assertEquals(List.of("Luna - Scheduled - Dragons: 1", "\t- Dragon 1 - On Ground"),
+				spaceXManager.getTopMissions(1));
+	}
+
+	@Test
+	void shouldThrowExceptionForNegativeSummaryPage() {
+		assertThrows(IllegalArgumentException.class, () -> spaceXManager.getMissionSummary(-1, 5));
+		assertThrows(IllegalArgumentException.class, () -> spaceXManager.getTopMissions(-1));
+	}
+
+	@Test
+	void shouldWriteMissionSummaryToAppendable() throws IOException {
+		// Given: a mission with one rocket and an empty mission
+		spaceXManager.addMission(new Mission("Mars"));
+		spaceXManager.addMission(new Mission("Luna"));
+		spaceXManager.addRocket(new Rocket("Dragon 1"));
+		spaceXManager.assignRocketToMission("Dragon 1", "Luna");
+		StringWriter writer = new StringWriter();
+
+		// When: writing the summary
+		spaceXManager.writeMissionSummary(writer);
+
+		// Then: the text matches the list summary line by line
+		String expected = String.join(System.lineSeparator(), spaceXManager.getMissionSummary())
+				+ System.lineSeparator();
+		assertEquals(expected, writer.toString());
+	}
+
+	@Test
+	void shouldStreamMissionSummaryLazily() {
+		spaceXManager.addMission(new Mission("Mars"));
+		spaceXManager.addMission(new Mission("Luna"));
+		spaceXManager.addRocket(new Rocket("Dragon 1"));
+		spaceXManager.assignRocketToMission("Dragon 1", "Luna");
+
+		assertEquals(spaceXManager.getMissionSummary(),
+				spaceXManager.streamMissionSummary().collect(Collectors.toList()));
+		assertEquals(List.of("Luna - Scheduled - Dragons: 1"),
+				spaceXManager.streamMissionSummary().limit(1).collect(Collectors.toList()));
+	}
+
 	@Test
 	void shouldReturnCorrectRocketInfo() {
 		String rocketName = "Falcon 1";
@@ -387,6 +522,29 @@ class SpaceXManagerTest {
 		assertEquals("Falcon 1 - In Space - Mission: Mars", spaceXManager.getRocketInfo(rocketName));
 	}
 
+	@Test
+	void shouldFindRocketsAndMissionsByStatus() {
+		// Given
+		spaceXManager.addMissions(List.of(new Mission("Luna"), new Mission("Mars")));
+		spaceXManager.addRockets(List.of(new Rocket("Dragon 1"), new Rocket("Dragon 2"), new Rocket("Dragon 3")));
+		spaceXManager.assignRocketsToMission("Mars", List.of("Dragon 1", "Dragon 2"));
+
+		// When: a rocket goes into repair, which also makes its mission pending
+		spaceXManager.changeRocketStatus("Dragon 1", RocketStatus.IN_REPAIR);
+		spaceXManager.changeRocketStatus("Dragon 2", RocketStatus.IN_SPACE);
+		spaceXManager.unassignRocketFromMission("Dragon 2");
+
+		// Then
+		assertEquals(List.of("Dragon 1"), names(spaceXManager.findRocketsByStatus(RocketStatus.IN_REPAIR)));
+		assertEquals(Set.of("Dragon 2", "Dragon 3"),
+				Set.copyOf(names(spaceXManager.findRocketsByStatus(RocketStatus.ON_GROUND))));
+		assertTrue(spaceXManager.findRocketsByStatus(RocketStatus.IN_SPACE).isEmpty());
+		assertEquals(List.of("Mars"), spaceXManager.findMissionsByStatus(MissionStatus.PENDING).stream()
+				.map(Mission::getName).collect(Collectors.toList()));
+		assertEquals(List.of("Luna"), spaceXManager.findMissionsByStatus(MissionStatus.SCHEDULED).stream()
+				.map(Mission::getName).collect(Collectors.toList()));
+	}
+
 	@Test
 	void shouldRemoveRocketSuccessfully() {
 		// Given: a rocket not assigned to any mission
@@ -448,4 +606,671 @@ class SpaceXManagerTest {
 				() -> spaceXManager.removeMission(missionName));
 		assertEquals("Cannot remove mission '" + missionName + "' as it has assigned rockets.", thrown.getMessage());
 	}
+
+	@Test
+	void shouldAddRocketsInBulkAndReportDuplicates() {
+		// Given
+		spaceXManager.addRocket(new Rocket("Dragon 1"));
+
+		// When: the batch repeats an existing name and one of its own names
+		BatchResult result = spaceXManager.addRockets(
+				List.of(new Rocket("Dragon 1"), new Rocket("Dragon 2"), new Rocket("Dragon 3"), new Rocket("Dragon 2")));
+
+		// Then: the valid rockets are added and the duplicates are reported
+		assertEquals(List.of("Dragon 2", "Dragon 3"), result.getApplied());
+		assertEquals(Set.of("Dragon 1", "Dragon 2"), result.getFailures().keySet());
+		assertInstanceOf(IllegalArgumentException.class, result.getFailures().get("Dragon 1"));
+		assertFalse(result.isFullySuccessful());
+		assertEquals("Dragon 3 - On Ground - Mission: NOT ASSIGNED", spaceXManager.getRocketInfo("Dragon 3"));
+	}
+
+	@Test
+	void shouldAssignRocketsInBulkAndReportRejectedRockets() {
+		// Given
+		spaceXManager.addMissions(List.of(new Mission("Luna"), new Mission("Mars")));
+		spaceXManager.addRockets(List.of(new Rocket("Dragon 1"), new Rocket("Dragon 2"), new Rocket("Dragon 3")));
+		spaceXManager.assignRocketToMission("Dragon 3", "Luna");
+
+		// When
+		BatchResult result = spaceXManager.assignRocketsToMission("Mars",
+				List.of("Dragon 1", "Dragon 2", "Dragon 3", "Dragon 4"));
+
+		// Then
+		assertEquals(List.of("Dragon 1", "Dragon 2"), result.getApplied());
+		assertInstanceOf(RocketAlreadyAssignedException.class, result.getFailures().get("Dragon 3"));
+		assertInstanceOf(RocketNotFoundException.class, result.getFailures().get("Dragon 4"));
+		assertEquals(List.of("Mars - Scheduled - Dragons: 2", "\t- Dragon 1 - On Ground", "\t- Dragon 2 - On Ground",
+				"Luna - Scheduled - Dragons: 1", "\t- Dragon 3 - On Ground"), spaceXManager.getMissionSummary());
+	}
+
+	@Test
+	void shouldReportBatchRejectionsAsReasonsAndMessages() {
+		// Given
+		spaceXManager.addMission(new Mission("Luna"));
+		spaceXManager.addRocket(new Rocket("Dragon 1"));
+		spaceXManager.assignRocketToMission("Dragon 1", "Luna");
+
+		// When
+		BatchResult result = spaceXManager.assignRocketsToMission("Luna", List.of("Dragon 1", "Dragon 9"));
+
+		// Then: reasons and messages are available without the exceptions
+		assertEquals(Map.of("Dragon 1", BatchFailure.ROCKET_ALREADY_ASSIGNED, "Dragon 9", BatchFailure.ROCKET_NOT_FOUND),
+				result.getFailureReasons());
+		assertEquals("Rocket 'Dragon 9' not found.", result.getFailureMessage("Dragon 9"));
+		assertSame(result.getFailures().get("Dragon 9"), result.getFailures().get("Dragon 9"));
+	}
+
+	@Test
+	void shouldClassifyBatchRejectionsByExceptionType() {
+		// Given
+		MissionNotFoundException missionNotFound = new MissionNotFoundException("Mission 'Mars' not found.");
+		IllegalArgumentException invalidName = new IllegalArgumentException("Rocket name must not be empty.");
+		IllegalStateException unexpected = new IllegalStateException("Shard is closed.");
+
+		// When
+		BatchResult result = new BatchResult();
+		result.failed("Dragon 1", missionNotFound);
+		result.failed("Dragon 2", invalidName);
+		result.failed("Dragon 3", unexpected);
+		result.failed("Dragon 4", BatchFailure.INVALID_STATUS_TRANSITION, () -> "Mission 'Luna' has ended.");
+
+		// Then: every reason matches its exception, and original exceptions are kept
+		assertEquals(Map.of("Dragon 1", BatchFailure.MISSION_NOT_FOUND, "Dragon 2", BatchFailure.ILLEGAL_ARGUMENT,
+				"Dragon 3", BatchFailure.OTHER, "Dragon 4", BatchFailure.INVALID_STATUS_TRANSITION),
+				result.getFailureReasons());
+		assertSame(missionNotFound, result.getFailures().get("Dragon 1"));
+		assertSame(invalidName, result.getFailures().get("Dragon 2"));
+		assertSame(unexpected, result.getFailures().get("Dragon 3"));
+		assertInstanceOf(InvalidStatusTransitionException.class, result.getFailures().get("Dragon 4"));
+	}
+
+	@Test
+	void shouldRejectWholeBatchForUnknownMission() {
+		// Given
+		spaceXManager.addRocket(new Rocket("Dragon 1"));
+
+		// When & Then
+		assertThrows(MissionNotFoundException.class,
+				() -> spaceXManager.assignRocketsToMission("Mars", List.of("Dragon 1")));
+		assertEquals("Dragon 1 - On Ground - Mission: NOT ASSIGNED", spaceXManager.getRocketInfo("Dragon 1"));
+	}
+
+	@Test
+	void shouldChangeRocketStatusesInBulk() {
+		// Given
+		spaceXManager.addMission(new Mission("Mars"));
+		spaceXManager.addRockets(List.of(new Rocket("Dragon 1"), new Rocket("Dragon 2")));
+		spaceXManager.assignRocketsToMission("Mars", List.of("Dragon 1", "Dragon 2"));
+		Map<String, RocketStatus> newStatuses = new LinkedHashMap<>();
+		newStatuses.put("Dragon 1", RocketStatus.IN_REPAIR);
+		newStatuses.put("Dragon 2", RocketStatus.IN_SPACE);
+		newStatuses.put("Dragon 9", RocketStatus.IN_SPACE);
+
+		// When
+		BatchResult result = spaceXManager.changeRocketStatuses(newStatuses);
+
+		// Then: the mission follows its rockets once the batch is applied
+		assertEquals(List.of("Dragon 1", "Dragon 2"), result.getApplied());
+		assertInstanceOf(RocketNotFoundException.class, result.getFailures().get("Dragon 9"));
+		assertEquals(List.of("Mars - Pending - Dragons: 2", "\t- Dragon 1 - In Repair", "\t- Dragon 2 - In Space"),
+				spaceXManager.getMissionSummary());
+	}
+
+	@Test
+	void shouldAllocateFreeRocketsWithRequestedStatus() {
+		// Given: two free rockets in space, one free on the ground and one assigned
+		spaceXManager.addMissions(List.of(new Mission("Luna"), new Mission("Mars")));
+		spaceXManager.addRockets(List.of(new Rocket("Dragon 1"), new Rocket("Dragon 2"), new Rocket("Dragon 3"),
+				new Rocket("Dragon 4")));
+		spaceXManager.changeRocketStatuses(Map.of("Dragon 1", RocketStatus.IN_SPACE, "Dragon 3", RocketStatus.IN_SPACE,
+				"Dragon 4", RocketStatus.IN_SPACE));
+		spaceXManager.assignRocketToMission("Dragon 4", "Luna");
+
+		// When
+		List<String> allocated = spaceXManager.allocateRockets("Mars", 2, RocketStatus.IN_SPACE);
+
+		// Then
+		assertEquals(Set.of("Dragon 1", "Dragon 3"), Set.copyOf(allocated));
+		assertEquals("Mars - Scheduled - Dragons: 2", spaceXManager.getMissionSummary().get(0));
+		assertEquals(List.of("Dragon 2"), names(spaceXManager.findUnassignedRockets(null, 10)));
+	}
+
+	@Test
+	void shouldAllocateNothingWhenNotEnoughRocketsAreFree() {
+		// Given
+		spaceXManager.addMission(new Mission("Mars"));
+		spaceXManager.addRockets(List.of(new Rocket("Dragon 1"), new Rocket("Dragon 2")));
+
+		// When & Then
+		assertThrows(InsufficientRocketsException.class, () -> spaceXManager.allocateRockets("Mars", 3, null));
+		assertEquals(List.of("Mars - Scheduled - Dragons: 0"), spaceXManager.getMissionSummary());
+		assertEquals(2, spaceXManager.findUnassignedRockets(null, 10).size());
+	}
+
+	@Test
+	void shouldReturnUnassignedRocketsToThePool() {
+		// Given
+		spaceXManager.addMission(new Mission("Mars"));
+		spaceXManager.addRockets(List.of(new Rocket("Dragon 1"), new Rocket("Dragon 2")));
+		spaceXManager.allocateRockets("Mars", 2, RocketStatus.ON_GROUND);
+		spaceXManager.changeRocketStatus("Dragon 1", RocketStatus.IN_REPAIR);
+
+		// When
+		spaceXManager.unassignRocketFromMission("Dragon 1");
+		spaceXManager.unassignRocketFromMission("Dragon 2");
+		spaceXManager.removeRocket("Dragon 2");
+
+		// Then
+		assertEquals(List.of("Dragon 1"), names(spaceXManager.findUnassignedRockets(RocketStatus.ON_GROUND, 10)));
+	}
+
+	@Test
+	void shouldNeverAllocateRocketTwiceUnderConcurrentAllocations() throws Exception {
+		// Given: more missions asking for rockets than there are rockets
+		int threads = 8;
+		int rocketCount = 100;
+		for (int i = 0; i < rocketCount; i++) {
+			spaceXManager.addRocket(new Rocket("Dragon " + i));
+		}
+		for (int t = 0; t < threads; t++) {
+			spaceXManager.addMission(new Mission("Mission " + t));
+		}
+
+		// When: every mission keeps claiming three rockets until the pool is empty
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		List<Future<List<String>>> futures = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			String missionName = "Mission " + t;
+			futures.add(executor.submit(() -> {
+				List<String> claimed = new ArrayList<>();
+				try {
+					while (true) {
+						claimed.addAll(spaceXManager.allocateRockets(missionName, 3, null));
+					}
+				} catch (InsufficientRocketsException e) {
+					return claimed;
+				}
+			}));
+		}
+		List<String> claimed = new ArrayList<>();
+		for (Future<List<String>> future : futures) {
+			claimed.addAll(future.get());
+		}
+		executor.shutdown();
+
+		// Then: no rocket was claimed twice and fewer than three are left
+		assertEquals(claimed.size(), Set.copyOf(claimed).size());
+		assertEquals(rocketCount - rocketCount % 3, claimed.size());
+	}
+
+	@Test
+	void shouldKeepOneMissionPerRocketUnderConcurrentAssignments() throws Exception {
+		// Given: many missions competing for the same rockets
+		int threads = 8;
+		int rocketCount = 200;
+		for (int i = 0; i < rocketCount; i++) {
+			spaceXManager.addRocket(new Rocket("Dragon " + i));
+		}
+		List<Mission> missions = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			Mission mission = new Mission("Mission " + t);
+			missions.add(mission);
+			spaceXManager.addMission(mission);
+		}
+
+		// When: every thread tries to assign, re-status and unassign every rocket
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			String missionName = "Mission " + t;
+			futures.add(executor.submit(() -> {
+				start.await();
+				for (int round = 0; round < 3; round++) {
+					for (int i = 0; i < rocketCount; i++) {
+						String rocketName = "Dragon " + i;
+						try {
+							spaceXManager.assignRocketToMission(rocketName, missionName);
+							spaceXManager.changeRocketStatus(rocketName, RocketStatus.IN_SPACE);
+							if (i % 2 == 0) {
+								spaceXManager.unassignRocketFromMission(rocketName);
+							}
+						} catch (RocketAlreadyAssignedException e) {
+							// Another mission won the race for this rocket
+						}
+					}
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		executor.shutdown();
+
+		// Then: each rocket is listed by exactly the mission it points to
+		int assigned = 0;
+		for (Mission mission : missions) {
+			for (Rocket rocket : mission.getAssignedRockets()) {
+				assertEquals(mission.getName(), rocket.getAssignedMissionName());
+				assigned++;
+			}
+		}
+		assertEquals(rocketCount / 2, assigned);
+	}
+
+	@Test
+	void shouldListEveryMissionOnceInSummaryWhileRocketCountsChange() throws Exception {
+		// Given: missions that keep changing rank while readers render the summary
+		int missionCount = 100;
+		for (int i = 0; i < missionCount; i++) {
+			spaceXManager.addMission(new Mission("Mission " + i));
+			spaceXManager.addRocket(new Rocket("Dragon " + i));
+		}
+
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		CountDownLatch done = new CountDownLatch(1);
+		Future<?> writer = executor.submit(() -> {
+			try {
+				for (int round = 0; round < 50; round++) {
+					for (int i = 0; i < missionCount; i++) {
+						spaceXManager.assignRocketToMission("Dragon " + i, "Mission " + i);
+					}
+					for (int i = 0; i < missionCount; i++) {
+						spaceXManager.unassignRocketFromMission("Dragon " + i);
+					}
+				}
+			} finally {
+				done.countDown();
+			}
+			return null;
+		});
+		List<Future<?>> readers = new ArrayList<>();
+		for (int r = 0; r < 2; r++) {
+			readers.add(executor.submit(() -> {
+				while (done.getCount() > 0) {
+					// Then: no mission is missing or listed twice
+					assertEveryMissionOnce(missionCount, spaceXManager.getMissionSummary());
+					assertEveryMissionOnce(missionCount, spaceXManager.getMissionSummary(0, missionCount));
+					assertEveryMissionOnce(missionCount,
+							spaceXManager.streamMissionSummary().collect(Collectors.toList()));
+				}
+				return null;
+			}));
+		}
+		writer.get();
+		for (Future<?> reader : readers) {
+			reader.get();
+		}
+		executor.shutdown();
+	}
+
+	private static void assertEveryMissionOnce(int missionCount, List<String> summary) {
+		List<String> headers = summary.stream()
+				.filter(line -> line.startsWith("Mission "))
+				.map(line -> line.substring(0, line.indexOf(" - ")))
+				.collect(Collectors.toList());
+		assertEquals(missionCount, headers.size());
+		assertEquals(missionCount, headers.stream().distinct().count());
+	}
+
+	@Test
+	void shouldKeepSnapshotUnchangedByLaterMutations() {
+		// Given
+		spaceXManager.addMission(new Mission("Mars"));
+		spaceXManager.addRocket(new Rocket("Dragon 1"));
+		FleetSnapshot before = spaceXManager.snapshot();
+
+		// When
+		spaceXManager.assignRocketToMission("Dragon 1", "Mars");
+		spaceXManager.changeRocketStatus("Dragon 1", RocketStatus.IN_REPAIR);
+		FleetSnapshot after = spaceXManager.snapshot();
+
+		// Then: the old snapshot still shows the state it was taken in
+		assertEquals("Dragon 1 - On Ground - Mission: NOT ASSIGNED", before.getRocketInfo("Dragon 1"));
+		assertEquals(List.of("Mars - Scheduled - Dragons: 0"), before.getMissionSummary());
+		assertEquals(spaceXManager.getRocketInfo("Dragon 1"), after.getRocketInfo("Dragon 1"));
+		assertEquals(spaceXManager.getMissionSummary(), after.getMissionSummary());
+	}
+
+	@Test
+	void shouldMatchLiveSummaryAfterBulkOperations() {
+		// Given
+		spaceXManager.addMissions(List.of(new Mission("Mars"), new Mission("Luna"), new Mission("Titan")));
+		spaceXManager.addRockets(List.of(new Rocket("Dragon 1"), new Rocket("Dragon 2"), new Rocket("Dragon 3")));
+		spaceXManager.snapshot();
+
+		// When
+		spaceXManager.assignRocketsToMission("Luna", List.of("Dragon 1", "Dragon 2"));
+		spaceXManager.assignRocketToMission("Dragon 3", "Mars");
+		spaceXManager.changeRocketStatuses(Map.of("Dragon 1", RocketStatus.IN_REPAIR));
+		spaceXManager.unassignRocketFromMission("Dragon 3");
+		spaceXManager.removeMission("Titan");
+
+		// Then
+		FleetSnapshot snapshot = spaceXManager.snapshot();
+		assertEquals(spaceXManager.getMissionSummary(), snapshot.getMissionSummary());
+		assertEquals(3, snapshot.rocketCount());
+		assertEquals(2, snapshot.missionCount());
+		assertThrows(RocketNotFoundException.class, () -> snapshot.getRocketInfo("Dragon 4"));
+	}
+
+	@Test
+	void shouldNeverShowHalfAppliedAssignmentInSnapshot() throws Exception {
+		// Given: rockets moved between two missions while readers check snapshots
+		int rocketCount = 50;
+		spaceXManager.addMission(new Mission("Mars"));
+		spaceXManager.addMission(new Mission("Luna"));
+		for (int i = 0; i < rocketCount; i++) {
+			spaceXManager.addRocket(new Rocket("Dragon " + i));
+		}
+		spaceXManager.snapshot();
+
+		ExecutorService executor = Executors.newFixedThreadPool(3);
+		CountDownLatch done = new CountDownLatch(1);
+		Future<?> writer = executor.submit(() -> {
+			try {
+				for (int round = 0; round < 20; round++) {
+					String missionName = round % 2 == 0 ? "Mars" : "Luna";
+					for (int i = 0; i < rocketCount; i++) {
+						spaceXManager.assignRocketToMission("Dragon " + i, missionName);
+					}
+					for (int i = 0; i < rocketCount; i++) {
+						spaceXManager.unassignRocketFromMission("Dragon " + i);
+					}
+				}
+			} finally {
+				done.countDown();
+			}
+			return null;
+		});
+		List<Future<?>> readers = new ArrayList<>();
+		for (int r = 0; r < 2; r++) {
+			readers.add(executor.submit(() -> {
+				while (done.getCount() > 0) {
+					// Then: every rocket a mission lists points back to that mission
+					FleetSnapshot snapshot = spaceXManager.snapshot();
+					int listed = 0;
+					for (String missionName : List.of("Mars", "Luna")) {
+						for (String rocketName : snapshot.findMission(missionName).orElseThrow().rocketNames()) {
+							assertEquals(missionName, snapshot.findRocket(rocketName).orElseThrow().missionName());
+							listed++;
+						}
+					}
+					int assigned = 0;
+					for (int i = 0; i < rocketCount; i++) {
+						if (snapshot.findRocket("Dragon " + i).orElseThrow().missionName() != null) {
+							assigned++;
+						}
+					}
+					assertEquals(assigned, listed);
+				}
+				return null;
+			}));
+		}
+		writer.get();
+		for (Future<?> reader : readers) {
+			reader.get();
+		}
+		executor.shutdown();
+	}
+
+	@Test
+	void shouldPublishBatchAsOneSnapshot() throws Exception {
+		// Given: a batch of status changes made repeatedly while a reader checks snapshots
+		int rocketCount = 20;
+		Map<String, RocketStatus> toRepair = new HashMap<>();
+		Map<String, RocketStatus> toGround = new HashMap<>();
+		for (int i = 0; i < rocketCount; i++) {
+			spaceXManager.addRocket(new Rocket("Dragon " + i));
+			toRepair.put("Dragon " + i, RocketStatus.IN_REPAIR);
+			toGround.put("Dragon " + i, RocketStatus.ON_GROUND);
+		}
+		spaceXManager.snapshot();
+
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		CountDownLatch done = new CountDownLatch(1);
+		Future<?> reader = executor.submit(() -> {
+			while (done.getCount() > 0) {
+				// Then: the snapshot shows either none or all changes of the batch
+				FleetSnapshot snapshot = spaceXManager.snapshot();
+				int inRepair = 0;
+				for (int i = 0; i < rocketCount; i++) {
+					if (snapshot.findRocket("Dragon " + i).orElseThrow().status() == RocketStatus.IN_REPAIR) {
+						inRepair++;
+					}
+				}
+				assertTrue(inRepair == 0 || inRepair == rocketCount, "Half-published batch: " + inRepair);
+			}
+			return null;
+		});
+
+		// When
+		try {
+			for (int round = 0; round < 500; round++) {
+				spaceXManager.changeRocketStatuses(toRepair);
+				spaceXManager.changeRocketStatuses(toGround);
+			}
+		} finally {
+			done.countDown();
+		}
+		reader.get();
+		executor.shutdown();
+	}
+
+	@Test
+	void shouldApplyAllOperationsOfTransaction() {
+		// Given: a rocket on one mission
+		spaceXManager.addMissions(List.of(new Mission("Mars"), new Mission("Luna")));
+		spaceXManager.addRocket(new Rocket("Dragon 1"));
+		spaceXManager.assignRocketToMission("Dragon 1", "Mars");
+
+		// When: moving it to another mission and starting that one
+		spaceXManager.transaction(tx -> {
+			tx.unassignRocketFromMission("Dragon 1");
+			tx.assignRocketToMission("Dragon 1", "Luna");
+			tx.changeMissionStatus("Luna", MissionStatus.IN_PROGRESS);
+			assertEquals("Luna", tx.assignedMission("Dragon 1"));
+		});
+
+		// Then
+		assertEquals(List.of(
+				"Luna - In Progress - Dragons: 1",
+				"\t- Dragon 1 - On Ground",
+				"Mars - Scheduled - Dragons: 0"), spaceXManager.getMissionSummary());
+	}
+
+	@Test
+	void shouldApplyNothingWhenTransactionBreaksRule() {
+		// Given
+		spaceXManager.addMissions(List.of(new Mission("Mars"), new Mission("Luna")));
+		spaceXManager.addRocket(new Rocket("Dragon 1"));
+		spaceXManager.assignRocketToMission("Dragon 1", "Mars");
+		List<String> before = spaceXManager.getMissionSummary();
+
+		// When: the last operation is not allowed
+		assertThrows(InvalidStatusTransitionException.class, () -> spaceXManager.transaction(tx -> {
+			tx.unassignRocketFromMission("Dragon 1");
+			tx.assignRocketToMission("Dragon 1", "Luna");
+			tx.changeMissionStatus("Luna", MissionStatus.PENDING);
+		}));
+
+		// Then: the earlier operations were not applied either
+		assertEquals(before, spaceXManager.getMissionSummary());
+		assertEquals("Dragon 1 - On Ground - Mission: Mars", spaceXManager.getRocketInfo("Dragon 1"));
+	}
+
+	@Test
+	void shouldCheckRulesAgainstEarlierOperationsOfTransaction() {
+		// Given
+		spaceXManager.addMission(new Mission("Mars"));
+		spaceXManager.addRocket(new Rocket("Dragon 1"));
+
+		// When & Then: the mission has a rocket in repair within the transaction
+		spaceXManager.transaction(tx -> {
+			tx.assignRocketToMission("Dragon 1", "Mars");
+			tx.changeRocketStatus("Dragon 1", RocketStatus.IN_REPAIR);
+			assertEquals(MissionStatus.PENDING, tx.missionStatus("Mars"));
+			assertThrows(InvalidStatusTransitionException.class,
+					() -> tx.changeMissionStatus("Mars", MissionStatus.IN_PROGRESS));
+		});
+		assertEquals(MissionStatus.PENDING, spaceXManager.findMissionsByStatus(MissionStatus.PENDING).get(0).getStatus());
+	}
+
+	@Test
+	void shouldRetryTransactionsOnConflict() throws Exception {
+		// Given: threads moving the same rocket back and forth between two missions
+		spaceXManager.addMissions(List.of(new Mission("Mars"), new Mission("Luna")));
+		spaceXManager.addRocket(new Rocket("Dragon 1"));
+		spaceXManager.assignRocketToMission("Dragon 1", "Mars");
+		long start = spaceXManager.changesSince(0, 0).latestSequence();
+		int threads = 4;
+		int movesPerThread = 200;
+
+		// When
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch ready = new CountDownLatch(threads);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			futures.add(executor.submit(() -> {
+				ready.countDown();
+				ready.await();
+				for (int i = 0; i < movesPerThread; i++) {
+					spaceXManager.transaction(tx -> {
+						String target = "Mars".equals(tx.assignedMission("Dragon 1")) ? "Luna" : "Mars";
+						tx.unassignRocketFromMission("Dragon 1");
+						tx.assignRocketToMission("Dragon 1", target);
+					});
+				}
+				return null;
+			}));
+		}
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		executor.shutdown();
+
+		// Then: every move was applied exactly once, with no stale reads
+		long assignments = spaceXManager.changesSince(start, Integer.MAX_VALUE).changes().stream()
+				.filter(change -> change.event() instanceof DomainEvent.RocketAssigned)
+				.count();
+		assertEquals(threads * movesPerThread, assignments);
+		assertEquals("Dragon 1 - On Ground - Mission: Mars", spaceXManager.getRocketInfo("Dragon 1"));
+	}
+
+	@Test
+	void shouldGiveUpTransactionThatKeepsRunningIntoConflicts() {
+		// Given
+		spaceXManager.addMission(new Mission("Mars"));
+		spaceXManager.addRocket(new Rocket("Dragon 1"));
+		AtomicInteger attempts = new AtomicInteger();
+
+		// When: every attempt is overtaken by a change to its rocket
+		assertThrows(TransactionConflictException.class, () -> spaceXManager.transaction(tx -> {
+			tx.rocketStatus("Dragon 1");
+			RocketStatus status = attempts.incrementAndGet() % 2 == 0 ? RocketStatus.ON_GROUND : RocketStatus.IN_SPACE;
+			spaceXManager.changeRocketStatus("Dragon 1", status);
+			tx.assignRocketToMission("Dragon 1", "Mars");
+		}));
+
+		// Then
+		assertEquals(1000, attempts.get());
+		assertEquals("Dragon 1 - On Ground - Mission: NOT ASSIGNED", spaceXManager.getRocketInfo("Dragon 1"));
+	}
+
+	@Test
+	void shouldAppendRocketInfoReflectingLatestChanges() {
+		// Given
+		spaceXManager.addMission(new Mission("Mars"));
+		spaceXManager.addRocket(new Rocket("Dragon 1"));
+		String unassigned = spaceXManager.getRocketInfo("Dragon 1");
+		StringBuilder out = new StringBuilder();
+
+		// When: the cached line goes stale after each change
+		spaceXManager.assignRocketToMission("Dragon 1", "Mars");
+		spaceXManager.appendRocketInfo("Dragon 1", out);
+		out.append('\n');
+		spaceXManager.changeRocketStatus("Dragon 1", RocketStatus.IN_SPACE);
+		spaceXManager.appendRocketInfo("Dragon 1", out);
+
+		// Then
+		assertEquals("Dragon 1 - On Ground - Mission: NOT ASSIGNED", unassigned);
+		assertEquals("Dragon 1 - On Ground - Mission: Mars\nDragon 1 - In Space - Mission: Mars", out.toString());
+		assertSame(spaceXManager.getRocketInfo("Dragon 1"), spaceXManager.getRocketInfo("Dragon 1"));
+		assertThrows(RocketNotFoundException.class, () -> spaceXManager.appendRocketInfo("Dragon 2", out));
+	}
+
+	@Test
+	void shouldReportAssignmentOutcomesWithoutThrowing() {
+		// Given
+		spaceXManager.addMissions(List.of(new Mission("Mars"), new Mission("Luna")));
+		spaceXManager.addRocket(new Rocket("Dragon 1"));
+		Mission ended = new Mission("Titan");
+		ended.setStatus(MissionStatus.ENDED);
+		spaceXManager.addMission(ended);
+
+		// When & Then
+		assertEquals(AssignmentOutcome.ROCKET_NOT_FOUND, spaceXManager.tryAssignRocketToMission("Dragon 2", "Mars"));
+		assertEquals(AssignmentOutcome.MISSION_NOT_FOUND, spaceXManager.tryAssignRocketToMission("Dragon 1", "Venus"));
+		assertEquals(AssignmentOutcome.MISSION_ENDED, spaceXManager.tryAssignRocketToMission("Dragon 1", "Titan"));
+		assertEquals(AssignmentOutcome.ASSIGNED, spaceXManager.tryAssignRocketToMission("Dragon 1", "Mars"));
+		assertEquals(AssignmentOutcome.ROCKET_ALREADY_ASSIGNED, spaceXManager.tryAssignRocketToMission("Dragon 1", "Luna"));
+		assertEquals("Dragon 1 - On Ground - Mission: Mars", spaceXManager.getRocketInfo("Dragon 1"));
+	}
+
+	@Test
+	void shouldOperateOnRocketsAndMissionsById() {
+		// Given
+		spaceXManager.addMission(new Mission("Mars"));
+		spaceXManager.addRocket(new Rocket("Dragon 1"));
+		int rocketId = spaceXManager.rocketId("Dragon 1");
+		int missionId = spaceXManager.missionId("Mars");
+
+		// When
+		spaceXManager.assignRocketToMission(rocketId, missionId);
+		spaceXManager.changeRocketStatus(rocketId, RocketStatus.IN_REPAIR);
+		StringBuilder out = new StringBuilder();
+		spaceXManager.appendRocketInfo(rocketId, out);
+
+		// Then: the mission followed its rocket into 'Pending' through the direct link
+		assertEquals("Dragon 1 - In Repair - Mission: Mars", out.toString());
+		assertEquals(List.of("Mars - Pending - Dragons: 1", "\t- Dragon 1 - In Repair"), spaceXManager.getMissionSummary());
+
+		// When
+		spaceXManager.unassignRocketFromMission(rocketId);
+		spaceXManager.changeMissionStatus(missionId, MissionStatus.ENDED);
+
+		// Then
+		assertEquals("Dragon 1 - On Ground - Mission: NOT ASSIGNED", spaceXManager.getRocketInfo(rocketId));
+		assertEquals(List.of("Mars - Ended - Dragons: 0"), spaceXManager.getMissionSummary());
+	}
+
+	@Test
+	void shouldInvalidateIdWhenEntityIsRemoved() {
+		// Given
+		spaceXManager.addRocket(new Rocket("Dragon 1"));
+		int rocketId = spaceXManager.rocketId("Dragon 1");
+
+		// When
+		spaceXManager.removeRocket("Dragon 1");
+
+		// Then
+		assertThrows(RocketNotFoundException.class, () -> spaceXManager.getRocketInfo(rocketId));
+		assertThrows(RocketNotFoundException.class, () -> spaceXManager.rocketId("Dragon 1"));
+		assertThrows(MissionNotFoundException.class, () -> spaceXManager.missionId("Mars"));
+		assertThrows(RocketNotFoundException.class,
+				() -> spaceXManager.changeRocketStatus(rocketId, RocketStatus.IN_SPACE));
+
+		// When: the name comes back and takes its old id again
+		spaceXManager.addRocket(new Rocket("Dragon 1"));
+
+		// Then
+		assertEquals(rocketId, spaceXManager.rocketId("Dragon 1"));
+		assertEquals("Dragon 1 - On Ground - Mission: NOT ASSIGNED", spaceXManager.getRocketInfo(rocketId));
+	}
+
+	private List<String> names(List<Rocket> rockets) {
+		return rockets.stream().map(Rocket::getName).collect(Collectors.toList());
+	}
 }
@@ -0,0 +1,105 @@
+package com.home.project.dragonrockets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.BitSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import com.home.project.dragonrockets.internal.concurrent.StripedLocks;
+
+class StripedLocksTest {
+
+	@Test
+	void shouldRoundStripeCountUpToPowerOfTwo() {
+		assertEquals(1, new StripedLocks(1).stripeCount());
+		assertEquals(64, new StripedLocks(50).stripeCount());
+		assertEquals(256, new StripedLocks().stripeCount());
+	}
+
+	@Test
+	void shouldThrowExceptionForNonPositiveStripeCount() {
+		assertThrows(IllegalArgumentException.class, () -> new StripedLocks(0));
+	}
+
+	@Test
+	void shouldLockSameStripeOnlyOnce() {
+		// Given: a single stripe shared by every name
+		StripedLocks locks = new StripedLocks(1);
+
+		// When & Then: locking a rocket and a mission on the same stripe works and is released
+		try (StripedLocks.Guard guard = locks.lock(locks.rocketStripe("Falcon 9"), locks.missionStripe("Mars"))) {
+			assertEquals(0, locks.rocketStripe("Falcon 9"));
+		}
+		assertDoesNotThrow(() -> locks.lockAll().close());
+	}
+
+	@Test
+	void shouldLockEveryStripeOfBatch() throws InterruptedException {
+		// Given
+		StripedLocks locks = new StripedLocks(8);
+		BitSet stripes = new BitSet();
+		stripes.set(1);
+		stripes.set(6);
+
+		// When: a batch holds stripes 1 and 6
+		try (StripedLocks.Guard guard = locks.lock(stripes)) {
+			// Then: another thread can take stripe 2 but not stripe 6
+			assertTrue(tryLockFromOtherThread(locks, 2));
+			assertFalse(tryLockFromOtherThread(locks, 6));
+		}
+		assertTrue(tryLockFromOtherThread(locks, 6));
+	}
+
+	@Test
+	void shouldNotDeadlockWhenLockingInOppositeOrder() throws Exception {
+		// Given: two threads locking the same pair of stripes in opposite argument order
+		StripedLocks locks = new StripedLocks(16);
+		int first = locks.rocketStripe("Falcon 9");
+		int second = (first + 1) % locks.stripeCount();
+		CountDownLatch done = new CountDownLatch(2);
+		AtomicBoolean failed = new AtomicBoolean();
+
+		Runnable forward = () -> repeatLocking(locks, first, second, done, failed);
+		Runnable backward = () -> repeatLocking(locks, second, first, done, failed);
+
+		// When
+		new Thread(forward).start();
+		new Thread(backward).start();
+
+		// Then: both threads finish
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+		assertFalse(failed.get());
+	}
+
+	private void repeatLocking(StripedLocks locks, int a, int b, CountDownLatch done, AtomicBoolean failed) {
+		try {
+			for (int i = 0; i < 10_000; i++) {
+				try (StripedLocks.Guard guard = locks.lock(a, b)) {
+					// critical section
+				}
+			}
+		} catch (RuntimeException e) {
+			failed.set(true);
+		} finally {
+			done.countDown();
+		}
+	}
+
+	private boolean tryLockFromOtherThread(StripedLocks locks, int stripe) throws InterruptedException {
+		BitSet single = new BitSet();
+		single.set(stripe);
+		CountDownLatch locked = new CountDownLatch(1);
+		Thread thread = new Thread(() -> {
+			try (StripedLocks.Guard guard = locks.lock(single)) {
+				locked.countDown();
+			}
+		});
+		thread.setDaemon(true);
+		thread.start();
+		return locked.await(200, TimeUnit.MILLISECONDS);
+	}
+}
@@ -0,0 +1,246 @@
+package com.home.project.dragonrockets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.home.project.dragonrockets.internal.exception.InvalidStatusTransitionException;
+import com.home.project.dragonrockets.internal.model.Mission;
+import com.home.project.dragonrockets.internal.model.MissionStatus;
+import com.home.project.dragonrockets.internal.model.Rocket;
+import com.home.project.dragonrockets.internal.model.RocketStatus;
+import com.home.project.dragonrockets.internal.persistence.FsyncPolicy;
+import com.home.project.dragonrockets.internal.persistence.WriteAheadLog;
+
+class WriteAheadLogTest {
+
+	@TempDir
+	Path logDirectory;
+
+	@Test
+	void shouldRestoreStateAfterRestartWithEveryFsyncPolicy() {
+		for (FsyncPolicy policy : FsyncPolicy.values()) {
+			// Given: a durable manager with some history
+			Path directory = logDirectory.resolve(policy.name());
+			List<String> summaryBeforeRestart;
+			try (SpaceXManager spaceXManager = new SpaceXManager(directory, policy)) {
+				createFleet(spaceXManager);
+				summaryBeforeRestart = spaceXManager.getMissionSummary();
+			}
+
+			// When: a new manager is opened on the same directory
+			try (SpaceXManager restarted = new SpaceXManager(directory, policy)) {
+				// Then: the state is the same as before the restart
+				assertEquals(summaryBeforeRestart, restarted.getMissionSummary(), policy.name());
+				assertEquals("Dragon 1 - In Repair - Mission: Luna", restarted.getRocketInfo("Dragon 1"));
+				assertEquals("Dragon 3 - On Ground - Mission: NOT ASSIGNED", restarted.getRocketInfo("Dragon 3"));
+			}
+		}
+	}
+
+	@Test
+	void shouldNotLogRejectedMutations() {
+		try (SpaceXManager spaceXManager = new SpaceXManager(logDirectory, FsyncPolicy.ALWAYS)) {
+			spaceXManager.addMission(new Mission("Mars"));
+			spaceXManager.addRocket(new Rocket("Falcon 9"));
+			spaceXManager.assignRocketToMission("Falcon 9", "Mars");
+			assertThrows(InvalidStatusTransitionException.class,
+					() -> spaceXManager.changeMissionStatus("Mars", MissionStatus.ENDED));
+		}
+
+		try (SpaceXManager restarted = new SpaceXManager(logDirectory, FsyncPolicy.ALWAYS)) {
+			assertEquals(List.of("Mars - Scheduled - Dragons: 1", "\t- Falcon 9 - On Ground"),
+					restarted.getMissionSummary());
+		}
+	}
+
+	@Test
+	void shouldDropTornRecordAtEndOfLog() throws IOException {
+		// Given: a log whose last record was only partially written
+		try (SpaceXManager spaceXManager = new SpaceXManager(logDirectory, FsyncPolicy.ALWAYS)) {
+			spaceXManager.addMission(new Mission("Mars"));
+		}
+		Path logFile;
+		try (var files = Files.list(logDirectory)) {
+			logFile = files.filter(file -> file.getFileName().toString().endsWith(".log")).findFirst().orElseThrow();
+		}
+		Files.write(logFile, new byte[] { 0, 0, 0, 42, 1, 2 }, StandardOpenOption.APPEND);
+
+		// When: the log is replayed and written again
+		try (SpaceXManager restarted = new SpaceXManager(logDirectory, FsyncPolicy.ALWAYS)) {
+			restarted.addMission(new Mission("Luna"));
+		}
+
+		// Then: the torn record is gone and the records around it are intact
+		try (SpaceXManager restarted = new SpaceXManager(logDirectory, FsyncPolicy.ALWAYS)) {
+			assertEquals(List.of("Mars - Scheduled - Dragons: 0", "Luna - Scheduled - Dragons: 0"),
+					restarted.getMissionSummary());
+		}
+	}
+
+	@Test
+	void shouldKeepEveryRecordOfConcurrentWriters() throws Exception {
+		// Given: several threads writing through group commit
+		int threads = 4;
+		int rocketsPerThread = 250;
+		try (SpaceXManager spaceXManager = new SpaceXManager(logDirectory, FsyncPolicy.ALWAYS)) {
+			ExecutorService executor = Executors.newFixedThreadPool(threads);
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				String missionName = "Mission " + t;
+				futures.add(executor.submit(() -> {
+					spaceXManager.addMission(new Mission(missionName));
+					for (int i = 0; i < rocketsPerThread; i++) {
+						String rocketName = missionName + " Dragon " + i;
+						spaceXManager.addRocket(new Rocket(rocketName));
+						spaceXManager.assignRocketToMission(rocketName, missionName);
+					}
+					return null;
+				}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+			executor.shutdown();
+		}
+
+		// When & Then: every assignment survives a restart
+		try (SpaceXManager restarted = new SpaceXManager(logDirectory, FsyncPolicy.ALWAYS)) {
+			assertEquals(threads * (rocketsPerThread + 1), restarted.getMissionSummary().size());
+		}
+	}
+
+	@Test
+	void shouldRestoreStateFromSnapshotAndLogTail() throws Exception {
+		// Given: a checkpoint followed by more mutations
+		List<String> summaryBeforeRestart;
+		try (SpaceXManager spaceXManager = new SpaceXManager(logDirectory, FsyncPolicy.ALWAYS)) {
+			createFleet(spaceXManager);
+			spaceXManager.checkpoint().get(10, TimeUnit.SECONDS);
+			spaceXManager.addRocket(new Rocket("Dragon 5"));
+			spaceXManager.assignRocketToMission("Dragon 5", "Mars");
+			spaceXManager.changeRocketStatus("Dragon 5", RocketStatus.IN_REPAIR);
+			summaryBeforeRestart = spaceXManager.getMissionSummary();
+		}
+
+		// Then: only the snapshot and the segment written after it are left
+		assertEquals(List.of("snapshot-00000000000000000001.snap", "wal-00000000000000000001.log"),
+				fileNames());
+
+		// When & Then: a restart restores the same state, including the automatic status
+		try (SpaceXManager restarted = new SpaceXManager(logDirectory, FsyncPolicy.ALWAYS)) {
+			assertEquals(summaryBeforeRestart, restarted.getMissionSummary());
+			assertTrue(restarted.getMissionSummary().contains("Mars - Pending - Dragons: 2"));
+		}
+	}
+
+	@Test
+	void shouldBuildNextSnapshotOnTopOfPreviousOne() throws Exception {
+		try (SpaceXManager spaceXManager = new SpaceXManager(logDirectory, FsyncPolicy.NEVER)) {
+			createFleet(spaceXManager);
+			spaceXManager.checkpoint().get(10, TimeUnit.SECONDS);
+			spaceXManager.unassignRocketFromMission("Dragon 2");
+			spaceXManager.checkpoint().get(10, TimeUnit.SECONDS);
+		}
+
+		assertEquals(List.of("snapshot-00000000000000000002.snap", "wal-00000000000000000002.log"),
+				fileNames());
+		try (SpaceXManager restarted = new SpaceXManager(logDirectory, FsyncPolicy.NEVER)) {
+			assertEquals("Dragon 2 - On Ground - Mission: NOT ASSIGNED", restarted.getRocketInfo("Dragon 2"));
+			assertEquals("Dragon 1 - In Repair - Mission: Luna", restarted.getRocketInfo("Dragon 1"));
+		}
+	}
+
+	@Test
+	void shouldCheckpointAutomaticallyWhenSegmentIsFull() throws Exception {
+		// Given: a log with tiny segments
+		try (WriteAheadLog writeAheadLog = new WriteAheadLog(logDirectory, FsyncPolicy.ALWAYS,
+				WriteAheadLog.DEFAULT_FLUSH_INTERVAL, 64)) {
+			// When: more than a segment's worth of records is committed
+			for (int i = 0; i < 10; i++) {
+				writeAheadLog.rocketAdded(new Rocket("Dragon " + i));
+				writeAheadLog.commit();
+			}
+		}
+
+		// Then: a snapshot has been written in the background
+		assertTrue(fileNames().stream().anyMatch(name -> name.startsWith("snapshot-")));
+		try (SpaceXManager restarted = new SpaceXManager(logDirectory, FsyncPolicy.ALWAYS)) {
+			for (int i = 0; i < 10; i++) {
+				assertEquals("Dragon " + i + " - On Ground - Mission: NOT ASSIGNED",
+						restarted.getRocketInfo("Dragon " + i));
+			}
+		}
+	}
+
+	@Test
+	void shouldApplyNothingOfTransactionWhenLogCannotBeWritten() {
+		// Given: a durable manager whose log has been closed
+		SpaceXManager spaceXManager = new SpaceXManager(logDirectory, FsyncPolicy.ALWAYS);
+		spaceXManager.addMission(new Mission("Mars"));
+		spaceXManager.addRocket(new Rocket("Dragon 1"));
+		spaceXManager.addRocket(new Rocket("Dragon 2"));
+		spaceXManager.close();
+
+		// When
+		assertThrows(IllegalStateException.class, () -> spaceXManager.transaction(tx -> {
+			tx.assignRocketToMission("Dragon 1", "Mars");
+			tx.assignRocketToMission("Dragon 2", "Mars");
+			tx.changeMissionStatus("Mars", MissionStatus.IN_PROGRESS);
+		}));
+
+		// Then: neither the fleet nor the log holds any part of the transaction
+		assertEquals(List.of("Mars - Scheduled - Dragons: 0"), spaceXManager.getMissionSummary());
+		try (SpaceXManager restarted = new SpaceXManager(logDirectory, FsyncPolicy.ALWAYS)) {
+			assertEquals(List.of("Mars - Scheduled - Dragons: 0"), restarted.getMissionSummary());
+		}
+	}
+
+	@Test
+	void shouldRejectCheckpointWithoutDurableMode() {
+		assertThrows(IllegalStateException.class, () -> new SpaceXManager().checkpoint());
+	}
+
+	private List<String> fileNames() throws IOException {
+		try (Stream<Path> files = Files.list(logDirectory)) {
+			return files.map(file -> file.getFileName().toString()).sorted().collect(Collectors.toList());
+		}
+	}
+
+	private void createFleet(SpaceXManager spaceXManager) {
+		spaceXManager.addMission(new Mission("Luna"));
+		spaceXManager.addMission(new Mission("Mars"));
+		Mission ended = new Mission("Apollo");
+		ended.setStatus(MissionStatus.ENDED);
+		spaceXManager.addMission(ended);
+		spaceXManager.addRocket(new Rocket("Dragon 1"));
+		spaceXManager.addRocket(new Rocket("Dragon 2"));
+		spaceXManager.addRocket(new Rocket("Dragon 3"));
+		spaceXManager.addRocket(new Rocket("Dragon 4"));
+		spaceXManager.assignRocketToMission("Dragon 1", "Luna");
+		spaceXManager.assignRocketToMission("Dragon 2", "Mars");
+		spaceXManager.assignRocketToMission("Dragon 3", "Mars");
+		spaceXManager.changeRocketStatus("Dragon 2", RocketStatus.IN_SPACE);
+		spaceXManager.changeMissionStatus("Mars", MissionStatus.IN_PROGRESS);
+		spaceXManager.changeRocketStatus("Dragon 1", RocketStatus.IN_REPAIR);
+		spaceXManager.changeRocketStatus("Dragon 3", RocketStatus.IN_SPACE);
+		spaceXManager.unassignRocketFromMission("Dragon 3");
+		spaceXManager.removeRocket("Dragon 4");
+		spaceXManager.addMission(new Mission("Transit"));
+		spaceXManager.removeMission("Transit");
+	}
+}